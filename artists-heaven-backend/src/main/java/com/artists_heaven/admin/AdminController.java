@@ -6,9 +6,10 @@ import com.artists_heaven.email.EmailSenderService;
 import com.artists_heaven.entities.artist.ArtistService;
 import com.artists_heaven.entities.user.UserProfileDTO;
 import com.artists_heaven.exception.AppExceptions.BadRequestException;
-import com.artists_heaven.order.Order;
+import com.artists_heaven.export.ExportFormat;
 import com.artists_heaven.order.OrderDetailsDTO;
 import com.artists_heaven.order.OrderService;
+import com.artists_heaven.page.CountMode;
 import com.artists_heaven.page.PageResponse;
 import com.artists_heaven.product.ProductService;
 import com.artists_heaven.standardResponse.StandardResponse;
@@ -27,16 +28,22 @@ import com.artists_heaven.verification.Verification;
 import com.artists_heaven.verification.VerificationRepository;
 import com.artists_heaven.verification.VerificationService;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.Year;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.UrlResource;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.MediaTypeFactory;
@@ -72,12 +79,17 @@ public class AdminController {
 
         private final ResourceLoader resourceLoader;
 
+        private final AdminDashboardService adminDashboardService;
+
+        private final OrderExportService orderExportService;
+
         public AdminController(VerificationRepository verificationRepository,
                         OrderService orderService, EmailSenderService emailSenderService, AdminService adminService,
                         VerificationService verificationService,
                         ProductService productService, ArtistService artistService,
                         UserProductService userProductService,
-                        ResourceLoader resourceLoader) {
+                        ResourceLoader resourceLoader, AdminDashboardService adminDashboardService,
+                        OrderExportService orderExportService) {
                 this.orderService = orderService;
                 this.emailSenderService = emailSenderService;
                 this.artistService = artistService;
@@ -87,6 +99,8 @@ public class AdminController {
                 this.productService = productService;
                 this.userProductService = userProductService;
                 this.resourceLoader = resourceLoader;
+                this.adminDashboardService = adminDashboardService;
+                this.orderExportService = orderExportService;
         }
 
         private <T> ResponseEntity<StandardResponse<Object>> handleRequest(
@@ -210,6 +224,25 @@ public class AdminController {
                                                 HttpStatus.OK.value()));
         }
 
+        @Operation(summary = "Get the admin dashboard", description = "Returns every admin dashboard widget for the specified year in one response: "
+                        + "yearly statistics, monthly sales and product counts. Widgets are computed in parallel and the result is cached briefly.")
+        @ApiResponse(responseCode = "200", description = "Dashboard retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AdminDashboardDTO.class)))
+        @ApiResponse(responseCode = "400", description = "Invalid year parameter", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Invalid year parameter\", \"status\": 400}")))
+        @GetMapping("/dashboard")
+        public ResponseEntity<StandardResponse<AdminDashboardDTO>> getDashboard(
+                        @Parameter(description = "Year for which to build the dashboard", example = "2024", required = true) @RequestParam int year) {
+
+                if (year < 2000 || year > Year.now().getValue()) {
+                        throw new BadRequestException("Invalid year parameter");
+                }
+
+                return ResponseEntity.ok(
+                                new StandardResponse<>(
+                                                "Dashboard retrieved successfully",
+                                                adminDashboardService.getDashboard(year),
+                                                HttpStatus.OK.value()));
+        }
+
         @Operation(summary = "Get monthly sales data", description = "Returns a list of sales figures per month for the specified year. Each item in the list contains the month, total orders and total revenue.")
         @ApiResponse(responseCode = "200", description = "Monthly sales data retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
         @ApiResponse(responseCode = "400", description = "Invalid year parameter", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Invalid year parameter\", \"status\": 400}")))
@@ -235,11 +268,7 @@ public class AdminController {
         @ApiResponse(responseCode = "400", description = "Failed to retrieve product statistics", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Failed to retrieve product statistics\", \"status\": 400}")))
         @GetMapping("/product-management")
         public ResponseEntity<StandardResponse<ProductManagementDTO>> getProductManagement() {
-                ProductManagementDTO productManagement = new ProductManagementDTO();
-                productManagement.setNotAvailableProducts(adminService.getNotAvailableProducts());
-                productManagement.setAvailableProducts(adminService.getAvailableProducts());
-                productManagement.setPromotedProducts(adminService.getPromotedProducts());
-                productManagement.setTotalProducts(adminService.getTotalProducts());
+                ProductManagementDTO productManagement = adminService.getProductCounts();
 
                 return ResponseEntity.ok(
                                 new StandardResponse<>(
@@ -256,11 +285,11 @@ public class AdminController {
 
                         @Parameter(description = "Page size (number of users per page)", example = "6") @RequestParam(defaultValue = "6") int size,
 
-                        @Parameter(description = "Optional search keyword to filter users", example = "john") @RequestParam(required = false) String search) {
-                PageRequest pageRequest = PageRequest.of(page, size);
-                Page<UserProfileDTO> userPage = adminService.getAllUsers(search, pageRequest);
+                        @Parameter(description = "Optional search keyword to filter users", example = "john") @RequestParam(required = false) String search,
 
-                return new PageResponse<>(userPage);
+                        @Parameter(description = "How the total is computed: EXACT, ESTIMATED (planner estimate or cached count) or NONE (only whether a next page exists)", example = "ESTIMATED") @RequestParam(defaultValue = "EXACT") CountMode count) {
+                PageRequest pageRequest = PageRequest.of(page, size);
+                return adminService.getAllUsers(search, pageRequest, count);
         }
 
         @Operation(summary = "Get paginated list of orders", description = "Retrieves a paginated list of orders sorted by date, returning detailed order information.")
@@ -270,12 +299,30 @@ public class AdminController {
                         @Parameter(description = "Page number (0-based)", example = "0") @RequestParam(defaultValue = "0") int page,
                         @Parameter(description = "Page size (number of orders per page)", example = "6") @RequestParam(defaultValue = "6") int size,
                         @Parameter(description = "Filter by status", example = "PAID") @RequestParam(required = false) String status,
-                        @Parameter(description = "Search by identifier or paymentIntent") @RequestParam(required = false) String search) {
+                        @Parameter(description = "Search by identifier, payment intent, email or phone", example = "pi_3N8") @RequestParam(required = false) String search,
+                        @Parameter(description = "How the total is computed: EXACT, ESTIMATED (planner estimate or cached count) or NONE (only whether a next page exists)", example = "ESTIMATED") @RequestParam(defaultValue = "EXACT") CountMode count) {
                 PageRequest pageRequest = PageRequest.of(page, size);
-                Page<Order> orderPage = adminService.getOrdersFiltered(status, search, pageRequest);
+                return adminService.getOrdersFiltered(status, search, pageRequest, count).map(OrderDetailsDTO::new);
+        }
 
-                Page<OrderDetailsDTO> dtoPage = orderPage.map(OrderDetailsDTO::new);
-                return new PageResponse<>(dtoPage);
+        @Operation(summary = "Export orders of a date range", description = "Streams the orders created between two days, both included, with one row per item: order, status, email, country, payment intent, totals, discount and item details.")
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully", content = {
+                        @Content(mediaType = "text/csv"),
+                        @Content(mediaType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet") })
+        @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"The range must end on or after its start\", \"status\": 400}")))
+        @GetMapping("/orders/export")
+        public void exportOrders(
+                        @Parameter(description = "First day of the range", example = "2024-01-01", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @Parameter(description = "Last day of the range", example = "2024-12-31", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @Parameter(description = "File format: CSV or XLSX", example = "CSV") @RequestParam(defaultValue = "CSV") ExportFormat format,
+                        HttpServletResponse response) throws IOException {
+                if (to.isBefore(from)) {
+                        throw new BadRequestException("The range must end on or after its start");
+                }
+                response.setContentType(format.getContentType());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename("orders-" + from + "-" + to + "." + format.getExtension()).build().toString());
+                orderExportService.export(from, to, format, response.getOutputStream());
         }
 
         @Operation(summary = "Update the status of an order", description = "Updates the status of a specific order based on the provided order ID and new status.")
@@ -0,0 +1,43 @@
+package com.artists_heaven.admin;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object with every widget of the admin dashboard for one year.
+ */
+@Getter
+@Setter
+@Schema(
+    name = "AdminDashboardDTO",
+    description = "Yearly statistics, monthly sales and product counts shown on the admin dashboard."
+)
+public class AdminDashboardDTO {
+
+    /**
+     * Year the dashboard was computed for.
+     */
+    @Schema(description = "Year the dashboard was computed for", example = "2024")
+    private int year;
+
+    /**
+     * Order, user, email and sales statistics of the year.
+     */
+    @Schema(description = "Order, user, email and sales statistics of the year")
+    private OrderStatisticsDTO statistics;
+
+    /**
+     * Orders and revenue per month, without accepted returns.
+     */
+    @Schema(description = "Orders and revenue per month, without accepted returns")
+    private List<MonthlySalesDTO> monthlySales;
+
+    /**
+     * Current product counts by availability and promotion.
+     */
+    @Schema(description = "Current product counts by availability and promotion")
+    private ProductManagementDTO productManagement;
+}
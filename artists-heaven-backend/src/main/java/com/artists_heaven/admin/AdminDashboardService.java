@@ -0,0 +1,195 @@
+package com.artists_heaven.admin;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.artists_heaven.email.EmailSenderService;
+import com.artists_heaven.email.EmailType;
+import com.artists_heaven.order.OrderService;
+import com.artists_heaven.verification.VerificationStatus;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Builds the admin dashboard of a year in one call.
+ * <p>
+ * The widgets are independent queries, so they run concurrently on a bounded
+ * pool of {@code admin.dashboard.threads} threads, each holding at most one
+ * database connection at a time. Keep the pool well below the connection
+ * pool size so the dashboard cannot starve regular requests.
+ * <p>
+ * Assembled dashboards are cached per year for
+ * {@code admin.dashboard.cache-ttl}. For another
+ * {@code admin.dashboard.stale-while-revalidate} the cached dashboard is still
+ * returned while a single refresh runs in the background; after that the
+ * caller waits for a fresh one. Concurrent requests for the same year share
+ * one build.
+ */
+@Service
+public class AdminDashboardService {
+
+    private final AdminService adminService;
+
+    private final OrderService orderService;
+
+    private final EmailSenderService emailSenderService;
+
+    private final long ttlNanos;
+
+    private final long staleNanos;
+
+    private final ExecutorService executor;
+
+    private final Map<Integer, CachedDashboard> cache = new ConcurrentHashMap<>();
+
+    private final Map<Integer, CompletableFuture<AdminDashboardDTO>> inFlight = new ConcurrentHashMap<>();
+
+    public AdminDashboardService(AdminService adminService, OrderService orderService,
+            EmailSenderService emailSenderService,
+            @Value("${admin.dashboard.threads:4}") int threads,
+            @Value("${admin.dashboard.cache-ttl:30s}") Duration cacheTtl,
+            @Value("${admin.dashboard.stale-while-revalidate:5m}") Duration staleWhileRevalidate) {
+        this.adminService = adminService;
+        this.orderService = orderService;
+        this.emailSenderService = emailSenderService;
+        this.ttlNanos = cacheTtl.toNanos();
+        this.staleNanos = staleWhileRevalidate.toNanos();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "admin-dashboard-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the dashboard of a year, from the cache when it is recent
+     * enough.
+     *
+     * @param year the year to compute the dashboard for
+     * @return the assembled dashboard
+     */
+    public AdminDashboardDTO getDashboard(int year) {
+        CachedDashboard cached = cache.get(year);
+        if (cached != null) {
+            long age = System.nanoTime() - cached.builtAt;
+            if (age < ttlNanos) {
+                return cached.dashboard;
+            }
+            if (age < ttlNanos + staleNanos) {
+                refresh(year);
+                return cached.dashboard;
+            }
+        }
+        try {
+            return refresh(year).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts building the dashboard of a year unless a build is already
+     * running, and stores the result in the cache.
+     */
+    CompletableFuture<AdminDashboardDTO> refresh(int year) {
+        CompletableFuture<AdminDashboardDTO> running = inFlight.get(year);
+        if (running != null) {
+            return running;
+        }
+        CompletableFuture<AdminDashboardDTO> started = new CompletableFuture<>();
+        running = inFlight.putIfAbsent(year, started);
+        if (running != null) {
+            return running;
+        }
+        build(year).whenComplete((dashboard, error) -> {
+            if (error == null) {
+                cache.put(year, new CachedDashboard(dashboard, System.nanoTime()));
+            }
+            inFlight.remove(year, started);
+            if (error == null) {
+                started.complete(dashboard);
+            } else {
+                started.completeExceptionally(error);
+            }
+        });
+        return started;
+    }
+
+    private CompletableFuture<AdminDashboardDTO> build(int year) {
+        // The status counts, order count and income share one rollup query
+        CompletableFuture<OrderStatisticsDTO> orders = async(() -> {
+            OrderStatisticsDTO statistics = new OrderStatisticsDTO();
+            statistics.setOrderStatusCounts(adminService.getOrderStatusCounts(year));
+            statistics.setNumOrders(orderService.getNumOrdersPerYear(year));
+            statistics.setIncomePerYear(orderService.getIncomePerYear(year));
+            return statistics;
+        });
+        CompletableFuture<Map<EmailType, Integer>> emailCounts = async(
+                () -> emailSenderService.getEmailCounts(year));
+        CompletableFuture<Integer> numUsers = async(adminService::countUsers);
+        CompletableFuture<Integer> numArtists = async(adminService::countArtists);
+        CompletableFuture<Map<VerificationStatus, Integer>> verificationStatusCounts = async(
+                () -> adminService.getVerificationStatusCount(year));
+        CompletableFuture<Map<String, Integer>> orderItemCount = async(() -> adminService.getMostSoldItems(year));
+        CompletableFuture<Map<String, Integer>> categoryItemCount = async(() -> adminService.getMostCategory(year));
+        CompletableFuture<Map<String, Integer>> mostCountrySold = async(() -> adminService.getCountrySold(year));
+        CompletableFuture<List<MonthlySalesDTO>> monthlySales = async(() -> adminService.getMonthlySalesData(year));
+        CompletableFuture<ProductManagementDTO> productManagement = async(adminService::getProductCounts);
+
+        return CompletableFuture.allOf(orders, emailCounts, numUsers, numArtists, verificationStatusCounts,
+                orderItemCount, categoryItemCount, mostCountrySold, monthlySales, productManagement)
+                .thenApply(done -> {
+                    OrderStatisticsDTO statistics = orders.join();
+                    statistics.setEmailCounts(emailCounts.join());
+                    statistics.setNumUsers(numUsers.join());
+                    statistics.setNumArtists(numArtists.join());
+                    statistics.setVerificationStatusCounts(verificationStatusCounts.join());
+                    statistics.setOrderItemCount(orderItemCount.join());
+                    statistics.setCategoryItemCount(categoryItemCount.join());
+                    statistics.setMostCountrySold(mostCountrySold.join());
+
+                    AdminDashboardDTO dashboard = new AdminDashboardDTO();
+                    dashboard.setYear(year);
+                    dashboard.setStatistics(statistics);
+                    dashboard.setMonthlySales(monthlySales.join());
+                    dashboard.setProductManagement(productManagement.join());
+                    return dashboard;
+                });
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> widget) {
+        return CompletableFuture.supplyAsync(widget, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class CachedDashboard {
+
+        private final AdminDashboardDTO dashboard;
+
+        private final long builtAt;
+
+        private CachedDashboard(AdminDashboardDTO dashboard, long builtAt) {
+            this.dashboard = dashboard;
+            this.builtAt = builtAt;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,30 +23,6 @@ public interface AdminRepository extends JpaRepository<User, Long> {
         @Query("SELECT COUNT(*) FROM User WHERE role = 'ARTIST'")
         Integer countArtist();
 
-        @Query("SELECT " +
-                        " EXTRACT(MONTH FROM o.createdDate), COUNT(o), SUM(o.totalPrice) " +
-                        "FROM Order o " +
-                        "WHERE o.status <> :status " +
-                        "AND EXTRACT(YEAR FROM o.createdDate) = :year " +
-                        "GROUP BY EXTRACT(MONTH FROM o.createdDate) " +
-                        "ORDER BY EXTRACT(MONTH FROM o.createdDate)")
-        List<Object[]> findMonthlySalesData(@Param("year") int year, @Param("status") OrderStatus status);
-
-        @Query("SELECT o.status, COUNT(o) " +
-                        "FROM Order o " +
-                        "WHERE EXTRACT(YEAR FROM o.createdDate) = :year " +
-                        "GROUP BY o.status")
-        List<Object[]> findOrderStatusCounts(int year);
-
-        @Query("SELECT v.status, COUNT(v) " +
-                        "FROM Verification v " +
-                        "WHERE EXTRACT(YEAR FROM v.date) = :year " +
-                        "GROUP BY v.status")
-        List<Object[]> findVerificationStatusCounts(int year);
-
-        @Query("SELECT o FROM Order o WHERE EXTRACT(YEAR FROM o.createdDate) = :year")
-        List<Order> getOrdersPerYear(@Param("year") int year);
-
         @Query("SELECT COUNT(p) FROM Product p WHERE p.available = false")
         Integer findNotAvailableProducts();
 
@@ -58,30 +35,86 @@ public interface AdminRepository extends JpaRepository<User, Long> {
         @Query("SELECT COUNT(p) FROM Product p")
         Integer findTotalProductsCount();
 
+        /**
+         * Not available, available, promoted and total products in one scan.
+         */
+        @Query("SELECT new com.artists_heaven.admin.ProductManagementDTO(" +
+                        "SUM(CASE WHEN p.available = false THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN p.available = true THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN p.on_Promotion = true THEN 1 ELSE 0 END), " +
+                        "COUNT(p)) " +
+                        "FROM Product p")
+        ProductManagementDTO countProductsByState();
+
         @Query("SELECT u FROM User u " +
                         "WHERE (:search IS NULL OR :search = '' OR LOWER(u.username) LIKE LOWER(CONCAT('%', :search, '%'))) "
                         +
                         "ORDER BY u.role")
-        Page<User> findAllSort(@Param("search") String search, Pageable pageable);
+        Slice<User> findAllSort(@Param("search") String search, Pageable pageable);
+
+        @Query("SELECT COUNT(u) FROM User u " +
+                        "WHERE (:search IS NULL OR :search = '' OR LOWER(u.username) LIKE LOWER(CONCAT('%', :search, '%')))")
+        long countBySearch(@Param("search") String search);
 
         @Query("SELECT o FROM Order o ORDER BY o.createdDate")
-        Page<Order> findAllOrderSortByDate(Pageable pageable);
+        Slice<Order> findAllOrderSortByDate(Pageable pageable);
+
+        @Query("SELECT COUNT(o) FROM Order o")
+        long countOrders();
 
         @Query("SELECT o FROM Order o WHERE o.status = :status ORDER BY o.createdDate DESC")
-        Page<Order> findByStatus(@Param("status") OrderStatus status, Pageable pageable);
+        Slice<Order> findByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+        @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+        long countOrdersByStatus(@Param("status") OrderStatus status);
 
-        @Query("SELECT o FROM Order o WHERE " +
-                        "(STR(o.identifier) LIKE CONCAT('%', :search, '%') " +
-                        "OR LOWER(o.paymentIntent) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+        @Query("SELECT o FROM Order o WHERE o.identifier = :identifier " +
+                        "AND (:status IS NULL OR o.status = :status)")
+        Page<Order> findByIdentifier(@Param("identifier") Long identifier,
+                        @Param("status") OrderStatus status,
+                        Pageable pageable);
+
+        @Query("SELECT o FROM Order o WHERE o.paymentIntent = :paymentIntent " +
+                        "AND (:status IS NULL OR o.status = :status) " +
                         "ORDER BY o.createdDate DESC")
-        Page<Order> findBySearch(@Param("search") String search, Pageable pageable);
+        Page<Order> findByPaymentIntent(@Param("paymentIntent") String paymentIntent,
+                        @Param("status") OrderStatus status,
+                        Pageable pageable);
 
-        @Query("SELECT o FROM Order o WHERE o.status = :status " +
-                        "AND (STR(o.identifier) LIKE CONCAT('%', :search, '%') " +
-                        "OR LOWER(o.paymentIntent) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+        /**
+         * Orders placed with an email, compared in lower case. Served by the
+         * idx_orders_email_lower expression index.
+         */
+        @Query("SELECT o FROM Order o WHERE LOWER(o.email) = :email " +
+                        "AND (:status IS NULL OR o.status = :status) " +
                         "ORDER BY o.createdDate DESC")
-        Page<Order> findByStatusAndSearch(@Param("status") String status,
-                        @Param("search") String search,
+        Page<Order> findByEmail(@Param("email") String email,
+                        @Param("status") OrderStatus status,
                         Pageable pageable);
 
+        String PARTIAL_MATCH = "(CAST(:status AS VARCHAR) IS NULL OR o.status = CAST(:status AS VARCHAR)) " +
+                        "AND (CAST(o.identifier AS TEXT) LIKE :pattern " +
+                        "OR LOWER(o.payment_intent) LIKE :pattern " +
+                        "OR LOWER(o.email) LIKE :pattern " +
+                        "OR REGEXP_REPLACE(o.phone, '[^0-9]', '', 'g') LIKE :digits)";
+
+        /**
+         * Orders whose identifier, payment intent or email contains
+         * {@code pattern}, or whose phone digits contain {@code digits}. Both are
+         * LIKE patterns; each expression has a trigram index (see
+         * {@link OrderSearchService#createIndexes()}), so the planner ORs four
+         * index lookups instead of scanning every order.
+         */
+        @Query(value = "SELECT * FROM orders o WHERE " + PARTIAL_MATCH + " ORDER BY o.created_date DESC",
+                        nativeQuery = true)
+        Slice<Order> findByPartialMatch(@Param("status") String status,
+                        @Param("pattern") String pattern,
+                        @Param("digits") String digits,
+                        Pageable pageable);
+
+        @Query(value = "SELECT COUNT(*) FROM orders o WHERE " + PARTIAL_MATCH, nativeQuery = true)
+        long countByPartialMatch(@Param("status") String status,
+                        @Param("pattern") String pattern,
+                        @Param("digits") String digits);
+
 }
@@ -1,39 +1,61 @@
 package com.artists_heaven.admin;
 
-import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import com.artists_heaven.analytics.AnalyticsMetric;
+import com.artists_heaven.analytics.AnalyticsProjector;
 import com.artists_heaven.entities.user.User;
 import com.artists_heaven.entities.user.UserProfileDTO;
+import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.order.Order;
-import com.artists_heaven.order.OrderItem;
 import com.artists_heaven.order.OrderService;
 import com.artists_heaven.order.OrderStatus;
-import com.artists_heaven.product.Category;
-import com.artists_heaven.product.Product;
-import com.artists_heaven.product.ProductService;
+import com.artists_heaven.order.OrderStatusChangedEvent;
+import com.artists_heaven.page.CountMode;
+import com.artists_heaven.page.PageCountService;
+import com.artists_heaven.page.PageResponse;
+import com.artists_heaven.returns.ReturnAcceptedEvent;
+import com.artists_heaven.sales.SalesRollupService;
 import com.artists_heaven.verification.VerificationStatus;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class AdminService {
 
     private final AdminRepository adminRepository;
 
-    private final ProductService productService;
-
     private final OrderService orderService;
 
-    public AdminService(AdminRepository adminRepository, ProductService productService, OrderService orderService) {
+    private final SalesRollupService salesRollupService;
+
+    private final OrderSearchService orderSearchService;
+
+    private final PageCountService pageCountService;
+
+    private final AnalyticsProjector analyticsProjector;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AdminService(AdminRepository adminRepository, OrderService orderService,
+            SalesRollupService salesRollupService, OrderSearchService orderSearchService,
+            PageCountService pageCountService, AnalyticsProjector analyticsProjector,
+            ApplicationEventPublisher eventPublisher) {
         this.adminRepository = adminRepository;
-        this.productService = productService;
         this.orderService = orderService;
+        this.salesRollupService = salesRollupService;
+        this.orderSearchService = orderSearchService;
+        this.pageCountService = pageCountService;
+        this.analyticsProjector = analyticsProjector;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -61,19 +83,7 @@ public class AdminService {
      * @return a list of {@link MonthlySalesDTO} containing sales details
      */
     public List<MonthlySalesDTO> getMonthlySalesData(int year) {
-        List<Object[]> results = adminRepository.findMonthlySalesData(year, OrderStatus.RETURN_ACCEPTED);
-        List<MonthlySalesDTO> monthlySalesDTOList = new ArrayList<>();
-
-        for (Object[] result : results) {
-            Integer month = (result[0] != null) ? ((Number) result[0]).intValue() : null;
-            Long totalOrders = (result[1] != null) ? ((Number) result[1]).longValue() : 0L;
-            Double totalRevenue = (result[2] != null) ? ((Number) result[2]).doubleValue() : 0.0;
-
-            MonthlySalesDTO dto = new MonthlySalesDTO(month, totalOrders, totalRevenue);
-            monthlySalesDTOList.add(dto);
-        }
-
-        return monthlySalesDTOList;
+        return salesRollupService.getMonthlySales(year);
     }
 
     /**
@@ -83,30 +93,21 @@ public class AdminService {
      * @return a map of {@link OrderStatus} to their respective counts
      */
     public Map<OrderStatus, Integer> getOrderStatusCounts(int year) {
-        List<Object[]> results = adminRepository.findOrderStatusCounts(year);
-        Map<OrderStatus, Integer> orderStatusMap = new EnumMap<>(OrderStatus.class);
-        for (Object[] result : results) {
-            OrderStatus status = OrderStatus.valueOf(result[0].toString());
-            int count = Integer.parseInt(result[1].toString());
-            orderStatusMap.put(status, count);
-        }
-        return orderStatusMap;
+        return salesRollupService.getOrderStatusCounts(year);
     }
 
     /**
-     * Retrieves the verification status counts for users in a given year.
+     * Retrieves the verification status counts for users in a given year, from
+     * the analytics counters.
      *
      * @param year the year to filter verification statuses
      * @return a map of {@link VerificationStatus} to their respective counts
      */
     public Map<VerificationStatus, Integer> getVerificationStatusCount(int year) {
-        List<Object[]> results = adminRepository.findVerificationStatusCounts(year);
         Map<VerificationStatus, Integer> verificationStatusMap = new EnumMap<>(VerificationStatus.class);
-        for (Object[] result : results) {
-            VerificationStatus status = VerificationStatus.valueOf(result[0].toString());
-            int count = Integer.parseInt(result[1].toString());
-            verificationStatusMap.put(status, count);
-        }
+        analyticsProjector.getCounts(AnalyticsMetric.VERIFICATION_STATUS, year)
+                .forEach((status, count) -> verificationStatusMap.put(VerificationStatus.valueOf(status),
+                        count.intValue()));
         return verificationStatusMap;
     }
 
@@ -117,16 +118,7 @@ public class AdminService {
      * @return a map of item names to the total quantity sold
      */
     public Map<String, Integer> getMostSoldItems(int year) {
-        List<Order> ordersByYear = adminRepository.getOrdersPerYear(year);
-        Map<String, Integer> itemsCount = new HashMap<>();
-
-        for (Order order : ordersByYear) {
-            for (OrderItem item : order.getItems()) {
-                String itemName = item.getName();
-                itemsCount.merge(itemName, item.getQuantity(), Integer::sum);
-            }
-        }
-        return itemsCount;
+        return salesRollupService.getUnitsByProduct(year);
     }
 
     /**
@@ -136,13 +128,7 @@ public class AdminService {
      * @return a map of country names to their respective order counts
      */
     public Map<String, Integer> getCountrySold(int year) {
-        List<Order> ordersByYear = adminRepository.getOrdersPerYear(year);
-        Map<String, Integer> itemsCount = new HashMap<>();
-
-        for (Order order : ordersByYear) {
-            itemsCount.merge(order.getCountry(), 1, Integer::sum);
-        }
-        return itemsCount;
+        return salesRollupService.getOrdersByCountry(year);
     }
 
     /**
@@ -152,29 +138,7 @@ public class AdminService {
      * @return a map of category names to their respective counts
      */
     public Map<String, Integer> getMostCategory(int year) {
-        List<Order> ordersByYear = adminRepository.getOrdersPerYear(year);
-        Map<String, Integer> categoryCount = new HashMap<>();
-
-        for (Order order : ordersByYear) {
-            for (OrderItem item : order.getItems()) {
-                Product product = productService.findById(item.getProductId());
-                countProductCategories(product, categoryCount);
-            }
-        }
-
-        return categoryCount;
-    }
-
-    /**
-     * Counts categories for a given product and updates the provided map.
-     *
-     * @param product       the product to extract categories from
-     * @param categoryCount the map to update with category counts
-     */
-    private void countProductCategories(Product product, Map<String, Integer> categoryCount) {
-        for (Category category : product.getCategories()) {
-            categoryCount.merge(category.getName(), 1, Integer::sum);
-        }
+        return salesRollupService.getCategoryItemCounts(year);
     }
 
     /**
@@ -213,50 +177,94 @@ public class AdminService {
         return adminRepository.findTotalProductsCount();
     }
 
+    /**
+     * Retrieves the not available, available, promoted and total product
+     * counts with a single query.
+     *
+     * @return the product counts
+     */
+    public ProductManagementDTO getProductCounts() {
+        return adminRepository.countProductsByState();
+    }
+
     /**
      * Retrieves all users with optional search filtering and pagination.
      *
-     * @param search   the search term to filter users by (can be null)
-     * @param pageable pagination and sorting information
+     * @param search    the search term to filter users by (can be null)
+     * @param pageable  pagination and sorting information
+     * @param countMode how to compute the total number of users
      * @return a paginated list of {@link UserProfileDTO}
      */
-    public Page<UserProfileDTO> getAllUsers(String search, Pageable pageable) {
-        Page<User> users = adminRepository.findAllSort(search, pageable);
-        return users.map(UserProfileDTO::new);
+    public PageResponse<UserProfileDTO> getAllUsers(String search, Pageable pageable, CountMode countMode) {
+        Slice<User> users = adminRepository.findAllSort(search, pageable);
+        String filter = search != null && !search.isEmpty() ? "username:" + search.toLowerCase(Locale.ROOT) : null;
+        long total = pageCountService.count(countMode, "users", filter, () -> adminRepository.countBySearch(search));
+        return new PageResponse<>(users, total, countMode).map(UserProfileDTO::new);
     }
 
     /**
      * Retrieves orders filtered by status, search term, and pagination.
      *
-     * @param status   the status to filter by (can be null)
-     * @param search   the search term to filter by (can be null)
-     * @param pageable pagination and sorting information
+     * @param status    the status to filter by (can be null)
+     * @param search    the search term to filter by (can be null); see
+     *                  {@link OrderSearchService#search}
+     * @param pageable  pagination and sorting information
+     * @param countMode how to compute the total number of orders
      * @return a paginated list of {@link Order}
+     * @throws AppExceptions.BadRequestException if the status is not an
+     *                                           {@link OrderStatus}
      */
-    public Page<Order> getOrdersFiltered(String status, String search, Pageable pageable) {
-        if (status != null && search != null) {
-            return adminRepository.findByStatusAndSearch(status, search, pageable);
-        } else if (status != null) {
-            OrderStatus orderStatus = OrderStatus.valueOf(status);
-            return adminRepository.findByStatus(orderStatus, pageable);
-        } else if (search != null) {
-            return adminRepository.findBySearch(search, pageable);
+    public PageResponse<Order> getOrdersFiltered(String status, String search, Pageable pageable,
+            CountMode countMode) {
+        OrderStatus orderStatus = parseStatus(status);
+        if (search != null && !search.isBlank()) {
+            return orderSearchService.search(orderStatus, search, pageable, countMode);
+        } else if (orderStatus != null) {
+            Slice<Order> orders = adminRepository.findByStatus(orderStatus, pageable);
+            long total = pageCountService.count(countMode, "orders", "status:" + orderStatus,
+                    () -> adminRepository.countOrdersByStatus(orderStatus));
+            return new PageResponse<>(orders, total, countMode);
         } else {
-            return adminRepository.findAllOrderSortByDate(pageable);
+            Slice<Order> orders = adminRepository.findAllOrderSortByDate(pageable);
+            long total = pageCountService.count(countMode, "orders", null, adminRepository::countOrders);
+            return new PageResponse<>(orders, total, countMode);
+        }
+    }
+
+    private OrderStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return OrderStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new AppExceptions.BadRequestException("Invalid order status: " + status);
         }
     }
 
     /**
-     * Updates the status of a specific order.
+     * Updates the status of a specific order. The order and its sales rollups
+     * are written in one transaction, and the status events are handled once
+     * it commits.
      *
      * @param id          the ID of the order
      * @param orderStatus the new status to set
      * @throws IllegalArgumentException if the order is not found
      */
+    @Transactional
     public void updateOrderStatus(Long id, OrderStatus orderStatus) {
         Order order = orderService.findOrderById(id);
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(orderStatus);
         orderService.save(order);
+        salesRollupService.recordStatusChange(order, previousStatus, orderStatus);
+        if (previousStatus != orderStatus) {
+            eventPublisher.publishEvent(
+                    new OrderStatusChangedEvent(order.getCreatedDate(), previousStatus, orderStatus));
+            if (orderStatus == OrderStatus.RETURN_ACCEPTED) {
+                eventPublisher.publishEvent(ReturnAcceptedEvent.of(order));
+            }
+        }
     }
 
 }
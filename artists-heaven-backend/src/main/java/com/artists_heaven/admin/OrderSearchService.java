@@ -0,0 +1,204 @@
+package com.artists_heaven.admin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.artists_heaven.order.Order;
+import com.artists_heaven.order.OrderStatus;
+import com.artists_heaven.page.CountMode;
+import com.artists_heaven.page.PageCountService;
+import com.artists_heaven.page.PageResponse;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Finds orders from the admin search box.
+ * <p>
+ * The term is tried as an exact key first: a numeric term as the order
+ * identifier, a {@code pi_...} term as the Stripe payment intent and a term
+ * with {@code @} as the customer email. Each of those is a single index
+ * lookup. Anything else, or an exact key without hits, is matched as a
+ * substring of the identifier, payment intent, email and phone digits
+ * through pg_trgm indexes. Exact keys match a handful of orders, so their
+ * total is always counted; partial matches are counted according to the
+ * requested {@link CountMode}.
+ */
+@Service
+public class OrderSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSearchService.class);
+
+    // Trigrams need at least three characters to narrow anything down
+    static final int MIN_PARTIAL_LENGTH = 3;
+
+    private static final Pattern IDENTIFIER = Pattern.compile("\\d{1,18}");
+
+    private static final Pattern PAYMENT_INTENT = Pattern.compile("pi_\\w+");
+
+    static final String CREATE_TRIGRAM_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+
+    private static final List<SearchIndex> INDEXES = List.of(
+            new SearchIndex("idx_orders_email_lower", "ON orders ((LOWER(email)))", false),
+            new SearchIndex("idx_orders_identifier_trgm",
+                    "ON orders USING gin ((CAST(identifier AS TEXT)) gin_trgm_ops)", true),
+            new SearchIndex("idx_orders_payment_intent_trgm",
+                    "ON orders USING gin ((LOWER(payment_intent)) gin_trgm_ops)", true),
+            new SearchIndex("idx_orders_email_trgm", "ON orders USING gin ((LOWER(email)) gin_trgm_ops)", true),
+            new SearchIndex("idx_orders_phone_trgm",
+                    "ON orders USING gin ((REGEXP_REPLACE(phone, '[^0-9]', '', 'g')) gin_trgm_ops)", true));
+
+    // A concurrent build that fails or is interrupted leaves an invalid index
+    // behind, which IF NOT EXISTS would keep forever
+    static final String INVALID_INDEX_QUERY = "SELECT NOT i.indisvalid FROM pg_index i "
+            + "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?";
+
+    private final AdminRepository adminRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final PageCountService pageCountService;
+
+    private final ExecutorService indexBuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-search-indexes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderSearchService(AdminRepository adminRepository, JdbcTemplate jdbcTemplate,
+            PageCountService pageCountService) {
+        this.adminRepository = adminRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pageCountService = pageCountService;
+    }
+
+    /**
+     * Builds the search indexes on a background thread, so the long
+     * concurrent builds do not hold up the other startup listeners.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        indexBuilder.execute(this::createIndexes);
+    }
+
+    /**
+     * Creates the search indexes that JPA cannot declare: the lower-case email
+     * index and the trigram indexes. They are built concurrently so existing
+     * orders stay writable. An index left invalid by an interrupted build is
+     * dropped and built again. A failing index is logged and the others are
+     * still built; if pg_trgm cannot be installed only the trigram indexes are
+     * skipped. Partial matches still work without them, by scanning.
+     *
+     * @return names of the indexes that could not be built
+     */
+    List<String> createIndexes() {
+        boolean trigrams = true;
+        try {
+            jdbcTemplate.execute(CREATE_TRIGRAM_EXTENSION);
+        } catch (DataAccessException e) {
+            log.warn("pg_trgm is not available, partial order search will scan: {}", e.getMessage());
+            trigrams = false;
+        }
+
+        List<String> failed = new ArrayList<>();
+        for (SearchIndex index : INDEXES) {
+            if (index.trigram && !trigrams) {
+                failed.add(index.name);
+                continue;
+            }
+            try {
+                if (jdbcTemplate.queryForList(INVALID_INDEX_QUERY, Boolean.class, index.name).contains(true)) {
+                    jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index.name);
+                }
+                jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index.name + " " + index.definition);
+            } catch (DataAccessException e) {
+                log.error("Could not build order search index {}", index.name, e);
+                failed.add(index.name);
+            }
+        }
+        return failed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexBuilder.shutdownNow();
+    }
+
+    /**
+     * Searches orders, newest first.
+     *
+     * @param status    optional status the orders must be in
+     * @param search    the search term, not blank
+     * @param pageable  the page to return
+     * @param countMode how to count partial matches
+     * @return the matching orders
+     */
+    public PageResponse<Order> search(OrderStatus status, String search, Pageable pageable, CountMode countMode) {
+        String term = search.trim();
+
+        if (IDENTIFIER.matcher(term).matches()) {
+            Page<Order> page = adminRepository.findByIdentifier(Long.parseLong(term), status, pageable);
+            if (page.hasContent()) {
+                return new PageResponse<>(page);
+            }
+        } else if (PAYMENT_INTENT.matcher(term).matches()) {
+            Page<Order> page = adminRepository.findByPaymentIntent(term, status, pageable);
+            if (page.hasContent()) {
+                return new PageResponse<>(page);
+            }
+        } else if (term.indexOf('@') > 0) {
+            Page<Order> page = adminRepository.findByEmail(term.toLowerCase(Locale.ROOT), status, pageable);
+            if (page.hasContent()) {
+                return new PageResponse<>(page);
+            }
+        }
+
+        if (term.length() < MIN_PARTIAL_LENGTH) {
+            return new PageResponse<>(Page.<Order>empty(pageable));
+        }
+        String statusName = status != null ? status.name() : null;
+        String pattern = contains(term.toLowerCase(Locale.ROOT));
+        String digits = term.replaceAll("[^0-9]", "");
+        // A term with too few digits must not match phones; letters never appear in the phone digits
+        String phonePattern = digits.length() >= MIN_PARTIAL_LENGTH ? contains(digits) : pattern;
+        Slice<Order> orders = adminRepository.findByPartialMatch(statusName, pattern, phonePattern, pageable);
+        long total = pageCountService.count(countMode, "orders", "search:" + statusName + ":" + pattern,
+                () -> adminRepository.countByPartialMatch(statusName, pattern, phonePattern));
+        return new PageResponse<>(orders, total, countMode);
+    }
+
+    // Escapes LIKE wildcards, so "pi_" matches an underscore and not any character
+    private static String contains(String value) {
+        String escaped = value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static final class SearchIndex {
+
+        private final String name;
+
+        private final String definition;
+
+        private final boolean trigram;
+
+        private SearchIndex(String name, String definition, boolean trigram) {
+            this.name = name;
+            this.definition = definition;
+            this.trigram = trigram;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.artists_heaven.admin;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
@@ -10,6 +11,7 @@ import lombok.Setter;
  */
 @Getter
 @Setter
+@NoArgsConstructor
 @Schema(
     name = "ProductManagementDTO",
     description = "Represents product-related statistics, including availability and promotional status."
@@ -39,4 +41,17 @@ public class ProductManagementDTO {
      */
     @Schema(description = "Total number of products", example = "420")
     private Integer totalProducts;
+
+    public ProductManagementDTO(Long notAvailableProducts, Long availableProducts, Long promotedProducts,
+            Long totalProducts) {
+        this.notAvailableProducts = toInteger(notAvailableProducts);
+        this.availableProducts = toInteger(availableProducts);
+        this.promotedProducts = toInteger(promotedProducts);
+        this.totalProducts = toInteger(totalProducts);
+    }
+
+    // SUM over an empty table is null
+    private static Integer toInteger(Long count) {
+        return count == null ? 0 : count.intValue();
+    }
 }
@@ -0,0 +1,54 @@
+package com.artists_heaven.analytics;
+
+import java.time.Year;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.artists_heaven.exception.AppExceptions.BadRequestException;
+import com.artists_heaven.standardResponse.StandardResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsProjector analyticsProjector;
+
+    public AnalyticsController(AnalyticsProjector analyticsProjector) {
+        this.analyticsProjector = analyticsProjector;
+    }
+
+    @Operation(summary = "Get analytics counters", description = "Returns the incrementally maintained counters of the specified year: orders by status and country, "
+            + "order lines sold and returned by product, ratings by score, verification requests by status and user reports by type, "
+            + "and whether the counters are being written to the database.")
+    @ApiResponse(responseCode = "200", description = "Counters retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AnalyticsDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid year parameter", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Invalid year parameter\", \"status\": 400}")))
+    @GetMapping
+    public ResponseEntity<StandardResponse<AnalyticsDTO>> getCounters(
+            @Parameter(description = "Year of the counters", example = "2024", required = true) @RequestParam int year) {
+
+        if (year < 2000 || year > Year.now().getValue()) {
+            throw new BadRequestException("Invalid year parameter");
+        }
+
+        AnalyticsDTO analytics = new AnalyticsDTO();
+        analytics.setYear(year);
+        analytics.setCounters(analyticsProjector.getAllCounts(year));
+        AnalyticsProjector.SnapshotStatus snapshotStatus = analyticsProjector.getSnapshotStatus();
+        analytics.setPendingCounters(snapshotStatus.getPendingCounters());
+        analytics.setSnapshotFailures(snapshotStatus.getConsecutiveFailures());
+        analytics.setLastSnapshotError(snapshotStatus.getLastError());
+        return ResponseEntity.ok(new StandardResponse<>("Analytics counters retrieved successfully", analytics,
+                HttpStatus.OK.value()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.artists_heaven.analytics;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Durable snapshot of one {@link AnalyticsProjector} counter.
+ */
+@Entity
+@Table(name = "analytics_counter")
+@IdClass(AnalyticsCounter.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class AnalyticsCounter {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private AnalyticsMetric metric;
+
+    @Id
+    @Column(nullable = false)
+    private int year;
+
+    @Id
+    @Column(name = "dim_key", nullable = false)
+    private String dimKey;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private AnalyticsMetric metric;
+        private int year;
+        private String dimKey;
+    }
+}
@@ -0,0 +1,54 @@
+package com.artists_heaven.analytics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface AnalyticsCounterRepository extends JpaRepository<AnalyticsCounter, AnalyticsCounter.Key> {
+
+    /**
+     * Adds a delta to one counter, creating the row if it does not exist.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO analytics_counter (metric, year, dim_key, total) VALUES (:metric, :year, :key, :delta) "
+            + "ON CONFLICT (metric, year, dim_key) DO UPDATE SET total = analytics_counter.total + EXCLUDED.total",
+            nativeQuery = true)
+    int add(@Param("metric") String metric, @Param("year") int year, @Param("key") String key,
+            @Param("delta") long delta);
+
+    /**
+     * Builds every counter from the source tables. Used once, when the counter
+     * table is still empty.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO analytics_counter (metric, year, dim_key, total) "
+            + "SELECT 'ORDER_STATUS', CAST(EXTRACT(YEAR FROM created_date) AS int), status, COUNT(*) "
+            + "FROM orders GROUP BY 2, 3 "
+            + "UNION ALL "
+            + "SELECT 'ORDER_COUNTRY', CAST(EXTRACT(YEAR FROM created_date) AS int), country, COUNT(*) "
+            + "FROM orders WHERE country IS NOT NULL GROUP BY 2, 3 "
+            + "UNION ALL "
+            + "SELECT 'PRODUCT_SOLD', CAST(EXTRACT(YEAR FROM o.created_date) AS int), oi.name, COUNT(*) "
+            + "FROM order_items oi JOIN orders o ON o.id = oi.order_id WHERE oi.name IS NOT NULL GROUP BY 2, 3 "
+            + "UNION ALL "
+            + "SELECT 'PRODUCT_RETURNED', CAST(EXTRACT(YEAR FROM o.created_date) AS int), oi.name, COUNT(*) "
+            + "FROM order_items oi JOIN orders o ON o.id = oi.order_id "
+            + "WHERE o.status = 'RETURN_ACCEPTED' AND oi.name IS NOT NULL GROUP BY 2, 3 "
+            + "UNION ALL "
+            + "SELECT 'RATING_SCORE', CAST(EXTRACT(YEAR FROM created_at) AS int), CAST(score AS varchar), COUNT(*) "
+            + "FROM rating WHERE status = 'PUBLISHED' GROUP BY 2, 3 "
+            + "UNION ALL "
+            + "SELECT 'VERIFICATION_STATUS', CAST(EXTRACT(YEAR FROM date) AS int), status, COUNT(*) "
+            + "FROM verification GROUP BY 2, 3 "
+            + "UNION ALL "
+            + "SELECT 'EMAIL_TYPE', CAST(EXTRACT(YEAR FROM created_at) AS int), type, COUNT(*) "
+            + "FROM email GROUP BY 2, 3 "
+            + "ON CONFLICT (metric, year, dim_key) DO NOTHING", nativeQuery = true)
+    int rebuildAll();
+}
@@ -0,0 +1,31 @@
+package com.artists_heaven.analytics;
+
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object with the analytics counters of one year.
+ */
+@Getter
+@Setter
+@Schema(name = "AnalyticsDTO", description = "Analytics counters of one year, by metric and key.")
+public class AnalyticsDTO {
+
+    @Schema(description = "Year of the counters", example = "2024")
+    private int year;
+
+    @Schema(description = "Counters by metric and key", example = "{ \"ORDER_STATUS\": { \"PAID\": 120, \"SENT\": 45 }, \"EMAIL_TYPE\": { \"BUG_REPORT\": 3 } }")
+    private Map<AnalyticsMetric, Map<String, Long>> counters;
+
+    @Schema(description = "Counters changed since the last snapshot written to the database", example = "4")
+    private int pendingCounters;
+
+    @Schema(description = "Snapshots failed in a row; counts stay correct but are lost on restart until one succeeds", example = "0")
+    private int snapshotFailures;
+
+    @Schema(description = "Error of the last failed snapshot, if the last one failed", example = "null")
+    private String lastSnapshotError;
+}
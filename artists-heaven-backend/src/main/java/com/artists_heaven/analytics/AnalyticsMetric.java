@@ -0,0 +1,22 @@
+package com.artists_heaven.analytics;
+
+/**
+ * The counters kept by the {@link AnalyticsProjector}. Each one is split by
+ * year and by a key, noted next to it.
+ */
+public enum AnalyticsMetric {
+    // Orders per status, by creation year
+    ORDER_STATUS,
+    // Orders per country, by creation year
+    ORDER_COUNTRY,
+    // Order lines per product name, by order creation year
+    PRODUCT_SOLD,
+    // Order lines of accepted returns per product name, by order creation year
+    PRODUCT_RETURNED,
+    // Ratings per score, by rating year
+    RATING_SCORE,
+    // Verification requests per status, by submission year
+    VERIFICATION_STATUS,
+    // User reports per email type, by report year
+    EMAIL_TYPE
+}
@@ -0,0 +1,350 @@
+package com.artists_heaven.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.email.EmailReportedEvent;
+import com.artists_heaven.order.OrderPaidEvent;
+import com.artists_heaven.order.OrderStatus;
+import com.artists_heaven.order.OrderStatusChangedEvent;
+import com.artists_heaven.rating.RatingPublishedEvent;
+import com.artists_heaven.returns.ReturnAcceptedEvent;
+import com.artists_heaven.verification.VerificationStatus;
+import com.artists_heaven.verification.VerificationStatusChangedEvent;
+import com.artists_heaven.verification.VerificationSubmittedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the {@link AnalyticsMetric} counters in memory, updated from the
+ * domain events, so dashboards and the chatbot read a map instead of scanning
+ * the source tables.
+ * <p>
+ * Events are handled after their transaction commits (or right away when
+ * published outside one), so a rolled back write is never counted. Each event
+ * only adds to in-memory {@link LongAdder}s; every
+ * {@code analytics.snapshot-interval} a background thread adds the pending
+ * deltas to the {@code analytics_counter} table in one transaction and reloads
+ * the table, which also brings in the counts of other instances. A counter
+ * reads as its last loaded value plus the deltas not written yet; moving the
+ * written deltas into the reloaded values happens under a lock readers share,
+ * so no read counts them twice or misses them. The table is built from the
+ * source tables the first time the application starts with it empty, once
+ * every singleton exists and before the context can deliver any event, so
+ * nothing is counted both by the build and by an event.
+ * <p>
+ * A failed snapshot keeps its deltas pending and is retried on the next run;
+ * the consecutive failures and the last error are reported by
+ * {@link #getSnapshotStatus()}.
+ */
+@Service
+public class AnalyticsProjector implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsProjector.class);
+
+    private final AnalyticsCounterRepository analyticsCounterRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration snapshotInterval;
+
+    private volatile Map<AnalyticsCounter.Key, Long> snapshot = new ConcurrentHashMap<>();
+
+    private final Map<AnalyticsCounter.Key, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Readers share it; moving written deltas from pending to the snapshot is exclusive
+    private final ReadWriteLock transferLock = new ReentrantReadWriteLock();
+
+    private volatile int consecutiveFailures;
+
+    private volatile String lastError;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analytics-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AnalyticsProjector(AnalyticsCounterRepository analyticsCounterRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${analytics.snapshot-interval:30s}") Duration snapshotInterval) {
+        this.analyticsCounterRepository = analyticsCounterRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Builds the counter table if it is empty and loads it.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (analyticsCounterRepository.count() == 0) {
+            analyticsCounterRepository.rebuildAll();
+        }
+        snapshot = load();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long millis = Math.max(1, snapshotInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(OrderPaidEvent event) {
+        int year = yearOf(event.getCreatedDate());
+        add(AnalyticsMetric.ORDER_STATUS, year, OrderStatus.PAID.name(), 1);
+        if (event.getCountry() != null) {
+            add(AnalyticsMetric.ORDER_COUNTRY, year, event.getCountry(), 1);
+        }
+        for (String name : event.getItemNames()) {
+            add(AnalyticsMetric.PRODUCT_SOLD, year, name, 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(OrderStatusChangedEvent event) {
+        if (event.getFrom() == null || event.getFrom() == event.getTo()) {
+            return;
+        }
+        int year = yearOf(event.getCreatedDate());
+        add(AnalyticsMetric.ORDER_STATUS, year, event.getFrom().name(), -1);
+        add(AnalyticsMetric.ORDER_STATUS, year, event.getTo().name(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ReturnAcceptedEvent event) {
+        int year = yearOf(event.getCreatedDate());
+        for (String name : event.getItemNames()) {
+            add(AnalyticsMetric.PRODUCT_RETURNED, year, name, 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(RatingPublishedEvent event) {
+        add(AnalyticsMetric.RATING_SCORE, event.getCreatedAt().getYear(), String.valueOf(event.getScore()), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(VerificationSubmittedEvent event) {
+        add(AnalyticsMetric.VERIFICATION_STATUS, yearOf(event.getDate()), VerificationStatus.PENDING.name(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(VerificationStatusChangedEvent event) {
+        if (event.getFrom() == null || event.getFrom() == event.getTo()) {
+            return;
+        }
+        int year = yearOf(event.getDate());
+        add(AnalyticsMetric.VERIFICATION_STATUS, year, event.getFrom().name(), -1);
+        add(AnalyticsMetric.VERIFICATION_STATUS, year, event.getTo().name(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(EmailReportedEvent event) {
+        add(AnalyticsMetric.EMAIL_TYPE, yearOf(event.getCreatedAt()), event.getType().name(), 1);
+    }
+
+    /**
+     * Counters of a metric in a year, by key. Keys whose count is zero are
+     * left out.
+     */
+    public Map<String, Long> getCounts(AnalyticsMetric metric, int year) {
+        Map<String, Long> counts = new HashMap<>();
+        collect(counts, metric, year);
+        return counts;
+    }
+
+    /**
+     * Counters of a metric over every year, by key. Keys whose count is zero
+     * are left out.
+     */
+    public Map<String, Long> getTotals(AnalyticsMetric metric) {
+        Map<String, Long> counts = new HashMap<>();
+        collect(counts, metric, null);
+        return counts;
+    }
+
+    /**
+     * Every counter of a year, by metric and key.
+     */
+    public Map<AnalyticsMetric, Map<String, Long>> getAllCounts(int year) {
+        Map<AnalyticsMetric, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (AnalyticsMetric metric : AnalyticsMetric.values()) {
+            counts.put(metric, getCounts(metric, year));
+        }
+        return counts;
+    }
+
+    /**
+     * State of the background snapshots.
+     */
+    public SnapshotStatus getSnapshotStatus() {
+        return new SnapshotStatus(pendingCount(), consecutiveFailures, lastError);
+    }
+
+    /**
+     * Adds the pending deltas to the counter table and reloads it. Deltas that
+     * fail to be written stay pending and are retried on the next snapshot.
+     *
+     * @return number of counters written
+     */
+    public synchronized int snapshot() {
+        Map<AnalyticsCounter.Key, Long> deltas = new LinkedHashMap<>();
+        pending.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value != 0) {
+                deltas.put(key, value);
+            }
+        });
+        if (!deltas.isEmpty()) {
+            transactionTemplate.execute(status -> {
+                deltas.forEach((key, delta) -> analyticsCounterRepository.add(key.getMetric().name(), key.getYear(),
+                        key.getDimKey(), delta));
+                return null;
+            });
+        }
+        Map<AnalyticsCounter.Key, Long> next = new ConcurrentHashMap<>(snapshot);
+        deltas.forEach((key, delta) -> next.merge(key, delta, Long::sum));
+        RuntimeException reloadError = null;
+        try {
+            next.putAll(load());
+        } catch (RuntimeException e) {
+            // The written deltas are still moved; the next snapshot reloads
+            reloadError = e;
+        }
+
+        // Move what was written from the pending deltas to the snapshot in one
+        // step for readers; increments racing with the write stay pending
+        transferLock.writeLock().lock();
+        try {
+            deltas.forEach((key, delta) -> pending.get(key).add(-delta));
+            snapshot = next;
+        } finally {
+            transferLock.writeLock().unlock();
+        }
+        if (reloadError != null) {
+            throw reloadError;
+        }
+        return deltas.size();
+    }
+
+    private int pendingCount() {
+        return (int) pending.values().stream().filter(adder -> adder.sum() != 0).count();
+    }
+
+    private Map<AnalyticsCounter.Key, Long> load() {
+        Map<AnalyticsCounter.Key, Long> loaded = new ConcurrentHashMap<>();
+        for (AnalyticsCounter counter : analyticsCounterRepository.findAll()) {
+            loaded.put(new AnalyticsCounter.Key(counter.getMetric(), counter.getYear(), counter.getDimKey()),
+                    counter.getTotal());
+        }
+        return loaded;
+    }
+
+    private void add(AnalyticsMetric metric, int year, String key, long delta) {
+        if (key == null) {
+            return;
+        }
+        pending.computeIfAbsent(new AnalyticsCounter.Key(metric, year, key), k -> new LongAdder()).add(delta);
+    }
+
+    private void collect(Map<String, Long> counts, AnalyticsMetric metric, Integer year) {
+        transferLock.readLock().lock();
+        try {
+            snapshot.forEach((key, value) -> {
+                if (key.getMetric() == metric && (year == null || key.getYear() == year)) {
+                    counts.merge(key.getDimKey(), value, Long::sum);
+                }
+            });
+            pending.forEach((key, adder) -> {
+                if (key.getMetric() == metric && (year == null || key.getYear() == year)) {
+                    counts.merge(key.getDimKey(), adder.sum(), Long::sum);
+                }
+            });
+        } finally {
+            transferLock.readLock().unlock();
+        }
+        counts.values().removeIf(count -> count == 0);
+    }
+
+    private static int yearOf(LocalDateTime date) {
+        return (date != null ? date : LocalDateTime.now()).getYear();
+    }
+
+    private static int yearOf(Date date) {
+        return date != null ? date.toInstant().atZone(ZoneId.systemDefault()).getYear() : LocalDateTime.now().getYear();
+    }
+
+    void snapshotQuietly() {
+        try {
+            snapshot();
+            consecutiveFailures = 0;
+            lastError = null;
+        } catch (RuntimeException e) {
+            // Deltas stay pending; the next run retries them
+            consecutiveFailures++;
+            lastError = e.toString();
+            log.warn("Analytics snapshot failed ({} in a row), {} counters pending: {}", consecutiveFailures,
+                    pendingCount(), e.toString());
+        }
+    }
+
+    /**
+     * Counters waiting to be written and the outcome of the last snapshots.
+     */
+    public static final class SnapshotStatus {
+
+        private final int pendingCounters;
+
+        private final int consecutiveFailures;
+
+        private final String lastError;
+
+        SnapshotStatus(int pendingCounters, int consecutiveFailures, String lastError) {
+            this.pendingCounters = pendingCounters;
+            this.consecutiveFailures = consecutiveFailures;
+            this.lastError = lastError;
+        }
+
+        public int getPendingCounters() {
+            return pendingCounters;
+        }
+
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        snapshotQuietly();
+    }
+}
@@ -0,0 +1,74 @@
+package com.artists_heaven.campaign;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A mass-mailing campaign announcing a new collection or event to every user.
+ * <p>
+ * The campaign keeps its own cursor ({@link #lastRecipientId}) and delivery
+ * counters, so an interrupted send can be resumed from the last processed
+ * batch without mailing anyone twice.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class Campaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull(message = "El tipo de campaña es obligatorio")
+    @Column(nullable = false, length = 50)
+    private CampaignType type;
+
+    @NotNull(message = "La referencia de la campaña es obligatoria")
+    @Column(nullable = false)
+    private Long referenceId;
+
+    @NotBlank(message = "El título de la campaña es obligatorio")
+    @Size(max = 150, message = "El título no debe superar los 150 caracteres")
+    @Column(nullable = false, length = 150)
+    private String title;
+
+    @Size(max = 255, message = "Los detalles no deben superar los 255 caracteres")
+    private String details;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private CampaignStatus status = CampaignStatus.RUNNING;
+
+    @Column(nullable = false)
+    private Long lastRecipientId = 0L;
+
+    @Column(nullable = false)
+    private Long totalRecipients = 0L;
+
+    @Column(nullable = false)
+    private Long sentCount = 0L;
+
+    @Column(nullable = false)
+    private Long failedCount = 0L;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime finishedAt;
+
+}
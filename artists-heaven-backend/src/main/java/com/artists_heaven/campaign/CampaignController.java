@@ -0,0 +1,79 @@
+package com.artists_heaven.campaign;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.artists_heaven.exception.AppExceptions.BadRequestException;
+import com.artists_heaven.standardResponse.StandardResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/admin/campaigns")
+public class CampaignController {
+
+    private final CampaignService campaignService;
+
+    public CampaignController(CampaignService campaignService) {
+        this.campaignService = campaignService;
+    }
+
+    @Operation(summary = "Launch a mass-mailing campaign", description = "Announces a new collection or event to every user. Emails are sent in the background in throttled batches.")
+    @ApiResponse(responseCode = "201", description = "Campaign launched successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Missing campaign type or reference", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Collection or event not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @PostMapping
+    public ResponseEntity<StandardResponse<CampaignProgressDTO>> launchCampaign(
+            @Valid @RequestBody CampaignRequestDTO request) {
+        if (request.getType() == null || request.getReferenceId() == null) {
+            throw new BadRequestException("Campaign type and reference must be provided");
+        }
+
+        Campaign campaign = request.getType() == CampaignType.COLLECTION_RELEASE
+                ? campaignService.launchCollectionCampaign(request.getReferenceId())
+                : campaignService.launchEventCampaign(request.getReferenceId());
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new StandardResponse<>("Campaign launched successfully", new CampaignProgressDTO(campaign),
+                        HttpStatus.CREATED.value()));
+    }
+
+    @Operation(summary = "Get campaign progress", description = "Returns the status and delivery counters of a campaign.")
+    @ApiResponse(responseCode = "200", description = "Campaign retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Campaign not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @GetMapping("/{id}")
+    public ResponseEntity<StandardResponse<CampaignProgressDTO>> getCampaign(
+            @Parameter(description = "ID of the campaign", required = true) @PathVariable Long id) {
+        return ResponseEntity.ok(new StandardResponse<>("Campaign retrieved successfully",
+                new CampaignProgressDTO(campaignService.getCampaign(id)), HttpStatus.OK.value()));
+    }
+
+    @Operation(summary = "Pause a campaign", description = "Stops a running campaign after the batch in flight. It can be resumed later from the same point.")
+    @ApiResponse(responseCode = "200", description = "Campaign paused successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Campaign is not running", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @PostMapping("/{id}/pause")
+    public ResponseEntity<StandardResponse<CampaignProgressDTO>> pauseCampaign(@PathVariable Long id) {
+        return ResponseEntity.ok(new StandardResponse<>("Campaign paused successfully",
+                new CampaignProgressDTO(campaignService.pauseCampaign(id)), HttpStatus.OK.value()));
+    }
+
+    @Operation(summary = "Resume a campaign", description = "Resumes a paused or failed campaign from the last recipient processed.")
+    @ApiResponse(responseCode = "200", description = "Campaign resumed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Campaign already completed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<StandardResponse<CampaignProgressDTO>> resumeCampaign(@PathVariable Long id) {
+        return ResponseEntity.ok(new StandardResponse<>("Campaign resumed successfully",
+                new CampaignProgressDTO(campaignService.resumeCampaign(id)), HttpStatus.OK.value()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.artists_heaven.campaign;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(name = "CampaignProgressDTO", description = "Progress and delivery counters of a mass-mailing campaign.")
+public class CampaignProgressDTO {
+
+    @Schema(description = "Unique identifier of the campaign", example = "3")
+    private Long id;
+
+    @Schema(description = "Kind of announcement", example = "COLLECTION_RELEASE")
+    private CampaignType type;
+
+    @Schema(description = "Title of the announced collection or event", example = "SUMMER-DROP")
+    private String title;
+
+    @Schema(description = "Current status of the campaign", example = "RUNNING")
+    private CampaignStatus status;
+
+    @Schema(description = "Number of recipients when the campaign was launched", example = "100000")
+    private Long totalRecipients;
+
+    @Schema(description = "Number of emails delivered to the mail server", example = "42000")
+    private Long sentCount;
+
+    @Schema(description = "Number of emails that could not be delivered", example = "12")
+    private Long failedCount;
+
+    @Schema(description = "Percentage of recipients already processed", example = "42.01")
+    private Double progress;
+
+    @Schema(description = "Date when the campaign was created", example = "2025-09-29T12:34:56")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date when the campaign finished, if it has", example = "2025-09-29T14:02:10")
+    private LocalDateTime finishedAt;
+
+    public CampaignProgressDTO(Campaign campaign) {
+        this.id = campaign.getId();
+        this.type = campaign.getType();
+        this.title = campaign.getTitle();
+        this.status = campaign.getStatus();
+        this.totalRecipients = campaign.getTotalRecipients();
+        this.sentCount = campaign.getSentCount();
+        this.failedCount = campaign.getFailedCount();
+        long processed = campaign.getSentCount() + campaign.getFailedCount();
+        this.progress = campaign.getTotalRecipients() == 0 ? 100.0
+                : Math.min(100.0, processed * 100.0 / campaign.getTotalRecipients());
+        this.createdAt = campaign.getCreatedAt();
+        this.finishedAt = campaign.getFinishedAt();
+    }
+}
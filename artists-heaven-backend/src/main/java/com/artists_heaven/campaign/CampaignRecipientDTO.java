@@ -0,0 +1,20 @@
+package com.artists_heaven.campaign;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Lightweight projection of a user used while streaming campaign recipients,
+ * so batches never hydrate full {@code User} entities.
+ */
+@Getter
+@AllArgsConstructor
+public class CampaignRecipientDTO {
+
+    private Long id;
+
+    private String email;
+
+    private String country;
+
+}
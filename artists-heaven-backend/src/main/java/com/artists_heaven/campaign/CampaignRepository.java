@@ -0,0 +1,57 @@
+package com.artists_heaven.campaign;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.artists_heaven.entities.user.UserRole;
+
+@Repository
+public interface CampaignRepository extends JpaRepository<Campaign, Long> {
+
+    List<Campaign> findByStatus(CampaignStatus status);
+
+    @Query("SELECT new com.artists_heaven.campaign.CampaignRecipientDTO(u.id, u.email, u.country) " +
+            "FROM User u " +
+            "WHERE u.id > :lastId AND u.role <> :excludedRole " +
+            "ORDER BY u.id")
+    List<CampaignRecipientDTO> findRecipientsAfter(@Param("lastId") Long lastId,
+            @Param("excludedRole") UserRole excludedRole,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.role <> :excludedRole")
+    long countRecipients(@Param("excludedRole") UserRole excludedRole);
+
+    @Query("SELECT c.status FROM Campaign c WHERE c.id = :id")
+    CampaignStatus findStatusById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Campaign c SET c.status = :status WHERE c.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") CampaignStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Campaign c SET c.status = :status, c.finishedAt = :finishedAt WHERE c.id = :id")
+    int finish(@Param("id") Long id, @Param("status") CampaignStatus status,
+            @Param("finishedAt") LocalDateTime finishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Campaign c SET c.lastRecipientId = :lastRecipientId, " +
+            "c.sentCount = c.sentCount + :sent, " +
+            "c.failedCount = c.failedCount + :failed " +
+            "WHERE c.id = :id")
+    int recordBatch(@Param("id") Long id,
+            @Param("lastRecipientId") Long lastRecipientId,
+            @Param("sent") long sent,
+            @Param("failed") long failed);
+
+}
@@ -0,0 +1,20 @@
+package com.artists_heaven.campaign;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(name = "CampaignRequestDTO", description = "Request payload for launching a mass-mailing campaign about a collection or an event.")
+public class CampaignRequestDTO {
+
+    @NotNull
+    @Schema(description = "Kind of announcement", example = "EVENT_ANNOUNCEMENT", required = true)
+    private CampaignType type;
+
+    @NotNull
+    @Schema(description = "ID of the collection or event being announced", example = "12", required = true)
+    private Long referenceId;
+}
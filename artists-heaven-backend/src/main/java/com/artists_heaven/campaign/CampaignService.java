@@ -0,0 +1,390 @@
+package com.artists_heaven.campaign;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+
+import com.artists_heaven.email.EmailSenderService;
+import com.artists_heaven.entities.user.UserRole;
+import com.artists_heaven.event.Event;
+import com.artists_heaven.event.EventRepository;
+import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.product.Collection;
+import com.artists_heaven.product.CollectionRepository;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class CampaignService {
+
+    private static final Locale SPANISH = new Locale("es");
+
+    private static final Set<String> SPANISH_SPEAKING_COUNTRIES = Set.of(
+            "españa", "espana", "spain", "argentina", "mexico", "méxico", "colombia", "chile", "peru", "perú",
+            "uruguay", "paraguay", "bolivia", "ecuador", "venezuela", "cuba", "panama", "panamá",
+            "costa rica", "guatemala", "honduras", "nicaragua", "el salvador", "republica dominicana",
+            "república dominicana", "puerto rico");
+
+    private final CampaignRepository campaignRepository;
+
+    private final CollectionRepository collectionRepository;
+
+    private final EventRepository eventRepository;
+
+    private final EmailSenderService emailSenderService;
+
+    private final MessageSource messageSource;
+
+    private final int batchSize;
+
+    private final int messagesPerSecond;
+
+    private final int maxRetries;
+
+    private final Duration retryBackoff;
+
+    // A single sender thread keeps the global send rate under the configured
+    // limit; campaigns waiting to retry are scheduled on it instead of sleeping
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "campaign-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Long> activeCampaigns = ConcurrentHashMap.newKeySet();
+
+    public CampaignService(CampaignRepository campaignRepository, CollectionRepository collectionRepository,
+            EventRepository eventRepository, EmailSenderService emailSenderService, MessageSource messageSource,
+            @Value("${campaign.batch-size:500}") int batchSize,
+            @Value("${campaign.messages-per-second:20}") int messagesPerSecond,
+            @Value("${campaign.max-retries:5}") int maxRetries,
+            @Value("${campaign.retry-backoff:1s}") Duration retryBackoff) {
+        this.campaignRepository = campaignRepository;
+        this.collectionRepository = collectionRepository;
+        this.eventRepository = eventRepository;
+        this.emailSenderService = emailSenderService;
+        this.messageSource = messageSource;
+        this.batchSize = batchSize;
+        this.messagesPerSecond = Math.max(1, messagesPerSecond);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Creates and starts a campaign announcing a new collection to all users.
+     *
+     * @param collectionId the ID of the released collection
+     * @return the created {@link Campaign}
+     * @throws AppExceptions.ResourceNotFoundException if the collection does not
+     *                                                 exist
+     */
+    public Campaign launchCollectionCampaign(Long collectionId) {
+        Collection collection = collectionRepository.findById(collectionId)
+                .orElseThrow(() -> new AppExceptions.ResourceNotFoundException(
+                        "Collection not found with id: " + collectionId));
+
+        return launch(CampaignType.COLLECTION_RELEASE, collectionId, collection.getName(), null);
+    }
+
+    /**
+     * Creates and starts a campaign announcing an artist event to all users.
+     *
+     * @param eventId the ID of the announced event
+     * @return the created {@link Campaign}
+     * @throws AppExceptions.ResourceNotFoundException if the event does not exist
+     */
+    public Campaign launchEventCampaign(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new AppExceptions.ResourceNotFoundException("Event not found with id: " + eventId));
+
+        String details = event.getArtist().getArtistName() + " - " + event.getLocation() + " (" + event.getDate()
+                + ")";
+        return launch(CampaignType.EVENT_ANNOUNCEMENT, eventId, event.getName(), details);
+    }
+
+    /**
+     * Retrieves a campaign with its current progress and delivery counters.
+     *
+     * @param id the campaign ID
+     * @return the {@link Campaign}
+     * @throws AppExceptions.ResourceNotFoundException if the campaign does not
+     *                                                 exist
+     */
+    public Campaign getCampaign(Long id) {
+        return campaignRepository.findById(id)
+                .orElseThrow(() -> new AppExceptions.ResourceNotFoundException("Campaign not found with id: " + id));
+    }
+
+    /**
+     * Pauses a running campaign. The sender stops after the batch in flight and
+     * the cursor is kept so the campaign can be resumed later.
+     *
+     * @param id the campaign ID
+     * @return the updated {@link Campaign}
+     * @throws AppExceptions.BadRequestException if the campaign is not running
+     */
+    public Campaign pauseCampaign(Long id) {
+        Campaign campaign = getCampaign(id);
+        if (campaign.getStatus() != CampaignStatus.RUNNING) {
+            throw new AppExceptions.BadRequestException("Only running campaigns can be paused");
+        }
+        campaignRepository.updateStatus(id, CampaignStatus.PAUSED);
+        campaign.setStatus(CampaignStatus.PAUSED);
+        return campaign;
+    }
+
+    /**
+     * Resumes a paused or failed campaign from its last processed recipient.
+     *
+     * @param id the campaign ID
+     * @return the updated {@link Campaign}
+     * @throws AppExceptions.BadRequestException if the campaign already completed
+     */
+    public Campaign resumeCampaign(Long id) {
+        Campaign campaign = getCampaign(id);
+        if (campaign.getStatus() == CampaignStatus.COMPLETED) {
+            throw new AppExceptions.BadRequestException("Campaign already completed");
+        }
+        campaignRepository.updateStatus(id, CampaignStatus.RUNNING);
+        campaign.setStatus(CampaignStatus.RUNNING);
+        submit(id);
+        return campaign;
+    }
+
+    /**
+     * Picks up campaigns that were still running when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedCampaigns() {
+        for (Campaign campaign : campaignRepository.findByStatus(CampaignStatus.RUNNING)) {
+            submit(campaign.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Campaign launch(CampaignType type, Long referenceId, String title, String details) {
+        Campaign campaign = new Campaign();
+        campaign.setType(type);
+        campaign.setReferenceId(referenceId);
+        campaign.setTitle(title);
+        campaign.setDetails(details);
+        campaign.setTotalRecipients(campaignRepository.countRecipients(UserRole.ADMIN));
+
+        Campaign saved = campaignRepository.save(campaign);
+        submit(saved.getId());
+        return saved;
+    }
+
+    private void submit(Long campaignId) {
+        if (activeCampaigns.add(campaignId)) {
+            executor.execute(() -> runCampaign(campaignId));
+        }
+    }
+
+    /**
+     * Sends a campaign batch by batch, walking the users table with a keyset
+     * cursor so that only one batch of recipients is held in memory at a time.
+     * Each batch goes out in chunks of {@code campaign.messages-per-second}
+     * messages, one chunk per second, and progress is persisted after every
+     * chunk, which makes the run resumable.
+     * <p>
+     * An error, such as a lost SMTP connection or database error, leaves the
+     * campaign RUNNING and it is retried from its cursor after an exponential
+     * backoff. The campaign is only marked FAILED after
+     * {@code campaign.max-retries} consecutive errors. The retry is scheduled
+     * on the sender thread rather than slept on, so other campaigns keep
+     * sending meanwhile. A chunk that was sent but could not be recorded is
+     * only recorded by the retry, never sent again; a restart in between
+     * still sends it twice.
+     *
+     * @param campaignId the campaign to send
+     */
+    void runCampaign(Long campaignId) {
+        send(new CampaignRun(campaignId));
+    }
+
+    private void send(CampaignRun run) {
+        boolean retrying = false;
+        try {
+            while (true) {
+                try {
+                    if (run.templates == null) {
+                        Campaign campaign = getCampaign(run.campaignId);
+                        run.templates = Map.of(
+                                Locale.ENGLISH, renderTemplate(campaign, Locale.ENGLISH),
+                                SPANISH, renderTemplate(campaign, SPANISH));
+                        run.cursor = campaign.getLastRecipientId();
+                    }
+                    if (run.unrecorded != null) {
+                        record(run);
+                    }
+                    if (campaignRepository.findStatusById(run.campaignId) != CampaignStatus.RUNNING) {
+                        return;
+                    }
+                    List<CampaignRecipientDTO> recipients = campaignRepository.findRecipientsAfter(run.cursor,
+                            UserRole.ADMIN, PageRequest.of(0, batchSize));
+                    if (recipients.isEmpty()) {
+                        campaignRepository.finish(run.campaignId, CampaignStatus.COMPLETED, LocalDateTime.now());
+                        return;
+                    }
+                    for (int from = 0; from < recipients.size(); from += messagesPerSecond) {
+                        sendChunk(run, recipients.subList(from, Math.min(from + messagesPerSecond,
+                                recipients.size())));
+                        run.attempts = 0;
+                    }
+                } catch (RuntimeException e) {
+                    run.attempts++;
+                    if (run.attempts > maxRetries) {
+                        campaignRepository.finish(run.campaignId, CampaignStatus.FAILED, LocalDateTime.now());
+                        return;
+                    }
+                    executor.schedule(() -> send(run), backoffMillis(run.attempts), TimeUnit.MILLISECONDS);
+                    retrying = true;
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Leave the campaign RUNNING so it is resumed on the next startup
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!retrying) {
+                activeCampaigns.remove(run.campaignId);
+            }
+        }
+    }
+
+    /**
+     * Sends one chunk, records it and waits until the chunk has taken at least
+     * one second, so no more than {@code campaign.messages-per-second} messages
+     * leave in any second.
+     *
+     * @throws InterruptedException if the sender thread is interrupted
+     */
+    private void sendChunk(CampaignRun run, List<CampaignRecipientDTO> chunk) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        List<SimpleMailMessage> messages = new ArrayList<>(chunk.size());
+        for (CampaignRecipientDTO recipient : chunk) {
+            SimpleMailMessage message = new SimpleMailMessage(run.templates.get(localeFor(recipient)));
+            message.setTo(recipient.getEmail());
+            messages.add(message);
+        }
+
+        int failed = emailSenderService.sendBatch(messages);
+        // Kept until recorded, so a failed record is retried without sending again
+        run.unrecorded = new SentChunk(chunk.get(chunk.size() - 1).getId(), (long) chunk.size() - failed, failed);
+        record(run);
+
+        throttle(chunk.size(), startedAt);
+    }
+
+    // Persists the last sent chunk and moves the cursor past it
+    private void record(CampaignRun run) {
+        SentChunk chunk = run.unrecorded;
+        campaignRepository.recordBatch(run.campaignId, chunk.lastRecipientId, chunk.sent, chunk.failed);
+        run.cursor = chunk.lastRecipientId;
+        run.unrecorded = null;
+    }
+
+    // Doubles on every consecutive error, up to 64 times the base backoff
+    private long backoffMillis(int attempt) {
+        return retryBackoff.toMillis() << Math.min(attempt - 1, 6);
+    }
+
+    /**
+     * Renders the subject and body of a campaign once for the given locale.
+     *
+     * @param campaign the campaign to render
+     * @param locale   the target locale
+     * @return a message template without recipient
+     */
+    private SimpleMailMessage renderTemplate(Campaign campaign, Locale locale) {
+        String prefix = campaign.getType() == CampaignType.COLLECTION_RELEASE ? "campaign.collection"
+                : "campaign.event";
+        Object[] args = { campaign.getTitle(), campaign.getDetails() != null ? campaign.getDetails() : "" };
+
+        SimpleMailMessage template = new SimpleMailMessage();
+        template.setSubject(messageSource.getMessage(prefix + ".subject", args, locale));
+        template.setText(messageSource.getMessage(prefix + ".body", args, locale));
+        return template;
+    }
+
+    private Locale localeFor(CampaignRecipientDTO recipient) {
+        String country = recipient.getCountry();
+        return country != null && SPANISH_SPEAKING_COUNTRIES.contains(country.trim().toLowerCase())
+                ? SPANISH
+                : Locale.ENGLISH;
+    }
+
+    /**
+     * Progress of a campaign being sent, carried across its retries.
+     */
+    private static final class CampaignRun {
+
+        private final Long campaignId;
+
+        private Map<Locale, SimpleMailMessage> templates;
+
+        private long cursor;
+
+        private int attempts;
+
+        private SentChunk unrecorded;
+
+        private CampaignRun(Long campaignId) {
+            this.campaignId = campaignId;
+        }
+    }
+
+    /**
+     * A chunk that went out, with its delivery counters.
+     */
+    private static final class SentChunk {
+
+        private final long lastRecipientId;
+
+        private final long sent;
+
+        private final long failed;
+
+        private SentChunk(long lastRecipientId, long sent, long failed) {
+            this.lastRecipientId = lastRecipientId;
+            this.sent = sent;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * Sleeps long enough for the last chunk to respect the configured send rate.
+     *
+     * @param sent      number of messages in the last chunk
+     * @param startedAt {@link System#nanoTime()} when the chunk started
+     * @throws InterruptedException if the sender thread is interrupted
+     */
+    private void throttle(int sent, long startedAt) throws InterruptedException {
+        long minimumNanos = TimeUnit.SECONDS.toNanos(sent) / messagesPerSecond;
+        long remaining = minimumNanos - (System.nanoTime() - startedAt);
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.artists_heaven.campaign;
+
+public enum CampaignStatus {
+    RUNNING,
+    PAUSED,
+    COMPLETED,
+    FAILED
+}
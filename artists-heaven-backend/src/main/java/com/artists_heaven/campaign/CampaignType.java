@@ -0,0 +1,6 @@
+package com.artists_heaven.campaign;
+
+public enum CampaignType {
+    COLLECTION_RELEASE,
+    EVENT_ANNOUNCEMENT
+}
@@ -0,0 +1,41 @@
+package com.artists_heaven.chat;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener attached to the entities dynamic chatbot replies are
+ * built from (products, ratings and orders). Any change invalidates the cached
+ * dynamic replies once the transaction commits, so a reply computed before the
+ * commit cannot be cached as fresh.
+ */
+@Component
+public class ChatCacheInvalidationListener {
+
+    private final ChatResponseCache chatResponseCache;
+
+    public ChatCacheInvalidationListener(ChatResponseCache chatResponseCache) {
+        this.chatResponseCache = chatResponseCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    chatResponseCache.invalidateDynamic();
+                }
+            });
+        } else {
+            chatResponseCache.invalidateDynamic();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.artists_heaven.chat;
+
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object with the hit/miss counters of the chatbot response
+ * cache.
+ */
+@Getter
+@Setter
+@Schema(name = "ChatCacheStatsDTO", description = "Counters of the chatbot response cache.")
+public class ChatCacheStatsDTO {
+
+    @Schema(description = "Number of cached replies", example = "128")
+    private int size;
+
+    @Schema(description = "Maximum number of cached replies", example = "1000")
+    private int maxEntries;
+
+    @Schema(description = "Total number of cache hits", example = "5230")
+    private long hits;
+
+    @Schema(description = "Cache hits grouped by reply source", example = "{ \"STATIC\": 4100, \"DYNAMIC\": 900, \"GEMINI\": 230 }")
+    private Map<String, Long> hitsBySource;
+
+    @Schema(description = "Total number of cache misses", example = "1200")
+    private long misses;
+
+    @Schema(description = "Replies evicted because the cache was full", example = "12")
+    private long evictions;
+
+    @Schema(description = "Times dynamic replies were invalidated by catalog or order changes", example = "37")
+    private long dynamicInvalidations;
+
+    @Schema(description = "Hits divided by lookups", example = "0.81")
+    private double hitRatio;
+}
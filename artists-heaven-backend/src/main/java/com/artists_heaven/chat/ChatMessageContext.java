@@ -16,21 +16,26 @@ public class ChatMessageContext {
         this(originalText, false);
     }
 
-public ChatMessageContext(String originalText, boolean skipSpellCheck) {
-    String lowerText = originalText.toLowerCase();
-    String normalized = ChatbotUtils.normalizeText(lowerText);
-
-    boolean isEnglish = ChatbotUtils.isEnglish(normalized);
-    String processedText = skipSpellCheck
-            ? normalized
-            : ChatbotUtils.correctSpelling(normalized, isEnglish);
-
-    this.normalizedText = ChatbotUtils.normalizeText(processedText); 
-    this.tokens = ChatbotUtils.tokenize(this.normalizedText, isEnglish);
-    this.language = isEnglish ? Language.ENGLISH : Language.SPANISH;
-    this.firtsText = originalText;
-}
-
+    /**
+     * Analyzes a message once: normalization, language detection, optional
+     * spell correction and tokenization. The resulting context is shared by all
+     * chatbot stages handling the same message.
+     *
+     * @param originalText   raw user input
+     * @param skipSpellCheck whether spell correction should be skipped
+     */
+    public ChatMessageContext(String originalText, boolean skipSpellCheck) {
+        String normalized = ChatbotUtils.normalizeText(originalText);
+
+        boolean isEnglish = ChatbotUtils.isEnglishNormalized(normalized);
+        this.normalizedText = skipSpellCheck
+                ? normalized
+                : ChatbotUtils.correctSpelling(normalized, isEnglish);
+
+        this.tokens = ChatbotUtils.tokenizeNormalized(this.normalizedText, isEnglish);
+        this.language = isEnglish ? Language.ENGLISH : Language.SPANISH;
+        this.firtsText = originalText;
+    }
 
     public Language getLanguage() {
         return language;
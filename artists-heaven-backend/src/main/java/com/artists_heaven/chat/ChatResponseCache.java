@@ -0,0 +1,231 @@
+package com.artists_heaven.chat;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of chatbot replies keyed by normalized message and
+ * language. Each reply type has its own time to live; dynamic replies (built
+ * from catalog and order data) are also dropped whenever the catalog or the
+ * orders change, and predefined and Gemini replies (chosen against the
+ * knowledge base) whenever the cache is cleared for a new knowledge base.
+ */
+@Component
+public class ChatResponseCache {
+
+    public enum Source {
+        STATIC, DYNAMIC, GEMINI
+    }
+
+    private final int maxEntries;
+
+    private final Map<Source, Long> ttlNanos = new EnumMap<>(Source.class);
+
+    private final LinkedHashMap<String, CachedResponse> entries;
+
+    // Dynamic entries created before the current generation are stale
+    private final AtomicLong dynamicGeneration = new AtomicLong();
+
+    // Same for predefined and Gemini entries and the knowledge base they were
+    // chosen from; bumped by clear()
+    private final AtomicLong knowledgeGeneration = new AtomicLong();
+
+    private final Map<Source, LongAdder> hits = new EnumMap<>(Source.class);
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder dynamicInvalidations = new LongAdder();
+
+    public ChatResponseCache(@Value("${chatbot.cache.max-entries:1000}") int maxEntries,
+            @Value("${chatbot.cache.static-ttl:6h}") Duration staticTtl,
+            @Value("${chatbot.cache.dynamic-ttl:5m}") Duration dynamicTtl,
+            @Value("${chatbot.cache.gemini-ttl:1h}") Duration geminiTtl) {
+        this.maxEntries = maxEntries;
+        ttlNanos.put(Source.STATIC, staticTtl.toNanos());
+        ttlNanos.put(Source.DYNAMIC, dynamicTtl.toNanos());
+        ttlNanos.put(Source.GEMINI, geminiTtl.toNanos());
+        for (Source source : Source.values()) {
+            hits.put(source, new LongAdder());
+        }
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                if (size() > ChatResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached reply for an analyzed message.
+     *
+     * @param context analyzed user input
+     * @return the cached reply or {@code null} if absent or expired
+     */
+    public String get(ChatMessageContext context) {
+        String key = keyOf(context);
+        long now = System.nanoTime();
+        synchronized (entries) {
+            CachedResponse cached = entries.get(key);
+            if (cached != null && !isValid(cached, now)) {
+                entries.remove(key);
+                cached = null;
+            }
+            if (cached == null) {
+                misses.increment();
+                return null;
+            }
+            hits.get(cached.source).increment();
+            return cached.response;
+        }
+    }
+
+    /**
+     * Stores a reply for an analyzed message.
+     *
+     * @param context  analyzed user input
+     * @param response reply to cache
+     * @param source   where the reply came from, which selects its time to live
+     */
+    public void put(ChatMessageContext context, String response, Source source) {
+        put(context, response, source, generation(source));
+    }
+
+    /**
+     * Stores a reply computed while {@code generation} was current. The reply
+     * is dropped if its source was invalidated since then, so a reply built
+     * from data that changed meanwhile is never cached as fresh.
+     *
+     * @param context    analyzed user input
+     * @param response   reply to cache
+     * @param source     where the reply came from, which selects its time to live
+     * @param generation {@link #generation(Source)} read before computing the
+     *                   reply
+     */
+    public void put(ChatMessageContext context, String response, Source source, long generation) {
+        if (response == null || maxEntries <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        CachedResponse cached = new CachedResponse(response, source, now + ttlNanos.get(source), generation);
+        synchronized (entries) {
+            if (generation != generation(source)) {
+                return;
+            }
+            entries.put(keyOf(context), cached);
+        }
+    }
+
+    /**
+     * Current generation of the replies of a source; read it before computing
+     * a reply and pass it to
+     * {@link #put(ChatMessageContext, String, Source, long)}. Predefined and
+     * Gemini replies share the generation of the knowledge base.
+     */
+    public long generation(Source source) {
+        return source == Source.DYNAMIC ? dynamicGeneration.get() : knowledgeGeneration.get();
+    }
+
+    /**
+     * Marks every cached dynamic reply as stale. Called when products, ratings
+     * or orders change.
+     */
+    public void invalidateDynamic() {
+        dynamicGeneration.incrementAndGet();
+        dynamicInvalidations.increment();
+    }
+
+    /**
+     * Removes every cached reply. Replies computed before the call are not
+     * cached afterwards either. Called when the knowledge base is rebuilt.
+     */
+    public void clear() {
+        synchronized (entries) {
+            knowledgeGeneration.incrementAndGet();
+            dynamicGeneration.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns hit/miss counters and the current size of the cache.
+     *
+     * @return cache statistics
+     */
+    public ChatCacheStatsDTO getStats() {
+        long now = System.nanoTime();
+        int size;
+        synchronized (entries) {
+            Iterator<CachedResponse> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (!isValid(iterator.next(), now)) {
+                    iterator.remove();
+                }
+            }
+            size = entries.size();
+        }
+
+        Map<String, Long> hitsBySource = new LinkedHashMap<>();
+        long totalHits = 0;
+        for (Source source : Source.values()) {
+            long count = hits.get(source).sum();
+            hitsBySource.put(source.name(), count);
+            totalHits += count;
+        }
+
+        ChatCacheStatsDTO stats = new ChatCacheStatsDTO();
+        stats.setSize(size);
+        stats.setMaxEntries(maxEntries);
+        stats.setHits(totalHits);
+        stats.setHitsBySource(hitsBySource);
+        stats.setMisses(misses.sum());
+        stats.setEvictions(evictions.sum());
+        stats.setDynamicInvalidations(dynamicInvalidations.sum());
+        long lookups = totalHits + stats.getMisses();
+        stats.setHitRatio(lookups == 0 ? 0.0 : (double) totalHits / lookups);
+        return stats;
+    }
+
+    private boolean isValid(CachedResponse cached, long now) {
+        if (now - cached.expiresAt > 0) {
+            return false;
+        }
+        return cached.generation == generation(cached.source);
+    }
+
+    private static String keyOf(ChatMessageContext context) {
+        return context.getLanguage().name() + ':' + context.getNormalizedText();
+    }
+
+    private static final class CachedResponse {
+
+        private final String response;
+
+        private final Source source;
+
+        private final long expiresAt;
+
+        private final long generation;
+
+        CachedResponse(String response, Source source, long expiresAt, long generation) {
+            this.response = response;
+            this.source = source;
+            this.expiresAt = expiresAt;
+            this.generation = generation;
+        }
+    }
+}
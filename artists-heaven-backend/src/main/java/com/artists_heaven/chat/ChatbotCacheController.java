@@ -0,0 +1,42 @@
+package com.artists_heaven.chat;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.artists_heaven.standardResponse.StandardResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@RestController
+@RequestMapping("/api/admin/chatbot")
+public class ChatbotCacheController {
+
+    private final ChatResponseCache chatResponseCache;
+
+    public ChatbotCacheController(ChatResponseCache chatResponseCache) {
+        this.chatResponseCache = chatResponseCache;
+    }
+
+    @Operation(summary = "Get chatbot cache statistics", description = "Returns the size of the chatbot response cache, its hits by reply source, misses, evictions and hit ratio.")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @GetMapping("/cache")
+    public ResponseEntity<StandardResponse<ChatCacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(new StandardResponse<>("Chatbot cache statistics retrieved successfully",
+                chatResponseCache.getStats(), HttpStatus.OK.value()));
+    }
+
+    @Operation(summary = "Clear chatbot cache", description = "Removes every cached chatbot reply.")
+    @ApiResponse(responseCode = "200", description = "Cache cleared successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @PostMapping("/cache/clear")
+    public ResponseEntity<StandardResponse<Void>> clearCache() {
+        chatResponseCache.clear();
+        return ResponseEntity.ok(new StandardResponse<>("Chatbot cache cleared successfully", HttpStatus.OK.value()));
+    }
+}
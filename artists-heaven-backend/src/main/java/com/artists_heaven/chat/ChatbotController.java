@@ -1,13 +1,18 @@
 package com.artists_heaven.chat;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,60 +24,183 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/chatbot")
 public class ChatbotController {
 
+    private static final long STREAM_TIMEOUT_MS = 60_000L;
+
     private final ChatbotService chatbotService;
 
-    public ChatbotController(ChatbotService chatbotService) {
+    private final ChatResponseCache chatResponseCache;
+
+    public ChatbotController(ChatbotService chatbotService, ChatResponseCache chatResponseCache) {
         this.chatbotService = chatbotService;
+        this.chatResponseCache = chatResponseCache;
     }
 
     @Operation(summary = "Chat with Gemini chatbot", description = "Processes a user message and returns a response. " +
-            "The flow is: 1) Detect predefined intent and return dynamic response, " +
+            "The flow is: 0) Return a cached reply for the same normalized message, 1) Detect predefined intent and return dynamic response, " +
             "2) Fallback to NLP predefined response, " +
             "3) If no response, check if API key is configured, " +
-            "4) If configured, forward the message to Gemini API and return the answer.")
+            "4) If configured, forward the message to Gemini API asynchronously and return the answer; " +
+            "if Gemini is unavailable, answer with the closest predefined response.")
     @ApiResponse(responseCode = "200", description = "Chatbot successfully returned a response", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"message\": \"Hello! How can I help you today?\"}")))
     @ApiResponse(responseCode = "400", description = "Invalid request (e.g. empty message)", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"error\": \"The message cannot be empty\"}")))
     @ApiResponse(responseCode = "500", description = "Server error (e.g. API key missing or unexpected exception)", content = @Content(mediaType = "application/json", schema = @Schema(example = "{\"error\": \"Internal server error\"}")))
     @PostMapping("/message")
-    public ResponseEntity<Map<String, String>> chatWithGemini(@Valid @RequestBody ChatMessageRequestDTO request) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> chatWithGemini(
+            @Valid @RequestBody ChatMessageRequestDTO request) {
         try {
             String userMessage = request.getMessage() != null ? request.getMessage().trim() : "";
 
             if (userMessage.isBlank()) {
-                return badRequest(true,
+                return CompletableFuture.completedFuture(badRequest(true,
                         "El mensaje no puede estar vacío",
-                        "The message cannot be empty");
-            }
-
-            boolean isEnglish = ChatbotUtils.isEnglish(userMessage);
-
-            // 1. Dynamic Response (Intent Detection first)
-            String dynamicResponse = chatbotService.searchDynamicAnswer(userMessage);
-            if (dynamicResponse != null) {
-                return ok(dynamicResponse);
+                        "The message cannot be empty"));
             }
 
-            // 2. Predefined NLP Response (only if no intent detected)
-            String predefinedResponse = chatbotService.searchNLPAnswer(userMessage);
-            if (predefinedResponse != null) {
-                return ok(predefinedResponse);
+            // The message is analyzed once and shared by every stage
+            ChatMessageContext context = new ChatMessageContext(userMessage);
+            boolean isEnglish = context.isEnglish();
+
+            // 0-2. Cached, dynamic or predefined reply. The knowledge base
+            // generation is read first so a Gemini reply chosen against a
+            // replaced knowledge base is not cached either
+            long knowledgeGeneration = chatResponseCache.generation(ChatResponseCache.Source.GEMINI);
+            String localResponse = localReply(context, knowledgeGeneration);
+            if (localResponse != null) {
+                return CompletableFuture.completedFuture(ok(localResponse));
             }
 
             // 3. Check API Key
             if (!chatbotService.isApiKeyConfigured()) {
-                return serverError(isEnglish,
+                return CompletableFuture.completedFuture(serverError(isEnglish,
                         "API key no configurada",
-                        "API key not configured");
+                        "API key not configured"));
             }
 
-            // 4. Query Gemini API
-            String geminiResponse = chatbotService.callGeminiAPI(userMessage);
-            return ok(geminiResponse);
+            // 4. Query Gemini API without holding the request thread; fallback answers
+            // are not cached
+            return chatbotService.callGeminiAPIAsync(userMessage)
+                    .thenApply(geminiResponse -> {
+                        chatResponseCache.put(context, geminiResponse, ChatResponseCache.Source.GEMINI,
+                                knowledgeGeneration);
+                        return ok(geminiResponse);
+                    })
+                    .exceptionally(e -> ok(chatbotService.getFallbackAnswer(context)));
 
         } catch (Exception e) {
-            return serverError(true,
+            return CompletableFuture.completedFuture(serverError(true,
                     "Error interno en el servidor",
-                    "Internal server error");
+                    "Internal server error"));
+        }
+    }
+
+    @Operation(summary = "Chat with Gemini chatbot streaming the reply", description = "Same flow as /message, but the reply "
+            + "is sent as server-sent events. Cached, dynamic and predefined answers are sent at once as a single 'reply' event. "
+            + "Gemini answers are forwarded as 'chunk' events while they are generated and end with a 'done' event carrying the "
+            + "whole text; if Gemini fails before sending anything, the closest predefined answer is sent as a 'reply' event. "
+            + "Every event carries a JSON object with a 'reply' field.")
+    @ApiResponse(responseCode = "200", description = "Event stream with the chatbot reply", content = @Content(mediaType = "text/event-stream", schema = @Schema(example = "event:chunk\ndata:{\"reply\":\"Hello! \"}\n\nevent:done\ndata:{\"reply\":\"Hello! How can I help you?\"}")))
+    @PostMapping(value = "/message/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChatWithGemini(@Valid @RequestBody ChatMessageRequestDTO request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        try {
+            String userMessage = request.getMessage() != null ? request.getMessage().trim() : "";
+
+            if (userMessage.isBlank()) {
+                sendAndComplete(emitter, "error", "The message cannot be empty");
+                return emitter;
+            }
+
+            ChatMessageContext context = new ChatMessageContext(userMessage);
+            boolean isEnglish = context.isEnglish();
+
+            long knowledgeGeneration = chatResponseCache.generation(ChatResponseCache.Source.GEMINI);
+            String localResponse = localReply(context, knowledgeGeneration);
+            if (localResponse != null) {
+                sendAndComplete(emitter, "reply", localResponse);
+                return emitter;
+            }
+
+            if (!chatbotService.isApiKeyConfigured()) {
+                sendAndComplete(emitter, "error", isEnglish ? "API key not configured" : "API key no configurada");
+                return emitter;
+            }
+
+            // Fragments are forwarded from the HTTP client threads; no request thread
+            // waits for the completion
+            AtomicBoolean streamed = new AtomicBoolean();
+            chatbotService.streamGeminiAPI(userMessage, chunk -> {
+                streamed.set(true);
+                send(emitter, "chunk", chunk);
+            }).whenComplete((geminiResponse, error) -> {
+                if (error == null) {
+                    chatResponseCache.put(context, geminiResponse, ChatResponseCache.Source.GEMINI,
+                            knowledgeGeneration);
+                    sendAndComplete(emitter, "done", geminiResponse);
+                } else if (!streamed.get()) {
+                    sendAndComplete(emitter, "reply", chatbotService.getFallbackAnswer(context));
+                } else {
+                    sendAndComplete(emitter, "error",
+                            isEnglish ? "The reply was interrupted" : "La respuesta se ha interrumpido");
+                }
+            });
+        } catch (Exception e) {
+            sendAndComplete(emitter, "error", "Internal server error");
+        }
+        return emitter;
+    }
+
+    /**
+     * Reply that does not need Gemini: a cached reply for the same normalized
+     * message, a dynamic intent answer or a predefined answer. New answers are
+     * cached.
+     *
+     * @param context             analyzed user input
+     * @param knowledgeGeneration knowledge base generation read before answering
+     * @return the reply or {@code null} if Gemini has to answer
+     */
+    private String localReply(ChatMessageContext context, long knowledgeGeneration) {
+        // 0. Cached reply for the same normalized message and language
+        String cachedResponse = chatResponseCache.get(context);
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+
+        // 1. Dynamic Response (Intent Detection first). The generation is read
+        // first so a reply racing with an invalidation is not cached
+        long generation = chatResponseCache.generation(ChatResponseCache.Source.DYNAMIC);
+        String dynamicResponse = chatbotService.searchDynamicAnswer(context);
+        if (dynamicResponse != null) {
+            chatResponseCache.put(context, dynamicResponse, ChatResponseCache.Source.DYNAMIC, generation);
+            return dynamicResponse;
+        }
+
+        // 2. Predefined NLP Response (only if no intent detected)
+        String predefinedResponse = chatbotService.searchNLPAnswer(context);
+        if (predefinedResponse != null) {
+            chatResponseCache.put(context, predefinedResponse, ChatResponseCache.Source.STATIC,
+                    knowledgeGeneration);
+        }
+        return predefinedResponse;
+    }
+
+    /**
+     * Sends one event; the text goes inside a JSON object so line breaks do not
+     * split the event. Failures mean the client is gone and are ignored.
+     */
+    private static void send(SseEmitter emitter, String event, String text) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(Map.of("reply", text), MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or stream already closed
+        }
+    }
+
+    private static void sendAndComplete(SseEmitter emitter, String event, String text) {
+        send(emitter, event, text);
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // Already completed
         }
     }
 
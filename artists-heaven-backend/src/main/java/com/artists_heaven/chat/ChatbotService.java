@@ -2,18 +2,14 @@ package com.artists_heaven.chat;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.core.io.Resource;
 
 import com.artists_heaven.exception.AppExceptions;
@@ -28,10 +24,11 @@ public class ChatbotService {
 
     private final ProductService productService;
     private final QARepository qaRepository;
+    private final IntentDetector intentDetector;
+    private final GeminiClient geminiClient;
     private final Dotenv dotenv = Dotenv.load();
 
     private final String geminiApiKey = dotenv.get("GEMINI_KEY");
-    private final static String geminiApiUrl = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent";
 
     private final double similarityThreshold;
 
@@ -46,22 +43,22 @@ public class ChatbotService {
         }
     }
 
-    public RestTemplate createRestTemplate() {
-        return new RestTemplate();
-    }
-
-    public ChatbotService(QARepository qaRepository, ProductService productService,
+    public ChatbotService(QARepository qaRepository, ProductService productService, IntentDetector intentDetector,
+            GeminiClient geminiClient,
             @Value("classpath:chatbot/system-prompt.txt") Resource systemPromptResource,
             @Value("${chatbot.similarity-threshold:0.4}") double similarityThreshold) {
         this.qaRepository = qaRepository;
         this.productService = productService;
+        this.intentDetector = intentDetector;
+        this.geminiClient = geminiClient;
         this.systemPromptResource = systemPromptResource;
         this.similarityThreshold = similarityThreshold;
     }
 
     /**
      * Searches for an answer in the predefined Q&A repository using token
-     * similarity.
+     * similarity. Candidates come from the {@link QAIndex} posting lists, so only
+     * questions sharing a token with the message are scored.
      *
      * @param text user input
      * @return predefined answer if found, otherwise {@code null}
@@ -70,45 +67,31 @@ public class ChatbotService {
         if (text == null || text.isBlank())
             return null;
 
-        ChatMessageContext context = new ChatMessageContext(text);
-        Set<String> messageTokens = context.getTokens();
-        String originalText = context.getOriginalText();
-
-        Map<String, ChatMessageContext> predefinedQAContexts = qaRepository.getAllQAContexts();
-
-        List<Map.Entry<String, Double>> matches = predefinedQAContexts.entrySet().stream()
-                .map(entry -> {
-                    Set<String> questionTokens = entry.getValue().getTokens();
-                    double similarity = ChatbotUtils.jaccardSimilarity(messageTokens, questionTokens);
-                    return Map.entry(entry.getKey(), similarity);
-                })
-                .filter(e -> e.getValue() >= similarityThreshold)
-                .toList();
+        return searchNLPAnswer(new ChatMessageContext(text));
+    }
 
-        if (matches.isEmpty()) {
+    /**
+     * Searches for an answer in the predefined Q&A repository for an already
+     * analyzed message.
+     *
+     * @param context analyzed user input
+     * @return predefined answer if found, otherwise {@code null}
+     */
+    public String searchNLPAnswer(ChatMessageContext context) {
+        // Question and answer come from the same snapshot even if a rebuild is published meanwhile
+        QASnapshot snapshot = qaRepository.getSnapshot();
+        String selected = snapshot.getIndex().findBestMatch(context.getTokens(), context.getOriginalText(),
+                similarityThreshold);
+        if (selected == null) {
             return null;
         }
 
-        double maxSim = matches.stream()
-                .mapToDouble(Map.Entry::getValue)
-                .max()
-                .orElse(0.0);
-
-        List<String> bestMatches = matches.stream()
-                .filter(e -> e.getValue() == maxSim)
-                .map(Map.Entry::getKey)
-                .toList();
-
-        String selected = bestMatches.stream()
-                .min(Comparator.comparingInt(q -> Math.abs(q.length() - originalText.length())))
-                .orElse(bestMatches.get(0));
-
-        return qaRepository.getAnswer(selected);
+        return snapshot.getAnswer(selected);
     }
 
     /**
      * Searches for a dynamic answer based on detected intent (recommendation,
-     * bestseller).
+     * bestseller, or any intent with a fixed response in the registry).
      *
      * @param text user input
      * @return dynamically generated answer or {@code null} if no intent is detected
@@ -117,83 +100,23 @@ public class ChatbotService {
         if (text == null || text.isBlank())
             return null;
 
-        ChatMessageContext context = new ChatMessageContext(text);
-
-        String intent = detectIntent(context.getNormalizedText());
-        if (intent == null) {
-            return null;
-        }
-
-        return generateResponseForIntent(intent, context.getLanguage() == ChatMessageContext.Language.ENGLISH);
-
+        return searchDynamicAnswer(new ChatMessageContext(text));
     }
 
     /**
-     * Detects the intent of the given message (e.g., recommendation, bestseller).
+     * Searches for a dynamic answer for an already analyzed message.
      *
-     * @param message normalized user input
-     * @return intent key (e.g., "recommendation", "bestseller") or {@code null}
+     * @param context analyzed user input
+     * @return dynamically generated answer or {@code null} if no intent is detected
      */
-    private String detectIntent(String message) {
-        String cleanedMessage = normalizeText(message);
-
-        Map<String, List<String>> intents = Map.of(
-                "recommendation", List.of(
-                        // Español
-                        "recomiendame", "me recomiendas", "sugerencia", "que me aconsejas", "quiero una recomendacion",
-                        "aconsejame", "sugiere algo", "dame una sugerencia", "que me puedes sugerir",
-                        "que me recomiendas", "tienes alguna sugerencia", "que producto me sugieres",
-                        "cual me recomiendas", "me ayudas a elegir", "recomendacion de producto",
-                        "me aconsejas algo", "dame ideas", "alguna idea", "que opcion me sugieres",
-                        "elige por mi", "me das un consejo", "que deberia comprar",
-                        // Inglés
-                        "recommend me", "can you recommend", "suggestion", "what do you suggest",
-                        "i want a recommendation",
-                        "do you suggest", "suggest me something", "give me advice", "what should i buy",
-                        "any recommendations", "which one do you recommend", "recommendation please",
-                        "can you help me choose", "help me decide", "what do you advise",
-                        "pick something for me", "what should i pick", "give me some ideas"),
-                "bestseller", List.of(
-                        // Español
-                        "mas vendido", "top ventas", "producto popular", "lo que mas se vende", "mas comprado",
-                        "producto mas vendido", "ventas altas", "mas pedido", "producto famoso", "producto estrella",
-                        "cual se vende mas", "que compran mas", "producto mas comprado", "lo mas popular",
-                        "lo mas pedido", "articulo mas vendido", "mas solicitado",
-                        // Inglés
-                        "best seller", "top selling", "popular product", "most sold", "best selling product",
-                        "best product",
-                        "most purchased", "most ordered", "top product", "hot item", "what sells the most",
-                        "trending product", "people are buying", "most popular", "most requested",
-                        "most wanted", "customer favorite"));
-
-        for (Map.Entry<String, List<String>> entry : intents.entrySet()) {
-            for (String keyword : entry.getValue()) {
-                if (cleanedMessage.contains(normalizeText(keyword))) {
-                    return entry.getKey();
-                }
-            }
+    public String searchDynamicAnswer(ChatMessageContext context) {
+        String intent = intentDetector.detect(context.getNormalizedText());
+        if (intent == null) {
+            return null;
         }
 
-        return null;
-    }
+        return generateResponseForIntent(intent, context.getLanguage() == ChatMessageContext.Language.ENGLISH);
 
-    /**
-     * Normalizes text by converting to lowercase, removing accents and special
-     * characters.
-     *
-     * @param text raw user input
-     * @return normalized text
-     */
-    private String normalizeText(String text) {
-        if (text == null)
-            return "";
-        return text.toLowerCase()
-                .replaceAll("[áàäâ]", "a")
-                .replaceAll("[éèëê]", "e")
-                .replaceAll("[íìïî]", "i")
-                .replaceAll("[óòöô]", "o")
-                .replaceAll("[úùüû]", "u")
-                .replaceAll("[^a-z0-9 ]", ""); // elimina caracteres no alfanuméricos
     }
 
     /**
@@ -210,7 +133,7 @@ public class ChatbotService {
             case "bestseller":
                 return getTopSellingProductMessage(isEnglish);
             default:
-                return null;
+                return intentDetector.getResponse(intent, isEnglish);
         }
     }
 
@@ -289,54 +212,66 @@ public class ChatbotService {
     }
 
     /**
-     * Calls the Gemini API with the given user message and returns the generated
-     * response.
+     * Calls the Gemini API with the given user message and waits for the
+     * generated response.
      *
      * @param userMessage user input to send to Gemini
      * @return generated response text from Gemini
-     * @throws AppExceptions.InternalServerErrorException if the API response is
+     * @throws AppExceptions.InternalServerErrorException if Gemini is unavailable
+     *                                                    or the API response is
      *                                                    invalid or empty
      */
     public String callGeminiAPI(String userMessage) {
-        RestTemplate restTemplate = createRestTemplate();
-
-        Map<String, Object> systemMessage = Map.of("text", systemPromptText);
-
-        Map<String, Object> userMessageMap = Map.of("text", userMessage);
-        Map<String, Object> content1 = Map.of("role", "user", "parts", List.of(systemMessage));
-        Map<String, Object> content2 = Map.of("role", "user", "parts", List.of(userMessageMap));
-        Map<String, Object> requestBody = Map.of("contents", List.of(content1, content2));
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("X-goog-api-key", geminiApiKey);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-        ResponseEntity<Map> response = restTemplate.postForEntity(geminiApiUrl, entity, Map.class);
-
-        if (!response.getStatusCode().is2xxSuccessful()) {
-            throw new AppExceptions.InternalServerErrorException("Error del servidor de Gemini");
-        }
-
-        Map<String, Object> responseBody = response.getBody();
-        if (responseBody == null || !responseBody.containsKey("candidates")) {
-            throw new AppExceptions.InternalServerErrorException("Respuesta inesperada de Gemini");
+        try {
+            return callGeminiAPIAsync(userMessage).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
+    }
 
-        var candidatesList = (List<Map<String, Object>>) responseBody.get("candidates");
-        if (candidatesList.isEmpty()) {
-            throw new AppExceptions.InternalServerErrorException("No se generó respuesta de Gemini");
-        }
+    /**
+     * Calls the Gemini API without blocking the calling thread.
+     *
+     * @param userMessage user input to send to Gemini
+     * @return a future with the generated response text; it completes
+     *         exceptionally if Gemini is unavailable or the response is invalid
+     */
+    public CompletableFuture<String> callGeminiAPIAsync(String userMessage) {
+        return geminiClient.generateContent(geminiApiKey, systemPromptText, userMessage);
+    }
 
-        Map<String, Object> firstCandidate = candidatesList.get(0);
-        Map<String, Object> contentResponse = (Map<String, Object>) firstCandidate.get("content");
-        var parts = (List<Map<String, Object>>) contentResponse.get("parts");
+    /**
+     * Streams the Gemini answer, handing every text fragment to
+     * {@code onChunk} as soon as it is generated.
+     *
+     * @param userMessage user input to send to Gemini
+     * @param onChunk     receives the generated fragments in order
+     * @return a future with the whole generated text; it completes
+     *         exceptionally if Gemini is unavailable or produces no text
+     */
+    public CompletableFuture<String> streamGeminiAPI(String userMessage, Consumer<String> onChunk) {
+        return geminiClient.streamGenerateContent(geminiApiKey, systemPromptText, userMessage, onChunk);
+    }
 
-        if (parts.isEmpty()) {
-            throw new AppExceptions.InternalServerErrorException("Respuesta sin partes de texto");
+    /**
+     * Answer used when Gemini cannot be reached: the closest predefined answer
+     * sharing at least one token with the message, or a generic apology.
+     *
+     * @param context analyzed user input
+     * @return fallback answer, never {@code null}
+     */
+    public String getFallbackAnswer(ChatMessageContext context) {
+        QASnapshot snapshot = qaRepository.getSnapshot();
+        String selected = snapshot.getIndex().findBestMatch(context.getTokens(), context.getOriginalText(),
+                Double.MIN_VALUE);
+        if (selected != null) {
+            return snapshot.getAnswer(selected);
         }
-
-        return (String) parts.get(0).get("text");
+        return context.isEnglish()
+                ? "Our assistant is not available right now. Please try again in a few minutes."
+                : "Nuestro asistente no está disponible ahora mismo. Inténtalo de nuevo en unos minutos.";
     }
 }
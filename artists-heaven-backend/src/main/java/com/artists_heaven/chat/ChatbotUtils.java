@@ -11,9 +11,6 @@ import java.util.stream.Collectors;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.commons.codec.language.Metaphone;
-import org.apache.commons.text.similarity.LevenshteinDistance;
-
 import com.artists_heaven.exception.AppExceptions;
 
 public class ChatbotUtils {
@@ -21,12 +18,21 @@ public class ChatbotUtils {
     static final Set<String> STOPWORDS_ES = loadStopwords("/stopwords_es.txt");
     static final Set<String> STOPWORDS_EN = loadStopwords("/stopwords_en.txt");
 
-    private static final Set<String> DICTIONARY_ES = loadDictionary("/dictionary_es.txt");
-    private static final Set<String> DICTIONARY_EN = loadDictionary("/dictionary_en.txt");
+    private static final SpellingIndex SPELLING_INDEX_ES = new SpellingIndex(loadDictionary("/dictionary_es.txt"));
+    private static final SpellingIndex SPELLING_INDEX_EN = new SpellingIndex(loadDictionary("/dictionary_en.txt"));
+
+    private static final Pattern WORD_PATTERN = Pattern.compile("\\p{L}+");
+
+    // Characters matched by the regex \s
+    private static final String WHITESPACE = " \t\n\u000B\f\r";
+
+    private static final int FOLD_TABLE_SIZE = 0x250;
+
+    private static final char FOLD_DROP = '\uFFFF';
 
-    private static final int MAX_LEVENSHTEIN_DISTANCE = 3;
+    private static final char FOLD_SLOW = '\uFFFE';
 
-    private static final LevenshteinDistance LD = new LevenshteinDistance(MAX_LEVENSHTEIN_DISTANCE);
+    private static final char[] FOLD_TABLE = buildFoldTable();
 
     /**
      * Detects if a given text is in English by comparing stopword frequency.
@@ -35,43 +41,90 @@ public class ChatbotUtils {
      * @return {@code true} if text is more likely English, {@code false} otherwise
      */
     public static boolean isEnglish(String text) {
-        String normalized = normalizeText(text.toLowerCase());
-        String[] tokens = normalized.split("\\s+");
+        return isEnglishNormalized(normalizeText(text));
+    }
 
-        long enCount = Arrays.stream(tokens).filter(STOPWORDS_EN::contains).count();
-        long esCount = Arrays.stream(tokens).filter(STOPWORDS_ES::contains).count();
+    /**
+     * Same as {@link #isEnglish(String)} for text already passed through
+     * {@link #normalizeText(String)}.
+     *
+     * @param normalized normalized text
+     * @return {@code true} if text is more likely English, {@code false} otherwise
+     */
+    static boolean isEnglishNormalized(String normalized) {
+        int margin = 1;
+
+        return stopwordMargin(normalized) > margin;
+    }
 
-        if (enCount == 0 && esCount == 0) {
-            return false;
+    /**
+     * Tells Spanish from English by stopword frequency, only when one language
+     * clearly dominates (the same margin {@link #isEnglish(String)} uses).
+     *
+     * @param text input text
+     * @return {@code "en"} or {@code "es"}, or {@code null} if the stopwords do not
+     *         decide
+     */
+    public static String detectSpanishOrEnglish(String text) {
+        int margin = stopwordMargin(normalizeText(text));
+        if (margin > 1) {
+            return "en";
         }
-        int margin = 1;
+        if (margin < -1) {
+            return "es";
+        }
+        return null;
+    }
 
-        return enCount > esCount + margin;
+    /**
+     * English stopwords minus Spanish stopwords in a normalized text.
+     */
+    private static int stopwordMargin(String normalized) {
+        int enCount = 0;
+        int esCount = 0;
+        int start = 0;
+        while (start < normalized.length()) {
+            int end = normalized.indexOf(' ', start);
+            if (end < 0) {
+                end = normalized.length();
+            }
+            if (end > start) {
+                String token = normalized.substring(start, end);
+                if (STOPWORDS_EN.contains(token)) {
+                    enCount++;
+                }
+                if (STOPWORDS_ES.contains(token)) {
+                    esCount++;
+                }
+            }
+            start = end + 1;
+        }
+        return enCount - esCount;
     }
 
     /**
-     * Corrects spelling of words in the given text using phonetic (Metaphone) and
-     * Levenshtein distance.
+     * Corrects spelling of words in the given text using the precomputed
+     * phonetic (Metaphone) and edit-distance {@link SpellingIndex}.
      *
      * @param text      input text
      * @param isEnglish whether the text is in English (true) or Spanish (false)
      * @return corrected text with spelling fixes
      */
     public static String correctSpelling(String text, boolean isEnglish) {
-        Pattern wordPattern = Pattern.compile("\\p{L}+");
-        Matcher matcher = wordPattern.matcher(text);
+        Matcher matcher = WORD_PATTERN.matcher(text);
 
         StringBuilder corrected = new StringBuilder();
         int lastEnd = 0;
 
-        Set<String> dictionary = isEnglish ? DICTIONARY_EN : DICTIONARY_ES;
+        SpellingIndex index = isEnglish ? SPELLING_INDEX_EN : SPELLING_INDEX_ES;
 
         while (matcher.find()) {
             corrected.append(text, lastEnd, matcher.start());
 
             String word = matcher.group().toLowerCase();
-            String correctedWord = getClosestMatch(word, dictionary);
-            corrected.append(correctedWord != null ? correctedWord : word);
+            String correctedWord = index.closestMatch(word);
+            // Dictionary words may carry accents, keep the output normalized
+            corrected.append(correctedWord != null ? normalizeText(correctedWord) : word);
 
             lastEnd = matcher.end();
         }
@@ -84,111 +137,109 @@ public class ChatbotUtils {
     }
 
     /**
-     * Finds the closest dictionary match for a given word using phonetic and
-     * distance algorithms.
+     * Normalizes text in a single pass: lower-cases it, removes diacritics and
+     * drops every character that is not a letter, a digit or whitespace.
+     * Whitespace is folded to a plain space.
      *
-     * @param word       word to check
-     * @param dictionary language dictionary
-     * @return best match or {@code null} if none found
+     * @param text input text
+     * @return normalized text
      */
-    private static String getClosestMatch(String word, Set<String> dictionary) {
-        Metaphone metaphone = new Metaphone();
-
-        String wordCode = metaphone.encode(word);
-
-        List<String> candidates = dictionary.stream()
-                .filter(dictWord -> {
-                    String dictCode = metaphone.encode(dictWord);
-                    return dictCode.equals(wordCode);
-                })
-                .toList();
-
-        if (candidates.isEmpty()) {
-            candidates = dictionary.stream()
-                    .filter(dictWord -> Math.abs(dictWord.length() - word.length()) <= 2)
-                    .toList();
-        }
-
-        String bestMatch = null;
-        int bestScore = Integer.MAX_VALUE;
-
-        for (String candidate : candidates) {
-            int distance = LD.apply(word, candidate);
-            if (distance > 3)
-                continue;
-
-            int lengthDiff = Math.abs(word.length() - candidate.length());
-            int commonPrefix = commonPrefixLength(word, candidate);
-            int commonChars = countCommonLetters(word, candidate);
-
-            int score = (distance * 5) + (lengthDiff * 3) - (commonPrefix * 4) - (commonChars * 2);
-
-            if (score < bestScore) {
-                bestScore = score;
-                bestMatch = candidate;
+    public static String normalizeText(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char folded = c < FOLD_TABLE.length ? FOLD_TABLE[c] : FOLD_SLOW;
+            if (folded == FOLD_SLOW) {
+                appendFolded(normalized, c);
+            } else if (folded != FOLD_DROP) {
+                normalized.append(folded);
             }
         }
-
-        return (bestMatch != null && !bestMatch.equals(word)) ? bestMatch : null;
+        return normalized.toString();
     }
 
     /**
-     * Calculates the length of the common prefix between two words.
+     * Tokenizes text into a set of words, filtering out stopwords.
      *
-     * @param a first word
-     * @param b second word
-     * @return length of common prefix
+     * @param texto     input text
+     * @param isEnglish whether the text is English or Spanish
+     * @return set of tokens without stopwords
      */
-    private static int commonPrefixLength(String a, String b) {
-        int min = Math.min(a.length(), b.length());
-        int i = 0;
-        while (i < min && a.charAt(i) == b.charAt(i)) {
-            i++;
-        }
-        return i;
+    public static Set<String> tokenize(String texto, boolean isEnglish) {
+        return tokenizeNormalized(normalizeText(texto), isEnglish);
     }
 
     /**
-     * Counts the number of distinct common letters between two words.
+     * Same as {@link #tokenize(String, boolean)} for text already passed through
+     * {@link #normalizeText(String)}.
      *
-     * @param a first word
-     * @param b second word
-     * @return number of shared characters
+     * @param normalized normalized text
+     * @param isEnglish  whether the text is English or Spanish
+     * @return set of tokens without stopwords
      */
-    private static int countCommonLetters(String a, String b) {
-        Set<Character> setA = a.toLowerCase().chars().mapToObj(c -> (char) c).collect(Collectors.toSet());
-        Set<Character> setB = b.toLowerCase().chars().mapToObj(c -> (char) c).collect(Collectors.toSet());
-        setA.retainAll(setB);
-        return setA.size();
+    static Set<String> tokenizeNormalized(String normalized, boolean isEnglish) {
+        Set<String> stopwords = isEnglish ? STOPWORDS_EN : STOPWORDS_ES;
+
+        Set<String> tokens = new HashSet<>();
+        int start = 0;
+        while (start < normalized.length()) {
+            int end = normalized.indexOf(' ', start);
+            if (end < 0) {
+                end = normalized.length();
+            }
+            if (end > start) {
+                String token = normalized.substring(start, end);
+                if (!stopwords.contains(token)) {
+                    tokens.add(token);
+                }
+            }
+            start = end + 1;
+        }
+        return tokens;
     }
 
     /**
-     * Normalizes text by removing diacritics and non-alphanumeric characters.
+     * Precomputes the normalized form of every Latin character, so
+     * {@link #normalizeText(String)} does not need {@link Normalizer} nor regular
+     * expressions for the usual input.
      *
-     * @param text input text
-     * @return normalized text
+     * @return folding table indexed by character
      */
-    public static String normalizeText(String text) {
-        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD);
-        normalized = normalized.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-        return normalized.replaceAll("[^\\p{L}\\p{Nd}\\s]", "");
+    private static char[] buildFoldTable() {
+        char[] table = new char[FOLD_TABLE_SIZE];
+        for (char c = 0; c < FOLD_TABLE_SIZE; c++) {
+            StringBuilder folded = new StringBuilder(2);
+            appendFolded(folded, c);
+            if (folded.length() == 0) {
+                table[c] = FOLD_DROP;
+            } else if (folded.length() == 1) {
+                table[c] = folded.charAt(0);
+            } else {
+                table[c] = FOLD_SLOW;
+            }
+        }
+        return table;
     }
 
     /**
-     * Tokenizes text into a set of words, filtering out stopwords.
-     *
-     * @param texto     input text
-     * @param isEnglish whether the text is English or Spanish
-     * @return set of tokens without stopwords
+     * Appends the normalized form of a single character: its decomposition
+     * without combining marks, lower-cased, keeping only letters, decimal digits
+     * and whitespace.
      */
-    public static Set<String> tokenize(String texto, boolean isEnglish) {
-        texto = normalizeText(texto);
-
-        Set<String> stopwords = isEnglish ? STOPWORDS_EN : STOPWORDS_ES;
-
-        return Arrays.stream(texto.split("\\s+"))
-                .filter(token -> !token.isBlank() && !stopwords.contains(token))
-                .collect(Collectors.toSet());
+    private static void appendFolded(StringBuilder target, char c) {
+        if (WHITESPACE.indexOf(c) >= 0) {
+            target.append(' ');
+            return;
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        for (int i = 0; i < decomposed.length(); i++) {
+            char part = decomposed.charAt(i);
+            if (Character.isLetter(part)) {
+                target.append(Character.toLowerCase(part));
+            } else if (Character.getType(part) == Character.DECIMAL_DIGIT_NUMBER) {
+                target.append(part);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,460 @@
+package com.artists_heaven.chat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.artists_heaven.exception.AppExceptions;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * HTTP client for the Gemini generateContent and streamGenerateContent APIs.
+ * <p>
+ * A single {@link HttpClient} is shared so connections are pooled, and every
+ * call has connect and read timeouts. The read timeout caps a whole
+ * generateContent call, and the wait for each event of a stream, so long
+ * streamed answers are not cut while Gemini keeps sending. A call that times
+ * out has its HTTP exchange cancelled. A bulkhead caps the number of
+ * exchanges in flight and a circuit breaker stops calling Gemini for a while
+ * after consecutive failures, so callers can answer with a fallback instead.
+ */
+@Component
+public class GeminiClient {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient;
+
+    private final URI generateContentUri;
+
+    private final URI streamGenerateContentUri;
+
+    private final Duration readTimeout;
+
+    private final Semaphore bulkhead;
+
+    private final CircuitBreaker circuitBreaker;
+
+    public GeminiClient(
+            @Value("${chatbot.gemini.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent}") String generateContentUrl,
+            @Value("${chatbot.gemini.stream-url:https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:streamGenerateContent?alt=sse}") String streamGenerateContentUrl,
+            @Value("${chatbot.gemini.connect-timeout:3s}") Duration connectTimeout,
+            @Value("${chatbot.gemini.read-timeout:20s}") Duration readTimeout,
+            @Value("${chatbot.gemini.max-concurrent-calls:16}") int maxConcurrentCalls,
+            @Value("${chatbot.gemini.failure-threshold:5}") int failureThreshold,
+            @Value("${chatbot.gemini.open-duration:30s}") Duration openDuration) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        this.generateContentUri = URI.create(generateContentUrl);
+        this.streamGenerateContentUri = URI.create(streamGenerateContentUrl);
+        this.readTimeout = readTimeout;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+    }
+
+    /**
+     * Sends the system prompt and the user message to Gemini without blocking
+     * the calling thread.
+     *
+     * @param apiKey       Gemini API key
+     * @param systemPrompt system prompt sent before the user message
+     * @param userMessage  user input
+     * @return a future completed with the generated text, or completed
+     *         exceptionally with an
+     *         {@link AppExceptions.InternalServerErrorException} if the call is
+     *         rejected, times out or returns an invalid response
+     */
+    public CompletableFuture<String> generateContent(String apiKey, String systemPrompt, String userMessage) {
+        return guarded(timeout -> httpClient.sendAsync(
+                buildRequest(generateContentUri, apiKey, systemPrompt, userMessage),
+                HttpResponse.BodyHandlers.ofString()), this::extractText);
+    }
+
+    /**
+     * Streams the Gemini answer as server-sent events. Every text part is handed
+     * to {@code onChunk} as soon as its event arrives, on a thread of the HTTP
+     * client, so no thread waits for the whole completion.
+     *
+     * @param apiKey       Gemini API key
+     * @param systemPrompt system prompt sent before the user message
+     * @param userMessage  user input
+     * @param onChunk      receives every generated text fragment in order
+     * @return a future completed with the whole generated text, or completed
+     *         exceptionally with an
+     *         {@link AppExceptions.InternalServerErrorException} if the call is
+     *         rejected, waits longer than the read timeout for an event or
+     *         produces no text
+     */
+    public CompletableFuture<String> streamGenerateContent(String apiKey, String systemPrompt, String userMessage,
+            Consumer<String> onChunk) {
+        return guarded(timeout -> httpClient.sendAsync(
+                buildRequest(streamGenerateContentUri, apiKey, systemPrompt, userMessage),
+                responseInfo -> isSuccess(responseInfo.statusCode())
+                        ? HttpResponse.BodySubscribers.fromLineSubscriber(new StreamSubscriber(onChunk, timeout),
+                                StreamSubscriber::getText, StandardCharsets.UTF_8, null)
+                        : HttpResponse.BodySubscribers.replacing(null)),
+                response -> {
+                    if (!isSuccess(response.statusCode())) {
+                        throw new AppExceptions.InternalServerErrorException("Error del servidor de Gemini");
+                    }
+                    if (response.body() == null || response.body().isEmpty()) {
+                        throw new AppExceptions.InternalServerErrorException("No se generó respuesta de Gemini");
+                    }
+                    return response.body();
+                });
+    }
+
+    /**
+     * Runs an HTTP exchange through the circuit breaker, the bulkhead and the
+     * read timeout. The timeout is restarted whenever the exchange reports
+     * activity on it; when it runs out the exchange is cancelled. The bulkhead
+     * permit is held until the exchange itself is over, and the returned future
+     * only completes after that.
+     */
+    private <T> CompletableFuture<String> guarded(Function<IdleTimeout, CompletableFuture<HttpResponse<T>>> send,
+            Function<HttpResponse<T>, String> handler) {
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(
+                    new AppExceptions.InternalServerErrorException("Servicio de Gemini no disponible temporalmente"));
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.release();
+            return CompletableFuture.failedFuture(
+                    new AppExceptions.InternalServerErrorException("Demasiadas peticiones a Gemini en curso"));
+        }
+
+        IdleTimeout timeout = new IdleTimeout(readTimeout);
+        CompletableFuture<HttpResponse<T>> exchange;
+        try {
+            exchange = send.apply(timeout);
+        } catch (RuntimeException e) {
+            exchange = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<Void> finished = exchange.handle((response, error) -> {
+            bulkhead.release();
+            return null;
+        });
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        exchange.thenApply(handler).whenComplete((text, error) -> {
+            if (error == null) {
+                result.complete(text);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        CompletableFuture<HttpResponse<T>> call = exchange;
+        result.whenComplete((text, error) -> {
+            timeout.stop();
+            if (error != null) {
+                // Aborts the exchange if it is still running; no-op otherwise
+                call.cancel(true);
+            }
+        });
+        timeout.start(() -> result.completeExceptionally(new HttpTimeoutException("Gemini no respondió a tiempo")));
+
+        return finished.thenCompose(done -> result).whenComplete((text, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+            } else {
+                circuitBreaker.onFailure();
+            }
+        }).exceptionallyCompose(error -> CompletableFuture.failedFuture(toAppException(error)));
+    }
+
+    /**
+     * Whether the circuit breaker currently rejects calls.
+     *
+     * @return {@code true} if Gemini is considered unavailable
+     */
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    private HttpRequest buildRequest(URI uri, String apiKey, String systemPrompt, String userMessage) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("X-goog-api-key", apiKey != null ? apiKey : "")
+                .POST(HttpRequest.BodyPublishers.ofString(buildRequestBody(systemPrompt, userMessage)))
+                .build();
+    }
+
+    private static boolean isSuccess(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    private String buildRequestBody(String systemPrompt, String userMessage) {
+        Map<String, Object> systemMessage = Map.of("text", systemPrompt != null ? systemPrompt : "");
+        Map<String, Object> userMessageMap = Map.of("text", userMessage);
+        Map<String, Object> content1 = Map.of("role", "user", "parts", List.of(systemMessage));
+        Map<String, Object> content2 = Map.of("role", "user", "parts", List.of(userMessageMap));
+        try {
+            return objectMapper.writeValueAsString(Map.of("contents", List.of(content1, content2)));
+        } catch (IOException e) {
+            throw new AppExceptions.InternalServerErrorException("Error construyendo la petición a Gemini");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String extractText(HttpResponse<String> response) {
+        if (!isSuccess(response.statusCode())) {
+            throw new AppExceptions.InternalServerErrorException("Error del servidor de Gemini");
+        }
+
+        Map<String, Object> responseBody;
+        try {
+            responseBody = response.body() == null || response.body().isBlank() ? null
+                    : objectMapper.readValue(response.body(), MAP_TYPE);
+        } catch (IOException e) {
+            responseBody = null;
+        }
+        if (responseBody == null || !responseBody.containsKey("candidates")) {
+            throw new AppExceptions.InternalServerErrorException("Respuesta inesperada de Gemini");
+        }
+
+        var candidatesList = (List<Map<String, Object>>) responseBody.get("candidates");
+        if (candidatesList.isEmpty()) {
+            throw new AppExceptions.InternalServerErrorException("No se generó respuesta de Gemini");
+        }
+
+        Map<String, Object> firstCandidate = candidatesList.get(0);
+        Map<String, Object> contentResponse = (Map<String, Object>) firstCandidate.get("content");
+        var parts = contentResponse != null ? (List<Map<String, Object>>) contentResponse.get("parts") : null;
+
+        if (parts == null || parts.isEmpty()) {
+            throw new AppExceptions.InternalServerErrorException("Respuesta sin partes de texto");
+        }
+
+        return (String) parts.get(0).get("text");
+    }
+
+    /**
+     * Text of every part of the first candidate of a streamed chunk.
+     */
+    @SuppressWarnings("unchecked")
+    private static String extractChunkText(Map<String, Object> chunk) {
+        var candidates = (List<Map<String, Object>>) chunk.get("candidates");
+        if (candidates == null || candidates.isEmpty()) {
+            return "";
+        }
+        var content = (Map<String, Object>) candidates.get(0).get("content");
+        var parts = content != null ? (List<Map<String, Object>>) content.get("parts") : null;
+        if (parts == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Map<String, Object> part : parts) {
+            Object partText = part.get("text");
+            if (partText != null) {
+                text.append(partText);
+            }
+        }
+        return text.toString();
+    }
+
+    private static RuntimeException toAppException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof AppExceptions.InternalServerErrorException appException) {
+            return appException;
+        }
+        return new AppExceptions.InternalServerErrorException("Error llamando a Gemini: " + cause.getMessage());
+    }
+
+    /**
+     * Consecutive-failure circuit breaker. After {@code failureThreshold}
+     * failures in a row it rejects calls for {@code openDuration}; then a single
+     * trial call decides whether it closes again.
+     */
+    static final class CircuitBreaker {
+
+        private final int failureThreshold;
+
+        private final long openNanos;
+
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        private final AtomicLong openedAt = new AtomicLong();
+
+        private final AtomicBoolean open = new AtomicBoolean();
+
+        private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+        CircuitBreaker(int failureThreshold, Duration openDuration) {
+            this.failureThreshold = failureThreshold;
+            this.openNanos = openDuration.toNanos();
+        }
+
+        boolean allowRequest() {
+            if (!open.get()) {
+                return true;
+            }
+            // Half open: let a single trial call through once the open period is over
+            return System.nanoTime() - openedAt.get() >= openNanos && trialInFlight.compareAndSet(false, true);
+        }
+
+        /**
+         * Gives back a permission that was granted but not used.
+         */
+        void release() {
+            trialInFlight.set(false);
+        }
+
+        void onSuccess() {
+            consecutiveFailures.set(0);
+            open.set(false);
+            trialInFlight.set(false);
+        }
+
+        void onFailure() {
+            if (open.get() || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                openedAt.set(System.nanoTime());
+                open.set(true);
+            }
+            trialInFlight.set(false);
+        }
+
+        boolean isOpen() {
+            return open.get() && System.nanoTime() - openedAt.get() < openNanos;
+        }
+    }
+
+    /**
+     * Timeout that restarts on every {@link #touch()}. Without touches it is a
+     * plain deadline. Expiry is checked on the shared delayed executor, so no
+     * thread waits for it.
+     */
+    static final class IdleTimeout {
+
+        private final long timeoutNanos;
+
+        private volatile long lastActivity = System.nanoTime();
+
+        private volatile boolean stopped;
+
+        IdleTimeout(Duration timeout) {
+            this.timeoutNanos = Math.max(1, timeout.toNanos());
+        }
+
+        void start(Runnable onExpiry) {
+            schedule(onExpiry, timeoutNanos);
+        }
+
+        /**
+         * Records activity.
+         *
+         * @return {@code false} if the call is already over and the activity
+         *         should be ignored
+         */
+        boolean touch() {
+            lastActivity = System.nanoTime();
+            return !stopped;
+        }
+
+        void stop() {
+            stopped = true;
+        }
+
+        private void schedule(Runnable onExpiry, long delayNanos) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                if (stopped) {
+                    return;
+                }
+                long idle = System.nanoTime() - lastActivity;
+                if (idle >= timeoutNanos) {
+                    onExpiry.run();
+                } else {
+                    schedule(onExpiry, timeoutNanos - idle);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads the {@code data:} lines of a Gemini SSE response, forwarding and
+     * accumulating their text. Lines that are not valid chunks are skipped.
+     * Every line restarts the read timeout; once the call is over (timed out
+     * or cancelled) the subscription is cancelled and nothing else is
+     * forwarded.
+     */
+    private final class StreamSubscriber implements Flow.Subscriber<String> {
+
+        private final Consumer<String> onChunk;
+
+        private final IdleTimeout timeout;
+
+        private final StringBuilder text = new StringBuilder();
+
+        private Flow.Subscription subscription;
+
+        StreamSubscriber(Consumer<String> onChunk, IdleTimeout timeout) {
+            this.onChunk = onChunk;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!timeout.touch()) {
+                subscription.cancel();
+                return;
+            }
+            if (!line.startsWith("data:")) {
+                return;
+            }
+            String chunkText;
+            try {
+                chunkText = extractChunkText(objectMapper.readValue(line.substring(5).trim(), MAP_TYPE));
+            } catch (IOException | ClassCastException e) {
+                return;
+            }
+            if (!chunkText.isEmpty()) {
+                text.append(chunkText);
+                onChunk.accept(chunkText);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // The response future completes exceptionally with the same error
+        }
+
+        @Override
+        public void onComplete() {
+            // The finisher reads the accumulated text
+        }
+
+        String getText() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.artists_heaven.chat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Entry of the chatbot intent registry ({@code chatbot.intents-resource}).
+ * Intents handled in code (recommendation, bestseller) only need keywords;
+ * any other intent answers with the fixed response of the message language.
+ */
+@Getter
+@Setter
+public class IntentDefinition {
+
+    private List<String> keywords = new ArrayList<>();
+
+    // Language code ("en", "es") -> response
+    private Map<String, String> responses = new HashMap<>();
+}
@@ -0,0 +1,196 @@
+package com.artists_heaven.chat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.artists_heaven.exception.AppExceptions;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Detects chatbot intents with a single Aho-Corasick automaton built from the
+ * intent registry. Keywords are normalized once at startup, so matching a
+ * message is one pass over its characters regardless of how many intents or
+ * keywords are registered.
+ */
+@Component
+public class IntentDetector {
+
+    // Normalized text only contains a-z, 0-9 and spaces
+    private static final int ALPHABET_SIZE = 37;
+
+    private static final int NO_INTENT = Integer.MAX_VALUE;
+
+    private final String[] intents;
+
+    private final Map<String, IntentDefinition> definitions;
+
+    private final int[][] transitions;
+
+    // Lowest intent position (highest priority) recognized at each state
+    private final int[] output;
+
+    public IntentDetector(@Value("${chatbot.intents-resource:classpath:chatbot/intents.json}") Resource intentsResource) {
+        this.definitions = loadDefinitions(intentsResource);
+        this.intents = definitions.keySet().toArray(new String[0]);
+
+        List<int[]> gotoTable = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        gotoTable.add(newState());
+        outputs.add(NO_INTENT);
+
+        for (int intent = 0; intent < intents.length; intent++) {
+            for (String keyword : definitions.get(intents[intent]).getKeywords()) {
+                String normalized = normalize(keyword);
+                if (normalized.isEmpty()) {
+                    continue;
+                }
+                int state = 0;
+                for (int i = 0; i < normalized.length(); i++) {
+                    int symbol = symbol(normalized.charAt(i));
+                    if (gotoTable.get(state)[symbol] < 0) {
+                        gotoTable.get(state)[symbol] = gotoTable.size();
+                        gotoTable.add(newState());
+                        outputs.add(NO_INTENT);
+                    }
+                    state = gotoTable.get(state)[symbol];
+                }
+                outputs.set(state, Math.min(outputs.get(state), intent));
+            }
+        }
+
+        this.transitions = gotoTable.toArray(new int[0][]);
+        this.output = outputs.stream().mapToInt(Integer::intValue).toArray();
+        buildFailureTransitions();
+    }
+
+    /**
+     * Detects the intent of the given message. When several intents match, the
+     * one declared first in the registry wins.
+     *
+     * @param message user input
+     * @return intent key (e.g., "recommendation", "bestseller") or {@code null}
+     */
+    public String detect(String message) {
+        String normalized = normalize(message);
+
+        int state = 0;
+        int best = NO_INTENT;
+        for (int i = 0; i < normalized.length() && best > 0; i++) {
+            state = transitions[state][symbol(normalized.charAt(i))];
+            best = Math.min(best, output[state]);
+        }
+        return best == NO_INTENT ? null : intents[best];
+    }
+
+    /**
+     * Returns the fixed response configured for an intent.
+     *
+     * @param intent    intent key
+     * @param isEnglish whether the response should be in English
+     * @return the configured response or {@code null} if there is none
+     */
+    public String getResponse(String intent, boolean isEnglish) {
+        IntentDefinition definition = definitions.get(intent);
+        if (definition == null || definition.getResponses() == null) {
+            return null;
+        }
+        return definition.getResponses().get(isEnglish ? "en" : "es");
+    }
+
+    /**
+     * Normalizes text by converting to lowercase, removing accents and special
+     * characters.
+     *
+     * @param text raw user input
+     * @return normalized text
+     */
+    static String normalize(String text) {
+        if (text == null)
+            return "";
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            switch (c) {
+                case 'á', 'à', 'ä', 'â' -> c = 'a';
+                case 'é', 'è', 'ë', 'ê' -> c = 'e';
+                case 'í', 'ì', 'ï', 'î' -> c = 'i';
+                case 'ó', 'ò', 'ö', 'ô' -> c = 'o';
+                case 'ú', 'ù', 'ü', 'û' -> c = 'u';
+                default -> {
+                    // keep as is
+                }
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == ' ') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Completes the goto table with the failure links, turning the trie into a
+     * deterministic automaton (no failure chasing while matching).
+     */
+    private void buildFailureTransitions() {
+        int[] failure = new int[transitions.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+            int next = transitions[0][symbol];
+            if (next < 0) {
+                transitions[0][symbol] = 0;
+            } else {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            output[state] = Math.min(output[state], output[failure[state]]);
+            for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+                int next = transitions[state][symbol];
+                if (next < 0) {
+                    transitions[state][symbol] = transitions[failure[state]][symbol];
+                } else {
+                    failure[next] = transitions[failure[state]][symbol];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET_SIZE];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static int symbol(char c) {
+        if (c == ' ') {
+            return 36;
+        }
+        return c <= '9' ? 26 + (c - '0') : c - 'a';
+    }
+
+    private static Map<String, IntentDefinition> loadDefinitions(Resource resource) {
+        try (InputStream is = resource.getInputStream()) {
+            return new ObjectMapper().readValue(is, new TypeReference<LinkedHashMap<String, IntentDefinition>>() {
+            });
+        } catch (IOException e) {
+            throw new AppExceptions.InternalServerErrorException("Error loading chatbot intents from " + resource);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.artists_heaven.chat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(name = "KnowledgeBaseStatusDTO", description = "Knowledge base snapshot currently used to answer chat messages.")
+public class KnowledgeBaseStatusDTO {
+
+    @Schema(description = "Number of rebuilds published since startup", example = "4")
+    private long version;
+
+    @Schema(description = "Number of questions in the published snapshot", example = "120")
+    private int questions;
+
+    public KnowledgeBaseStatusDTO(QASnapshot snapshot) {
+        this.version = snapshot.getVersion();
+        this.questions = snapshot.size();
+    }
+}
@@ -0,0 +1,45 @@
+package com.artists_heaven.chat;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A question of the chatbot knowledge base and its predefined answer, managed
+ * by administrators. The table is seeded from {@code predefinedQA.json} the
+ * first time the application starts.
+ */
+@Entity
+@Table(name = "predefined_qa", uniqueConstraints = @UniqueConstraint(columnNames = "question"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PredefinedQA {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 500)
+    private String question;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String answer;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public PredefinedQA(String question, String answer) {
+        this.question = question;
+        this.answer = answer;
+    }
+}
@@ -0,0 +1,93 @@
+package com.artists_heaven.chat;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.artists_heaven.standardResponse.StandardResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/admin/chatbot/qa")
+public class PredefinedQAController {
+
+    private final PredefinedQAService predefinedQAService;
+
+    public PredefinedQAController(PredefinedQAService predefinedQAService) {
+        this.predefinedQAService = predefinedQAService;
+    }
+
+    @Operation(summary = "List the chatbot knowledge base", description = "Returns every predefined question and answer.")
+    @ApiResponse(responseCode = "200", description = "Knowledge base retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @GetMapping
+    public ResponseEntity<StandardResponse<List<PredefinedQADTO>>> getAll() {
+        List<PredefinedQADTO> entries = predefinedQAService.getAll().stream().map(PredefinedQADTO::new).toList();
+        return ResponseEntity.ok(new StandardResponse<>("Knowledge base retrieved successfully", entries,
+                HttpStatus.OK.value()));
+    }
+
+    @Operation(summary = "Add a question to the knowledge base", description = "Stores the question and rebuilds the chatbot index in the background.")
+    @ApiResponse(responseCode = "201", description = "Question added successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Missing question or answer", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "400", description = "The question already exists", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @PostMapping
+    public ResponseEntity<StandardResponse<PredefinedQADTO>> create(@Valid @RequestBody PredefinedQARequestDTO request) {
+        PredefinedQADTO entry = new PredefinedQADTO(predefinedQAService.create(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new StandardResponse<>("Question added successfully", entry, HttpStatus.CREATED.value()));
+    }
+
+    @Operation(summary = "Edit a question of the knowledge base", description = "Changes the question or the answer and rebuilds the chatbot index in the background.")
+    @ApiResponse(responseCode = "200", description = "Question updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Entry not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Another entry already has the question", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @PutMapping("/{id}")
+    public ResponseEntity<StandardResponse<PredefinedQADTO>> update(
+            @Parameter(description = "ID of the entry", required = true) @PathVariable Long id,
+            @Valid @RequestBody PredefinedQARequestDTO request) {
+        PredefinedQADTO entry = new PredefinedQADTO(predefinedQAService.update(id, request));
+        return ResponseEntity.ok(new StandardResponse<>("Question updated successfully", entry, HttpStatus.OK.value()));
+    }
+
+    @Operation(summary = "Remove a question from the knowledge base", description = "Deletes the entry and rebuilds the chatbot index in the background.")
+    @ApiResponse(responseCode = "200", description = "Question removed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Entry not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @DeleteMapping("/{id}")
+    public ResponseEntity<StandardResponse<Void>> delete(
+            @Parameter(description = "ID of the entry", required = true) @PathVariable Long id) {
+        predefinedQAService.delete(id);
+        return ResponseEntity.ok(new StandardResponse<>("Question removed successfully", HttpStatus.OK.value()));
+    }
+
+    @Operation(summary = "Get the published knowledge base", description = "Returns the version and size of the snapshot the chatbot is answering from.")
+    @ApiResponse(responseCode = "200", description = "Status retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @GetMapping("/status")
+    public ResponseEntity<StandardResponse<KnowledgeBaseStatusDTO>> getStatus() {
+        return ResponseEntity.ok(new StandardResponse<>("Knowledge base status retrieved successfully",
+                new KnowledgeBaseStatusDTO(predefinedQAService.getSnapshot()), HttpStatus.OK.value()));
+    }
+
+    @Operation(summary = "Reload the knowledge base", description = "Rebuilds the chatbot index from the stored questions in the background.")
+    @ApiResponse(responseCode = "202", description = "Reload scheduled", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+    @PostMapping("/reload")
+    public ResponseEntity<StandardResponse<Void>> reload() {
+        predefinedQAService.rebuild();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new StandardResponse<>("Knowledge base reload scheduled", HttpStatus.ACCEPTED.value()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.artists_heaven.chat;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(name = "PredefinedQADTO", description = "Question and answer of the chatbot knowledge base.")
+public class PredefinedQADTO {
+
+    @Schema(description = "Unique identifier of the entry", example = "7")
+    private Long id;
+
+    @Schema(description = "Question as users would ask it", example = "¿Cuánto tarda el envío?")
+    private String question;
+
+    @Schema(description = "Answer returned by the chatbot", example = "El envío tarda entre 3 y 5 días laborables.")
+    private String answer;
+
+    @Schema(description = "Date of the last change", example = "2025-09-29T12:34:56")
+    private LocalDateTime updatedAt;
+
+    public PredefinedQADTO(PredefinedQA entry) {
+        this.id = entry.getId();
+        this.question = entry.getQuestion();
+        this.answer = entry.getAnswer();
+        this.updatedAt = entry.getUpdatedAt();
+    }
+}
@@ -0,0 +1,15 @@
+package com.artists_heaven.chat;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PredefinedQARepository extends JpaRepository<PredefinedQA, Long> {
+
+    Optional<PredefinedQA> findByQuestion(String question);
+
+    boolean existsByQuestion(String question);
+
+}
@@ -0,0 +1,22 @@
+package com.artists_heaven.chat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(name = "PredefinedQARequestDTO", description = "Question and answer of the chatbot knowledge base.")
+public class PredefinedQARequestDTO {
+
+    @NotBlank
+    @Size(max = 500)
+    @Schema(description = "Question as users would ask it", example = "¿Cuánto tarda el envío?", required = true)
+    private String question;
+
+    @NotBlank
+    @Schema(description = "Answer returned by the chatbot", example = "El envío tarda entre 3 y 5 días laborables.", required = true)
+    private String answer;
+}
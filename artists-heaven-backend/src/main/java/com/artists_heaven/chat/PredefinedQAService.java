@@ -0,0 +1,151 @@
+package com.artists_heaven.chat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.artists_heaven.exception.AppExceptions;
+
+/**
+ * Admin management of the chatbot knowledge base.
+ * <p>
+ * Questions and answers are stored in the database. Every change schedules a
+ * background rebuild of the {@link QARepository} snapshot; chat requests keep
+ * answering from the previous snapshot until the new one is published.
+ */
+@Service
+public class PredefinedQAService {
+
+    private final PredefinedQARepository predefinedQARepository;
+
+    private final QARepository qaRepository;
+
+    private final ChatResponseCache chatResponseCache;
+
+    public PredefinedQAService(PredefinedQARepository predefinedQARepository, QARepository qaRepository,
+            ChatResponseCache chatResponseCache) {
+        this.predefinedQARepository = predefinedQARepository;
+        this.qaRepository = qaRepository;
+        this.chatResponseCache = chatResponseCache;
+    }
+
+    /**
+     * Seeds the table from {@code predefinedQA.json} on the first start and
+     * otherwise loads the stored knowledge base in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadKnowledgeBase() {
+        if (predefinedQARepository.count() == 0) {
+            List<PredefinedQA> entries = new ArrayList<>();
+            qaRepository.getAllQA().forEach((question, answer) -> entries.add(new PredefinedQA(question, answer)));
+            predefinedQARepository.saveAll(entries);
+            return;
+        }
+        rebuild();
+    }
+
+    public List<PredefinedQA> getAll() {
+        return predefinedQARepository.findAll(Sort.by("id"));
+    }
+
+    /**
+     * Adds a question to the knowledge base.
+     *
+     * @param request question and answer
+     * @return the stored entry
+     * @throws AppExceptions.DuplicateActionException if the question already
+     *                                                exists
+     */
+    public PredefinedQA create(PredefinedQARequestDTO request) {
+        String question = request.getQuestion().trim();
+        if (predefinedQARepository.existsByQuestion(question)) {
+            throw new AppExceptions.DuplicateActionException("The question already exists in the knowledge base");
+        }
+
+        PredefinedQA saved = predefinedQARepository.save(new PredefinedQA(question, request.getAnswer().trim()));
+        rebuild();
+        return saved;
+    }
+
+    /**
+     * Changes the question or the answer of an entry.
+     *
+     * @param id      entry ID
+     * @param request new question and answer
+     * @return the updated entry
+     * @throws AppExceptions.ResourceNotFoundException if the entry does not exist
+     * @throws AppExceptions.DuplicateActionException if another entry already has
+     *                                                the question
+     */
+    public PredefinedQA update(Long id, PredefinedQARequestDTO request) {
+        PredefinedQA entry = findById(id);
+        String question = request.getQuestion().trim();
+        predefinedQARepository.findByQuestion(question)
+                .filter(other -> !other.getId().equals(id))
+                .ifPresent(other -> {
+                    throw new AppExceptions.DuplicateActionException(
+                            "The question already exists in the knowledge base");
+                });
+
+        entry.setQuestion(question);
+        entry.setAnswer(request.getAnswer().trim());
+        entry.setUpdatedAt(LocalDateTime.now());
+        PredefinedQA saved = predefinedQARepository.save(entry);
+        rebuild();
+        return saved;
+    }
+
+    /**
+     * Removes an entry from the knowledge base.
+     *
+     * @param id entry ID
+     * @throws AppExceptions.ResourceNotFoundException if the entry does not exist
+     */
+    public void delete(Long id) {
+        predefinedQARepository.delete(findById(id));
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the published snapshot from the stored entries in the
+     * background. Cached replies are dropped once the new snapshot is published
+     * so no reply from the previous answers is served afterwards.
+     *
+     * @return a future completed with the published snapshot
+     */
+    public CompletableFuture<QASnapshot> rebuild() {
+        return qaRepository.rebuild(this::loadAnswers)
+                .thenApply(snapshot -> {
+                    chatResponseCache.clear();
+                    return snapshot;
+                });
+    }
+
+    public QASnapshot getSnapshot() {
+        return qaRepository.getSnapshot();
+    }
+
+    private PredefinedQA findById(Long id) {
+        return predefinedQARepository.findById(id)
+                .orElseThrow(() -> new AppExceptions.ResourceNotFoundException(
+                        "Knowledge base entry not found with id: " + id));
+    }
+
+    // Entries are read in ID order so ties between equally similar questions are
+    // still resolved by insertion order
+    private Map<String, String> loadAnswers() {
+        Map<String, String> answers = new LinkedHashMap<>();
+        for (PredefinedQA entry : predefinedQARepository.findAll(Sort.by("id"))) {
+            answers.put(entry.getQuestion(), entry.getAnswer());
+        }
+        return answers;
+    }
+}
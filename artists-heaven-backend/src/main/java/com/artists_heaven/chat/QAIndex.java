@@ -0,0 +1,139 @@
+package com.artists_heaven.chat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over the predefined questions.
+ * <p>
+ * Each token points to the questions that contain it, so only questions
+ * sharing at least one token with the message are scored. The Jaccard
+ * similarity is computed from the overlap count and the token set sizes,
+ * without building intersection or union sets. The overlap counters are kept
+ * per thread and only the entries a query touched are reset, so a query does
+ * not allocate or clear anything proportional to the number of questions.
+ */
+public class QAIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    // Questions keep the iteration order of the source map; ties are resolved
+    // by the lowest position, as the previous linear scan did
+    private final String[] questions;
+
+    private final int[] tokenCounts;
+
+    private final Map<String, int[]> postings;
+
+    private final ThreadLocal<Scratch> scratch;
+
+    public QAIndex(Map<String, ChatMessageContext> contexts) {
+        this.questions = new String[contexts.size()];
+        this.tokenCounts = new int[contexts.size()];
+
+        Map<String, List<Integer>> lists = new HashMap<>();
+        int position = 0;
+        for (Map.Entry<String, ChatMessageContext> entry : contexts.entrySet()) {
+            Set<String> tokens = entry.getValue().getTokens();
+            questions[position] = entry.getKey();
+            tokenCounts[position] = tokens.size();
+            for (String token : tokens) {
+                lists.computeIfAbsent(token, t -> new ArrayList<>()).add(position);
+            }
+            position++;
+        }
+
+        this.postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((token, positions) -> postings.put(token,
+                positions.stream().mapToInt(Integer::intValue).toArray()));
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(questions.length));
+    }
+
+    /**
+     * Finds the predefined question most similar to the given message tokens.
+     * Questions below the threshold are ignored; among the most similar ones,
+     * the question whose length is closest to the original text wins.
+     *
+     * @param tokens       message tokens
+     * @param originalText original user input, used to break ties
+     * @param threshold    minimum Jaccard similarity
+     * @return the best matching question or {@code null} if none reaches the
+     *         threshold
+     */
+    public String findBestMatch(Set<String> tokens, String originalText, double threshold) {
+        Scratch buffers = scratch.get();
+        int[] overlap = buffers.overlap;
+        int[] candidates = buffers.candidates;
+        int candidateCount = 0;
+
+        for (String token : tokens) {
+            for (int question : postings.getOrDefault(token, EMPTY)) {
+                if (overlap[question]++ == 0) {
+                    candidates[candidateCount++] = question;
+                }
+            }
+        }
+
+        try {
+            int best = best(tokens.size(), originalText, threshold, overlap, candidates, candidateCount);
+            return best < 0 ? null : questions[best];
+        } finally {
+            for (int i = 0; i < candidateCount; i++) {
+                overlap[candidates[i]] = 0;
+            }
+        }
+    }
+
+    private int best(int tokenCount, String originalText, double threshold, int[] overlap, int[] candidates,
+            int candidateCount) {
+        // A non positive threshold also accepts questions without shared tokens
+        boolean everyQuestion = threshold <= 0;
+        int count = everyQuestion ? questions.length : candidateCount;
+
+        int best = -1;
+        double bestSimilarity = 0.0;
+        int bestLengthDiff = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int question = everyQuestion ? i : candidates[i];
+            int union = tokenCount + tokenCounts[question] - overlap[question];
+            double similarity = union == 0 ? 0.0 : (double) overlap[question] / union;
+            if (similarity < threshold) {
+                continue;
+            }
+
+            int lengthDiff = Math.abs(questions[question].length() - originalText.length());
+            if (best < 0 || similarity > bestSimilarity
+                    || (similarity == bestSimilarity && (lengthDiff < bestLengthDiff
+                            || (lengthDiff == bestLengthDiff && question < best)))) {
+                best = question;
+                bestSimilarity = similarity;
+                bestLengthDiff = lengthDiff;
+            }
+        }
+
+        return best;
+    }
+
+    public int size() {
+        return questions.length;
+    }
+
+    /**
+     * Overlap counters and the list of questions they were set for, reused by
+     * the queries of one thread. Counters are zero between queries.
+     */
+    private static final class Scratch {
+
+        private final int[] overlap;
+
+        private final int[] candidates;
+
+        private Scratch(int size) {
+            this.overlap = new int[size];
+            this.candidates = new int[size];
+        }
+    }
+}
@@ -4,15 +4,38 @@ import com.artists_heaven.exception.AppExceptions;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds the current {@link QASnapshot} of the predefined Q&A knowledge base.
+ * <p>
+ * The first snapshot is loaded from {@code predefinedQA.json}. Later edits are
+ * rebuilt on a background thread and published with a single reference swap,
+ * so chat requests never wait for a rebuild nor see a half-built index.
+ */
 @Component
 public class QARepository {
-    private Map<String, String> predefinedQA;
-    private Map<String, ChatMessageContext> predefinedContexts;
+
+    private volatile QASnapshot snapshot;
+
+    // Latest source waiting to be rebuilt; older pending sources are superseded
+    private final AtomicReference<Supplier<Map<String, String>>> pendingSource = new AtomicReference<>();
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chatbot-qa-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public QARepository() {
         loadQAFromFile();
@@ -22,38 +45,76 @@ public class QARepository {
         return getClass().getClassLoader().getResourceAsStream("predefinedQA.json");
     }
 
+    @SuppressWarnings("unchecked")
     private void loadQAFromFile() {
         ObjectMapper mapper = new ObjectMapper();
         try (InputStream is = getResourceAsStream()) {
             if (is == null) {
                 throw new AppExceptions.InternalServerErrorException("No se encontró el archivo predefinedQA.json en resources");
             }
-            predefinedQA = mapper.readValue(is, Map.class);
+            Map<String, String> predefinedQA = mapper.readValue(is, LinkedHashMap.class);
 
             // Preprocesar contextos solo una vez
-            predefinedContexts = new HashMap<>();
-            for (String question : predefinedQA.keySet()) {
-                ChatMessageContext ctx = new ChatMessageContext(question, true); // saltamos corrector
-                predefinedContexts.put(question, ctx);
-            }
+            snapshot = new QASnapshot(predefinedQA, 0L);
 
         } catch (IOException e) {
             throw new AppExceptions.InternalServerErrorException("Error cargando predefinedQA.json");
         }
     }
 
+    /**
+     * Rebuilds the knowledge base in the background from the given source and
+     * publishes it atomically. Requests made while a rebuild is queued are
+     * merged into a single rebuild that reads the latest source.
+     *
+     * @param source supplies the questions and answers; it is called on the
+     *               rebuild thread
+     * @return a future completed with a snapshot that includes this request, or
+     *         completed exceptionally if the rebuild failed (the previous
+     *         snapshot stays in use)
+     */
+    public CompletableFuture<QASnapshot> rebuild(Supplier<Map<String, String>> source) {
+        pendingSource.set(source);
+        return CompletableFuture.supplyAsync(() -> {
+            Supplier<Map<String, String>> latest = pendingSource.getAndSet(null);
+            if (latest == null) {
+                // An earlier task already rebuilt from this request's source
+                return snapshot;
+            }
+            QASnapshot rebuilt = new QASnapshot(latest.get(), snapshot.getVersion() + 1);
+            snapshot = rebuilt;
+            return rebuilt;
+        }, rebuildExecutor);
+    }
+
+    /**
+     * Current snapshot. Callers that look up a question and then its answer
+     * should read both from the same snapshot.
+     *
+     * @return the published snapshot
+     */
+    public QASnapshot getSnapshot() {
+        return snapshot;
+    }
+
     public String getAnswer(String question) {
-        if (question == null)
-            return null;
-        return predefinedQA.get(question);
+        return snapshot.getAnswer(question);
     }
 
     public Map<String, String> getAllQA() {
-        return predefinedQA;
+        return snapshot.getAnswers();
     }
 
     public Map<String, ChatMessageContext> getAllQAContexts() {
-        return predefinedContexts;
+        return snapshot.getContexts();
     }
-}
 
+    public QAIndex getIndex() {
+        return snapshot.getIndex();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,69 @@
+package com.artists_heaven.chat;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of the predefined Q&A knowledge base: the answers, the
+ * analyzed questions and the retrieval index built from them.
+ * <p>
+ * A snapshot is fully built before it is published, so readers holding one
+ * always see answers and index from the same version.
+ */
+public final class QASnapshot {
+
+    private final Map<String, String> answers;
+
+    private final Map<String, ChatMessageContext> contexts;
+
+    private final QAIndex index;
+
+    private final long version;
+
+    public QASnapshot(Map<String, String> answers) {
+        this(answers, 0L);
+    }
+
+    QASnapshot(Map<String, String> answers, long version) {
+        Map<String, String> answersCopy = new LinkedHashMap<>(answers);
+        Map<String, ChatMessageContext> contextMap = new LinkedHashMap<>();
+        for (String question : answersCopy.keySet()) {
+            contextMap.put(question, new ChatMessageContext(question, true)); // saltamos corrector
+        }
+        this.answers = Collections.unmodifiableMap(answersCopy);
+        this.contexts = Collections.unmodifiableMap(contextMap);
+        this.index = new QAIndex(contextMap);
+        this.version = version;
+    }
+
+    public String getAnswer(String question) {
+        if (question == null)
+            return null;
+        return answers.get(question);
+    }
+
+    public Map<String, String> getAnswers() {
+        return answers;
+    }
+
+    public Map<String, ChatMessageContext> getContexts() {
+        return contexts;
+    }
+
+    public QAIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Number of rebuilds published before this snapshot; the one loaded from
+     * {@code predefinedQA.json} at startup is version 0.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return answers.size();
+    }
+}
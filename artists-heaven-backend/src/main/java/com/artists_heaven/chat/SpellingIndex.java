@@ -0,0 +1,235 @@
+package com.artists_heaven.chat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.codec.language.Metaphone;
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+/**
+ * Precomputed spelling correction index for a dictionary.
+ * <p>
+ * Dictionary words are grouped by their Metaphone code once, so phonetic
+ * candidates are found with a single map lookup. When no phonetic candidate
+ * exists, a trie walk with incremental Levenshtein rows visits only the words
+ * within {@link #MAX_DISTANCE} edits instead of scanning the whole dictionary.
+ */
+public class SpellingIndex {
+
+    static final int MAX_DISTANCE = 3;
+
+    private static final int MAX_FALLBACK_LENGTH_DIFF = 2;
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final LevenshteinDistance BOUNDED_LD = new LevenshteinDistance(MAX_DISTANCE);
+
+    private final Metaphone metaphone = new Metaphone();
+
+    // Words keep the dictionary iteration order; ties are resolved by the lowest
+    // index, as the previous linear scan did
+    private final String[] words;
+
+    private final Map<String, int[]> phoneticBuckets;
+
+    private final TrieNode trie = new TrieNode();
+
+    public SpellingIndex(Collection<String> dictionary) {
+        this.words = dictionary.toArray(new String[0]);
+
+        Map<String, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < words.length; i++) {
+            buckets.computeIfAbsent(metaphone.encode(words[i]), code -> new ArrayList<>()).add(i);
+            trie.add(words[i], i);
+        }
+
+        this.phoneticBuckets = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((code, indexes) -> phoneticBuckets.put(code,
+                indexes.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Finds the closest dictionary word for the given (lower-case) word.
+     *
+     * @param word word to check
+     * @return best match or {@code null} if none found or the word is already
+     *         correct
+     */
+    public String closestMatch(String word) {
+        int[] candidates = phoneticBuckets.getOrDefault(metaphone.encode(word), EMPTY);
+
+        int best = candidates.length > 0
+                ? bestOf(word, candidates)
+                : new TrieSearch(word).run();
+
+        if (best < 0 || words[best].equals(word)) {
+            return null;
+        }
+        return words[best];
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    private int bestOf(String word, int[] candidates) {
+        int best = -1;
+        int bestScore = Integer.MAX_VALUE;
+        for (int index : candidates) {
+            int distance = BOUNDED_LD.apply(word, words[index]);
+            if (distance < 0) {
+                continue;
+            }
+            int score = score(word, words[index], distance);
+            if (score < bestScore || (score == bestScore && index < best)) {
+                bestScore = score;
+                best = index;
+            }
+        }
+        return best;
+    }
+
+    private static int score(String word, String candidate, int distance) {
+        int lengthDiff = Math.abs(word.length() - candidate.length());
+        return (distance * 5) + (lengthDiff * 3) - (commonPrefixLength(word, candidate) * 4)
+                - (countCommonLetters(word, candidate) * 2);
+    }
+
+    /**
+     * Calculates the length of the common prefix between two words.
+     *
+     * @param a first word
+     * @param b second word
+     * @return length of common prefix
+     */
+    static int commonPrefixLength(String a, String b) {
+        int min = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < min && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Counts the number of distinct common letters between two words without
+     * allocating.
+     *
+     * @param a first word
+     * @param b second word
+     * @return number of shared characters
+     */
+    static int countCommonLetters(String a, String b) {
+        int common = 0;
+        for (int i = 0; i < a.length(); i++) {
+            char c = a.charAt(i);
+            if (a.indexOf(c) == i && b.indexOf(c) >= 0) {
+                common++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Trie node. Searching walks the trie computing one Levenshtein row per
+     * node, so words sharing a prefix share the work and branches whose row
+     * already exceeds {@link #MAX_DISTANCE} are pruned.
+     */
+    private static final class TrieNode {
+
+        private char[] keys = new char[0];
+
+        private TrieNode[] children = new TrieNode[0];
+
+        private int wordIndex = -1;
+
+        void add(String word, int index) {
+            TrieNode node = this;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.childOrCreate(word.charAt(i));
+            }
+            if (node.wordIndex < 0) {
+                node.wordIndex = index;
+            }
+        }
+
+        private TrieNode childOrCreate(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = key;
+            children[children.length - 1] = new TrieNode();
+            return children[children.length - 1];
+        }
+    }
+
+    /**
+     * Finds the best scored word within {@link #MAX_DISTANCE} edits whose length
+     * differs by at most {@link #MAX_FALLBACK_LENGTH_DIFF}.
+     */
+    private final class TrieSearch {
+
+        private final String word;
+
+        private final int[][] rows;
+
+        private int best = -1;
+
+        private int bestScore = Integer.MAX_VALUE;
+
+        TrieSearch(String word) {
+            this.word = word;
+            this.rows = new int[word.length() + MAX_FALLBACK_LENGTH_DIFF + 1][word.length() + 1];
+            for (int i = 0; i <= word.length(); i++) {
+                rows[0][i] = i;
+            }
+        }
+
+        int run() {
+            visitChildren(trie, 0);
+            return best;
+        }
+
+        private void visitChildren(TrieNode node, int depth) {
+            for (int c = 0; c < node.keys.length; c++) {
+                visit(node.children[c], node.keys[c], depth + 1);
+            }
+        }
+
+        private void visit(TrieNode node, char key, int depth) {
+            int[] previous = rows[depth - 1];
+            int[] row = rows[depth];
+            int length = word.length();
+
+            row[0] = depth;
+            int rowMin = depth;
+            for (int i = 1; i <= length; i++) {
+                int cost = word.charAt(i - 1) == key ? 0 : 1;
+                row[i] = Math.min(Math.min(row[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+                rowMin = Math.min(rowMin, row[i]);
+            }
+
+            int distance = row[length];
+            if (node.wordIndex >= 0 && distance <= MAX_DISTANCE
+                    && Math.abs(depth - length) <= MAX_FALLBACK_LENGTH_DIFF) {
+                int score = score(word, words[node.wordIndex], distance);
+                if (score < bestScore || (score == bestScore && node.wordIndex < best)) {
+                    bestScore = score;
+                    best = node.wordIndex;
+                }
+            }
+
+            if (rowMin <= MAX_DISTANCE && depth < rows.length - 1) {
+                visitChildren(node, depth);
+            }
+        }
+    }
+}
@@ -74,6 +74,7 @@ public class SecurityConfiguration {
                         "/api/auth/forgot-password",
                         "/api/auth/reset-password",
                         "/api/user-products/all",
+                        "/api/leaderboard/**",
                         "/api/user-products/userProduct_media/**",
                         "/api/product/allCollections",
         };
@@ -89,10 +90,13 @@ public class SecurityConfiguration {
                         "/api/product/promotion/{id}",
                         "/api/product/demote/{id}",
                         "/api/admin/staticsPerYear",
+                        "/api/admin/dashboard",
                         "/api/admin/sales/monthly",
                         "/api/admin/product-management",
                         "/api/admin/users",
                         "/api/admin/orders",
+                        "/api/admin/orders/export",
+                        "/api/admin/analytics",
                         "/api/admin/updateStatus",
                         "/api/admin/orderDetails/{id}",
                         "/api/admin/newCategory",
@@ -102,7 +106,9 @@ public class SecurityConfiguration {
                         "/api/admin/userProduct/pending",
                         "/api/admin/userProduct/{id}/approve",
                         "/api/admin/userProduct/{id}/reject",
-                        "/api/returns/{id}/return"
+                        "/api/returns/{id}/return",
+                        "/api/admin/campaigns/**",
+                        "/api/admin/chatbot/**"
         };
 
         // Endpoints accessible only by ARTIST users
@@ -0,0 +1,64 @@
+package com.artists_heaven.dates;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * A calendar year as the half-open range {@code [start, end)}.
+ * <p>
+ * Repositories filter on {@code x >= :start AND x < :end} instead of
+ * {@code EXTRACT(YEAR FROM x) = :year}: a function over the column cannot use
+ * an index on it, a range on the bare column can.
+ */
+public final class YearRange {
+
+    private final int year;
+
+    private YearRange(int year) {
+        this.year = year;
+    }
+
+    public static YearRange of(int year) {
+        return new YearRange(year);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /** First day of the year. */
+    public LocalDate startDate() {
+        return LocalDate.of(year, 1, 1);
+    }
+
+    /** First day of the next year, excluded from the range. */
+    public LocalDate endDate() {
+        return LocalDate.of(year + 1, 1, 1);
+    }
+
+    /** Midnight of the first day of the year. */
+    public LocalDateTime start() {
+        return startDate().atStartOfDay();
+    }
+
+    /** Midnight of the first day of the next year, excluded from the range. */
+    public LocalDateTime end() {
+        return endDate().atStartOfDay();
+    }
+
+    /** {@link #start()} in the system time zone, for {@link Date} columns. */
+    public Date startInstant() {
+        return toDate(start());
+    }
+
+    /** {@link #end()} in the system time zone, for {@link Date} columns. */
+    public Date endInstant() {
+        return toDate(end());
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
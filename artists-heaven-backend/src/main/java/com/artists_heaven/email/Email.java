@@ -9,6 +9,8 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 import jakarta.validation.constraints.NotBlank;
@@ -18,6 +20,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Table(name = "email", indexes = @Index(name = "idx_email_created_at", columnList = "created_at"))
 @Getter
 @Setter
 public class Email {
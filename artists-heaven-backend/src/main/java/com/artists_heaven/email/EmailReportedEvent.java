@@ -0,0 +1,26 @@
+package com.artists_heaven.email;
+
+import java.util.Date;
+
+/**
+ * Published when a user report has been stored and sent to the moderator.
+ */
+public final class EmailReportedEvent {
+
+    private final EmailType type;
+
+    private final Date createdAt;
+
+    public EmailReportedEvent(EmailType type, Date createdAt) {
+        this.type = type;
+        this.createdAt = createdAt;
+    }
+
+    public EmailType getType() {
+        return type;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -4,13 +4,17 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.InputStreamSource;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import com.artists_heaven.analytics.AnalyticsMetric;
+import com.artists_heaven.analytics.AnalyticsProjector;
 import com.artists_heaven.entities.artist.Artist;
 import com.artists_heaven.order.Order;
 import jakarta.mail.MessagingException;
@@ -28,11 +32,18 @@ public class EmailSenderService {
 
     private final PdfGeneratorService pdfGeneratorService;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AnalyticsProjector analyticsProjector;
+
     public EmailSenderService(JavaMailSender mailSender, EmailSenderRepository emailSenderRepository,
-            PdfGeneratorService pdfGeneratorService) {
+            PdfGeneratorService pdfGeneratorService, ApplicationEventPublisher eventPublisher,
+            AnalyticsProjector analyticsProjector) {
         this.mailSender = mailSender;
         this.emailSenderRepository = emailSenderRepository;
         this.pdfGeneratorService = pdfGeneratorService;
+        this.eventPublisher = eventPublisher;
+        this.analyticsProjector = analyticsProjector;
     }
 
     // Constant email address used as the sender for reports and verification emails
@@ -46,6 +57,7 @@ public class EmailSenderService {
     public void sendReportEmail(Email email) {
         // Save email record
         emailSenderRepository.save(email);
+        eventPublisher.publishEvent(new EmailReportedEvent(email.getType(), email.getCreatedAt()));
 
         // Build email content
         String subject = email.getId() + " [" + email.getType() + "] User: " + email.getUsername();
@@ -130,21 +142,43 @@ public class EmailSenderService {
         mailSender.send(message);
     }
 
+    /**
+     * Sends a batch of plain-text messages over a single mail session.
+     * <p>
+     * Individual delivery failures do not abort the batch: the messages that
+     * could not be delivered are counted and reported back to the caller.
+     *
+     * @param messages the messages to send; the sender address is filled in
+     * @return the number of messages that could not be delivered
+     */
+    public int sendBatch(List<SimpleMailMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        SimpleMailMessage[] batch = messages.toArray(new SimpleMailMessage[0]);
+        for (SimpleMailMessage message : batch) {
+            message.setFrom(MODERATOR_EMAIL);
+        }
+        try {
+            mailSender.send(batch);
+            return 0;
+        } catch (MailSendException e) {
+            int failed = e.getFailedMessages().size();
+            return failed > 0 ? failed : batch.length;
+        }
+    }
+
     /**
      * Retrieves the count of emails sent, grouped by {@link EmailType} for a given
-     * year.
+     * year, from the analytics counters.
      *
      * @param year the year to filter emails
      * @return a map of {@link EmailType} to the number of emails sent
      */
     public Map<EmailType, Integer> getEmailCounts(int year) {
-        List<Object[]> result = emailSenderRepository.countEmailsByType(year);
         Map<EmailType, Integer> emailCountMap = new EnumMap<>(EmailType.class);
-        for (Object[] row : result) {
-            EmailType type = (EmailType) row[0];
-            Long count = (Long) row[1];
-            emailCountMap.put(type, count.intValue());
-        }
+        analyticsProjector.getCounts(AnalyticsMetric.EMAIL_TYPE, year)
+                .forEach((type, count) -> emailCountMap.put(EmailType.valueOf(type), count.intValue()));
 
         return emailCountMap;
     }
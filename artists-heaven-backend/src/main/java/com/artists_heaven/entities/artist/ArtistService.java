@@ -1,14 +1,15 @@
 package com.artists_heaven.entities.artist;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.artists_heaven.admin.MonthlySalesDTO;
+import com.artists_heaven.dates.YearRange;
 import com.artists_heaven.entities.user.UserRepository;
 import com.artists_heaven.entities.user.UserRole;
 import com.artists_heaven.event.Event;
@@ -16,15 +17,16 @@ import com.artists_heaven.event.EventService;
 import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.exception.AppExceptions.DuplicateActionException;
 import com.artists_heaven.images.ImageServingUtil;
-import com.artists_heaven.order.OrderItem;
-import com.artists_heaven.order.OrderStatus;
 import com.artists_heaven.product.Category;
 import com.artists_heaven.product.CategoryRepository;
 import com.artists_heaven.product.Product;
 import com.artists_heaven.product.ProductService;
+import com.artists_heaven.sales.RollupDimension;
+import com.artists_heaven.sales.SalesRollupService;
 import com.artists_heaven.verification.Verification;
 import com.artists_heaven.verification.VerificationRepository;
 import com.artists_heaven.verification.VerificationStatus;
+import com.artists_heaven.verification.VerificationStatusChangedEvent;
 
 @Service
 public class ArtistService {
@@ -45,10 +47,15 @@ public class ArtistService {
 
     private final ImageServingUtil imageServingUtil;
 
+    private final SalesRollupService salesRollupService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     public ArtistService(ArtistRepository artistRepository, UserRepository userRepository,
             CategoryRepository categoryRepository, VerificationRepository verificationRepository,
             ProductService productService, EventService eventService, MessageSource messageSource,
-            ImageServingUtil imageServingUtil) {
+            ImageServingUtil imageServingUtil, SalesRollupService salesRollupService,
+            ApplicationEventPublisher eventPublisher) {
         this.artistRepository = artistRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
@@ -57,6 +64,8 @@ public class ArtistService {
         this.eventService = eventService;
         this.messageSource = messageSource;
         this.imageServingUtil = imageServingUtil;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
@@ -144,7 +153,8 @@ public class ArtistService {
      * @return the number of future events
      */
     public Integer getFutureEvents(Long id, Integer year) {
-        return artistRepository.findFutureEventsForArtist(id, year);
+        YearRange range = YearRange.of(year);
+        return artistRepository.findFutureEventsForArtist(id, range.startDate(), range.endDate());
     }
 
     /**
@@ -155,7 +165,8 @@ public class ArtistService {
      * @return the number of past events
      */
     public Integer getPastEvents(Long id, Integer year) {
-        return artistRepository.findPastEventsForArtist(id, year);
+        YearRange range = YearRange.of(year);
+        return artistRepository.findPastEventsForArtist(id, range.startDate(), range.endDate());
     }
 
     /**
@@ -166,16 +177,7 @@ public class ArtistService {
      * @return a map of product name to quantity sold
      */
     public Map<String, Integer> getOrderItemCount(Long id, Integer year) {
-        Artist artist = findById(id);
-        List<OrderItem> ordersItemsByYear = artistRepository.getOrdersPerYear(artist.getArtistName().toUpperCase(),
-                year);
-        Map<String, Integer> itemsCount = new HashMap<>();
-
-        for (OrderItem orderItem : ordersItemsByYear) {
-            String itemName = orderItem.getName();
-            itemsCount.merge(itemName, 1, Integer::sum);
-        }
-        return itemsCount;
+        return salesRollupService.getArtistItemCounts(findById(id).getId(), RollupDimension.PRODUCT, year);
     }
 
     /**
@@ -186,15 +188,7 @@ public class ArtistService {
      * @return a map of country name to number of items sold
      */
     public Map<String, Integer> getMostCountrySold(Long id, Integer year) {
-        Artist artist = findById(id);
-        List<OrderItem> ordersItemsByYear = artistRepository.getOrdersPerYear(artist.getArtistName().toUpperCase(),
-                year);
-        Map<String, Integer> itemsCount = new HashMap<>();
-
-        for (OrderItem orderItem : ordersItemsByYear) {
-            itemsCount.merge(orderItem.getOrder().getCountry(), 1, Integer::sum);
-        }
-        return itemsCount;
+        return salesRollupService.getArtistItemCounts(findById(id).getId(), RollupDimension.COUNTRY, year);
     }
 
     /**
@@ -207,19 +201,7 @@ public class ArtistService {
     public List<MonthlySalesDTO> getMonthlySalesDataPerArtist(Long artistId, int year) {
         Artist artist = findById(artistId);
 
-        List<Object[]> results = artistRepository.findMonthlySalesData(
-                artist.getArtistName().toUpperCase(),
-                year,
-                OrderStatus.RETURN_ACCEPTED);
-
-        return results.stream()
-                .map(result -> {
-                    MonthlySalesDTO dto = new MonthlySalesDTO();
-                    dto.setMonth((Integer) result[0]);
-                    dto.setTotalOrders((Long) result[1]);
-                    return dto;
-                })
-                .toList();
+        return salesRollupService.getMonthlyArtistUnits(artist.getId(), year);
     }
 
     /**
@@ -254,8 +236,11 @@ public class ArtistService {
         Verification verification = verificationRepository.findById(verificationId)
                 .orElseThrow(() -> new AppExceptions.ResourceNotFoundException("Verification not found"));
 
+        VerificationStatus previousStatus = verification.getStatus();
         verification.setStatus(VerificationStatus.ACCEPTED);
         verificationRepository.save(verification);
+        eventPublisher.publishEvent(new VerificationStatusChangedEvent(verification.getDate(), previousStatus,
+                VerificationStatus.ACCEPTED));
     }
 
     /**
@@ -311,10 +296,11 @@ public class ArtistService {
 
         ArtistDashboardDTO dto = new ArtistDashboardDTO();
         dto.setIsVerificated(isArtistVerificated(artistId));
-        dto.setFutureEvents(artistRepository.findFutureEventsForArtist(artistId, year));
-        dto.setPastEvents(artistRepository.findPastEventsForArtist(artistId, year));
-        dto.setOrderItemCount(getOrderItemCount(artist.getId(), year));
-        dto.setMostCountrySold(getMostCountrySold(artist.getId(), year));
+        YearRange range = YearRange.of(year);
+        dto.setFutureEvents(artistRepository.findFutureEventsForArtist(artistId, range.startDate(), range.endDate()));
+        dto.setPastEvents(artistRepository.findPastEventsForArtist(artistId, range.startDate(), range.endDate()));
+        dto.setOrderItemCount(salesRollupService.getArtistItemCounts(artist.getId(), RollupDimension.PRODUCT, year));
+        dto.setMostCountrySold(salesRollupService.getArtistItemCounts(artist.getId(), RollupDimension.COUNTRY, year));
 
         return dto;
     }
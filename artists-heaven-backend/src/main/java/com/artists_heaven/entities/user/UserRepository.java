@@ -3,7 +3,11 @@ package com.artists_heaven.entities.user;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +17,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     User findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET points = COALESCE(points, 0) + :delta WHERE id = :id", nativeQuery = true)
+    int addPoints(@Param("id") Long id, @Param("delta") long delta);
 }
\ No newline at end of file
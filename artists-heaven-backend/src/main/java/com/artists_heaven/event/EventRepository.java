@@ -14,8 +14,9 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e WHERE e.artist.id = ?1")
     Page<Event> findByArtistId(Long id, Pageable pageable);
 
-    @Query("SELECT e FROM Event e WHERE e.artist.id = :artistId AND YEAR(e.date) = :year")
-    List<Event> findArtistEventThisYear(@Param("artistId") Long artistId, @Param("year") int year);
+    @Query("SELECT e FROM Event e WHERE e.artist.id = :artistId AND e.date >= :start AND e.date < :end")
+    List<Event> findArtistEventThisYear(@Param("artistId") Long artistId, @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
 
     @Query("SELECT e FROM Event e WHERE e.artist.id = :artistId AND e.date > :date")
     List<Event> findFutureEventsByArtist(@Param("artistId") Long artistId, @Param("date") LocalDate date);
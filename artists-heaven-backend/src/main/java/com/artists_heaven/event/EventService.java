@@ -18,6 +18,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import com.artists_heaven.dates.YearRange;
 import com.artists_heaven.entities.artist.Artist;
 import com.artists_heaven.entities.artist.ArtistRepository;
 import com.artists_heaven.exception.AppExceptions;
@@ -283,8 +284,8 @@ public class EventService {
         if (artistId == null) {
             return Collections.emptyList();
         }
-        int year = LocalDate.now().getYear();
-        return eventRepository.findArtistEventThisYear(artistId, year);
+        YearRange range = YearRange.of(LocalDate.now().getYear());
+        return eventRepository.findArtistEventThisYear(artistId, range.startDate(), range.endDate());
     }
 
     /**
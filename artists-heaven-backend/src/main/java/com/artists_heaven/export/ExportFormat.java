@@ -0,0 +1,41 @@
+package com.artists_heaven.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * File formats a table can be exported to.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Starts a document of this format on the given stream.
+     */
+    public RowWriter open(OutputStream out) throws IOException {
+        if (this == XLSX) {
+            return new XlsxRowWriter(out);
+        }
+        return new CsvRowWriter(out);
+    }
+}
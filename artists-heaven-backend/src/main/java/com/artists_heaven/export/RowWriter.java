@@ -0,0 +1,28 @@
+package com.artists_heaven.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes a table one row at a time, so an export never holds more than the
+ * current row in memory.
+ * <p>
+ * Values are {@link Number}s, written as numeric cells, or anything else,
+ * written as text; {@code null} leaves the cell empty. Closing the writer
+ * finishes the document but leaves the underlying stream open.
+ */
+public interface RowWriter extends Closeable {
+
+    void writeRow(Object... values) throws IOException;
+
+    /**
+     * Formats a number without exponent, as both formats expect.
+     */
+    static String format(Number number) {
+        if (number instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return number.toString();
+    }
+}
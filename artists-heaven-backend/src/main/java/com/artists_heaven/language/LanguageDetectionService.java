@@ -0,0 +1,109 @@
+package com.artists_heaven.language;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.artists_heaven.chat.ChatbotUtils;
+import com.github.pemistahl.lingua.api.Language;
+import com.github.pemistahl.lingua.api.LanguageDetector;
+import com.github.pemistahl.lingua.api.LanguageDetectorBuilder;
+
+/**
+ * Application-wide language detection for user texts such as rating comments.
+ * <p>
+ * Spanish and English texts are usually decided by the chatbot stopword check
+ * without touching Lingua. Only the remaining texts go to a single Lingua
+ * detector, which is built on first use in low accuracy mode (trigram models
+ * only, a fraction of the memory and load time of the high accuracy models)
+ * and can be warmed up in the background once the application is ready.
+ */
+@Service
+public class LanguageDetectionService {
+
+    static final Language[] LANGUAGES = { Language.ENGLISH, Language.SPANISH, Language.FRENCH, Language.GERMAN,
+            Language.ITALIAN };
+
+    private final boolean lowAccuracy;
+
+    private final boolean preload;
+
+    private volatile LanguageDetector detector;
+
+    public LanguageDetectionService(
+            @Value("${language-detection.low-accuracy:true}") boolean lowAccuracy,
+            @Value("${language-detection.preload:true}") boolean preload) {
+        this.lowAccuracy = lowAccuracy;
+        this.preload = preload;
+    }
+
+    /**
+     * Loads the Lingua models on a background thread so the first rating does
+     * not pay for it and startup is not delayed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!preload) {
+            return;
+        }
+        Thread thread = new Thread(this::getDetector, "language-detector-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Detects the language of a text.
+     *
+     * @param text text to analyze
+     * @return lower-case ISO 639-1 code ({@code "en"}, {@code "es"},
+     *         {@code "fr"}, {@code "de"}, {@code "it"}), or {@code "none"} if
+     *         the language cannot be told
+     */
+    public String detectLanguageCode(String text) {
+        if (text == null || text.isBlank()) {
+            return "none";
+        }
+
+        String spanishOrEnglish = ChatbotUtils.detectSpanishOrEnglish(text);
+        if (spanishOrEnglish != null) {
+            return spanishOrEnglish;
+        }
+
+        return getDetector().detectLanguageOf(text).getIsoCode639_1().toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether the Lingua models have already been loaded.
+     *
+     * @return {@code true} once the detector is built
+     */
+    public boolean isLoaded() {
+        return detector != null;
+    }
+
+    LanguageDetector getDetector() {
+        LanguageDetector current = detector;
+        if (current == null) {
+            synchronized (this) {
+                current = detector;
+                if (current == null) {
+                    current = buildDetector(lowAccuracy);
+                    detector = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    static LanguageDetector buildDetector(boolean lowAccuracy) {
+        LanguageDetectorBuilder builder = LanguageDetectorBuilder.fromLanguages(LANGUAGES)
+                .withPreloadedLanguageModels();
+        if (lowAccuracy) {
+            builder = builder.withLowAccuracyMode();
+        }
+        return builder.build();
+    }
+}
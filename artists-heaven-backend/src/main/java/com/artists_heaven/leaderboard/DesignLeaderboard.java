@@ -0,0 +1,255 @@
+package com.artists_heaven.leaderboard;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Designs of one month ranked by vote count.
+ * <p>
+ * Standings live in a skip list sorted by {@link DesignStanding#RANKING}, with
+ * a map from design to its current standing. A vote replaces the standing of
+ * one design under the map's per-key lock, so votes on different designs never
+ * block each other and the top of the ranking is read without sorting.
+ * <p>
+ * A {@link VoteHistogram} counts the designs per vote count, so the number of
+ * designs with more votes than a given one is found in O(log V), V being the
+ * highest vote count, instead of walking the skip list. A rank or a page
+ * offset only walks the designs tied on votes with the position asked for.
+ * Reads are weakly consistent: a design being moved by a concurrent vote may
+ * be missing from one page, or the rank be off by one, for that instant.
+ */
+public class DesignLeaderboard {
+
+    private final YearMonth month;
+
+    private final NavigableSet<DesignStanding> ranking = new ConcurrentSkipListSet<>(DesignStanding.RANKING);
+
+    private final Map<Long, DesignStanding> standings = new ConcurrentHashMap<>();
+
+    private final VoteHistogram histogram = new VoteHistogram();
+
+    public DesignLeaderboard(YearMonth month) {
+        this.month = month;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    /**
+     * Puts a design on the board with the given votes, replacing its previous
+     * standing if it was already there.
+     */
+    public void put(long productId, long votes) {
+        standings.compute(productId, (id, current) -> {
+            if (current != null) {
+                ranking.remove(current);
+                histogram.add(current.getVotes(), -1);
+            }
+            DesignStanding standing = new DesignStanding(id, votes);
+            ranking.add(standing);
+            histogram.add(votes, 1);
+            return standing;
+        });
+    }
+
+    /**
+     * Adds votes to a design already on the board. Designs not on the board
+     * (pending, rejected or from another month) are ignored.
+     *
+     * @return {@code true} if the design is on the board
+     */
+    public boolean addVotes(long productId, long delta) {
+        return standings.computeIfPresent(productId, (id, current) -> {
+            ranking.remove(current);
+            histogram.add(current.getVotes(), -1);
+            DesignStanding standing = current.plus(delta);
+            ranking.add(standing);
+            histogram.add(standing.getVotes(), 1);
+            return standing;
+        }) != null;
+    }
+
+    public void remove(long productId) {
+        standings.computeIfPresent(productId, (id, current) -> {
+            ranking.remove(current);
+            histogram.add(current.getVotes(), -1);
+            return null;
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} standings starting at the given zero-based
+     * position of the ranking. The histogram finds the vote count at that
+     * position; only the designs tied on it that come before the position are
+     * skipped one by one.
+     */
+    public List<DesignStanding> top(long offset, int limit) {
+        List<DesignStanding> page = new ArrayList<>(Math.max(0, limit));
+        Iterator<DesignStanding> iterator = ranking.iterator();
+        long skip = offset;
+        if (offset > 0) {
+            long votes = histogram.votesAt(offset);
+            if (votes < 0) {
+                return page;
+            }
+            iterator = ranking.tailSet(firstWith(votes), true).iterator();
+            skip = offset - histogram.countAbove(votes);
+        }
+        for (long skipped = 0; skipped < skip && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    /**
+     * One-based rank of a design: the designs with more votes, counted by the
+     * histogram, plus the older designs tied with it.
+     *
+     * @return the rank, or {@code 0} if the design is not on the board
+     */
+    public long rankOf(long productId) {
+        DesignStanding standing = standings.get(productId);
+        if (standing == null) {
+            return 0;
+        }
+        long tiedAhead = ranking.subSet(firstWith(standing.getVotes()), true, standing, false).size();
+        return histogram.countAbove(standing.getVotes()) + tiedAhead + 1;
+    }
+
+    public DesignStanding getStanding(long productId) {
+        return standings.get(productId);
+    }
+
+    public int size() {
+        return standings.size();
+    }
+
+    /**
+     * Sorts before every design with the given votes.
+     */
+    private static DesignStanding firstWith(long votes) {
+        return new DesignStanding(Long.MIN_VALUE, votes);
+    }
+
+    /**
+     * Number of designs per vote count, kept in a Fenwick tree over the vote
+     * counts. Updates add to atomic cells under the shared lock, so they run
+     * concurrently; only growing the tree for a higher vote count takes the
+     * exclusive lock. Cell {@code votes + 1} holds the designs with
+     * {@code votes} votes.
+     */
+    static final class VoteHistogram {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // Index 0 is unused; the capacity (length - 1) is a power of two
+        private volatile AtomicLongArray tree = new AtomicLongArray(65);
+
+        void add(long votes, long delta) {
+            int index = Math.toIntExact(Math.max(0, votes) + 1);
+            if (index >= tree.length()) {
+                grow(index);
+            }
+            lock.readLock().lock();
+            try {
+                AtomicLongArray cells = tree;
+                for (int i = index; i < cells.length(); i += i & -i) {
+                    cells.addAndGet(i, delta);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Number of designs with more than {@code votes} votes.
+         */
+        long countAbove(long votes) {
+            AtomicLongArray cells = tree;
+            int capacity = cells.length() - 1;
+            if (votes + 1 >= capacity) {
+                return 0;
+            }
+            return cells.get(capacity) - prefix(cells, (int) votes + 1);
+        }
+
+        /**
+         * Vote count of the design at a zero-based position of the ranking.
+         *
+         * @return the vote count, or {@code -1} if the position is past the
+         *         last design
+         */
+        long votesAt(long offset) {
+            AtomicLongArray cells = tree;
+            int capacity = cells.length() - 1;
+            // The design at the offset is the first, counting from the fewest
+            // votes, whose prefix reaches total - offset
+            long target = cells.get(capacity) - offset;
+            if (target <= 0) {
+                return -1;
+            }
+            int index = 0;
+            for (int step = capacity; step > 0; step >>= 1) {
+                int next = index + step;
+                if (next <= capacity && cells.get(next) < target) {
+                    index = next;
+                    target -= cells.get(next);
+                }
+            }
+            // index + 1 is the cell of the vote count
+            return index;
+        }
+
+        private static long prefix(AtomicLongArray cells, int index) {
+            long sum = 0;
+            for (int i = index; i > 0; i -= i & -i) {
+                sum += cells.get(i);
+            }
+            return sum;
+        }
+
+        /**
+         * Doubles the capacity until it holds the index. The new cells cover
+         * ranges with no designs, except the last one, which covers the whole
+         * tree and takes the total.
+         */
+        private void grow(int index) {
+            lock.writeLock().lock();
+            try {
+                AtomicLongArray cells = tree;
+                int capacity = cells.length() - 1;
+                if (index <= capacity) {
+                    return;
+                }
+                long total = cells.get(capacity);
+                int newCapacity = capacity;
+                while (newCapacity < index) {
+                    newCapacity <<= 1;
+                }
+                AtomicLongArray grown = new AtomicLongArray(newCapacity + 1);
+                for (int i = 1; i <= capacity; i++) {
+                    grown.set(i, cells.get(i));
+                }
+                for (int size = capacity << 1; size <= newCapacity; size <<= 1) {
+                    grown.set(size, total);
+                }
+                tree = grown;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
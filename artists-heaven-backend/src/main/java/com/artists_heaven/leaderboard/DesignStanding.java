@@ -0,0 +1,30 @@
+package com.artists_heaven.leaderboard;
+
+import java.util.Comparator;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Vote count of a design on the leaderboard. Immutable: a vote replaces the
+ * standing with a new one.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DesignStanding {
+
+    /** Most votes first; on a tie the oldest design (lowest ID) goes first. */
+    static final Comparator<DesignStanding> RANKING = Comparator
+            .comparingLong(DesignStanding::getVotes).reversed()
+            .thenComparingLong(DesignStanding::getProductId);
+
+    private final long productId;
+
+    private final long votes;
+
+    DesignStanding plus(long delta) {
+        return new DesignStanding(productId, votes + delta);
+    }
+}
@@ -0,0 +1,20 @@
+package com.artists_heaven.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Accepted design with its vote count, as aggregated by the database.
+ */
+@Getter
+@AllArgsConstructor
+public class DesignVotesDTO {
+
+    private Long productId;
+
+    private String name;
+
+    private String ownerUsername;
+
+    private Long votes;
+}
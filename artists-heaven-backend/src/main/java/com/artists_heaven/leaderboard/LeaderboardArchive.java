@@ -0,0 +1,51 @@
+package com.artists_heaven.leaderboard;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Final position of a design in the leaderboard of a closed month. Name and
+ * owner are copied so the standings survive later changes to the design.
+ */
+@Entity
+@Table(name = "leaderboard_archive", uniqueConstraints = @UniqueConstraint(name = "uk_leaderboard_archive_month_product", columnNames = {
+        "month", "product_id" }), indexes = @Index(name = "idx_leaderboard_archive_month_rank", columnList = "month, ranking"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class LeaderboardArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // ISO year-month, e.g. 2025-09
+    @Column(nullable = false, length = 7)
+    private String month;
+
+    @Column(name = "ranking", nullable = false)
+    private int rank;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    private String productName;
+
+    private String ownerUsername;
+
+    @Column(nullable = false)
+    private long votes;
+
+    private Date archivedAt = new Date();
+}
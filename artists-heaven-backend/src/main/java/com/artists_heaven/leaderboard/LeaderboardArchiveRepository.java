@@ -0,0 +1,29 @@
+package com.artists_heaven.leaderboard;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LeaderboardArchiveRepository extends JpaRepository<LeaderboardArchive, Long> {
+
+    boolean existsByMonth(String month);
+
+    List<LeaderboardArchive> findByMonthOrderByRankAsc(String month);
+
+    /**
+     * Vote counts of the accepted designs created in {@code [start, end)}, in
+     * leaderboard order.
+     */
+    @Query("SELECT new com.artists_heaven.leaderboard.DesignVotesDTO(p.id, p.name, o.username, COUNT(v.id)) "
+            + "FROM UserProduct p JOIN p.owner o LEFT JOIN ProductVote v ON v.product = p "
+            + "WHERE p.status = com.artists_heaven.userProduct.Status.ACCEPTED "
+            + "AND p.createdAt >= :start AND p.createdAt < :end "
+            + "GROUP BY p.id, p.name, o.username "
+            + "ORDER BY COUNT(v.id) DESC, p.id ASC")
+    List<DesignVotesDTO> findStandings(@Param("start") Date start, @Param("end") Date end);
+}
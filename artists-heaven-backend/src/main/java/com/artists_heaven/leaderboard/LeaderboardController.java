@@ -0,0 +1,71 @@
+package com.artists_heaven.leaderboard;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.artists_heaven.entities.user.User;
+import com.artists_heaven.page.PageResponse;
+import com.artists_heaven.standardResponse.StandardResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+        private final LeaderboardService leaderboardService;
+
+        public LeaderboardController(LeaderboardService leaderboardService) {
+                this.leaderboardService = leaderboardService;
+        }
+
+        @GetMapping("/designs")
+        @Operation(summary = "Retrieve the monthly design leaderboard", description = "Returns a page of this month's accepted community designs ranked by votes, best first.")
+        @ApiResponse(responseCode = "200", description = "Leaderboard page retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResponse.class)))
+        public ResponseEntity<StandardResponse<PageResponse<LeaderboardEntryDTO>>> getLeaderboard(
+                        @Parameter(description = "Zero-based page number", example = "0") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Designs per page (max 100)", example = "20") @RequestParam(defaultValue = "20") int size,
+                        @AuthenticationPrincipal User user) {
+
+                Long userId = user != null ? user.getId() : null;
+                PageResponse<LeaderboardEntryDTO> leaderboard = leaderboardService.getTop(page, size, userId);
+
+                return ResponseEntity.ok(new StandardResponse<>("Leaderboard retrieved successfully", leaderboard,
+                                HttpStatus.OK.value()));
+        }
+
+        @GetMapping("/designs/{productId}/rank")
+        @Operation(summary = "Retrieve the rank of a design", description = "Returns the position and votes of a design in this month's leaderboard.")
+        @ApiResponse(responseCode = "200", description = "Rank retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LeaderboardRankDTO.class)))
+        @ApiResponse(responseCode = "404", description = "Design not in this month's leaderboard", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+        public ResponseEntity<StandardResponse<LeaderboardRankDTO>> getRank(
+                        @Parameter(description = "ID of the design", required = true) @PathVariable Long productId) {
+
+                return ResponseEntity.ok(new StandardResponse<>("Rank retrieved successfully",
+                                leaderboardService.getRank(productId), HttpStatus.OK.value()));
+        }
+
+        @GetMapping("/archive/{month}")
+        @Operation(summary = "Retrieve the final standings of a past month", description = "Returns the archived leaderboard of a closed month (format yyyy-MM), best first.")
+        @ApiResponse(responseCode = "200", description = "Archived standings retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+        public ResponseEntity<StandardResponse<List<LeaderboardArchive>>> getArchive(
+                        @Parameter(description = "Month in ISO format", example = "2025-09", required = true) @PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+
+                return ResponseEntity.ok(new StandardResponse<>("Archived leaderboard retrieved successfully",
+                                leaderboardService.getArchive(month), HttpStatus.OK.value()));
+        }
+}
@@ -0,0 +1,46 @@
+package com.artists_heaven.leaderboard;
+
+import java.util.List;
+
+import com.artists_heaven.userProduct.UserProduct;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@Schema(name = "LeaderboardEntryDTO", description = "A community design with its position in the monthly leaderboard.")
+public class LeaderboardEntryDTO {
+
+    @Schema(description = "One-based position in the leaderboard", example = "1")
+    private long rank;
+
+    @Schema(description = "Unique identifier of the design", example = "101")
+    private Long productId;
+
+    @Schema(description = "Name of the design", example = "Neon Skyline Hoodie")
+    private String name;
+
+    @Schema(description = "URLs of the design images", example = "[\"/userProduct_media/skyline.png\"]")
+    private List<String> images;
+
+    @Schema(description = "Username of the design's owner", example = "artist123")
+    private String username;
+
+    @Schema(description = "Votes received this month", example = "42")
+    private long votes;
+
+    @Schema(description = "Indicates whether the current user has voted for this design", example = "false")
+    private boolean votedByUser;
+
+    public LeaderboardEntryDTO(long rank, DesignStanding standing, UserProduct product, boolean votedByUser) {
+        this.rank = rank;
+        this.productId = standing.getProductId();
+        this.votes = standing.getVotes();
+        this.name = product.getName();
+        this.images = product.getImages();
+        this.username = product.getOwner() != null ? product.getOwner().getUsername() : null;
+        this.votedByUser = votedByUser;
+    }
+}
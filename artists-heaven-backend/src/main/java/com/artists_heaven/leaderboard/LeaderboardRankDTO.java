@@ -0,0 +1,26 @@
+package com.artists_heaven.leaderboard;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(name = "LeaderboardRankDTO", description = "Position of a design in the current monthly leaderboard.")
+public class LeaderboardRankDTO {
+
+    @Schema(description = "Unique identifier of the design", example = "101")
+    private Long productId;
+
+    @Schema(description = "One-based position in the leaderboard", example = "3")
+    private long rank;
+
+    @Schema(description = "Votes received this month", example = "17")
+    private long votes;
+
+    @Schema(description = "Number of designs in the leaderboard", example = "58")
+    private int totalDesigns;
+
+    @Schema(description = "Month of the leaderboard (ISO year-month)", example = "2025-09")
+    private String month;
+}
@@ -0,0 +1,275 @@
+package com.artists_heaven.leaderboard;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.page.PageResponse;
+import com.artists_heaven.productVote.ProductVoteRepository;
+import com.artists_heaven.userProduct.UserProduct;
+import com.artists_heaven.userProduct.UserProductRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Monthly leaderboard of accepted community designs.
+ * <p>
+ * The designs accepted this month are kept in memory in a
+ * {@link DesignLeaderboard}, loaded with one aggregate query at startup and
+ * then updated on every vote, approval and rejection. Pages and ranks are read
+ * from memory; only the design details of the requested page are loaded.
+ * <p>
+ * When the month changes the final standings of the closed month are computed
+ * by the database and stored in {@link LeaderboardArchive}, and the board
+ * starts over with the designs of the new month.
+ */
+@Service
+public class LeaderboardService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final LeaderboardArchiveRepository leaderboardArchiveRepository;
+
+    private final UserProductRepository userProductRepository;
+
+    private final ProductVoteRepository productVoteRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration rolloverCheckInterval;
+
+    private volatile DesignLeaderboard board;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leaderboard-rollover");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LeaderboardService(LeaderboardArchiveRepository leaderboardArchiveRepository,
+            UserProductRepository userProductRepository, ProductVoteRepository productVoteRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${leaderboard.rollover-check-interval:1m}") Duration rolloverCheckInterval) {
+        this.leaderboardArchiveRepository = leaderboardArchiveRepository;
+        this.userProductRepository = userProductRepository;
+        this.productVoteRepository = productVoteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rolloverCheckInterval = rolloverCheckInterval;
+        this.board = new DesignLeaderboard(YearMonth.now());
+    }
+
+    /**
+     * Archives the previous month if that was missed while the application was
+     * down, loads the current month and starts the rollover checks.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        YearMonth now = YearMonth.now();
+        archive(now.minusMonths(1));
+        board = load(now);
+
+        long millis = Math.max(1, rolloverCheckInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                rollover(YearMonth.now());
+            } catch (RuntimeException e) {
+                // The board keeps the closed month until the next check succeeds
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Counts a vote for a design. Votes for designs not on the current board
+     * are ignored.
+     */
+    public void recordVote(Long productId) {
+        board.addVotes(productId, 1);
+    }
+
+    /**
+     * Adds an approved design to the board if it was created this month.
+     */
+    public void designAccepted(UserProduct product) {
+        DesignLeaderboard current = board;
+        if (product.getCreatedAt() == null || !current.getMonth().equals(monthOf(product.getCreatedAt()))) {
+            return;
+        }
+        long votes = productVoteRepository.countVotesForProducts(List.of(product.getId())).stream()
+                .mapToLong(row -> (Long) row[1])
+                .sum();
+        current.put(product.getId(), votes);
+    }
+
+    /**
+     * Removes a rejected design from the board.
+     */
+    public void designRemoved(Long productId) {
+        board.remove(productId);
+    }
+
+    /**
+     * Returns a page of the current leaderboard, best designs first.
+     *
+     * @param page   zero-based page number
+     * @param size   designs per page, capped at {@value #MAX_PAGE_SIZE}
+     * @param userId logged-in user used to flag the designs they voted for
+     *               (nullable)
+     * @return the requested page of ranked designs
+     */
+    public PageResponse<LeaderboardEntryDTO> getTop(int page, int size, Long userId) {
+        DesignLeaderboard current = currentBoard();
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        long offset = (long) pageNumber * pageSize;
+
+        List<DesignStanding> standings = current.top(offset, pageSize);
+        List<Long> ids = standings.stream().map(DesignStanding::getProductId).toList();
+
+        Map<Long, UserProduct> products = ids.isEmpty()
+                ? Map.of()
+                : userProductRepository.findByIdIn(ids).stream()
+                        .collect(Collectors.toMap(UserProduct::getId, Function.identity()));
+        Set<Long> voted = userId == null || ids.isEmpty()
+                ? Set.of()
+                : productVoteRepository.findVotedProductIds(userId, ids);
+
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(standings.size());
+        for (int i = 0; i < standings.size(); i++) {
+            DesignStanding standing = standings.get(i);
+            UserProduct product = products.get(standing.getProductId());
+            if (product != null) {
+                entries.add(new LeaderboardEntryDTO(offset + i + 1, standing, product,
+                        voted.contains(standing.getProductId())));
+            }
+        }
+
+        int total = current.size();
+        int totalPages = (total + pageSize - 1) / pageSize;
+        return new PageResponse<>(entries, pageNumber, pageSize, total, totalPages, pageNumber + 1 >= totalPages);
+    }
+
+    /**
+     * Returns the position of a design in the current leaderboard.
+     *
+     * @throws AppExceptions.ResourceNotFoundException if the design is not on
+     *                                                 this month's board
+     */
+    public LeaderboardRankDTO getRank(Long productId) {
+        DesignLeaderboard current = currentBoard();
+        DesignStanding standing = current.getStanding(productId);
+        long rank = current.rankOf(productId);
+        if (standing == null || rank == 0) {
+            throw new AppExceptions.ResourceNotFoundException(
+                    "Design " + productId + " is not in the leaderboard of " + current.getMonth());
+        }
+        return new LeaderboardRankDTO(productId, rank, standing.getVotes(), current.size(),
+                current.getMonth().toString());
+    }
+
+    /**
+     * Returns the archived final standings of a closed month.
+     */
+    public List<LeaderboardArchive> getArchive(YearMonth month) {
+        return leaderboardArchiveRepository.findByMonthOrderByRankAsc(month.toString());
+    }
+
+    /**
+     * Closes the board if {@code now} is a later month: archives the final
+     * standings and loads the designs of the new month.
+     *
+     * @return {@code true} if the board was rolled over
+     */
+    synchronized boolean rollover(YearMonth now) {
+        DesignLeaderboard current = board;
+        if (!now.isAfter(current.getMonth())) {
+            return false;
+        }
+        archive(current.getMonth());
+        board = load(now);
+        return true;
+    }
+
+    /**
+     * Stores the final standings of a month unless they were already archived.
+     * Standings come from the database, so they include every vote even if this
+     * instance missed some.
+     *
+     * @return number of archived designs
+     */
+    int archive(YearMonth month) {
+        String key = month.toString();
+        Integer archived = transactionTemplate.execute(status -> {
+            if (leaderboardArchiveRepository.existsByMonth(key)) {
+                return 0;
+            }
+            List<DesignVotesDTO> standings = findStandings(month);
+            List<LeaderboardArchive> rows = new ArrayList<>(standings.size());
+            for (DesignVotesDTO design : standings) {
+                LeaderboardArchive row = new LeaderboardArchive();
+                row.setMonth(key);
+                row.setRank(rows.size() + 1);
+                row.setProductId(design.getProductId());
+                row.setProductName(design.getName());
+                row.setOwnerUsername(design.getOwnerUsername());
+                row.setVotes(design.getVotes());
+                rows.add(row);
+            }
+            leaderboardArchiveRepository.saveAll(rows);
+            return rows.size();
+        });
+        return archived == null ? 0 : archived;
+    }
+
+    private DesignLeaderboard load(YearMonth month) {
+        DesignLeaderboard loaded = new DesignLeaderboard(month);
+        for (DesignVotesDTO design : findStandings(month)) {
+            loaded.put(design.getProductId(), design.getVotes());
+        }
+        return loaded;
+    }
+
+    private List<DesignVotesDTO> findStandings(YearMonth month) {
+        return leaderboardArchiveRepository.findStandings(startOf(month), startOf(month.plusMonths(1)));
+    }
+
+    // Reads roll the board over themselves so they never show a closed month
+    private DesignLeaderboard currentBoard() {
+        DesignLeaderboard current = board;
+        YearMonth now = YearMonth.now();
+        if (now.isAfter(current.getMonth())) {
+            rollover(now);
+            current = board;
+        }
+        return current;
+    }
+
+    private static Date startOf(YearMonth month) {
+        return Date.from(month.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static YearMonth monthOf(Date date) {
+        return YearMonth.from(date.toInstant().atZone(ZoneId.systemDefault()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
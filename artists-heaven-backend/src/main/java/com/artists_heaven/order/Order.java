@@ -3,6 +3,7 @@ package com.artists_heaven.order;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.artists_heaven.chat.ChatCacheInvalidationListener;
 import com.artists_heaven.entities.user.User;
 import com.artists_heaven.returns.Return;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
@@ -10,12 +11,14 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -30,9 +33,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(ChatCacheInvalidationListener.class)
 @Getter
 @Setter
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user", columnList = "user_id"),
+        @Index(name = "idx_orders_created_date", columnList = "created_date"),
+        @Index(name = "idx_orders_status_created_date", columnList = "status, created_date"),
+        @Index(name = "idx_orders_payment_intent", columnList = "payment_intent") })
 @NoArgsConstructor
 public class Order {
 
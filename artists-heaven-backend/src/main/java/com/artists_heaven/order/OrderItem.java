@@ -15,7 +15,10 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_order", columnList = "order_id"),
+        @Index(name = "idx_order_items_product_order", columnList = "product_id, order_id"),
+        @Index(name = "idx_order_items_artist_order", columnList = "artist_id, order_id") })
 @NoArgsConstructor
 public class OrderItem {
 
@@ -52,6 +55,10 @@ public class OrderItem {
 
     private String color;
 
+    // Artist owning the product when the order was placed, null for products of no artist
+    @Column(name = "artist_id")
+    private Long artistId;
+
     public OrderItem(Long productId, int quantity, String size, String name, Float price, Order order, Section section, String color) {
         this.productId = productId;
         this.quantity = quantity;
@@ -10,4 +10,11 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @Query("SELECT oi FROM OrderItem oi WHERE oi.order.id = :orderId")
     List<OrderItem> findByOrderId(Long orderId);
 
+    /**
+     * Whether the user has any order containing the product. Resolved with the
+     * (product_id, order_id) index on order items and the user_id index on
+     * orders, without loading orders or items.
+     */
+    boolean existsByProductIdAndOrder_User_Id(Long productId, Long userId);
+
 }
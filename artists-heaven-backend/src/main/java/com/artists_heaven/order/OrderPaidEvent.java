@@ -0,0 +1,54 @@
+package com.artists_heaven.order;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published when a paid order has been stored. It carries a copy of the data
+ * listeners need, so they do not touch the entity after its transaction.
+ */
+public final class OrderPaidEvent {
+
+    private final LocalDateTime createdDate;
+
+    private final String country;
+
+    private final List<String> itemNames;
+
+    public OrderPaidEvent(LocalDateTime createdDate, String country, List<String> itemNames) {
+        this.createdDate = createdDate;
+        this.country = country;
+        this.itemNames = Collections.unmodifiableList(new ArrayList<>(itemNames));
+    }
+
+    public static OrderPaidEvent of(Order order) {
+        return new OrderPaidEvent(order.getCreatedDate(), order.getCountry(), itemNames(order));
+    }
+
+    /**
+     * Names of the items of an order, one per order line.
+     */
+    public static List<String> itemNames(Order order) {
+        List<String> names = new ArrayList<>();
+        if (order.getItems() != null) {
+            for (OrderItem item : order.getItems()) {
+                names.add(item.getName());
+            }
+        }
+        return names;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public List<String> getItemNames() {
+        return itemNames;
+    }
+}
@@ -16,12 +16,6 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.user.id = :userId")
     List<Order> getOrdersByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT COUNT(o) FROM Order o WHERE EXTRACT(YEAR FROM o.createdDate) = :year")
-    Integer getNumOrdersPerYear(@Param("year") int year);
-
-    @Query("SELECT SUM(o.totalPrice) FROM Order o WHERE EXTRACT(YEAR FROM o.createdDate) = :year")
-    Double getIncomePerYear(@Param("year") int year);
-
     @Query("SELECT o FROM Order o where o.identifier = :identifier")
     Order findOrderByIdentifier(Long identifier);
 
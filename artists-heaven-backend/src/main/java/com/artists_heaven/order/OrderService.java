@@ -15,6 +15,7 @@ import com.artists_heaven.entities.user.UserRole;
 import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.exception.AppExceptions.ForbiddenActionException;
 import com.artists_heaven.exception.AppExceptions.ResourceNotFoundException;
+import com.artists_heaven.sales.SalesRollupService;
 
 @Service
 public class OrderService {
@@ -23,9 +24,13 @@ public class OrderService {
 
     private final MessageSource messageSource;
 
-    public OrderService(OrderRepository orderRepository, MessageSource messageSource) {
+    private final SalesRollupService salesRollupService;
+
+    public OrderService(OrderRepository orderRepository, MessageSource messageSource,
+            SalesRollupService salesRollupService) {
         this.orderRepository = orderRepository;
         this.messageSource = messageSource;
+        this.salesRollupService = salesRollupService;
     }
 
     /**
@@ -56,7 +61,7 @@ public class OrderService {
      * @return the number of orders in that year
      */
     public Integer getNumOrdersPerYear(int year) {
-        return orderRepository.getNumOrdersPerYear(year);
+        return salesRollupService.countOrders(year);
     }
 
     /**
@@ -66,7 +71,7 @@ public class OrderService {
      * @return the total income as a {@link Double}
      */
     public Double getIncomePerYear(int year) {
-        return orderRepository.getIncomePerYear(year);
+        return salesRollupService.sumRevenue(year);
     }
 
     /**
@@ -0,0 +1,34 @@
+package com.artists_heaven.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an order moves from one status to another.
+ */
+public final class OrderStatusChangedEvent {
+
+    private final LocalDateTime createdDate;
+
+    private final OrderStatus from;
+
+    private final OrderStatus to;
+
+    public OrderStatusChangedEvent(LocalDateTime createdDate, OrderStatus from, OrderStatus to) {
+        this.createdDate = createdDate;
+        this.from = from;
+        this.to = to;
+    }
+
+    /** Creation date of the order, not of the change. */
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public OrderStatus getFrom() {
+        return from;
+    }
+
+    public OrderStatus getTo() {
+        return to;
+    }
+}
@@ -0,0 +1,23 @@
+package com.artists_heaven.page;
+
+/**
+ * How a paged listing computes its total.
+ */
+public enum CountMode {
+
+    /**
+     * Counts the matching rows on every request.
+     */
+    EXACT,
+
+    /**
+     * Uses the planner estimate of the table size when no filter is active,
+     * and a short-lived cached count per filter otherwise.
+     */
+    ESTIMATED,
+
+    /**
+     * Skips the count; the page only tells whether another page follows.
+     */
+    NONE
+}
@@ -0,0 +1,107 @@
+package com.artists_heaven.page;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Computes the totals of paged listings according to a {@link CountMode}.
+ * <p>
+ * Unfiltered listings in {@link CountMode#ESTIMATED} mode read the row
+ * estimate that ANALYZE and autovacuum keep in {@code pg_class}, which costs a
+ * catalog lookup instead of a scan. Filtered listings count exactly, but only
+ * when the filter is first paged; the count is then reused for
+ * {@code page-count.cache-ttl}.
+ */
+@Service
+public class PageCountService {
+
+    /**
+     * Returned when the total is not computed.
+     */
+    public static final long UNKNOWN = -1;
+
+    // Search terms are free text, so the cache is dropped rather than left to grow
+    static final int MAX_CACHED_COUNTS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long cacheTtlNanos;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public PageCountService(JdbcTemplate jdbcTemplate,
+            @Value("${page-count.cache-ttl:30s}") Duration cacheTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    /**
+     * Returns the total of a listing.
+     *
+     * @param mode       how to compute the total
+     * @param table      the table being listed, for the planner estimate
+     * @param filter     a key identifying the active filter, or {@code null}
+     *                   when the listing is unfiltered
+     * @param exactCount runs the exact count query
+     * @return the total, or {@link #UNKNOWN} in {@link CountMode#NONE} mode
+     */
+    public long count(CountMode mode, String table, String filter, LongSupplier exactCount) {
+        switch (mode) {
+            case NONE:
+                return UNKNOWN;
+            case ESTIMATED:
+                if (filter == null) {
+                    long estimate = estimate(table);
+                    if (estimate > 0) {
+                        return estimate;
+                    }
+                }
+                return cachedCount(table + ":" + filter, exactCount);
+            default:
+                return exactCount.getAsLong();
+        }
+    }
+
+    // reltuples is -1 (0 before PostgreSQL 14) for a table that was never analyzed
+    private long estimate(String table) {
+        List<Float> reltuples = jdbcTemplate.queryForList(
+                "SELECT reltuples FROM pg_class WHERE oid = to_regclass(?)", Float.class, table);
+        if (reltuples.isEmpty() || reltuples.get(0) == null || reltuples.get(0) <= 0) {
+            return UNKNOWN;
+        }
+        return reltuples.get(0).longValue();
+    }
+
+    private long cachedCount(String key, LongSupplier exactCount) {
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(key);
+        if (cached != null && now - cached.countedAt < cacheTtlNanos) {
+            return cached.total;
+        }
+        long total = exactCount.getAsLong();
+        if (counts.size() >= MAX_CACHED_COUNTS) {
+            counts.clear();
+        }
+        counts.put(key, new CachedCount(total, now));
+        return total;
+    }
+
+    private static final class CachedCount {
+
+        private final long total;
+
+        private final long countedAt;
+
+        private CachedCount(long total, long countedAt) {
+            this.total = total;
+            this.countedAt = countedAt;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.artists_heaven.page;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -16,6 +18,7 @@ public class PageResponse<T> {
     private long totalElements;
     private int totalPages;
     private boolean last;
+    private CountMode countMode = CountMode.EXACT;
 
     public PageResponse(Page<T> page) {
         this.content = page.getContent();
@@ -34,4 +37,38 @@ public class PageResponse<T> {
     this.totalPages = totalPages;
     this.last = last;
 }
+
+    /**
+     * Builds a page from a slice and a separately computed total. The slice
+     * decides whether this is the last page; the total and page count are -1
+     * when unknown, and an estimate is raised to at least the rows already
+     * seen.
+     */
+    public PageResponse(Slice<T> slice, long totalElements, CountMode countMode) {
+        this.content = slice.getContent();
+        this.pageNumber = slice.getNumber();
+        this.pageSize = slice.getSize();
+        this.last = !slice.hasNext();
+        this.countMode = countMode;
+        if (totalElements < 0) {
+            this.totalElements = PageCountService.UNKNOWN;
+            this.totalPages = (int) PageCountService.UNKNOWN;
+            return;
+        }
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements()
+                + (slice.hasNext() ? 1 : 0);
+        this.totalElements = Math.max(totalElements, seen);
+        this.totalPages = slice.getSize() == 0 ? 1
+                : (int) Math.ceil((double) this.totalElements / slice.getSize());
+    }
+
+    /**
+     * Converts the content, keeping the paging information.
+     */
+    public <R> PageResponse<R> map(Function<? super T, ? extends R> converter) {
+        List<R> converted = content.stream().<R>map(converter).toList();
+        PageResponse<R> mapped = new PageResponse<>(converted, pageNumber, pageSize, totalElements, totalPages, last);
+        mapped.setCountMode(countMode);
+        return mapped;
+    }
 }
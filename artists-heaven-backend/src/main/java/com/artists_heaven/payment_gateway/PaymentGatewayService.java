@@ -4,10 +4,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -17,6 +20,7 @@ import com.artists_heaven.entities.user.User;
 import com.artists_heaven.entities.user.UserService;
 import com.artists_heaven.order.Order;
 import com.artists_heaven.order.OrderItem;
+import com.artists_heaven.order.OrderPaidEvent;
 import com.artists_heaven.order.OrderRepository;
 import com.artists_heaven.order.OrderStatus;
 import com.artists_heaven.product.Product;
@@ -24,6 +28,7 @@ import com.artists_heaven.product.ProductColor;
 import com.artists_heaven.product.ProductService;
 import com.artists_heaven.product.Section;
 import com.artists_heaven.rewardCard.RewardCardRepository;
+import com.artists_heaven.sales.SalesRollupService;
 import com.artists_heaven.shopping_cart.CartItemDTO;
 import com.artists_heaven.shopping_cart.ShoppingCartService;
 import com.stripe.Stripe;
@@ -59,6 +64,10 @@ public class PaymentGatewayService {
 
     private final RewardCardRepository rewardCardRepository;
 
+    private final SalesRollupService salesRollupService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     private static final String EVENT_TYPE = "checkout.session.completed";
 
     private static final String PRODUCT = "product_";
@@ -67,7 +76,9 @@ public class PaymentGatewayService {
             ProductService productService,
             ShoppingCartService shoppingCartService,
             EmailSenderService emailSenderService,
-            RewardCardRepository rewardCardRepository) {
+            RewardCardRepository rewardCardRepository,
+            SalesRollupService salesRollupService,
+            ApplicationEventPublisher eventPublisher) {
         this.userService = userService;
         this.orderRepository = orderRepository;
         this.productService = productService;
@@ -75,6 +86,8 @@ public class PaymentGatewayService {
         this.shoppingCartService = shoppingCartService;
         Stripe.apiKey = endpointSecret;
         this.rewardCardRepository = rewardCardRepository;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     public String createOrFetchCoupon(int discountPercentage) throws StripeException {
@@ -642,12 +655,32 @@ public class PaymentGatewayService {
         order.setEmail(email);
 
         order.setItems(items);
+        assignArtists(items);
 
         if (!country.isEmpty()) {
             order.setCountry(country);
         }
 
         orderRepository.save(order);
+        salesRollupService.recordOrderCreated(order);
+        eventPublisher.publishEvent(OrderPaidEvent.of(order));
+    }
+
+    /**
+     * Records on each item the artist owning its product, so artist sales are
+     * attributed without joining the product categories later on.
+     *
+     * @param items the items of the order being created.
+     */
+    private void assignArtists(List<OrderItem> items) {
+        Set<Long> productIds = new HashSet<>();
+        for (OrderItem item : items) {
+            productIds.add(item.getProductId());
+        }
+        Map<Long, Long> artistIds = productService.findArtistIds(productIds);
+        for (OrderItem item : items) {
+            item.setArtistId(artistIds.get(item.getProductId()));
+        }
     }
 
     /**
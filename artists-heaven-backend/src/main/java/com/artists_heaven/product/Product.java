@@ -7,12 +7,14 @@ import java.util.Set;
 
 import org.hibernate.annotations.CreationTimestamp;
 
+import com.artists_heaven.chat.ChatCacheInvalidationListener;
 import com.artists_heaven.rating.Rating;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -32,6 +34,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 @Entity
+@EntityListeners(ChatCacheInvalidationListener.class)
 @Getter
 @Setter
 public class Product {
@@ -10,6 +10,7 @@ import org.springframework.web.multipart.MultipartHttpServletRequest;
 import com.artists_heaven.admin.CategoryDTO;
 import com.artists_heaven.admin.CollectionDTO;
 import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.page.CountMode;
 import com.artists_heaven.page.PageResponse;
 import com.artists_heaven.standardResponse.StandardResponse;
 
@@ -69,7 +70,8 @@ public class ProductController {
         @GetMapping("/allProducts")
         @Operation(summary = "Retrieve list of products", description = "Returns a list of products. Supports optional search by product name or description. "
                         +
-                        "If size = -1, returns all matching products.")
+                        "If size = -1, returns all matching products. The count parameter selects how the total is computed: "
+                        + "EXACT, ESTIMATED (planner estimate or cached count) or NONE (only whether a next page exists).")
         @ApiResponse(responseCode = "200", description = "Successfully retrieved products list", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
         public ResponseEntity<StandardResponse<PageResponse<ProductDTO>>> getAllProducts(
@@ -77,9 +79,11 @@ public class ProductController {
                         @RequestParam(defaultValue = "6") int size,
                         @RequestParam(required = false) String search,
                         @RequestParam(required = false) Boolean available,
-                        @RequestParam(required = false) Boolean promoted) {
+                        @RequestParam(required = false) Boolean promoted,
+                        @RequestParam(defaultValue = "EXACT") CountMode count) {
 
-                PageResponse<ProductDTO> products = productService.getProducts(page, size, search, available, promoted);
+                PageResponse<ProductDTO> products = productService.getProducts(page, size, search, available, promoted,
+                                count);
 
                 return ResponseEntity.ok(
                                 new StandardResponse<>("Products retrieved successfully", products,
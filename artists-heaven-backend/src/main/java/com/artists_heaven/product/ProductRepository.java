@@ -12,7 +12,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import com.artists_heaven.order.Order;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> , JpaSpecificationExecutor<Product> {
@@ -37,15 +36,25 @@ public interface ProductRepository extends JpaRepository<Product, Long> , JpaSpe
     @Query("SELECT p FROM Product p JOIN p.categories c WHERE c.name = :artistName")
     List<Product> findProductsByArtistCategory(@Param("artistName") String artistName);
 
+    /**
+     * (product id, artist id) of the given products that belong to an artist,
+     * i.e. have the category named after the artist. The artist name is
+     * normalized like the artist category name: upper case without any
+     * whitespace.
+     */
+    @Query(value = "SELECT pc.product_id, a.id FROM product_category pc "
+            + "JOIN category c ON c.id = pc.category_id "
+            + "JOIN artist a ON c.name = UPPER(REGEXP_REPLACE(a.artist_name, '\\s+', '', 'g')) "
+            + "WHERE pc.product_id IN (:productIds)", nativeQuery = true)
+    List<Object[]> findArtistIds(@Param("productIds") Set<Long> productIds);
+
     @Query("SELECT p FROM Product p WHERE p.section = :section")
     List<Product> findBySection(@Param("section") Section section);
 
-    @Query("SELECT o FROM Order o")
-    List<Order> getOrders();
-
     Product findByNameIgnoreCase(String name);
 
-    @Query("SELECT p FROM Product p LEFT JOIN p.ratings r WHERE p.available = true GROUP BY p.id ORDER BY AVG(r.score) DESC")
+    @Query("SELECT p FROM Product p LEFT JOIN p.ratings r ON r.status = com.artists_heaven.rating.RatingStatus.PUBLISHED "
+            + "WHERE p.available = true GROUP BY p.id ORDER BY AVG(r.score) DESC")
     List<Product> findTopRatingProduct();
 
     boolean existsByReference(Long reference);
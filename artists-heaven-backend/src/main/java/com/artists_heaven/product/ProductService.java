@@ -28,13 +28,15 @@ import org.springframework.web.server.ResponseStatusException;
 
 import com.artists_heaven.admin.CategoryDTO;
 import com.artists_heaven.admin.CollectionDTO;
+import com.artists_heaven.analytics.AnalyticsMetric;
+import com.artists_heaven.analytics.AnalyticsProjector;
 import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.exception.AppExceptions.BadRequestException;
 import com.artists_heaven.exception.AppExceptions.InvalidInputException;
 import com.artists_heaven.exception.AppExceptions.ResourceNotFoundException;
-import com.artists_heaven.order.Order;
 import com.artists_heaven.order.OrderDetailsDTO;
-import com.artists_heaven.order.OrderItem;
+import com.artists_heaven.page.CountMode;
+import com.artists_heaven.page.PageCountService;
 import com.artists_heaven.page.PageResponse;
 
 import jakarta.validation.Valid;
@@ -46,6 +48,11 @@ import org.springframework.context.MessageSource;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -61,17 +68,24 @@ public class ProductService {
 
     private final MessageSource messageSource;
 
+    private final PageCountService pageCountService;
+
+    private final AnalyticsProjector analyticsProjector;
+
     private static final SecureRandom TL_RANDOM = new SecureRandom();
 
     private static final String UPLOAD_DIR = "artists-heaven-backend/src/main/resources/product_media/";
     private static final Path TARGET_PATH = new File(UPLOAD_DIR).toPath().normalize();
 
     public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository,
-            CollectionRepository collectionRepository, MessageSource messageSource) {
+            CollectionRepository collectionRepository, MessageSource messageSource,
+            PageCountService pageCountService, AnalyticsProjector analyticsProjector) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.collectionRepository = collectionRepository;
         this.messageSource = messageSource;
+        this.pageCountService = pageCountService;
+        this.analyticsProjector = analyticsProjector;
     }
 
     /**
@@ -659,6 +673,23 @@ public class ProductService {
         return productRepository.findProductsByArtistCategory(artistName);
     }
 
+    /**
+     * Finds the artist owning each of the given products.
+     *
+     * @param productIds the product ids
+     * @return the artist id by product id, without the products of no artist
+     */
+    public Map<Long, Long> findArtistIds(Set<Long> productIds) {
+        Map<Long, Long> artistIds = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return artistIds;
+        }
+        for (Object[] row : productRepository.findArtistIds(productIds)) {
+            artistIds.put((Long) row[0], (Long) row[1]);
+        }
+        return artistIds;
+    }
+
     public List<Product> findAllProducts() {
         return productRepository.findAll();
     }
@@ -703,9 +734,8 @@ public class ProductService {
      * Retrieves the top-selling product based on the number of times it has been
      * ordered.
      * 
-     * This method iterates through all available orders, counts the number of times
-     * each product has been sold, and identifies the product with the highest
-     * sales.
+     * The order lines per product name come from the analytics counters, so no
+     * order is read. Ties go to the name that sorts first.
      * It then returns basic information about this top-selling product.
      *
      * @return a map containing:
@@ -713,28 +743,27 @@ public class ProductService {
      *         - "descripcion": the description of the product (sanitized)
      *         - "precio": the product price formatted as a string with two decimal
      *         places
-     * @throws NullPointerException if there are no orders or the top product cannot
-     *                              be found in the database
+     *         or an empty map if nothing has been sold or the top product no
+     *         longer exists
      */
     public Map<String, String> getTopSellingProduct() {
-        List<Order> orders = productRepository.getOrders();
-
-        Map<String, Integer> countMap = new HashMap<>();
         String topProduct = null;
-        int max = 0;
-
-        for (Order order : orders) {
-            for (OrderItem item : order.getItems()) {
-                String name = item.getName();
-                int total = countMap.merge(name, 1, Integer::sum);
-                if (total > max) {
-                    max = total;
-                    topProduct = name;
-                }
+        long max = 0;
+        for (Map.Entry<String, Long> entry : analyticsProjector.getTotals(AnalyticsMetric.PRODUCT_SOLD).entrySet()) {
+            long total = entry.getValue();
+            if (total > max || (total == max && topProduct != null && entry.getKey().compareTo(topProduct) < 0)) {
+                max = total;
+                topProduct = entry.getKey();
             }
         }
+        if (topProduct == null) {
+            return Map.of();
+        }
 
         Product product = productRepository.findByNameIgnoreCase(topProduct);
+        if (product == null) {
+            return Map.of();
+        }
 
         String price = formatPrice(product.getPrice());
 
@@ -898,8 +927,20 @@ public class ProductService {
         return productRepository.findByCollectionName(collectionName);
     }
 
+    /**
+     * Lists products matching the optional filters. A size of -1 returns every
+     * product in one page.
+     *
+     * @param page      the page number, starting at 0
+     * @param size      the page size, or -1 for every product
+     * @param search    text the name or description must contain (can be null)
+     * @param available availability the products must have (can be null)
+     * @param promoted  promotion state the products must have (can be null)
+     * @param countMode how to compute the total number of matching products
+     * @return the requested page of products
+     */
     public PageResponse<ProductDTO> getProducts(int page, int size, String search, Boolean available,
-            Boolean promoted) {
+            Boolean promoted, CountMode countMode) {
         if (size == -1) {
             List<Product> products = findAllProducts();
 
@@ -934,10 +975,18 @@ public class ProductService {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("on_Promotion"), promoted));
         }
 
-        Page<Product> result = productRepository.findAll(spec, pageRequest);
-
-        Page<ProductDTO> dtoPage = result.map(ProductDTO::new);
-        return new PageResponse<>(dtoPage);
+        // Offset positions are exclusive: scrolling from offset n starts at row n + 1
+        ScrollPosition position = pageRequest.getOffset() == 0 ? ScrollPosition.offset()
+                : ScrollPosition.offset(pageRequest.getOffset() - 1);
+        Window<Product> window = productRepository.findBy(spec,
+                query -> query.sortBy(Sort.by("id")).limit(size).scroll(position));
+        Slice<Product> result = new SliceImpl<>(window.getContent(), pageRequest, window.hasNext());
+
+        boolean filtered = (search != null && !search.isEmpty()) || available != null || promoted != null;
+        String filter = filtered ? search + ":" + available + ":" + promoted : null;
+        Specification<Product> countSpec = spec;
+        long total = pageCountService.count(countMode, "product", filter, () -> productRepository.count(countSpec));
+        return new PageResponse<>(result, total, countMode).map(ProductDTO::new);
     }
 
     public String saveModel(MultipartFile modelFile) {
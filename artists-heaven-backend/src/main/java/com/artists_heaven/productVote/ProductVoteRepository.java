@@ -1,11 +1,14 @@
 package com.artists_heaven.productVote;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.artists_heaven.entities.user.User;
 import com.artists_heaven.userProduct.UserProduct;
@@ -18,4 +21,20 @@ public interface ProductVoteRepository extends JpaRepository<ProductVote, Long>
 
     @Query("SELECT v.product.id FROM ProductVote v WHERE v.user.id = :userId")
     Set<Long> findProductIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT v.product.id FROM ProductVote v WHERE v.user.id = :userId AND v.product.id IN :productIds")
+    Set<Long> findVotedProductIds(@Param("userId") Long userId, @Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Stores a vote unless the user already voted for the product, relying on
+     * the unique (user_id, product_id) constraint.
+     *
+     * @return the ID of the new vote, or {@code null} if the user had already
+     *         voted for the product
+     */
+    @Transactional
+    @Query(value = "INSERT INTO product_vote (user_id, product_id, voted_at) VALUES (:userId, :productId, :votedAt) "
+            + "ON CONFLICT (user_id, product_id) DO NOTHING RETURNING id", nativeQuery = true)
+    Long insertIfAbsent(@Param("userId") Long userId, @Param("productId") Long productId,
+            @Param("votedAt") Date votedAt);
 }
@@ -1,14 +1,14 @@
 package com.artists_heaven.productVote;
 
+import java.util.Date;
 import java.util.Locale;
 
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import com.artists_heaven.entities.user.User;
-import com.artists_heaven.entities.user.UserRepository;
 import com.artists_heaven.exception.AppExceptions;
-import com.artists_heaven.userProduct.UserProduct;
+import com.artists_heaven.leaderboard.LeaderboardService;
 import com.artists_heaven.userProduct.UserProductRepository;
 
 @Service
@@ -16,14 +16,17 @@ public class ProductVoteService {
 
     private final ProductVoteRepository productVoteRepository;
     private final UserProductRepository userProductRepository;
-    private final UserRepository userRepository;
+    private final VoteCounterService voteCounterService;
+    private final LeaderboardService leaderboardService;
     private final MessageSource messageSource;
 
     public ProductVoteService(ProductVoteRepository productVoteRepository, UserProductRepository userProductRepository,
-            UserRepository userRepository, MessageSource messageSource) {
+            VoteCounterService voteCounterService, LeaderboardService leaderboardService,
+            MessageSource messageSource) {
         this.productVoteRepository = productVoteRepository;
         this.userProductRepository = userProductRepository;
-        this.userRepository = userRepository;
+        this.voteCounterService = voteCounterService;
+        this.leaderboardService = leaderboardService;
         this.messageSource = messageSource;
     }
 
@@ -38,6 +41,10 @@ public class ProductVoteService {
      * <li>The owner's points are increased by 5 for each vote.</li>
      * </ul>
      * </p>
+     * The vote costs two statements: the owner lookup and an insert that the
+     * unique (user, product) constraint skips for repeated votes. The product's
+     * vote count and the owner's points are updated in the background by
+     * {@link VoteCounterService}; the monthly leaderboard is updated in memory.
      *
      * @param productId the ID of the product being voted on
      * @param userId    the ID of the user casting the vote
@@ -51,33 +58,26 @@ public class ProductVoteService {
      */
     public void votePositive(Long productId, Long userId, String lang) {
         Locale locale = new Locale(lang);
-        String userNotFound = messageSource.getMessage("user.NotFound", null, locale);
-        String productNotFound = messageSource.getMessage("product.not_found", null, locale);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new AppExceptions.ResourceNotFoundException(userNotFound));
-        UserProduct product = userProductRepository.findById(productId)
-                .orElseThrow(() -> new AppExceptions.ResourceNotFoundException(productNotFound));
+        Long ownerId = userProductRepository.findOwnerIdById(productId)
+                .orElseThrow(() -> new AppExceptions.ResourceNotFoundException(
+                        messageSource.getMessage("product.not_found", null, locale)));
 
-        String voteOwnProduct = messageSource.getMessage("vote.ownProduct", null, locale);
-        if (product.getOwner().getId().equals(user.getId())) {
-            throw new AppExceptions.BadRequestException(voteOwnProduct);
+        if (ownerId.equals(userId)) {
+            throw new AppExceptions.BadRequestException(messageSource.getMessage("vote.ownProduct", null, locale));
         }
 
-        String alreadyVote = messageSource.getMessage("vote.alreadyVote", null, locale);
-        if (productVoteRepository.existsByUserAndProduct(user, product)) {
-            throw new AppExceptions.BadRequestException(alreadyVote);
+        Long voteId;
+        try {
+            voteId = productVoteRepository.insertIfAbsent(userId, productId, new Date());
+        } catch (DataIntegrityViolationException e) {
+            // Only the user foreign key can fail here, the product was just read
+            throw new AppExceptions.ResourceNotFoundException(messageSource.getMessage("user.NotFound", null, locale));
+        }
+        if (voteId == null) {
+            throw new AppExceptions.BadRequestException(messageSource.getMessage("vote.alreadyVote", null, locale));
         }
 
-        ProductVote vote = new ProductVote();
-        vote.setUser(user);
-        vote.setProduct(product);
-        productVoteRepository.save(vote);
-
-        product.setNumVotes(product.getNumVotes() == null ? 1 : product.getNumVotes() + 1);
-        userProductRepository.save(product);
-
-        User owner = product.getOwner();
-        owner.setPoints(owner.getPoints() + 5);
-        userRepository.save(owner);
+        voteCounterService.recordVote(productId, ownerId);
+        leaderboardService.recordVote(productId);
     }
 }
@@ -0,0 +1,212 @@
+package com.artists_heaven.productVote;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.entities.user.UserRepository;
+import com.artists_heaven.userProduct.UserProductRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind counters for community product votes.
+ * <p>
+ * Each accepted vote only increments in-memory {@link LongAdder}s (striped, so
+ * concurrent votes on the same design do not contend) for the product's
+ * {@code numVotes} and the owner's points. A background thread periodically
+ * drains the deltas and writes them in batches, one transaction per batch and
+ * a single {@code UPDATE ... SET x = x + delta} per row, so a viral design
+ * costs one row update per flush instead of one per vote. Counters that stay
+ * at zero for a whole flush interval are removed, so only recently voted
+ * products and users are kept in memory.
+ */
+@Service
+public class VoteCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteCounterService.class);
+
+    static final int POINTS_PER_VOTE = 5;
+
+    private final UserProductRepository userProductRepository;
+
+    private final UserRepository userRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration flushInterval;
+
+    private final int batchSize;
+
+    private final Map<Long, PendingCounter> pendingVotes = new ConcurrentHashMap<>();
+
+    private final Map<Long, PendingCounter> pendingPoints = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-vote-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public VoteCounterService(UserProductRepository userProductRepository, UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${product-vote.flush-interval:2s}") Duration flushInterval,
+            @Value("${product-vote.flush-batch-size:500}") int batchSize) {
+        this.userProductRepository = userProductRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushInterval = flushInterval;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long millis = Math.max(1, flushInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Counts a stored vote: one vote for the product and
+     * {@value #POINTS_PER_VOTE} points for its owner.
+     *
+     * @param productId the voted product
+     * @param ownerId   the owner of the product
+     */
+    public void recordVote(Long productId, Long ownerId) {
+        add(pendingVotes, productId, 1);
+        add(pendingPoints, ownerId, POINTS_PER_VOTE);
+    }
+
+    /**
+     * Votes counted in memory and not yet written for the given product.
+     */
+    public long getPendingVotes(Long productId) {
+        PendingCounter counter = pendingVotes.get(productId);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Points counted in memory and not yet written for the given user.
+     */
+    public long getPendingPoints(Long userId) {
+        PendingCounter counter = pendingPoints.get(userId);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Number of counters held in memory, including the ones at zero.
+     */
+    int getCounterCount() {
+        return pendingVotes.size() + pendingPoints.size();
+    }
+
+    /**
+     * Writes every pending delta to the database. Deltas of a batch that fails
+     * are added back and retried on the next flush.
+     *
+     * @return number of rows updated
+     */
+    public synchronized int flush() {
+        return flush(drain(pendingVotes), pendingVotes, true) + flush(drain(pendingPoints), pendingPoints, false);
+    }
+
+    private int flush(List<Map.Entry<Long, Long>> deltas, Map<Long, PendingCounter> pending, boolean votes) {
+        int updated = 0;
+        for (int from = 0; from < deltas.size(); from += batchSize) {
+            List<Map.Entry<Long, Long>> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+            try {
+                Integer rows = transactionTemplate.execute(status -> {
+                    int count = 0;
+                    for (Map.Entry<Long, Long> delta : batch) {
+                        count += votes
+                                ? userProductRepository.addVotes(delta.getKey(), delta.getValue())
+                                : userRepository.addPoints(delta.getKey(), delta.getValue());
+                    }
+                    return count;
+                });
+                updated += rows == null ? 0 : rows;
+            } catch (RuntimeException e) {
+                // Restore the failed batch and the ones not written yet
+                deltas.subList(from, deltas.size()).forEach(delta -> add(pending, delta.getKey(), delta.getValue()));
+                throw e;
+            }
+        }
+        return updated;
+    }
+
+    // Adds to the counter of an ID. A counter retired by a drain while this
+    // add was in flight may already be gone from the map, so the add is undone
+    // and made again on the counter that replaces it
+    private static void add(Map<Long, PendingCounter> pending, Long id, long delta) {
+        while (true) {
+            PendingCounter counter = pending.computeIfAbsent(id, key -> new PendingCounter());
+            counter.add(delta);
+            if (!counter.retired) {
+                return;
+            }
+            counter.add(-delta);
+            Thread.onSpinWait();
+        }
+    }
+
+    // Takes the current value of every counter by subtracting what was read, so
+    // increments racing with the drain stay in the counter for the next flush.
+    // Counters already at zero are retired first and only removed if no add
+    // landed before the retirement was visible
+    private List<Map.Entry<Long, Long>> drain(Map<Long, PendingCounter> pending) {
+        List<Map.Entry<Long, Long>> deltas = new ArrayList<>();
+        pending.forEach((id, counter) -> {
+            long value = counter.sum();
+            if (value != 0) {
+                counter.add(-value);
+                deltas.add(Map.entry(id, value));
+            } else {
+                counter.retired = true;
+                if (counter.sum() == 0) {
+                    pending.remove(id, counter);
+                } else {
+                    counter.retired = false;
+                }
+            }
+        });
+        return deltas;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Deltas were restored; the next run retries them
+            log.warn("Flushing product votes failed; votes of {} products and points of {} users stay pending",
+                    pendingVotes.size(), pendingPoints.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flushQuietly();
+    }
+
+    /**
+     * Striped counter that a drain can retire before removing it.
+     */
+    private static final class PendingCounter extends LongAdder {
+
+        private volatile boolean retired;
+    }
+}
@@ -0,0 +1,25 @@
+package com.artists_heaven.rating;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Fields of a pending rating needed to moderate it, read without loading the
+ * rating, its user or its product.
+ */
+@Getter
+@AllArgsConstructor
+public class PendingRatingDTO {
+
+    private Long id;
+
+    private Long productId;
+
+    private Integer score;
+
+    private String comment;
+
+    private LocalDate createdAt;
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 
 import org.hibernate.validator.constraints.Length;
 
+import com.artists_heaven.chat.ChatCacheInvalidationListener;
 import com.artists_heaven.entities.user.User;
 import com.artists_heaven.product.Product;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -11,11 +12,17 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -23,6 +30,12 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Table(name = "rating", uniqueConstraints = @UniqueConstraint(name = "uk_rating_product_user", columnNames = {
+        "product_id", "user_id" }), indexes = {
+                @Index(name = "idx_rating_product_status_created", columnList = "product_id, status, created_at, id"),
+                @Index(name = "idx_rating_product_status_score", columnList = "product_id, status, score, id")
+        })
+@EntityListeners(ChatCacheInvalidationListener.class)
 @Getter
 @Setter
 public class Rating {
@@ -49,6 +62,11 @@ public class Rating {
     @Column(nullable = false, updatable = false)
     private LocalDate createdAt = LocalDate.now();
 
+    // Ratings that existed before moderation are published
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, columnDefinition = "varchar(20) default 'PUBLISHED' not null")
+    private RatingStatus status = RatingStatus.PENDING;
+
     @ManyToOne(optional = false)
     @JoinColumn(name = "product_id", nullable = false)
     @NotNull(message = "El producto es obligatorio")
@@ -20,6 +20,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
 
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -52,15 +53,34 @@ public class RatingController {
                                                 HttpStatus.OK.value()));
         }
 
+        @GetMapping("/productReview/{id}/page")
+        @Operation(summary = "Retrieve a page of ratings for a product", description = "Returns published ratings of the product ordered by recency or score using cursor pagination, plus the rating summary (average, count and star histogram) of the product.")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of product ratings", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RatingPageDTO.class)))
+        @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+        @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+        public ResponseEntity<StandardResponse<RatingPageDTO>> getProductRatingsPage(
+                        @Parameter(description = "ID of the product to retrieve ratings for", required = true) @PathVariable Long id,
+                        @Parameter(description = "Order of the ratings", example = "RECENT") @RequestParam(defaultValue = "RECENT") RatingSort sort,
+                        @Parameter(description = "nextCursor returned by the previous page; omit it for the first page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Number of ratings per page (max 50)", example = "10") @RequestParam(defaultValue = "10") int size) {
+
+                RatingPageDTO page = ratingService.getProductRatingsPage(id, sort, cursor, size);
+
+                return ResponseEntity.ok(
+                                new StandardResponse<>("Successfully retrieved product ratings", page,
+                                                HttpStatus.OK.value()));
+        }
+
         @PostMapping("/new")
         @Operation(summary = "Create a new rating for a product", description = "Allows an authenticated user to create a new rating for a specified product, including score and optional comment.")
         @ApiResponse(responseCode = "201", description = "Rating created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
+        @ApiResponse(responseCode = "400", description = "Score outside 1-5 or comment longer than 255 characters", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
         @ApiResponse(responseCode = "403", description = "Forbidden - user has not purchased this item", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
         @ApiResponse(responseCode = "409", description = "Conflict - user has already rated this product", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
         @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
         @ApiResponse(responseCode = "500", description = "Unexpected error occurred", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StandardResponse.class)))
         public ResponseEntity<StandardResponse<RatingResponseDTO>> createNewRating(
-                        @Parameter(description = "Rating data including product ID, score, and comment", required = true) @RequestBody RatingRequestDTO ratingRequestDTO,
+                        @Parameter(description = "Rating data including product ID, score, and comment", required = true) @Valid @RequestBody RatingRequestDTO ratingRequestDTO,
                         @RequestParam String lang) {
 
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -73,7 +93,10 @@ public class RatingController {
                                 ratingRequestDTO.getComment(),
                                 lang);
 
-                RatingResponseDTO responseDTO = new RatingResponseDTO(rating);
+                // The rating only references its user, so the author is taken from the principal
+                RatingResponseDTO responseDTO = new RatingResponseDTO(rating.getId(), rating.getScore(),
+                                rating.getComment(), principalUser.getUsername(), rating.getCreatedAt(),
+                                rating.getStatus());
 
                 return ResponseEntity.status(HttpStatus.CREATED)
                                 .body(new StandardResponse<>("Rating created successfully", responseDTO,
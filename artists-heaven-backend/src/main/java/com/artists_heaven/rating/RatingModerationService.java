@@ -0,0 +1,272 @@
+package com.artists_heaven.rating;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.chat.ChatResponseCache;
+import com.artists_heaven.language.LanguageDetectionService;
+import com.modernmt.text.profanity.ProfanityFilter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Moderates submitted ratings in the background.
+ * <p>
+ * New ratings are stored as {@link RatingStatus#PENDING} and queued here. A
+ * pool of workers (one per core by default) drains the queue in batches, runs
+ * language detection and the profanity filter on the comments, and in a single
+ * transaction per batch publishes or rejects them and adds the published ones
+ * to the {@link RatingSummary} of their products, publishing a
+ * {@link RatingPublishedEvent} for each. Ratings whose score is
+ * outside 1-5 are rejected. A batch that fails is queued again after a
+ * backoff, up to {@code rating.moderation.max-retries} times; after that its
+ * ratings stay pending until the next start.
+ */
+@Service
+public class RatingModerationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingModerationService.class);
+
+    static final int MIN_SCORE = 1;
+
+    static final int MAX_SCORE = 5;
+
+    private final RatingRepository ratingRepository;
+
+    private final RatingSummaryRepository ratingSummaryRepository;
+
+    private final LanguageDetectionService languageDetectionService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ChatResponseCache chatResponseCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ProfanityFilter profanityFilter = new ProfanityFilter();
+
+    private final int workers;
+
+    private final int batchSize;
+
+    private final int maxRetries;
+
+    private final Duration retryBackoff;
+
+    private final BlockingQueue<Long> queue = new LinkedBlockingQueue<>();
+
+    // Ratings queued or being moderated, so a rating is never in two batches
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    // Failed attempts of the ratings whose batch failed
+    private final Map<Long, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    public RatingModerationService(RatingRepository ratingRepository,
+            RatingSummaryRepository ratingSummaryRepository, LanguageDetectionService languageDetectionService,
+            TransactionTemplate transactionTemplate, ChatResponseCache chatResponseCache,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${rating.moderation.workers:0}") int workers,
+            @Value("${rating.moderation.batch-size:100}") int batchSize,
+            @Value("${rating.moderation.max-retries:3}") int maxRetries,
+            @Value("${rating.moderation.retry-backoff:1s}") Duration retryBackoff) {
+        this.ratingRepository = ratingRepository;
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.languageDetectionService = languageDetectionService;
+        this.transactionTemplate = transactionTemplate;
+        this.chatResponseCache = chatResponseCache;
+        this.eventPublisher = eventPublisher;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoff = retryBackoff;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.workers, runnable -> {
+            Thread thread = new Thread(runnable, "rating-moderation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builds the rating summaries the first time, queues the ratings left
+     * pending by a previous run and starts the workers.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (ratingSummaryRepository.count() == 0) {
+            ratingSummaryRepository.rebuildAll();
+        }
+        ratingRepository.findIdsByStatus(RatingStatus.PENDING).forEach(this::submit);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+    }
+
+    /**
+     * Queues a stored rating for moderation.
+     *
+     * @param ratingId ID of a pending rating
+     */
+    public void submit(Long ratingId) {
+        if (queued.add(ratingId)) {
+            queue.offer(ratingId);
+        }
+    }
+
+    /**
+     * Number of ratings waiting for moderation.
+     *
+     * @return queued ratings, including the batches in progress
+     */
+    public int getQueuedCount() {
+        return queued.size();
+    }
+
+    private void work() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                moderateBatch(batch);
+                for (Long id : batch) {
+                    failedAttempts.remove(id);
+                    queued.remove(id);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                retryLater(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Queues the ratings of a failed batch again after a backoff that doubles
+     * with every attempt. Ratings that already failed
+     * {@code rating.moderation.max-retries} times are given up; they stay
+     * pending and are queued again on the next start.
+     */
+    private void retryLater(List<Long> batch, RuntimeException error) {
+        List<Long> retried = new ArrayList<>();
+        int attempt = 0;
+        for (Long id : batch) {
+            int attempts = failedAttempts.merge(id, 1, Integer::sum);
+            if (attempts > maxRetries) {
+                failedAttempts.remove(id);
+                queued.remove(id);
+            } else {
+                retried.add(id);
+                attempt = Math.max(attempt, attempts);
+            }
+        }
+        if (retried.size() < batch.size()) {
+            log.error("Giving up moderating {} ratings after {} attempts; they stay pending until the next start",
+                    batch.size() - retried.size(), maxRetries + 1, error);
+        }
+        if (!retried.isEmpty()) {
+            long delay = retryBackoff.toMillis() << Math.min(attempt - 1, 6);
+            log.warn("Moderating {} ratings failed (attempt {}), retrying in {} ms: {}", retried.size(), attempt,
+                    delay, error.toString());
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> retried.forEach(queue::offer));
+        }
+    }
+
+    /**
+     * Moderates a batch of ratings. Ratings that are no longer pending are
+     * skipped, and only the ratings this call actually publishes are added to
+     * the summaries, so a rating moderated concurrently is never counted twice.
+     *
+     * @param ids rating IDs
+     * @return number of published ratings
+     */
+    int moderateBatch(List<Long> ids) {
+        List<PendingRatingDTO> pending = ratingRepository.findPendingByIds(ids);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // Comments are checked outside the transaction; it only holds the writes
+        Map<Long, PendingRatingDTO> accepted = new HashMap<>();
+        List<Long> rejected = new ArrayList<>();
+        for (PendingRatingDTO rating : pending) {
+            if (hasValidScore(rating) && isAcceptable(rating.getComment())) {
+                accepted.put(rating.getId(), rating);
+            } else {
+                rejected.add(rating.getId());
+            }
+        }
+
+        Integer published = transactionTemplate.execute(status -> {
+            if (!rejected.isEmpty()) {
+                ratingRepository.moderate(rejected, RatingStatus.REJECTED);
+            }
+            if (accepted.isEmpty()) {
+                return 0;
+            }
+            List<Long> publishedIds = ratingRepository.publishPending(accepted.keySet());
+            Map<Long, long[]> summaryDeltas = new HashMap<>();
+            for (Long id : publishedIds) {
+                PendingRatingDTO rating = accepted.get(id);
+                long[] delta = summaryDeltas.computeIfAbsent(rating.getProductId(), productId -> new long[7]);
+                delta[0]++;
+                delta[1] += rating.getScore();
+                delta[1 + rating.getScore()]++;
+                // Delivered to transactional listeners once the transaction commits
+                eventPublisher.publishEvent(
+                        new RatingPublishedEvent(rating.getProductId(), rating.getScore(), rating.getCreatedAt()));
+            }
+            summaryDeltas.forEach((productId, delta) -> ratingSummaryRepository.addRatings(productId,
+                    delta[0], delta[1], delta[2], delta[3], delta[4], delta[5], delta[6]));
+            return publishedIds.size();
+        });
+
+        if (published != null && published > 0) {
+            chatResponseCache.invalidateDynamic();
+        }
+        return published != null ? published : 0;
+    }
+
+    private static boolean hasValidScore(PendingRatingDTO rating) {
+        return rating.getScore() != null && rating.getScore() >= MIN_SCORE && rating.getScore() <= MAX_SCORE;
+    }
+
+    private boolean isAcceptable(String comment) {
+        if (comment == null || comment.isBlank()) {
+            return true;
+        }
+        String detectedLang = languageDetectionService.detectLanguageCode(comment);
+        return !profanityFilter.test(detectedLang, comment);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,28 @@
+package com.artists_heaven.rating;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Schema(name = "RatingPageDTO", description = "A page of published product ratings together with the rating summary of the product.")
+public class RatingPageDTO {
+
+    @Schema(description = "Ratings of this page, in the requested order")
+    private List<RatingResponseDTO> content;
+
+    @Schema(description = "Cursor to request the next page, null on the last page", example = "2025-09-29_401")
+    private String nextCursor;
+
+    @Schema(description = "Whether there are more ratings after this page", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Average, count and star histogram of all the published ratings of the product")
+    private RatingSummaryDTO summary;
+
+}
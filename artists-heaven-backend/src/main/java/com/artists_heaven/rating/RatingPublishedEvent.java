@@ -0,0 +1,34 @@
+package com.artists_heaven.rating;
+
+import java.time.LocalDate;
+
+/**
+ * Published when moderation publishes a rating, after the transaction that
+ * published it commits.
+ */
+public final class RatingPublishedEvent {
+
+    private final Long productId;
+
+    private final int score;
+
+    private final LocalDate createdAt;
+
+    public RatingPublishedEvent(Long productId, int score, LocalDate createdAt) {
+        this.productId = productId;
+        this.score = score;
+        this.createdAt = createdAt;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public LocalDate getCreatedAt() {
+        return createdAt;
+    }
+}
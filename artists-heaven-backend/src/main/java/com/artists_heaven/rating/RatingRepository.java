@@ -1,13 +1,96 @@
 package com.artists_heaven.rating;
 
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface RatingRepository  extends JpaRepository<Rating, Long> {
 
     Optional<Rating> findByProductIdAndUserId(Long productId, Long userId);
 
+    /**
+     * Inserts a rating unless the user already rated the product, relying on
+     * the unique (product_id, user_id) constraint.
+     *
+     * @return the ID of the new rating, or {@code null} if the user had already
+     *         rated the product
+     */
+    @Transactional
+    @Query(value = "INSERT INTO rating (product_id, user_id, score, comment, created_at, status) " +
+            "VALUES (:productId, :userId, :score, :comment, :createdAt, :status) " +
+            "ON CONFLICT (product_id, user_id) DO NOTHING RETURNING id", nativeQuery = true)
+    Long insertIfAbsent(@Param("productId") Long productId, @Param("userId") Long userId,
+            @Param("score") Integer score, @Param("comment") String comment,
+            @Param("createdAt") LocalDate createdAt, @Param("status") String status);
+
+    String PUBLISHED_PAGE_SELECT = "SELECT new com.artists_heaven.rating.RatingResponseDTO("
+            + "r.id, r.score, r.comment, u.username, r.createdAt, r.status) "
+            + "FROM Rating r JOIN r.user u "
+            + "WHERE r.product.id = :productId AND r.status = com.artists_heaven.rating.RatingStatus.PUBLISHED ";
+
+    /**
+     * First page of the published ratings of a product, newest first. Reads
+     * the rating and author columns only; the product is never loaded.
+     */
+    @Query(PUBLISHED_PAGE_SELECT + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RatingResponseDTO> findPublishedRecent(@Param("productId") Long productId, Pageable pageable);
+
+    /**
+     * Published ratings of a product that come after the given (createdAt, id)
+     * key in newest-first order.
+     */
+    @Query(PUBLISHED_PAGE_SELECT
+            + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RatingResponseDTO> findPublishedRecentAfter(@Param("productId") Long productId,
+            @Param("createdAt") LocalDate createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * First page of the published ratings of a product, highest score first.
+     */
+    @Query(PUBLISHED_PAGE_SELECT + "ORDER BY r.score DESC, r.id DESC")
+    List<RatingResponseDTO> findPublishedTopScore(@Param("productId") Long productId, Pageable pageable);
+
+    /**
+     * Published ratings of a product that come after the given (score, id) key
+     * in highest-score-first order.
+     */
+    @Query(PUBLISHED_PAGE_SELECT
+            + "AND (r.score < :score OR (r.score = :score AND r.id < :id)) "
+            + "ORDER BY r.score DESC, r.id DESC")
+    List<RatingResponseDTO> findPublishedTopScoreAfter(@Param("productId") Long productId,
+            @Param("score") Integer score, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT r.id FROM Rating r WHERE r.status = :status ORDER BY r.id")
+    List<Long> findIdsByStatus(@Param("status") RatingStatus status);
+
+    @Query("SELECT new com.artists_heaven.rating.PendingRatingDTO(r.id, r.product.id, r.score, r.comment, r.createdAt) " +
+            "FROM Rating r WHERE r.id IN :ids AND r.status = com.artists_heaven.rating.RatingStatus.PENDING")
+    List<PendingRatingDTO> findPendingByIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Rating r SET r.status = :status WHERE r.id IN :ids " +
+            "AND r.status = com.artists_heaven.rating.RatingStatus.PENDING")
+    int moderate(@Param("ids") Collection<Long> ids, @Param("status") RatingStatus status);
+
+    /**
+     * Publishes the given ratings that are still pending.
+     *
+     * @return the IDs of the ratings this call published
+     */
+    @Transactional
+    @Query(value = "UPDATE rating SET status = 'PUBLISHED' WHERE id IN (:ids) AND status = 'PENDING' RETURNING id",
+            nativeQuery = true)
+    List<Long> publishPending(@Param("ids") Collection<Long> ids);
 
 }
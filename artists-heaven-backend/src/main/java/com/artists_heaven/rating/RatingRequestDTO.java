@@ -1,5 +1,7 @@
 package com.artists_heaven.rating;
 
+import org.hibernate.validator.constraints.Length;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -38,6 +40,7 @@ public class RatingRequestDTO {
     /**
      * Optional comment provided by the user.
      */
-    @Schema(description = "Optional comment about the product", example = "Amazing quality and fast delivery!")
+    @Length(max = RatingService.MAX_COMMENT_LENGTH)
+    @Schema(description = "Optional comment about the product (up to 255 characters)", example = "Amazing quality and fast delivery!")
     private String comment;
 }
@@ -25,12 +25,26 @@ public class RatingResponseDTO {
     @Schema(description = "Date when the rating was created", example = "2025-09-29")
     private LocalDate createdAt;
 
+    @Schema(description = "Moderation status; new ratings stay pending until their comment is checked", example = "PUBLISHED")
+    private RatingStatus status;
+
     public RatingResponseDTO(Rating rating) {
         this.id = rating.getId();
         this.score = rating.getScore();
         this.comment = rating.getComment();
         this.createdAt = rating.getCreatedAt();
+        this.status = rating.getStatus();
         this.username = rating.getUser() != null ? rating.getUser().getUsername() : null;
     }
 
+    public RatingResponseDTO(Long id, Integer score, String comment, String username, LocalDate createdAt,
+            RatingStatus status) {
+        this.id = id;
+        this.score = score;
+        this.comment = comment;
+        this.username = username;
+        this.createdAt = createdAt;
+        this.status = status;
+    }
+
 }
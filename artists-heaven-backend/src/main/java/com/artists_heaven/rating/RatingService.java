@@ -1,82 +1,174 @@
 package com.artists_heaven.rating;
 
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Locale;
 
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import com.artists_heaven.admin.AdminController;
-import com.artists_heaven.entities.user.User;
-import com.artists_heaven.entities.user.UserService;
+import com.artists_heaven.entities.user.UserRepository;
 import com.artists_heaven.exception.AppExceptions;
-import com.artists_heaven.order.OrderRepository;
-import com.artists_heaven.product.Product;
+import com.artists_heaven.order.OrderItemRepository;
 import com.artists_heaven.product.ProductRepository;
-import com.github.pemistahl.lingua.api.LanguageDetector;
-import com.github.pemistahl.lingua.api.LanguageDetectorBuilder;
-import com.modernmt.text.profanity.ProfanityFilter;
-import com.github.pemistahl.lingua.api.Language;
 
 @Service
 public class RatingService {
 
-    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
 
     private final ProductRepository productRepository;
 
-    private final UserService userService;
+    private final UserRepository userRepository;
 
     private final RatingRepository ratingRepository;
 
     private final MessageSource messageSource;
 
-    private final ProfanityFilter profanityFilter = new ProfanityFilter();
-    LanguageDetector detector = LanguageDetectorBuilder
-            .fromLanguages(Language.ENGLISH, Language.SPANISH, Language.FRENCH, Language.GERMAN, Language.ITALIAN)
-            .build();
+    private final RatingModerationService ratingModerationService;
 
-    public RatingService(OrderRepository orderRepository,
-            ProductRepository productRepository, UserService userService, AdminController adminController,
-            RatingRepository ratingRepository, MessageSource messageSource) {
-        this.orderRepository = orderRepository;
+    private final RatingSummaryRepository ratingSummaryRepository;
+
+    static final int MAX_PAGE_SIZE = 50;
+
+    static final int MAX_COMMENT_LENGTH = 255;
+
+    // SQLState of a foreign key violation
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    public RatingService(OrderItemRepository orderItemRepository,
+            ProductRepository productRepository, UserRepository userRepository, AdminController adminController,
+            RatingRepository ratingRepository, MessageSource messageSource,
+            RatingModerationService ratingModerationService, RatingSummaryRepository ratingSummaryRepository) {
+        this.orderItemRepository = orderItemRepository;
         this.productRepository = productRepository;
-        this.userService = userService;
+        this.userRepository = userRepository;
         this.ratingRepository = ratingRepository;
         this.messageSource = messageSource;
+        this.ratingModerationService = ratingModerationService;
+        this.ratingSummaryRepository = ratingSummaryRepository;
     }
 
     /**
-     * Returns all ratings for a given product.
+     * Returns the published ratings of a given product.
      *
      * @param productId the ID of the product
-     * @return a list of ratings for the product
+     * @return a list of published ratings for the product
      * @throws AppExceptions.ResourceNotFoundException if the product does not exist
      */
     public List<Rating> getProductRatings(Long productId) {
         return productRepository.findById(productId)
-                .map(Product::getRatings)
+                .map(product -> product.getRatings().stream()
+                        .filter(rating -> rating.getStatus() == RatingStatus.PUBLISHED)
+                        .toList())
                 .orElseThrow(
                         () -> new AppExceptions.ResourceNotFoundException("Product not found with id: " + productId));
     }
 
+    /**
+     * Returns one page of the published ratings of a product using keyset
+     * pagination, together with the precomputed rating summary of the product.
+     * Ratings are read as DTO projections, so neither the product nor its
+     * rating collection is loaded.
+     *
+     * @param productId the ID of the product
+     * @param sort      order of the ratings
+     * @param cursor    {@code nextCursor} of the previous page, or {@code null}
+     *                  for the first page
+     * @param size      maximum number of ratings, capped at
+     *                  {@value #MAX_PAGE_SIZE}
+     * @return the page of ratings, the cursor of the next page and the summary
+     * @throws AppExceptions.BadRequestException       if the cursor is malformed
+     * @throws AppExceptions.ResourceNotFoundException if the product does not exist
+     */
+    public RatingPageDTO getProductRatingsPage(Long productId, RatingSort sort, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // A summary row exists for every product with published ratings; only
+        // products without one need the existence check
+        RatingSummary summary = ratingSummaryRepository.findById(productId).orElseGet(() -> {
+            if (!productRepository.existsById(productId)) {
+                throw new AppExceptions.ResourceNotFoundException("Product not found with id: " + productId);
+            }
+            RatingSummary empty = new RatingSummary();
+            empty.setProductId(productId);
+            return empty;
+        });
+
+        List<RatingResponseDTO> ratings = summary.getRatingCount() == 0
+                ? List.of()
+                : findPublishedPage(productId, sort, cursor, PageRequest.of(0, limit + 1));
+
+        boolean hasNext = ratings.size() > limit;
+        List<RatingResponseDTO> content = hasNext ? ratings.subList(0, limit) : ratings;
+        String nextCursor = hasNext ? toCursor(content.get(limit - 1), sort) : null;
+
+        return new RatingPageDTO(content, nextCursor, hasNext, new RatingSummaryDTO(summary));
+    }
+
+    private List<RatingResponseDTO> findPublishedPage(Long productId, RatingSort sort, String cursor,
+            PageRequest limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return sort == RatingSort.SCORE
+                    ? ratingRepository.findPublishedTopScore(productId, limit)
+                    : ratingRepository.findPublishedRecent(productId, limit);
+        }
+
+        // Cursor format: "<createdAt or score>_<id>" of the last rating of the previous page
+        int separator = cursor.lastIndexOf('_');
+        String key = cursor.substring(0, Math.max(separator, 0));
+        Long id;
+        Integer score = null;
+        LocalDate createdAt = null;
+        try {
+            id = Long.valueOf(cursor.substring(separator + 1));
+            if (sort == RatingSort.SCORE) {
+                score = Integer.valueOf(key);
+            } else {
+                createdAt = LocalDate.parse(key);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new AppExceptions.BadRequestException("Invalid ratings cursor: " + cursor);
+        }
+
+        return sort == RatingSort.SCORE
+                ? ratingRepository.findPublishedTopScoreAfter(productId, score, id, limit)
+                : ratingRepository.findPublishedRecentAfter(productId, createdAt, id, limit);
+    }
+
+    private String toCursor(RatingResponseDTO last, RatingSort sort) {
+        Object key = sort == RatingSort.SCORE ? last.getScore() : last.getCreatedAt();
+        return key + "_" + last.getId();
+    }
+
     /**
      * Creates a rating for a product by a user.
      *
      * Rules:
      * <ul>
-     * <li>The comment must not contain profanity.</li>
      * <li>The user must have purchased the product.</li>
      * <li>The user can only rate a product once.</li>
+     * <li>The score is between 1 and 5 and the comment has at most
+     * {@value #MAX_COMMENT_LENGTH} characters.</li>
      * </ul>
+     * The rating is stored as {@link RatingStatus#PENDING} with a single insert
+     * and queued for moderation; the comment is checked for profanity in the
+     * background and the rating is published or rejected afterwards. The native
+     * insert skips Bean Validation, so the score and comment are checked here,
+     * and the user and product are only referenced, never loaded.
      *
      * @param userId    the ID of the user making the rating
      * @param productId the ID of the product being rated
      * @param score     the rating score (e.g., 1-5)
      * @param comment   the rating comment
      * @param lang      the language code for localized messages
-     * @return the created Rating
-     * @throws AppExceptions.InvalidInputException     if the comment contains
-     *                                                 profanity
+     * @return the created Rating, pending moderation
+     * @throws AppExceptions.BadRequestException       if the score or the comment
+     *                                                 is invalid
      * @throws AppExceptions.ForbiddenActionException  if the user has not purchased
      *                                                 the product
      * @throws AppExceptions.DuplicateActionException  if the user already rated
@@ -85,11 +177,14 @@ public class RatingService {
      */
     public Rating createRating(Long userId, Long productId, Integer score, String comment, String lang) {
         Locale locale = new Locale(lang);
-        String detectedLang = detector.detectLanguageOf(comment).getIsoCode639_1().toString().toLowerCase();
 
-        if (profanityFilter.test(detectedLang, comment)) {
-            String msg = messageSource.getMessage("rating.bad_comment", null, locale);
-            throw new AppExceptions.InvalidInputException(msg);
+        if (score == null || score < RatingModerationService.MIN_SCORE
+                || score > RatingModerationService.MAX_SCORE) {
+            throw new AppExceptions.BadRequestException(messageSource.getMessage("rating.invalid_score", null, locale));
+        }
+        if (comment != null && comment.length() > MAX_COMMENT_LENGTH) {
+            throw new AppExceptions.BadRequestException(
+                    messageSource.getMessage("rating.comment_too_long", null, locale));
         }
 
         if (!checkUserPurchaseItem(userId, productId)) {
@@ -97,51 +192,61 @@ public class RatingService {
             throw new AppExceptions.ForbiddenActionException(msg);
         }
 
-        if (checkUserRatingProduct(userId, productId)) {
-            String msg = messageSource.getMessage("rating.already", null, locale);
-            throw new AppExceptions.DuplicateActionException(msg);
-        }
-
-        User user = userService.getUserById(userId);
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> {
-                    String msg = messageSource.getMessage("product.not_found", null, locale);
-                    return new AppExceptions.ResourceNotFoundException(msg);
-                });
-
         Rating rating = new Rating();
         rating.setScore(score);
         rating.setComment(comment);
-        rating.setUser(user);
-        rating.setProduct(product);
-
-        product.getRatings().add(rating);
-        productRepository.save(product);
+        rating.setUser(userRepository.getReferenceById(userId));
+        rating.setProduct(productRepository.getReferenceById(productId));
+
+        // The unique (product_id, user_id) constraint replaces the "already rated"
+        // lookup: the insert is skipped and no ID is returned for a second rating.
+        // The product foreign key replaces the product lookup; any other
+        // violation is unexpected and is rethrown.
+        Long ratingId;
+        try {
+            ratingId = ratingRepository.insertIfAbsent(productId, userId, score, comment, rating.getCreatedAt(),
+                    rating.getStatus().name());
+        } catch (DataIntegrityViolationException e) {
+            if (!isMissingProduct(e)) {
+                throw e;
+            }
+            String msg = messageSource.getMessage("product.not_found", null, locale);
+            throw new AppExceptions.ResourceNotFoundException(msg);
+        }
+        if (ratingId == null) {
+            String msg = messageSource.getMessage("rating.already", null, locale);
+            throw new AppExceptions.DuplicateActionException(msg);
+        }
+        rating.setId(ratingId);
+        ratingModerationService.submit(ratingId);
 
         return rating;
     }
 
     /**
-     * Checks if a user has already rated a product.
+     * Checks if a user has purchased a product with a single indexed EXISTS
+     * lookup.
      *
      * @param userId    the user's ID
      * @param productId the product's ID
-     * @return true if the user already rated the product
+     * @return true if the user purchased the product
      */
-    private boolean checkUserRatingProduct(Long userId, Long productId) {
-        return ratingRepository.findByProductIdAndUserId(productId, userId).isPresent();
+    private boolean checkUserPurchaseItem(Long userId, Long productId) {
+        return orderItemRepository.existsByProductIdAndOrder_User_Id(productId, userId);
     }
 
     /**
-     * Checks if a user has purchased a product.
-     *
-     * @param userId    the user's ID
-     * @param productId the product's ID
-     * @return true if the user purchased the product
+     * Whether an insert failed on the product foreign key. The constraint name
+     * is generated by the schema update, so the failing key is identified by
+     * the column PostgreSQL reports in the violation detail.
      */
-    private Boolean checkUserPurchaseItem(Long userId, Long productId) {
-        return orderRepository.getOrdersByUserId(userId).stream()
-                .flatMap(order -> order.getItems().stream())
-                .anyMatch(orderItem -> orderItem.getProductId().equals(productId));
+    private static boolean isMissingProduct(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && FOREIGN_KEY_VIOLATION.equals(sqlException.getSQLState())) {
+                return sqlException.getMessage() != null && sqlException.getMessage().contains("(product_id)");
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,11 @@
+package com.artists_heaven.rating;
+
+/**
+ * Orders available for the paginated product ratings.
+ */
+public enum RatingSort {
+    /** Newest ratings first. */
+    RECENT,
+    /** Highest scores first, newest first within the same score. */
+    SCORE
+}
@@ -0,0 +1,11 @@
+package com.artists_heaven.rating;
+
+/**
+ * Moderation state of a rating. Only published ratings are shown and counted
+ * in the product rating summary.
+ */
+public enum RatingStatus {
+    PENDING,
+    PUBLISHED,
+    REJECTED
+}
@@ -0,0 +1,51 @@
+package com.artists_heaven.rating;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Precomputed aggregates of the published ratings of a product: count, score
+ * sum and number of ratings per star. Updated by the moderation workers when
+ * ratings are published.
+ */
+@Entity
+@Table(name = "rating_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RatingSummary {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private long ratingCount;
+
+    @Column(nullable = false)
+    private long scoreSum;
+
+    @Column(nullable = false)
+    private long stars1;
+
+    @Column(nullable = false)
+    private long stars2;
+
+    @Column(nullable = false)
+    private long stars3;
+
+    @Column(nullable = false)
+    private long stars4;
+
+    @Column(nullable = false)
+    private long stars5;
+
+    public double getAverage() {
+        return ratingCount == 0 ? 0.0 : (double) scoreSum / ratingCount;
+    }
+}
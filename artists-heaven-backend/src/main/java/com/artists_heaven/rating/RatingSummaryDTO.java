@@ -0,0 +1,35 @@
+package com.artists_heaven.rating;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(name = "RatingSummaryDTO", description = "Aggregates of the published ratings of a product.")
+public class RatingSummaryDTO {
+
+    @Schema(description = "Average score, 0 when the product has no ratings", example = "4.3")
+    private double average;
+
+    @Schema(description = "Number of published ratings", example = "128")
+    private long count;
+
+    @Schema(description = "Number of ratings per star, from 1 to 5", example = "{\"1\": 2, \"2\": 3, \"3\": 10, \"4\": 40, \"5\": 73}")
+    private Map<Integer, Long> histogram;
+
+    public RatingSummaryDTO(RatingSummary summary) {
+        this.average = summary.getAverage();
+        this.count = summary.getRatingCount();
+        this.histogram = new LinkedHashMap<>();
+        histogram.put(1, summary.getStars1());
+        histogram.put(2, summary.getStars2());
+        histogram.put(3, summary.getStars3());
+        histogram.put(4, summary.getStars4());
+        histogram.put(5, summary.getStars5());
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.artists_heaven.rating;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RatingSummaryRepository extends JpaRepository<RatingSummary, Long> {
+
+    /**
+     * Adds published ratings to the summary of a product, creating it if it
+     * does not exist yet.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO rating_summary (product_id, rating_count, score_sum, stars1, stars2, stars3, stars4, stars5) "
+            + "VALUES (:productId, :count, :scoreSum, :stars1, :stars2, :stars3, :stars4, :stars5) "
+            + "ON CONFLICT (product_id) DO UPDATE SET "
+            + "rating_count = rating_summary.rating_count + EXCLUDED.rating_count, "
+            + "score_sum = rating_summary.score_sum + EXCLUDED.score_sum, "
+            + "stars1 = rating_summary.stars1 + EXCLUDED.stars1, "
+            + "stars2 = rating_summary.stars2 + EXCLUDED.stars2, "
+            + "stars3 = rating_summary.stars3 + EXCLUDED.stars3, "
+            + "stars4 = rating_summary.stars4 + EXCLUDED.stars4, "
+            + "stars5 = rating_summary.stars5 + EXCLUDED.stars5", nativeQuery = true)
+    int addRatings(@Param("productId") Long productId, @Param("count") long count, @Param("scoreSum") long scoreSum,
+            @Param("stars1") long stars1, @Param("stars2") long stars2, @Param("stars3") long stars3,
+            @Param("stars4") long stars4, @Param("stars5") long stars5);
+
+    /**
+     * Builds the summaries of every product from the published ratings. Used
+     * once, when the summary table is still empty.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO rating_summary (product_id, rating_count, score_sum, stars1, stars2, stars3, stars4, stars5) "
+            + "SELECT r.product_id, COUNT(*), SUM(r.score), "
+            + "COUNT(*) FILTER (WHERE r.score = 1), COUNT(*) FILTER (WHERE r.score = 2), "
+            + "COUNT(*) FILTER (WHERE r.score = 3), COUNT(*) FILTER (WHERE r.score = 4), "
+            + "COUNT(*) FILTER (WHERE r.score = 5) "
+            + "FROM rating r WHERE r.status = 'PUBLISHED' GROUP BY r.product_id "
+            + "ON CONFLICT (product_id) DO NOTHING", nativeQuery = true)
+    int rebuildAll();
+
+}
@@ -0,0 +1,37 @@
+package com.artists_heaven.returns;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.artists_heaven.order.Order;
+import com.artists_heaven.order.OrderPaidEvent;
+
+/**
+ * Published when the return of an order is accepted.
+ */
+public final class ReturnAcceptedEvent {
+
+    private final LocalDateTime createdDate;
+
+    private final List<String> itemNames;
+
+    public ReturnAcceptedEvent(LocalDateTime createdDate, List<String> itemNames) {
+        this.createdDate = createdDate;
+        this.itemNames = Collections.unmodifiableList(new ArrayList<>(itemNames));
+    }
+
+    public static ReturnAcceptedEvent of(Order order) {
+        return new ReturnAcceptedEvent(order.getCreatedDate(), OrderPaidEvent.itemNames(order));
+    }
+
+    /** Creation date of the returned order. */
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public List<String> getItemNames() {
+        return itemNames;
+    }
+}
@@ -2,6 +2,7 @@ package com.artists_heaven.returns;
 
 import com.artists_heaven.order.OrderService;
 import com.artists_heaven.order.OrderStatus;
+import com.artists_heaven.order.OrderStatusChangedEvent;
 import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.colors.ColorConstants;
@@ -21,6 +22,7 @@ import com.itextpdf.kernel.font.PdfFont;
 import java.time.LocalDateTime;
 import java.util.Locale;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,6 +30,9 @@ import org.springframework.stereotype.Service;
 
 import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.order.Order;
+import com.artists_heaven.sales.SalesRollupService;
+
+import jakarta.transaction.Transactional;
 
 @Service
 public class ReturnService {
@@ -38,10 +43,17 @@ public class ReturnService {
 
     private final MessageSource messageSource;
 
-    public ReturnService(ReturnRepository returnRepository, OrderService orderService, MessageSource messageSource) {
+    private final SalesRollupService salesRollupService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReturnService(ReturnRepository returnRepository, OrderService orderService, MessageSource messageSource,
+            SalesRollupService salesRollupService, ApplicationEventPublisher eventPublisher) {
         this.returnRepository = returnRepository;
         this.orderService = orderService;
         this.messageSource = messageSource;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -62,6 +74,8 @@ public class ReturnService {
      * <li>Return requests are only allowed within 30 days of order creation.</li>
      * <li>Duplicate return requests for the same order are not allowed.</li>
      * </ul>
+     * The return, the order status and the sales rollups are written in one
+     * transaction, so a failed rollup update leaves the order unchanged.
      *
      * @param order  the order to return
      * @param reason reason for the return
@@ -70,6 +84,7 @@ public class ReturnService {
      * @throws AppExceptions.DuplicateActionException if a return request already
      *                                                exists for the order
      */
+    @Transactional
     public void createReturnForOrder(Order order, String reason, String email, String lang) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -99,10 +114,14 @@ public class ReturnService {
         returnRequest.setReason(reason);
         save(returnRequest);
 
+        OrderStatus previousStatus = order.getStatus();
         order.setReturnRequest(returnRequest);
         order.setStatus(OrderStatus.RETURN_REQUEST);
         order.setLastUpdateDateTime(LocalDateTime.now());
         orderService.save(order);
+        salesRollupService.recordStatusChange(order, previousStatus, OrderStatus.RETURN_REQUEST);
+        eventPublisher.publishEvent(
+                new OrderStatusChangedEvent(order.getCreatedDate(), previousStatus, OrderStatus.RETURN_REQUEST));
     }
 
     /**
@@ -0,0 +1,78 @@
+package com.artists_heaven.sales;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sales of one artist's products on one day, aggregated by
+ * {@link RollupDimension#PRODUCT} or {@link RollupDimension#COUNTRY}. Items
+ * are attributed through {@code OrderItem.artistId}. The primary key starts
+ * with (artist_id, day), so an artist's year is one index range.
+ */
+@Entity
+@Table(name = "artist_daily_rollup")
+@IdClass(ArtistDailyRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArtistDailyRollup {
+
+    @Id
+    @Column(name = "artist_id", nullable = false)
+    private Long artistId;
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RollupDimension dimension;
+
+    @Id
+    @Column(name = "dim_key", nullable = false)
+    private String dimKey;
+
+    // Orders containing the key (each order counts once per key)
+    @Column(nullable = false)
+    private long orders;
+
+    // Order items, i.e. order lines
+    @Column(nullable = false)
+    private long items;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    // Units of orders whose return was accepted
+    @Column(nullable = false)
+    private long returnedUnits;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long artistId;
+        private LocalDate day;
+        private RollupDimension dimension;
+        private String dimKey;
+    }
+}
@@ -0,0 +1,88 @@
+package com.artists_heaven.sales;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ArtistDailyRollupRepository extends JpaRepository<ArtistDailyRollup, ArtistDailyRollup.Key> {
+
+    /**
+     * Adds a delta to one rollup row, creating the row if it does not exist.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO artist_daily_rollup (artist_id, day, dimension, dim_key, orders, items, units, revenue, returned_units) "
+            + "VALUES (:artistId, :day, :dimension, :key, :orders, :items, :units, :revenue, :returnedUnits) "
+            + "ON CONFLICT (artist_id, day, dimension, dim_key) DO UPDATE SET "
+            + "orders = artist_daily_rollup.orders + EXCLUDED.orders, "
+            + "items = artist_daily_rollup.items + EXCLUDED.items, "
+            + "units = artist_daily_rollup.units + EXCLUDED.units, "
+            + "revenue = artist_daily_rollup.revenue + EXCLUDED.revenue, "
+            + "returned_units = artist_daily_rollup.returned_units + EXCLUDED.returned_units", nativeQuery = true)
+    int add(@Param("artistId") Long artistId, @Param("day") LocalDate day, @Param("dimension") String dimension,
+            @Param("key") String key, @Param("orders") long orders, @Param("items") long items,
+            @Param("units") long units, @Param("revenue") double revenue,
+            @Param("returnedUnits") long returnedUnits);
+
+    /**
+     * Month and units sold, not counting accepted returns, of an artist in
+     * {@code [start, end)}.
+     */
+    @Query("SELECT EXTRACT(MONTH FROM r.day), SUM(r.units - r.returnedUnits) FROM ArtistDailyRollup r "
+            + "WHERE r.artistId = :artistId AND r.day >= :start AND r.day < :end "
+            + "AND r.dimension = com.artists_heaven.sales.RollupDimension.PRODUCT "
+            + "GROUP BY EXTRACT(MONTH FROM r.day) ORDER BY EXTRACT(MONTH FROM r.day)")
+    List<Object[]> findMonthlyNetUnits(@Param("artistId") Long artistId, @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
+
+    /**
+     * Totals of every key of a dimension for an artist in {@code [start, end)}.
+     */
+    @Query("SELECT new com.artists_heaven.sales.RollupTotalsDTO(r.dimKey, SUM(r.orders), SUM(r.items), "
+            + "SUM(r.units), SUM(r.revenue), SUM(r.returnedUnits)) FROM ArtistDailyRollup r "
+            + "WHERE r.artistId = :artistId AND r.day >= :start AND r.day < :end "
+            + "AND r.dimension = :dimension GROUP BY r.dimKey")
+    List<RollupTotalsDTO> findTotals(@Param("artistId") Long artistId, @Param("dimension") RollupDimension dimension,
+            @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * Sets the artist of the order items stored before the column existed,
+     * matching the product categories against the normalized artist names.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE order_items oi SET artist_id = a.id FROM product_category pc "
+            + "JOIN category c ON c.id = pc.category_id "
+            + "JOIN artist a ON c.name = UPPER(REGEXP_REPLACE(a.artist_name, '\\s+', '', 'g')) "
+            + "WHERE pc.product_id = oi.product_id AND oi.artist_id IS NULL", nativeQuery = true)
+    int backfillArtistIds();
+
+    /**
+     * Builds every rollup row from the order items with an artist. Used once,
+     * when the rollup table is still empty.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO artist_daily_rollup (artist_id, day, dimension, dim_key, orders, items, units, revenue, returned_units) "
+            + "SELECT oi.artist_id, CAST(o.created_date AS date), 'PRODUCT', oi.name, COUNT(DISTINCT o.id), COUNT(*), "
+            + "SUM(oi.quantity), SUM(oi.price * oi.quantity), "
+            + "COALESCE(SUM(oi.quantity) FILTER (WHERE o.status = 'RETURN_ACCEPTED'), 0) "
+            + "FROM order_items oi JOIN orders o ON o.id = oi.order_id WHERE oi.artist_id IS NOT NULL "
+            + "GROUP BY oi.artist_id, CAST(o.created_date AS date), oi.name "
+            + "UNION ALL "
+            + "SELECT oi.artist_id, CAST(o.created_date AS date), 'COUNTRY', o.country, COUNT(DISTINCT o.id), COUNT(*), "
+            + "SUM(oi.quantity), SUM(oi.price * oi.quantity), "
+            + "COALESCE(SUM(oi.quantity) FILTER (WHERE o.status = 'RETURN_ACCEPTED'), 0) "
+            + "FROM order_items oi JOIN orders o ON o.id = oi.order_id "
+            + "WHERE oi.artist_id IS NOT NULL AND o.country IS NOT NULL "
+            + "GROUP BY oi.artist_id, CAST(o.created_date AS date), o.country "
+            + "ON CONFLICT (artist_id, day, dimension, dim_key) DO NOTHING", nativeQuery = true)
+    int rebuildAll();
+}
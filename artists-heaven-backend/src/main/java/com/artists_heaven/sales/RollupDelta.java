@@ -0,0 +1,35 @@
+package com.artists_heaven.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Change to the measures of one rollup row.
+ */
+@Getter
+@AllArgsConstructor
+class RollupDelta {
+
+    private final long orders;
+
+    private final long items;
+
+    private final long units;
+
+    private final double revenue;
+
+    private final long returnedUnits;
+
+    RollupDelta plus(RollupDelta other) {
+        return new RollupDelta(orders + other.orders, items + other.items, units + other.units,
+                revenue + other.revenue, returnedUnits + other.returnedUnits);
+    }
+
+    RollupDelta times(int sign) {
+        return new RollupDelta(orders * sign, items * sign, units * sign, revenue * sign, returnedUnits * sign);
+    }
+
+    boolean isZero() {
+        return orders == 0 && items == 0 && units == 0 && revenue == 0 && returnedUnits == 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.artists_heaven.sales;
+
+/**
+ * What the key of a {@link SalesDailyRollup} row stands for.
+ */
+public enum RollupDimension {
+    /** Order status name; each order counts once, under its current status. */
+    STATUS,
+    /** Product name as recorded on the order item. */
+    PRODUCT,
+    /** Category name of the ordered product. */
+    CATEGORY,
+    /** Shipping country of the order. */
+    COUNTRY
+}
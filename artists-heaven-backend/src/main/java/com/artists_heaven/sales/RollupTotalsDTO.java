@@ -0,0 +1,24 @@
+package com.artists_heaven.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Sums of the rollup rows of one key over a date range.
+ */
+@Getter
+@AllArgsConstructor
+public class RollupTotalsDTO {
+
+    private String key;
+
+    private Long orders;
+
+    private Long items;
+
+    private Long units;
+
+    private Double revenue;
+
+    private Long returnedUnits;
+}
@@ -0,0 +1,74 @@
+package com.artists_heaven.sales;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sales of one day aggregated by a {@link RollupDimension}: one row per day,
+ * dimension and key (e.g. 2025-09-29 / COUNTRY / Spain). Days are the order
+ * creation day, so a status change or a return updates the row of the day the
+ * order was placed. Rows are only updated with additive deltas by
+ * {@link SalesRollupService}.
+ */
+@Entity
+@Table(name = "sales_daily_rollup")
+@IdClass(SalesDailyRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class SalesDailyRollup {
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RollupDimension dimension;
+
+    @Id
+    @Column(name = "dim_key", nullable = false)
+    private String dimKey;
+
+    // Orders containing the key (each order counts once per key)
+    @Column(nullable = false)
+    private long orders;
+
+    // Order items, i.e. order lines
+    @Column(nullable = false)
+    private long items;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    // Units of orders whose return was accepted
+    @Column(nullable = false)
+    private long returnedUnits;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private RollupDimension dimension;
+        private String dimKey;
+    }
+}
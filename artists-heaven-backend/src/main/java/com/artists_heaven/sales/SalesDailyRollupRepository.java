@@ -0,0 +1,91 @@
+package com.artists_heaven.sales;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SalesDailyRollupRepository extends JpaRepository<SalesDailyRollup, SalesDailyRollup.Key> {
+
+    /**
+     * Adds a delta to one rollup row, creating the row if it does not exist.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_rollup (day, dimension, dim_key, orders, items, units, revenue, returned_units) "
+            + "VALUES (:day, :dimension, :key, :orders, :items, :units, :revenue, :returnedUnits) "
+            + "ON CONFLICT (day, dimension, dim_key) DO UPDATE SET "
+            + "orders = sales_daily_rollup.orders + EXCLUDED.orders, "
+            + "items = sales_daily_rollup.items + EXCLUDED.items, "
+            + "units = sales_daily_rollup.units + EXCLUDED.units, "
+            + "revenue = sales_daily_rollup.revenue + EXCLUDED.revenue, "
+            + "returned_units = sales_daily_rollup.returned_units + EXCLUDED.returned_units", nativeQuery = true)
+    int add(@Param("day") LocalDate day, @Param("dimension") String dimension, @Param("key") String key,
+            @Param("orders") long orders, @Param("items") long items, @Param("units") long units,
+            @Param("revenue") double revenue, @Param("returnedUnits") long returnedUnits);
+
+    @Query("SELECT p.id, c.name FROM Product p JOIN p.categories c WHERE p.id IN :productIds")
+    List<Object[]> findCategoryNames(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Month, orders and revenue of the orders created in {@code [start, end)},
+     * leaving out the orders in the excluded status.
+     */
+    @Query("SELECT EXTRACT(MONTH FROM r.day), SUM(r.orders), SUM(r.revenue) FROM SalesDailyRollup r "
+            + "WHERE r.dimension = com.artists_heaven.sales.RollupDimension.STATUS "
+            + "AND r.dimKey <> :excludedStatus AND r.day >= :start AND r.day < :end "
+            + "GROUP BY EXTRACT(MONTH FROM r.day) ORDER BY EXTRACT(MONTH FROM r.day)")
+    List<Object[]> findMonthlySales(@Param("start") LocalDate start, @Param("end") LocalDate end,
+            @Param("excludedStatus") String excludedStatus);
+
+    /**
+     * Totals of every key of a dimension in {@code [start, end)}.
+     */
+    @Query("SELECT new com.artists_heaven.sales.RollupTotalsDTO(r.dimKey, SUM(r.orders), SUM(r.items), "
+            + "SUM(r.units), SUM(r.revenue), SUM(r.returnedUnits)) FROM SalesDailyRollup r "
+            + "WHERE r.dimension = :dimension AND r.day >= :start AND r.day < :end GROUP BY r.dimKey")
+    List<RollupTotalsDTO> findTotals(@Param("dimension") RollupDimension dimension,
+            @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * Builds every rollup row from the orders. Used once, when the rollup
+     * table is still empty.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_rollup (day, dimension, dim_key, orders, items, units, revenue, returned_units) "
+            + "SELECT CAST(o.created_date AS date), 'STATUS', o.status, COUNT(*), COALESCE(SUM(i.items), 0), "
+            + "COALESCE(SUM(i.units), 0), SUM(o.total_price), 0 "
+            + "FROM orders o LEFT JOIN (SELECT order_id, COUNT(*) AS items, SUM(quantity) AS units "
+            + "FROM order_items GROUP BY order_id) i ON i.order_id = o.id "
+            + "GROUP BY CAST(o.created_date AS date), o.status "
+            + "UNION ALL "
+            + "SELECT CAST(o.created_date AS date), 'COUNTRY', o.country, COUNT(*), COALESCE(SUM(i.items), 0), "
+            + "COALESCE(SUM(i.units), 0), SUM(o.total_price), "
+            + "COALESCE(SUM(i.units) FILTER (WHERE o.status = 'RETURN_ACCEPTED'), 0) "
+            + "FROM orders o LEFT JOIN (SELECT order_id, COUNT(*) AS items, SUM(quantity) AS units "
+            + "FROM order_items GROUP BY order_id) i ON i.order_id = o.id WHERE o.country IS NOT NULL "
+            + "GROUP BY CAST(o.created_date AS date), o.country "
+            + "UNION ALL "
+            + "SELECT CAST(o.created_date AS date), 'PRODUCT', oi.name, COUNT(DISTINCT o.id), COUNT(*), "
+            + "SUM(oi.quantity), SUM(oi.price * oi.quantity), "
+            + "COALESCE(SUM(oi.quantity) FILTER (WHERE o.status = 'RETURN_ACCEPTED'), 0) "
+            + "FROM order_items oi JOIN orders o ON o.id = oi.order_id "
+            + "GROUP BY CAST(o.created_date AS date), oi.name "
+            + "UNION ALL "
+            + "SELECT CAST(o.created_date AS date), 'CATEGORY', c.name, COUNT(DISTINCT o.id), COUNT(*), "
+            + "SUM(oi.quantity), SUM(oi.price * oi.quantity), "
+            + "COALESCE(SUM(oi.quantity) FILTER (WHERE o.status = 'RETURN_ACCEPTED'), 0) "
+            + "FROM order_items oi JOIN orders o ON o.id = oi.order_id "
+            + "JOIN product_category pc ON pc.product_id = oi.product_id JOIN category c ON c.id = pc.category_id "
+            + "GROUP BY CAST(o.created_date AS date), c.name "
+            + "ON CONFLICT (day, dimension, dim_key) DO NOTHING", nativeQuery = true)
+    int rebuildAll();
+}
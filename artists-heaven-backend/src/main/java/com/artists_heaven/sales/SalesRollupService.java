@@ -0,0 +1,443 @@
+package com.artists_heaven.sales;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.admin.MonthlySalesDTO;
+import com.artists_heaven.dates.YearRange;
+import com.artists_heaven.order.Order;
+import com.artists_heaven.order.OrderItem;
+import com.artists_heaven.order.OrderStatus;
+
+/**
+ * Maintains the daily sales rollups and answers the dashboard queries from
+ * them.
+ * <p>
+ * Every order contributes to one {@link RollupDimension#STATUS} row, one
+ * {@link RollupDimension#COUNTRY} row, one {@link RollupDimension#PRODUCT} row
+ * per product name and one {@link RollupDimension#CATEGORY} row per category
+ * of its products, all on its creation day. Creating an order adds its
+ * contribution; a status change adds the difference between its contribution
+ * under the new and the old status, so only the rows that actually change are
+ * written. Dashboard queries then scan at most one row per day and key
+ * instead of every order of the year.
+ * <p>
+ * Items with an {@code artistId} also feed the {@link ArtistDailyRollup} rows
+ * of their artist, per product name and per country, in the same transaction.
+ * <p>
+ * The yearly totals of each dimension are cached, so the dashboard widgets
+ * built from the same dimension share one query. A cached year is dropped when
+ * a committed write touches it, and after {@code sales-rollup.cache-ttl} in
+ * any case so writes made by other instances show up too. Every drop bumps a
+ * per-year generation, and a load that sees the generation of its year change
+ * does not keep its result, so a read that started before a commit never
+ * caches the totals from before it.
+ */
+@Service
+public class SalesRollupService {
+
+    private final SalesDailyRollupRepository salesDailyRollupRepository;
+
+    private final ArtistDailyRollupRepository artistDailyRollupRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long cacheTtlNanos;
+
+    private final Map<TotalsKey, CachedTotals> totalsCache = new ConcurrentHashMap<>();
+
+    private final Map<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public SalesRollupService(SalesDailyRollupRepository salesDailyRollupRepository,
+            ArtistDailyRollupRepository artistDailyRollupRepository, TransactionTemplate transactionTemplate,
+            @Value("${sales-rollup.cache-ttl:1m}") Duration cacheTtl) {
+        this.salesDailyRollupRepository = salesDailyRollupRepository;
+        this.artistDailyRollupRepository = artistDailyRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    /**
+     * Builds the rollups from the existing orders the first time the
+     * application starts with an empty rollup table. Before the artist rollups
+     * are built, the order items stored without an artist get one from their
+     * product categories.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (salesDailyRollupRepository.count() == 0) {
+            salesDailyRollupRepository.rebuildAll();
+        }
+        if (artistDailyRollupRepository.count() == 0) {
+            artistDailyRollupRepository.backfillArtistIds();
+            artistDailyRollupRepository.rebuildAll();
+        }
+    }
+
+    /**
+     * Adds a new order, with its items, to the rollups.
+     *
+     * @param order the stored order
+     */
+    public void recordOrderCreated(Order order) {
+        write(contribution(order, order.getStatus(), 1), artistContribution(order, order.getStatus(), 1));
+    }
+
+    /**
+     * Moves an order from one status to another in the rollups.
+     *
+     * @param order the order, with its items
+     * @param from  status before the change
+     * @param to    status after the change
+     */
+    public void recordStatusChange(Order order, OrderStatus from, OrderStatus to) {
+        if (from == null || from == to) {
+            return;
+        }
+        write(difference(contribution(order, to, 1), contribution(order, from, -1)),
+                difference(artistContribution(order, to, 1), artistContribution(order, from, -1)));
+    }
+
+    /**
+     * Orders and revenue per month of a year, leaving out orders whose return
+     * was accepted.
+     */
+    public List<MonthlySalesDTO> getMonthlySales(int year) {
+        YearRange range = YearRange.of(year);
+        List<Object[]> rows = salesDailyRollupRepository.findMonthlySales(range.startDate(), range.endDate(),
+                OrderStatus.RETURN_ACCEPTED.name());
+        List<MonthlySalesDTO> monthlySales = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Integer month = row[0] != null ? ((Number) row[0]).intValue() : null;
+            Long totalOrders = row[1] != null ? ((Number) row[1]).longValue() : 0L;
+            Double totalRevenue = row[2] != null ? ((Number) row[2]).doubleValue() : 0.0;
+            monthlySales.add(new MonthlySalesDTO(month, totalOrders, totalRevenue));
+        }
+        return monthlySales;
+    }
+
+    /**
+     * Units sold per month of a year of an artist's products, leaving out
+     * accepted returns. The units are reported as {@code totalOrders}.
+     */
+    public List<MonthlySalesDTO> getMonthlyArtistUnits(Long artistId, int year) {
+        YearRange range = YearRange.of(year);
+        List<Object[]> rows = artistDailyRollupRepository.findMonthlyNetUnits(artistId, range.startDate(),
+                range.endDate());
+        List<MonthlySalesDTO> monthlySales = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            MonthlySalesDTO dto = new MonthlySalesDTO();
+            dto.setMonth(((Number) row[0]).intValue());
+            dto.setTotalOrders(row[1] != null ? ((Number) row[1]).longValue() : 0L);
+            monthlySales.add(dto);
+        }
+        return monthlySales;
+    }
+
+    /**
+     * Number of orders per status created in a year.
+     */
+    public Map<OrderStatus, Integer> getOrderStatusCounts(int year) {
+        Map<OrderStatus, Integer> counts = new EnumMap<>(OrderStatus.class);
+        for (RollupTotalsDTO totals : getTotals(RollupDimension.STATUS, year).values()) {
+            if (totals.getOrders() != null && totals.getOrders() > 0) {
+                counts.put(OrderStatus.valueOf(totals.getKey()), totals.getOrders().intValue());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Number of orders created in a year, in any status.
+     */
+    public Integer countOrders(int year) {
+        return (int) getTotals(RollupDimension.STATUS, year).values().stream()
+                .mapToLong(totals -> totals.getOrders() != null ? totals.getOrders() : 0L)
+                .sum();
+    }
+
+    /**
+     * Total price of the orders created in a year, in any status, or
+     * {@code null} if there were none.
+     */
+    public Double sumRevenue(int year) {
+        Map<String, RollupTotalsDTO> totals = getTotals(RollupDimension.STATUS, year);
+        if (totals.isEmpty()) {
+            return null;
+        }
+        return totals.values().stream()
+                .mapToDouble(row -> row.getRevenue() != null ? row.getRevenue() : 0.0)
+                .sum();
+    }
+
+    /**
+     * Number of order items per category in a year, in any status. An item
+     * counts once for each category of its product.
+     */
+    public Map<String, Integer> getCategoryItemCounts(int year) {
+        return countsOf(getTotals(RollupDimension.CATEGORY, year), RollupTotalsDTO::getItems);
+    }
+
+    /**
+     * Units sold per product name in a year, in any status.
+     */
+    public Map<String, Integer> getUnitsByProduct(int year) {
+        return countsOf(getTotals(RollupDimension.PRODUCT, year), RollupTotalsDTO::getUnits);
+    }
+
+    /**
+     * Number of orders per country in a year, in any status.
+     */
+    public Map<String, Integer> getOrdersByCountry(int year) {
+        return countsOf(getTotals(RollupDimension.COUNTRY, year), RollupTotalsDTO::getOrders);
+    }
+
+    /**
+     * Number of order items of an artist's products per key of a dimension
+     * ({@link RollupDimension#PRODUCT} or {@link RollupDimension#COUNTRY}) in a
+     * year, in any status.
+     */
+    public Map<String, Integer> getArtistItemCounts(Long artistId, RollupDimension dimension, int year) {
+        Map<String, RollupTotalsDTO> totals = new LinkedHashMap<>();
+        YearRange range = YearRange.of(year);
+        for (RollupTotalsDTO row : artistDailyRollupRepository.findTotals(artistId, dimension, range.startDate(),
+                range.endDate())) {
+            totals.put(row.getKey(), row);
+        }
+        return countsOf(totals, RollupTotalsDTO::getItems);
+    }
+
+    /**
+     * Totals of every key of a dimension over the orders created in a year.
+     *
+     * @return the totals by key, read-only
+     */
+    public Map<String, RollupTotalsDTO> getTotals(RollupDimension dimension, int year) {
+        TotalsKey key = new TotalsKey(dimension, year);
+        CachedTotals cached = totalsCache.get(key);
+        if (cached != null && System.nanoTime() - cached.loadedAt < cacheTtlNanos) {
+            return cached.totals;
+        }
+        AtomicLong generation = generationOf(year);
+        long loadedGeneration = generation.get();
+        long loadedAt = System.nanoTime();
+        Map<String, RollupTotalsDTO> totals = new LinkedHashMap<>();
+        YearRange range = YearRange.of(year);
+        for (RollupTotalsDTO row : salesDailyRollupRepository.findTotals(dimension, range.startDate(),
+                range.endDate())) {
+            totals.put(row.getKey(), row);
+        }
+        totals = Collections.unmodifiableMap(totals);
+        CachedTotals loaded = new CachedTotals(totals, loadedAt);
+        totalsCache.put(key, loaded);
+        // An eviction during the load may have run before the put; checking
+        // after it means either this check or the eviction drops the entry
+        if (generation.get() != loadedGeneration) {
+            totalsCache.remove(key, loaded);
+        }
+        return totals;
+    }
+
+    /**
+     * Rollup deltas of an order as if it were in the given status, multiplied
+     * by {@code sign}.
+     */
+    Map<SalesDailyRollup.Key, RollupDelta> contribution(Order order, OrderStatus status, int sign) {
+        LocalDate day = order.getCreatedDate().toLocalDate();
+        List<OrderItem> items = order.getItems() != null ? order.getItems() : List.of();
+        boolean returned = status == OrderStatus.RETURN_ACCEPTED;
+        Map<SalesDailyRollup.Key, RollupDelta> deltas = new LinkedHashMap<>();
+
+        long units = 0;
+        for (OrderItem item : items) {
+            units += item.getQuantity();
+        }
+        double total = order.getTotalPrice() != null ? order.getTotalPrice() : 0.0;
+        deltas.put(new SalesDailyRollup.Key(day, RollupDimension.STATUS, status.name()),
+                new RollupDelta(1, items.size(), units, total, 0).times(sign));
+        if (order.getCountry() != null) {
+            deltas.put(new SalesDailyRollup.Key(day, RollupDimension.COUNTRY, order.getCountry()),
+                    new RollupDelta(1, items.size(), units, total, returned ? units : 0).times(sign));
+        }
+
+        Map<Long, List<String>> categories = findCategories(items);
+        Set<SalesDailyRollup.Key> counted = new HashSet<>();
+        for (OrderItem item : items) {
+            long quantity = item.getQuantity();
+            double revenue = item.getPrice() != null ? item.getPrice() * quantity : 0.0;
+            List<SalesDailyRollup.Key> keys = new ArrayList<>();
+            keys.add(new SalesDailyRollup.Key(day, RollupDimension.PRODUCT, item.getName()));
+            for (String category : categories.getOrDefault(item.getProductId(), List.of())) {
+                keys.add(new SalesDailyRollup.Key(day, RollupDimension.CATEGORY, category));
+            }
+            for (SalesDailyRollup.Key key : keys) {
+                // The order counts once per key even if several of its items share it
+                long orders = counted.add(key) ? 1 : 0;
+                deltas.merge(key, new RollupDelta(orders, 1, quantity, revenue, returned ? quantity : 0).times(sign),
+                        RollupDelta::plus);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Artist rollup deltas of an order as if it were in the given status,
+     * multiplied by {@code sign}. Items without an artist are left out.
+     */
+    Map<ArtistDailyRollup.Key, RollupDelta> artistContribution(Order order, OrderStatus status, int sign) {
+        LocalDate day = order.getCreatedDate().toLocalDate();
+        List<OrderItem> items = order.getItems() != null ? order.getItems() : List.of();
+        boolean returned = status == OrderStatus.RETURN_ACCEPTED;
+        Map<ArtistDailyRollup.Key, RollupDelta> deltas = new LinkedHashMap<>();
+
+        for (OrderItem item : items) {
+            if (item.getArtistId() == null) {
+                continue;
+            }
+            long quantity = item.getQuantity();
+            double revenue = item.getPrice() != null ? item.getPrice() * quantity : 0.0;
+            List<ArtistDailyRollup.Key> keys = new ArrayList<>();
+            keys.add(new ArtistDailyRollup.Key(item.getArtistId(), day, RollupDimension.PRODUCT, item.getName()));
+            if (order.getCountry() != null) {
+                keys.add(new ArtistDailyRollup.Key(item.getArtistId(), day, RollupDimension.COUNTRY,
+                        order.getCountry()));
+            }
+            for (ArtistDailyRollup.Key key : keys) {
+                long orders = deltas.containsKey(key) ? 0 : 1;
+                deltas.merge(key, new RollupDelta(orders, 1, quantity, revenue, returned ? quantity : 0).times(sign),
+                        RollupDelta::plus);
+            }
+        }
+        return deltas;
+    }
+
+    private static <K> Map<K, RollupDelta> difference(Map<K, RollupDelta> added, Map<K, RollupDelta> removed) {
+        removed.forEach((key, delta) -> added.merge(key, delta, RollupDelta::plus));
+        added.values().removeIf(RollupDelta::isZero);
+        return added;
+    }
+
+    private static Map<String, Integer> countsOf(Map<String, RollupTotalsDTO> totals,
+            Function<RollupTotalsDTO, Long> measure) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (RollupTotalsDTO row : totals.values()) {
+            Long value = measure.apply(row);
+            if (value != null && value > 0) {
+                counts.put(row.getKey(), value.intValue());
+            }
+        }
+        return counts;
+    }
+
+    private Map<Long, List<String>> findCategories(List<OrderItem> items) {
+        Set<Long> productIds = new HashSet<>();
+        for (OrderItem item : items) {
+            productIds.add(item.getProductId());
+        }
+        Map<Long, List<String>> categories = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return categories;
+        }
+        for (Object[] row : salesDailyRollupRepository.findCategoryNames(productIds)) {
+            categories.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return categories;
+    }
+
+    private void write(Map<SalesDailyRollup.Key, RollupDelta> deltas,
+            Map<ArtistDailyRollup.Key, RollupDelta> artistDeltas) {
+        if (deltas.isEmpty() && artistDeltas.isEmpty()) {
+            return;
+        }
+        Set<Integer> years = new HashSet<>();
+        deltas.keySet().forEach(key -> years.add(key.getDay().getYear()));
+        transactionTemplate.execute(status -> {
+            deltas.forEach((key, delta) -> salesDailyRollupRepository.add(key.getDay(), key.getDimension().name(),
+                    key.getDimKey(), delta.getOrders(), delta.getItems(), delta.getUnits(), delta.getRevenue(),
+                    delta.getReturnedUnits()));
+            artistDeltas.forEach((key, delta) -> artistDailyRollupRepository.add(key.getArtistId(), key.getDay(),
+                    key.getDimension().name(), key.getDimKey(), delta.getOrders(), delta.getItems(),
+                    delta.getUnits(), delta.getRevenue(), delta.getReturnedUnits()));
+            evictAfterCommit(years);
+            return deltas.size() + artistDeltas.size();
+        });
+    }
+
+    // Evicting before the commit would let a concurrent read cache the old rows again
+    private void evictAfterCommit(Set<Integer> years) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(years);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(years);
+            }
+        });
+    }
+
+    private void evict(Set<Integer> years) {
+        years.forEach(year -> generationOf(year).incrementAndGet());
+        totalsCache.keySet().removeIf(key -> years.contains(key.year));
+    }
+
+    private AtomicLong generationOf(int year) {
+        return generations.computeIfAbsent(year, y -> new AtomicLong());
+    }
+
+    private static final class TotalsKey {
+
+        private final RollupDimension dimension;
+
+        private final int year;
+
+        private TotalsKey(RollupDimension dimension, int year) {
+            this.dimension = dimension;
+            this.year = year;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TotalsKey key && key.dimension == dimension && key.year == year;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, year);
+        }
+    }
+
+    private static final class CachedTotals {
+
+        private final Map<String, RollupTotalsDTO> totals;
+
+        private final long loadedAt;
+
+        private CachedTotals(Map<String, RollupTotalsDTO> totals, long loadedAt) {
+            this.totals = totals;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.artists_heaven.userProduct;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserProductRepository extends JpaRepository<UserProduct, Long> {
@@ -21,4 +26,15 @@ public interface UserProductRepository extends JpaRepository<UserProduct, Long>
     Long countByOwnerIdAndCreatedAtBetween(Long ownerId, Date start, Date end);
 
     List<UserProduct> findByOwnerIdOrderByCreatedAtDesc(Long userId);
+
+    @EntityGraph(attributePaths = { "images", "owner" })
+    List<UserProduct> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT p.owner.id FROM UserProduct p WHERE p.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE user_product SET num_votes = COALESCE(num_votes, 0) + :delta WHERE id = :id", nativeQuery = true)
+    int addVotes(@Param("id") Long id, @Param("delta") long delta);
 }
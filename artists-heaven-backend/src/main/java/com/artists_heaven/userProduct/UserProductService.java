@@ -19,6 +19,7 @@ import com.artists_heaven.entities.user.User;
 import com.artists_heaven.entities.user.UserRepository;
 import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.images.ImageServingUtil;
+import com.artists_heaven.leaderboard.LeaderboardService;
 import com.artists_heaven.productVote.ProductVoteRepository;
 
 @Service
@@ -34,14 +35,17 @@ public class UserProductService {
 
     private final MessageSource messageSource;
 
+    private final LeaderboardService leaderboardService;
+
     public UserProductService(UserProductRepository userProductRepository, UserRepository userRepository,
             ProductVoteRepository productVoteRepository, MessageSource messageSource,
-            ImageServingUtil imageServingUtil) {
+            ImageServingUtil imageServingUtil, LeaderboardService leaderboardService) {
         this.userProductRepository = userProductRepository;
         this.userRepository = userRepository;
         this.productVoteRepository = productVoteRepository;
         this.messageSource = messageSource;
         this.imageServingUtil = imageServingUtil;
+        this.leaderboardService = leaderboardService;
     }
 
     /**
@@ -202,7 +206,9 @@ public class UserProductService {
         User user = product.getOwner();
         user.setPoints(user.getPoints() + 20);
         userRepository.save(user);
-        return userProductRepository.save(product);
+        UserProduct saved = userProductRepository.save(product);
+        leaderboardService.designAccepted(saved);
+        return saved;
     }
 
     public UserProduct rejectProduct(Long productId) {
@@ -212,7 +218,9 @@ public class UserProductService {
         User user = product.getOwner();
         user.setPoints(user.getPoints() - 10);
         userRepository.save(user);
-        return userProductRepository.save(product);
+        UserProduct saved = userProductRepository.save(product);
+        leaderboardService.designRemoved(productId);
+        return saved;
     }
 
     /**
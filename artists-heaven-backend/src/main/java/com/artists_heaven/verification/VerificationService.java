@@ -3,6 +3,7 @@ package com.artists_heaven.verification;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.artists_heaven.entities.artist.Artist;
@@ -17,9 +18,13 @@ public class VerificationService {
 
     private final VerificationRepository verificationRepository;
 
-    public VerificationService(ArtistRepository artistRepository, VerificationRepository verificationRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public VerificationService(ArtistRepository artistRepository, VerificationRepository verificationRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.artistRepository = artistRepository;
         this.verificationRepository = verificationRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -70,6 +75,7 @@ public class VerificationService {
         verification.setDate(LocalDateTime.now());
         verification.setStatus(VerificationStatus.PENDING);
         verificationRepository.save(verification);
+        eventPublisher.publishEvent(new VerificationSubmittedEvent(verification.getDate()));
     }
 
     /**
@@ -83,8 +89,11 @@ public class VerificationService {
         Verification verification = verificationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Verification not found"));
 
+        VerificationStatus previousStatus = verification.getStatus();
         verification.setStatus(VerificationStatus.REJECTED);
         verificationRepository.save(verification);
+        eventPublisher.publishEvent(new VerificationStatusChangedEvent(verification.getDate(), previousStatus,
+                VerificationStatus.REJECTED));
     }
 
     /**
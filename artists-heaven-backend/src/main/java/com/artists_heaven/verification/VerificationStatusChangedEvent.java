@@ -0,0 +1,34 @@
+package com.artists_heaven.verification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a verification request is accepted or rejected.
+ */
+public final class VerificationStatusChangedEvent {
+
+    private final LocalDateTime date;
+
+    private final VerificationStatus from;
+
+    private final VerificationStatus to;
+
+    public VerificationStatusChangedEvent(LocalDateTime date, VerificationStatus from, VerificationStatus to) {
+        this.date = date;
+        this.from = from;
+        this.to = to;
+    }
+
+    /** Submission date of the request, not of the change. */
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public VerificationStatus getFrom() {
+        return from;
+    }
+
+    public VerificationStatus getTo() {
+        return to;
+    }
+}
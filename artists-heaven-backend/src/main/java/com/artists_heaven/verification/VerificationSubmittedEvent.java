@@ -0,0 +1,19 @@
+package com.artists_heaven.verification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an artist submits a verification request.
+ */
+public final class VerificationSubmittedEvent {
+
+    private final LocalDateTime date;
+
+    public VerificationSubmittedEvent(LocalDateTime date) {
+        this.date = date;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+}
@@ -3,19 +3,23 @@ package com.artists_heaven.admin;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -36,11 +40,14 @@ import com.artists_heaven.entities.artist.ArtistService;
 import com.artists_heaven.entities.user.User;
 import com.artists_heaven.entities.user.UserProfileDTO;
 import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.export.ExportFormat;
 import com.artists_heaven.images.ImageServingUtil;
 import com.artists_heaven.order.Order;
 import com.artists_heaven.order.OrderDetailsDTO;
 import com.artists_heaven.order.OrderService;
 import com.artists_heaven.order.OrderStatus;
+import com.artists_heaven.page.CountMode;
+import com.artists_heaven.page.PageCountService;
 import com.artists_heaven.page.PageResponse;
 import com.artists_heaven.product.CategoryRepository;
 import com.artists_heaven.product.Product;
@@ -56,6 +63,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -99,6 +107,12 @@ class AdminControllerTest {
         @Mock
         private ImageServingUtil imageServingUtil;
 
+        @Mock
+        private AdminDashboardService adminDashboardService;
+
+        @Mock
+        private OrderExportService orderExportService;
+
         @InjectMocks
         private AdminController adminController;
 
@@ -240,12 +254,30 @@ class AdminControllerTest {
                                 .andExpect(jsonPath("$.data[1].totalRevenue").value(2000.0));
         }
 
+        @Test
+        void testGetDashboard() throws Exception {
+                AdminDashboardDTO dashboard = new AdminDashboardDTO();
+                dashboard.setYear(2024);
+                dashboard.setStatistics(new OrderStatisticsDTO());
+                dashboard.getStatistics().setNumOrders(12);
+                dashboard.setProductManagement(new ProductManagementDTO(1L, 2L, 0L, 3L));
+                when(adminDashboardService.getDashboard(2024)).thenReturn(dashboard);
+
+                mockMvc.perform(get("/api/admin/dashboard").param("year", "2024"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.year").value(2024))
+                                .andExpect(jsonPath("$.data.statistics.numOrders").value(12))
+                                .andExpect(jsonPath("$.data.productManagement.totalProducts").value(3));
+        }
+
+        @Test
+        void testGetDashboard_InvalidYear() {
+                assertThrows(AppExceptions.BadRequestException.class, () -> adminController.getDashboard(1999));
+        }
+
         @Test
         void testProductManagement() throws Exception {
-                when(adminService.getNotAvailableProducts()).thenReturn(100);
-                when(adminService.getAvailableProducts()).thenReturn(100);
-                when(adminService.getPromotedProducts()).thenReturn(100);
-                when(adminService.getTotalProducts()).thenReturn(100);
+                when(adminService.getProductCounts()).thenReturn(new ProductManagementDTO(100L, 100L, 100L, 100L));
 
                 mockMvc.perform(get("/api/admin/product-management"))
                                 .andExpect(status().isOk())
@@ -269,12 +301,12 @@ class AdminControllerTest {
                 dto.setFirstName("John Doe");
                 dto.setRole("USER");
 
-                Page<UserProfileDTO> userPage = new PageImpl<>(List.of(dto), pageable, 1);
+                PageResponse<UserProfileDTO> userPage = new PageResponse<>(new PageImpl<>(List.of(dto), pageable, 1));
 
-                when(adminService.getAllUsers(search, pageable)).thenReturn(userPage);
+                when(adminService.getAllUsers(search, pageable, CountMode.EXACT)).thenReturn(userPage);
 
                 // Act
-                PageResponse<UserProfileDTO> response = adminController.getUsers(page, size, search);
+                PageResponse<UserProfileDTO> response = adminController.getUsers(page, size, search, CountMode.EXACT);
 
                 // Assert
                 assertEquals(1, response.getTotalElements());
@@ -294,17 +326,44 @@ class AdminControllerTest {
                 order.setStatus(OrderStatus.PAID);
                 order.setIdentifier(10L);
 
-                Page<Order> orderPage = new PageImpl<>(List.of(order), pageable, 1);
+                PageResponse<Order> orderPage = new PageResponse<>(new SliceImpl<>(List.of(order), pageable, false),
+                                PageCountService.UNKNOWN, CountMode.NONE);
 
-                when(adminService.getOrdersFiltered(null, null, pageable)).thenReturn(orderPage);
+                when(adminService.getOrdersFiltered(null, null, pageable, CountMode.NONE)).thenReturn(orderPage);
 
                 // Act
-                PageResponse<OrderDetailsDTO> response = adminController.getOrders(page, size, null, null);
+                PageResponse<OrderDetailsDTO> response = adminController.getOrders(page, size, null, null,
+                                CountMode.NONE);
 
                 // Asserts
-                assertEquals(1, response.getTotalElements());
+                assertEquals(-1, response.getTotalElements());
                 assertEquals(1, response.getContent().size());
+                assertEquals(CountMode.NONE, response.getCountMode());
+                assertEquals(true, response.isLast());
+
+        }
+
+        @Test
+        void testExportOrders_StreamsAnAttachment() throws Exception {
+                mockMvc.perform(get("/api/admin/orders/export")
+                                .param("from", "2024-01-01")
+                                .param("to", "2024-01-31")
+                                .param("format", "XLSX"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Content-Type", ExportFormat.XLSX.getContentType()))
+                                .andExpect(header().string("Content-Disposition",
+                                                "attachment; filename=\"orders-2024-01-01-2024-01-31.xlsx\""));
 
+                verify(orderExportService).export(eq(LocalDate.of(2024, 1, 1)), eq(LocalDate.of(2024, 1, 31)),
+                                eq(ExportFormat.XLSX), any());
+        }
+
+        @Test
+        void testExportOrders_InvertedRangeIsRejected() {
+                assertThrows(AppExceptions.BadRequestException.class,
+                                () -> adminController.exportOrders(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1),
+                                                ExportFormat.CSV, null));
+                verifyNoInteractions(orderExportService);
         }
 
         @Test
@@ -0,0 +1,159 @@
+package com.artists_heaven.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.artists_heaven.email.EmailSenderService;
+import com.artists_heaven.email.EmailType;
+import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.order.OrderService;
+import com.artists_heaven.order.OrderStatus;
+
+class AdminDashboardServiceTest {
+
+    @Mock
+    private AdminService adminService;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private EmailSenderService emailSenderService;
+
+    private AdminDashboardService adminDashboardService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(adminService.countUsers()).thenReturn(40);
+        when(adminService.countArtists()).thenReturn(5);
+        when(adminService.getOrderStatusCounts(2024)).thenReturn(Map.of(OrderStatus.PAID, 3));
+        when(orderService.getNumOrdersPerYear(2024)).thenReturn(3);
+        when(orderService.getIncomePerYear(2024)).thenReturn(90.0);
+        when(emailSenderService.getEmailCounts(2024)).thenReturn(Map.of(EmailType.ABUSE_REPORT, 2));
+        when(adminService.getMostSoldItems(2024)).thenReturn(Map.of("Shirt", 4));
+        when(adminService.getMostCategory(2024)).thenReturn(Map.of("ARTIST", 4));
+        when(adminService.getCountrySold(2024)).thenReturn(Map.of("Spain", 3));
+        when(adminService.getMonthlySalesData(2024)).thenReturn(List.of(new MonthlySalesDTO(1, 3L, 90.0)));
+        when(adminService.getProductCounts()).thenReturn(new ProductManagementDTO(1L, 9L, 2L, 10L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (adminDashboardService != null) {
+            adminDashboardService.shutdown();
+        }
+    }
+
+    @Test
+    void getDashboard_AssemblesEveryWidget() {
+        adminDashboardService = service(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        AdminDashboardDTO dashboard = adminDashboardService.getDashboard(2024);
+
+        assertEquals(2024, dashboard.getYear());
+        assertEquals(3, dashboard.getStatistics().getNumOrders());
+        assertEquals(90.0, dashboard.getStatistics().getIncomePerYear());
+        assertEquals(40, dashboard.getStatistics().getNumUsers());
+        assertEquals(5, dashboard.getStatistics().getNumArtists());
+        assertEquals(2, dashboard.getStatistics().getEmailCounts().get(EmailType.ABUSE_REPORT));
+        assertEquals(4, dashboard.getStatistics().getOrderItemCount().get("Shirt"));
+        assertEquals(4, dashboard.getStatistics().getCategoryItemCount().get("ARTIST"));
+        assertEquals(3, dashboard.getStatistics().getMostCountrySold().get("Spain"));
+        assertEquals(1, dashboard.getMonthlySales().size());
+        assertEquals(10, dashboard.getProductManagement().getTotalProducts());
+    }
+
+    @Test
+    void getDashboard_FreshResultIsServedFromCache() {
+        adminDashboardService = service(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        AdminDashboardDTO first = adminDashboardService.getDashboard(2024);
+        AdminDashboardDTO second = adminDashboardService.getDashboard(2024);
+
+        assertSame(first, second);
+        verify(adminService, times(1)).countUsers();
+        verify(adminService, times(1)).getProductCounts();
+    }
+
+    @Test
+    void getDashboard_StaleResultIsServedWhileRefreshing() throws Exception {
+        adminDashboardService = service(Duration.ZERO, Duration.ofHours(1));
+        AdminDashboardDTO first = adminDashboardService.getDashboard(2024);
+
+        CountDownLatch release = new CountDownLatch(1);
+        when(adminService.countUsers()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 41;
+        });
+
+        AdminDashboardDTO stale = adminDashboardService.getDashboard(2024);
+        assertSame(first, stale);
+
+        CompletableFuture<AdminDashboardDTO> refreshing = adminDashboardService.refresh(2024);
+        release.countDown();
+        assertEquals(41, refreshing.get(5, TimeUnit.SECONDS).getStatistics().getNumUsers());
+    }
+
+    @Test
+    void getDashboard_ExpiredResultIsRebuilt() {
+        adminDashboardService = service(Duration.ZERO, Duration.ZERO);
+
+        adminDashboardService.getDashboard(2024);
+        adminDashboardService.getDashboard(2024);
+
+        verify(adminService, times(2)).countUsers();
+    }
+
+    @Test
+    void refresh_ConcurrentRequestsShareOneBuild() {
+        adminDashboardService = service(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        CountDownLatch release = new CountDownLatch(1);
+        when(adminService.countUsers()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 40;
+        });
+
+        CompletableFuture<AdminDashboardDTO> first = adminDashboardService.refresh(2024);
+        CompletableFuture<AdminDashboardDTO> second = adminDashboardService.refresh(2024);
+        release.countDown();
+
+        assertSame(first, second);
+        assertEquals(40, first.join().getStatistics().getNumUsers());
+        verify(adminService, times(1)).countUsers();
+    }
+
+    @Test
+    void getDashboard_WidgetFailureIsRethrownAndNotCached() {
+        adminDashboardService = service(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        when(adminService.getProductCounts()).thenThrow(new AppExceptions.BadRequestException("broken"));
+
+        assertThrows(AppExceptions.BadRequestException.class, () -> adminDashboardService.getDashboard(2024));
+
+        doReturn(new ProductManagementDTO(0L, 0L, 0L, 0L)).when(adminService).getProductCounts();
+        assertEquals(0, adminDashboardService.getDashboard(2024).getProductManagement().getTotalProducts());
+    }
+
+    private AdminDashboardService service(Duration ttl, Duration staleWhileRevalidate) {
+        return new AdminDashboardService(adminService, orderService, emailSenderService, 4, ttl,
+                staleWhileRevalidate);
+    }
+}
@@ -2,28 +2,37 @@ package com.artists_heaven.admin;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.LongSupplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import com.artists_heaven.analytics.AnalyticsMetric;
+import com.artists_heaven.analytics.AnalyticsProjector;
 import com.artists_heaven.entities.user.User;
 import com.artists_heaven.entities.user.UserProfileDTO;
 import com.artists_heaven.entities.user.UserRole;
@@ -33,15 +42,24 @@ import com.artists_heaven.order.Order;
 import com.artists_heaven.order.OrderItem;
 import com.artists_heaven.order.OrderService;
 import com.artists_heaven.order.OrderStatus;
-import com.artists_heaven.product.Category;
-import com.artists_heaven.product.Product;
-import com.artists_heaven.product.ProductService;
+import com.artists_heaven.order.OrderStatusChangedEvent;
+import com.artists_heaven.page.CountMode;
+import com.artists_heaven.page.PageCountService;
+import com.artists_heaven.page.PageResponse;
+import com.artists_heaven.returns.ReturnAcceptedEvent;
+import com.artists_heaven.sales.SalesRollupService;
 import com.artists_heaven.verification.VerificationStatus;
 
 import org.junit.jupiter.api.Test;
 
 class AdminServiceTest {
 
+    @Mock
+    private AnalyticsProjector analyticsProjector;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -49,14 +67,22 @@ class AdminServiceTest {
     private AdminRepository adminRepository;
 
     @Mock
-    private ProductService productService;
+    private OrderService orderService;
 
     @Mock
-    private OrderService orderService;
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private OrderSearchService orderSearchService;
+
+    @Mock
+    private PageCountService pageCountService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(pageCountService.count(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<LongSupplier>getArgument(3).getAsLong());
     }
 
     @Test
@@ -78,11 +104,11 @@ class AdminServiceTest {
     @Test
     void testGetMonthlySalesData() {
         int year = 2024;
-        List<Object[]> mockResults = List.of(
-                new Object[] { 1, 5L, 1000.0 },
-                new Object[] { 2, 10L, 2000.0 });
+        List<MonthlySalesDTO> mockResults = List.of(
+                new MonthlySalesDTO(1, 5L, 1000.0),
+                new MonthlySalesDTO(2, 10L, 2000.0));
 
-        when(adminRepository.findMonthlySalesData(year, OrderStatus.RETURN_ACCEPTED)).thenReturn(mockResults);
+        when(salesRollupService.getMonthlySales(year)).thenReturn(mockResults);
 
         List<MonthlySalesDTO> result = adminService.getMonthlySalesData(year);
 
@@ -95,11 +121,11 @@ class AdminServiceTest {
     @Test
     void testGetOrderStatusCounts() {
         int year = 2024;
-        List<Object[]> mockResults = List.of(
-                new Object[] { "DELIVERED", 5 },
-                new Object[] { "SENT", 2 });
+        Map<OrderStatus, Integer> mockResults = Map.of(
+                OrderStatus.DELIVERED, 5,
+                OrderStatus.SENT, 2);
 
-        when(adminRepository.findOrderStatusCounts(year)).thenReturn(mockResults);
+        when(salesRollupService.getOrderStatusCounts(year)).thenReturn(mockResults);
 
         Map<OrderStatus, Integer> result = adminService.getOrderStatusCounts(year);
 
@@ -111,11 +137,8 @@ class AdminServiceTest {
     @Test
     void testGetVerificationStatusCount() {
         int year = 2024;
-        List<Object[]> mockResults = List.of(
-                new Object[] { "ACCEPTED", 3 },
-                new Object[] { "REJECTED", 1 });
-
-        when(adminRepository.findVerificationStatusCounts(year)).thenReturn(mockResults);
+        when(analyticsProjector.getCounts(AnalyticsMetric.VERIFICATION_STATUS, year))
+                .thenReturn(Map.of("ACCEPTED", 3L, "REJECTED", 1L));
 
         Map<VerificationStatus, Integer> result = adminService.getVerificationStatusCount(year);
 
@@ -127,66 +150,34 @@ class AdminServiceTest {
     @Test
     void testGestMostSolditems() {
         int year = 2024;
-
-        OrderItem orderItem = new OrderItem();
-        orderItem.setName("Item Test");
-        orderItem.setQuantity(10);
-        List<OrderItem> orderItems = new ArrayList<>(Arrays.asList(orderItem));
-
-        Order order = new Order();
-        order.setItems(orderItems);
-        List<Order> orders = new ArrayList<>(Arrays.asList(order));
-
-        when(adminRepository.getOrdersPerYear(year)).thenReturn(orders);
+        when(salesRollupService.getUnitsByProduct(year)).thenReturn(Map.of("Item Test", 10));
 
         Map<String, Integer> result = adminService.getMostSoldItems(year);
         assertEquals(1, result.size());
         assertEquals(10, result.get("Item Test"));
+        verifyNoInteractions(adminRepository);
     }
 
     @Test
     void testGetCountrySold() {
         int year = 2024;
-
-        Order order = new Order();
-        order.setCountry("España");
-        List<Order> orders = new ArrayList<>(Arrays.asList(order));
-
-        when(adminRepository.getOrdersPerYear(year)).thenReturn(orders);
+        when(salesRollupService.getOrdersByCountry(year)).thenReturn(Map.of("España", 1));
 
         Map<String, Integer> result = adminService.getCountrySold(year);
         assertEquals(1, result.size());
         assertEquals(1, result.get("España"));
-
+        verifyNoInteractions(adminRepository);
     }
 
     @Test
     void testGetMostCategory() {
         int year = 2024;
-        Category category = new Category();
-        category.setId(1L);
-        category.setName("Test");
-        Set<Category> categories = new HashSet<>(Set.of(category));
-
-        Product product = new Product();
-        product.setId(2L);
-        product.setCategories(categories);
-
-        OrderItem orderItem = new OrderItem();
-        orderItem.setName("Item Test");
-        orderItem.setProductId(2L);
-        List<OrderItem> orderItems = new ArrayList<>(Arrays.asList(orderItem));
-
-        Order order = new Order();
-        order.setItems(orderItems);
-        List<Order> orders = new ArrayList<>(Arrays.asList(order));
-
-        when(adminRepository.getOrdersPerYear(year)).thenReturn(orders);
-        when(productService.findById(orderItem.getProductId())).thenReturn(product);
+        when(salesRollupService.getCategoryItemCounts(year)).thenReturn(Map.of("Test", 1));
 
         Map<String, Integer> result = adminService.getMostCategory(year);
         assertEquals(1, result.size());
         assertEquals(1, result.get("Test"));
+        verifyNoInteractions(adminRepository);
     }
 
     @Test
@@ -234,9 +225,10 @@ class AdminServiceTest {
         Page<User> userPage = new PageImpl<>(List.of(user), pageable, 1);
 
         when(adminRepository.findAllSort(search, pageable)).thenReturn(userPage);
+        when(adminRepository.countBySearch(search)).thenReturn(1L);
 
         // Act
-        Page<UserProfileDTO> result = adminService.getAllUsers(search, pageable);
+        PageResponse<UserProfileDTO> result = adminService.getAllUsers(search, pageable, CountMode.EXACT);
 
         // Assert
         assertEquals(1, result.getTotalElements());
@@ -251,8 +243,9 @@ class AdminServiceTest {
 
         Page<Order> orderPage = new PageImpl<>(List.of(order), pageable, 1);
         when(adminRepository.findAllOrderSortByDate(pageable)).thenReturn(orderPage);
+        when(adminRepository.countOrders()).thenReturn(1L);
 
-        Page<Order> result = adminService.getOrdersFiltered(null, null, pageable);
+        PageResponse<Order> result = adminService.getOrdersFiltered(null, null, pageable, CountMode.EXACT);
 
         assertEquals(1, result.getTotalElements());
     }
@@ -261,14 +254,24 @@ class AdminServiceTest {
     void testGetOrdersFiltered_statusAndSearchNotNull() {
         Pageable pageable = PageRequest.of(0, 10);
         Order order = new Order();
-        Page<Order> orderPage = new PageImpl<>(List.of(order), pageable, 1);
+        PageResponse<Order> orderPage = new PageResponse<>(new PageImpl<>(List.of(order), pageable, 1));
 
-        when(adminRepository.findByStatusAndSearch("DELIVERED", "john", pageable)).thenReturn(orderPage);
+        when(orderSearchService.search(OrderStatus.DELIVERED, "john", pageable, CountMode.EXACT))
+                .thenReturn(orderPage);
 
-        Page<Order> result = adminService.getOrdersFiltered("DELIVERED", "john", pageable);
+        PageResponse<Order> result = adminService.getOrdersFiltered("DELIVERED", "john", pageable, CountMode.EXACT);
 
         assertEquals(1, result.getTotalElements());
-        verify(adminRepository).findByStatusAndSearch("DELIVERED", "john", pageable);
+        verify(orderSearchService).search(OrderStatus.DELIVERED, "john", pageable, CountMode.EXACT);
+    }
+
+    @Test
+    void testGetOrdersFiltered_invalidStatus() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThrows(AppExceptions.BadRequestException.class,
+                () -> adminService.getOrdersFiltered("SHIPPED'; --", "john", pageable, CountMode.EXACT));
+        verifyNoInteractions(orderSearchService);
     }
 
     @Test
@@ -278,8 +281,9 @@ class AdminServiceTest {
         Page<Order> orderPage = new PageImpl<>(List.of(order), pageable, 1);
 
         when(adminRepository.findByStatus(OrderStatus.PAID, pageable)).thenReturn(orderPage);
+        when(adminRepository.countOrdersByStatus(OrderStatus.PAID)).thenReturn(1L);
 
-        Page<Order> result = adminService.getOrdersFiltered("PAID", null, pageable);
+        PageResponse<Order> result = adminService.getOrdersFiltered("PAID", null, pageable, CountMode.EXACT);
 
         assertEquals(1, result.getTotalElements());
         verify(adminRepository).findByStatus(OrderStatus.PAID, pageable);
@@ -289,14 +293,28 @@ class AdminServiceTest {
     void testGetOrdersFiltered_statusNull_searchNotNull() {
         Pageable pageable = PageRequest.of(0, 10);
         Order order = new Order();
-        Page<Order> orderPage = new PageImpl<>(List.of(order), pageable, 1);
+        PageResponse<Order> orderPage = new PageResponse<>(new PageImpl<>(List.of(order), pageable, 1));
 
-        when(adminRepository.findBySearch("alice", pageable)).thenReturn(orderPage);
+        when(orderSearchService.search(null, "alice", pageable, CountMode.NONE)).thenReturn(orderPage);
 
-        Page<Order> result = adminService.getOrdersFiltered(null, "alice", pageable);
+        PageResponse<Order> result = adminService.getOrdersFiltered(null, "alice", pageable, CountMode.NONE);
 
         assertEquals(1, result.getTotalElements());
-        verify(adminRepository).findBySearch("alice", pageable);
+        verify(orderSearchService).search(null, "alice", pageable, CountMode.NONE);
+    }
+
+    @Test
+    void testGetOrdersFiltered_blankSearchListsByStatus() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Order> orderPage = new PageImpl<>(List.of(new Order()), pageable, 1);
+
+        when(adminRepository.findByStatus(OrderStatus.SENT, pageable)).thenReturn(orderPage);
+        when(adminRepository.countOrdersByStatus(OrderStatus.SENT)).thenReturn(1L);
+
+        PageResponse<Order> result = adminService.getOrdersFiltered("SENT", "  ", pageable, CountMode.EXACT);
+
+        assertEquals(1, result.getTotalElements());
+        verifyNoInteractions(orderSearchService);
     }
 
     @Test
@@ -306,13 +324,47 @@ class AdminServiceTest {
         Page<Order> orderPage = new PageImpl<>(List.of(order), pageable, 1);
 
         when(adminRepository.findAllOrderSortByDate(pageable)).thenReturn(orderPage);
+        when(adminRepository.countOrders()).thenReturn(1L);
 
-        Page<Order> result = adminService.getOrdersFiltered(null, null, pageable);
+        PageResponse<Order> result = adminService.getOrdersFiltered(null, null, pageable, CountMode.EXACT);
 
         assertEquals(1, result.getTotalElements());
         verify(adminRepository).findAllOrderSortByDate(pageable);
     }
 
+    @Test
+    void testGetOrdersFiltered_unfilteredCountIsRequestedWithoutFilter() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(adminRepository.findAllOrderSortByDate(pageable))
+                .thenReturn(new SliceImpl<>(List.of(new Order()), pageable, true));
+        doReturn(5000L).when(pageCountService).count(eq(CountMode.ESTIMATED), eq("orders"), isNull(), any());
+
+        PageResponse<Order> result = adminService.getOrdersFiltered(null, null, pageable, CountMode.ESTIMATED);
+
+        assertEquals(5000, result.getTotalElements());
+        assertEquals(500, result.getTotalPages());
+        assertEquals(CountMode.ESTIMATED, result.getCountMode());
+        verify(adminRepository, never()).countOrders();
+    }
+
+    @Test
+    void testGetAllUsers_noCountReportsOnlyNextPage() {
+        Pageable pageable = PageRequest.of(1, 1);
+        User user = new User();
+        user.setRole(UserRole.USER);
+        when(adminRepository.findAllSort(null, pageable)).thenReturn(new SliceImpl<>(List.of(user), pageable, true));
+        doReturn(PageCountService.UNKNOWN).when(pageCountService).count(eq(CountMode.NONE), eq("users"), isNull(),
+                any());
+
+        PageResponse<UserProfileDTO> result = adminService.getAllUsers(null, pageable, CountMode.NONE);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(-1, result.getTotalElements());
+        assertEquals(-1, result.getTotalPages());
+        assertFalse(result.isLast());
+        verify(adminRepository, never()).countBySearch(any());
+    }
+
     @Test
     void testUpdateOrderStatus() {
         Long orderId = 1L;
@@ -327,6 +379,28 @@ class AdminServiceTest {
 
         assertEquals(newStatus, order.getStatus());
         verify(orderService, times(1)).save(order);
+        verify(salesRollupService).recordStatusChange(order, OrderStatus.PAID, newStatus);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof OrderStatusChangedEvent changed
+                && changed.getFrom() == OrderStatus.PAID && changed.getTo() == newStatus));
+        verify(eventPublisher, never()).publishEvent(any(ReturnAcceptedEvent.class));
+    }
+
+    @Test
+    void testUpdateOrderStatus_ReturnAcceptedPublishesReturnEvent() {
+        OrderItem item = new OrderItem();
+        item.setName("Camisa");
+        Order order = new Order();
+        order.setId(1L);
+        order.setStatus(OrderStatus.RETURN_REQUEST);
+        order.setItems(List.of(item));
+
+        when(orderService.findOrderById(1L)).thenReturn(order);
+
+        adminService.updateOrderStatus(1L, OrderStatus.RETURN_ACCEPTED);
+
+        verify(eventPublisher).publishEvent(any(OrderStatusChangedEvent.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ReturnAcceptedEvent accepted
+                && accepted.getItemNames().equals(List.of("Camisa"))));
     }
 
     @Test
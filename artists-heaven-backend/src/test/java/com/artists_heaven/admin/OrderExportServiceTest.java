@@ -0,0 +1,104 @@
+package com.artists_heaven.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.artists_heaven.export.ExportFormat;
+
+class OrderExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        orderExportService = new OrderExportService(jdbcTemplate, transactionManager, 250);
+
+        when(resultSet.getObject("identifier")).thenReturn(4815162342L);
+        when(resultSet.getObject("created_date", LocalDateTime.class))
+                .thenReturn(LocalDateTime.of(2024, 3, 1, 10, 30));
+        when(resultSet.getString("status")).thenReturn("PAID");
+        when(resultSet.getString("email")).thenReturn("ana@example.com");
+        when(resultSet.getString("country")).thenReturn("Spain");
+        when(resultSet.getBigDecimal("total_price")).thenReturn(new BigDecimal("39.98"));
+        when(resultSet.getString("name")).thenReturn("Shirt");
+        when(resultSet.getObject("quantity", Integer.class)).thenReturn(2);
+        when(resultSet.getBigDecimal("price")).thenReturn(new BigDecimal("19.99"));
+    }
+
+    @Test
+    void export_StreamsOneRowPerItemThroughACursor() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        doAnswer(invocation -> {
+            invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = orderExportService.export(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31),
+                ExportFormat.CSV, out);
+
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("4815162342,2024-03-01 10:30:00,PAID,ana@example.com,Spain,,,,39.98,,Shirt,,,,2,19.99,39.98",
+                lines[1]);
+        verify(statement).setFetchSize(250);
+        verify(statement).setTimestamp(1, Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 0, 0)));
+        verify(statement).setTimestamp(2, Timestamp.valueOf(LocalDateTime.of(2024, 4, 1, 0, 0)));
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void export_EmptyRangeWritesOnlyTheHeader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = orderExportService.export(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1), ExportFormat.CSV,
+                out);
+
+        assertEquals(0, rows);
+        assertEquals("\uFEFF" + String.join(",", OrderExportService.HEADER) + "\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
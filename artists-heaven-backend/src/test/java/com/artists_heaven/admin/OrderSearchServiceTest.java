@@ -0,0 +1,212 @@
+package com.artists_heaven.admin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.artists_heaven.order.Order;
+import com.artists_heaven.order.OrderStatus;
+import com.artists_heaven.page.CountMode;
+import com.artists_heaven.page.PageCountService;
+import com.artists_heaven.page.PageResponse;
+
+class OrderSearchServiceTest {
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    private final Page<Order> found = new PageImpl<>(List.of(new Order()), pageable, 1);
+
+    @Mock
+    private AdminRepository adminRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderSearchService orderSearchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(adminRepository.findByIdentifier(any(), any(), any())).thenReturn(Page.empty(pageable));
+        when(adminRepository.findByPaymentIntent(any(), any(), any())).thenReturn(Page.empty(pageable));
+        when(adminRepository.findByEmail(any(), any(), any())).thenReturn(Page.empty(pageable));
+        when(adminRepository.findByPartialMatch(any(), any(), any(), any())).thenReturn(Page.empty(pageable));
+        orderSearchService = new OrderSearchService(adminRepository, jdbcTemplate,
+                new PageCountService(jdbcTemplate, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void search_NumericTermIsLookedUpAsIdentifier() {
+        when(adminRepository.findByIdentifier(4815162342L, OrderStatus.PAID, pageable)).thenReturn(found);
+
+        assertEquals(found.getContent(),
+                orderSearchService.search(OrderStatus.PAID, " 4815162342 ", pageable, CountMode.NONE).getContent());
+        verify(adminRepository, never()).findByPartialMatch(any(), any(), any(), any());
+    }
+
+    @Test
+    void search_PaymentIntentIsLookedUpExactly() {
+        when(adminRepository.findByPaymentIntent("pi_3N8abc", null, pageable)).thenReturn(found);
+
+        assertEquals(found.getContent(),
+                orderSearchService.search(null, "pi_3N8abc", pageable, CountMode.EXACT).getContent());
+        verify(adminRepository, never()).findByPartialMatch(any(), any(), any(), any());
+    }
+
+    @Test
+    void search_EmailIsLookedUpInLowerCase() {
+        when(adminRepository.findByEmail("ana@example.com", null, pageable)).thenReturn(found);
+
+        assertEquals(found.getContent(),
+                orderSearchService.search(null, "Ana@Example.com", pageable, CountMode.EXACT).getContent());
+        verify(adminRepository, never()).findByPartialMatch(any(), any(), any(), any());
+    }
+
+    @Test
+    void search_ExactMissFallsBackToPartialMatch() {
+        when(adminRepository.findByPartialMatch("SENT", "%123456%", "%123456%", pageable)).thenReturn(found);
+        when(adminRepository.countByPartialMatch("SENT", "%123456%", "%123456%")).thenReturn(1L);
+
+        PageResponse<Order> result = orderSearchService.search(OrderStatus.SENT, "123456", pageable, CountMode.EXACT);
+
+        assertEquals(found.getContent(), result.getContent());
+        assertEquals(1, result.getTotalElements());
+        verify(adminRepository).findByIdentifier(123456L, OrderStatus.SENT, pageable);
+    }
+
+    @Test
+    void search_EstimatedPartialMatchCountIsCachedPerTerm() {
+        orderSearchService.search(null, "gmail", pageable, CountMode.ESTIMATED);
+        orderSearchService.search(null, "gmail", pageable, CountMode.ESTIMATED);
+        orderSearchService.search(null, "yahoo", pageable, CountMode.ESTIMATED);
+
+        verify(adminRepository, times(2)).findByPartialMatch(null, "%gmail%", "%gmail%", pageable);
+        verify(adminRepository, times(1)).countByPartialMatch(null, "%gmail%", "%gmail%");
+        verify(adminRepository, times(1)).countByPartialMatch(null, "%yahoo%", "%yahoo%");
+    }
+
+    @Test
+    void search_NoCountSkipsTheCountQuery() {
+        PageResponse<Order> result = orderSearchService.search(null, "gmail", pageable, CountMode.NONE);
+
+        assertEquals(-1, result.getTotalElements());
+        assertTrue(result.isLast());
+        verify(adminRepository, never()).countByPartialMatch(any(), any(), any());
+    }
+
+    @Test
+    void search_PhoneIsMatchedOnItsDigits() {
+        orderSearchService.search(null, "+34 600-12", pageable, CountMode.EXACT);
+
+        verify(adminRepository).findByPartialMatch(null, "%+34 600-12%", "%3460012%", pageable);
+    }
+
+    @Test
+    void search_LikeWildcardsAreEscaped() {
+        orderSearchService.search(null, "pi_3N%", pageable, CountMode.EXACT);
+
+        verify(adminRepository).findByPartialMatch(null, "%pi\\_3n\\%%", "%pi\\_3n\\%%", pageable);
+    }
+
+    @Test
+    void search_ShortTermWithoutExactHitIsEmpty() {
+        PageResponse<Order> result = orderSearchService.search(null, "ab", pageable, CountMode.EXACT);
+
+        assertTrue(result.getContent().isEmpty());
+        verify(adminRepository, never()).findByPartialMatch(any(), any(), any(), any());
+    }
+
+    @Test
+    void createIndexes_SkipsTrigramIndexesWhenTrigramsAreUnavailable() {
+        doThrow(new DataAccessResourceFailureException("permission denied"))
+                .when(jdbcTemplate).execute(OrderSearchService.CREATE_TRIGRAM_EXTENSION);
+
+        List<String> failed = orderSearchService.createIndexes();
+
+        // The lower-case email index does not need pg_trgm
+        verify(jdbcTemplate, times(2)).execute(anyString());
+        verify(jdbcTemplate).execute(startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_email_lower "));
+        assertEquals(4, failed.size());
+        verifyNoInteractions(adminRepository);
+    }
+
+    @Test
+    void createIndexes_RunsEveryStatement() {
+        List<String> failed = orderSearchService.createIndexes();
+
+        verify(jdbcTemplate, times(6)).execute(anyString());
+        assertTrue(failed.isEmpty());
+        assertEquals(3, OrderSearchService.MIN_PARTIAL_LENGTH);
+    }
+
+    @Test
+    void createIndexes_ContinuesPastAFailingIndex() {
+        doThrow(new DataAccessResourceFailureException("lock timeout"))
+                .when(jdbcTemplate).execute(contains("idx_orders_identifier_trgm"));
+
+        List<String> failed = orderSearchService.createIndexes();
+
+        assertEquals(List.of("idx_orders_identifier_trgm"), failed);
+        verify(jdbcTemplate).execute(contains("idx_orders_phone_trgm"));
+    }
+
+    @Test
+    void createIndexes_RebuildsAnIndexLeftInvalid() {
+        when(jdbcTemplate.queryForList(OrderSearchService.INVALID_INDEX_QUERY, Boolean.class,
+                "idx_orders_email_trgm")).thenReturn(List.of(true));
+
+        orderSearchService.createIndexes();
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_orders_email_trgm");
+        order.verify(jdbcTemplate)
+                .execute(startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_email_trgm "));
+        verify(jdbcTemplate, times(1)).execute(startsWith("DROP INDEX"));
+    }
+
+    @Test
+    void start_BuildsTheIndexesOffTheCallingThread() {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(jdbcTemplate).execute(OrderSearchService.CREATE_TRIGRAM_EXTENSION);
+
+        // Returns while the first statement is still blocked
+        orderSearchService.start();
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE INDEX"));
+        release.countDown();
+
+        verify(jdbcTemplate, timeout(5000).times(6)).execute(anyString());
+        orderSearchService.shutdown();
+    }
+}
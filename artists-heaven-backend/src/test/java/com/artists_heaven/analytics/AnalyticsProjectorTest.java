@@ -0,0 +1,182 @@
+package com.artists_heaven.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.order.OrderPaidEvent;
+import com.artists_heaven.order.OrderStatus;
+import com.artists_heaven.order.OrderStatusChangedEvent;
+import com.artists_heaven.rating.RatingPublishedEvent;
+import com.artists_heaven.verification.VerificationStatus;
+import com.artists_heaven.verification.VerificationStatusChangedEvent;
+import com.artists_heaven.verification.VerificationSubmittedEvent;
+
+class AnalyticsProjectorTest {
+
+    private static final LocalDateTime MARCH_2024 = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Mock
+    private AnalyticsCounterRepository analyticsCounterRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AnalyticsProjector analyticsProjector;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        analyticsProjector = new AnalyticsProjector(analyticsCounterRepository, transactionTemplate,
+                Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        analyticsProjector.shutdown();
+    }
+
+    @Test
+    void afterSingletonsInstantiated_BuildsAnEmptyTableAndLoadsIt() {
+        when(analyticsCounterRepository.count()).thenReturn(0L);
+        when(analyticsCounterRepository.findAll())
+                .thenReturn(List.of(counter(AnalyticsMetric.EMAIL_TYPE, 2024, "BUG_REPORT", 4)));
+
+        analyticsProjector.afterSingletonsInstantiated();
+
+        verify(analyticsCounterRepository).rebuildAll();
+        assertEquals(Map.of("BUG_REPORT", 4L), analyticsProjector.getCounts(AnalyticsMetric.EMAIL_TYPE, 2024));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_KeepsAnExistingTable() {
+        when(analyticsCounterRepository.count()).thenReturn(12L);
+
+        analyticsProjector.afterSingletonsInstantiated();
+
+        verify(analyticsCounterRepository, never()).rebuildAll();
+    }
+
+    @Test
+    void events_UpdateTheCountersOfTheirYear() {
+        analyticsProjector.on(new OrderPaidEvent(MARCH_2024, "Spain", List.of("Camisa", "Gorra", "Camisa")));
+        analyticsProjector.on(new OrderPaidEvent(MARCH_2024, null, List.of("Camisa")));
+        analyticsProjector.on(new OrderStatusChangedEvent(MARCH_2024, OrderStatus.PAID, OrderStatus.SENT));
+        analyticsProjector.on(new VerificationSubmittedEvent(MARCH_2024));
+        analyticsProjector.on(new VerificationStatusChangedEvent(MARCH_2024, VerificationStatus.PENDING,
+                VerificationStatus.ACCEPTED));
+        analyticsProjector.on(new RatingPublishedEvent(7L, 5, LocalDate.of(2025, 1, 2)));
+
+        assertEquals(Map.of("PAID", 1L, "SENT", 1L),
+                analyticsProjector.getCounts(AnalyticsMetric.ORDER_STATUS, 2024));
+        assertEquals(Map.of("Spain", 1L), analyticsProjector.getCounts(AnalyticsMetric.ORDER_COUNTRY, 2024));
+        assertEquals(Map.of("Camisa", 3L, "Gorra", 1L),
+                analyticsProjector.getCounts(AnalyticsMetric.PRODUCT_SOLD, 2024));
+        assertEquals(Map.of("ACCEPTED", 1L), analyticsProjector.getCounts(AnalyticsMetric.VERIFICATION_STATUS, 2024));
+        assertEquals(Map.of(), analyticsProjector.getCounts(AnalyticsMetric.RATING_SCORE, 2024));
+        assertEquals(Map.of("5", 1L), analyticsProjector.getCounts(AnalyticsMetric.RATING_SCORE, 2025));
+    }
+
+    @Test
+    void getTotals_AddsEveryYear() {
+        when(analyticsCounterRepository.findAll())
+                .thenReturn(List.of(counter(AnalyticsMetric.PRODUCT_SOLD, 2023, "Camisa", 10)));
+        analyticsProjector.afterSingletonsInstantiated();
+
+        analyticsProjector.on(new OrderPaidEvent(MARCH_2024, "Spain", List.of("Camisa")));
+
+        assertEquals(Map.of("Camisa", 11L), analyticsProjector.getTotals(AnalyticsMetric.PRODUCT_SOLD));
+    }
+
+    @Test
+    void snapshot_WritesEachChangedCounterOnce() {
+        analyticsProjector.on(new OrderPaidEvent(MARCH_2024, "Spain", List.of("Camisa")));
+        analyticsProjector.on(new OrderPaidEvent(MARCH_2024, "Spain", List.of("Camisa")));
+        analyticsProjector.on(new OrderStatusChangedEvent(MARCH_2024, OrderStatus.PAID, OrderStatus.SENT));
+
+        int written = analyticsProjector.snapshot();
+
+        assertEquals(4, written);
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(analyticsCounterRepository).add("ORDER_STATUS", 2024, "PAID", 1L);
+        verify(analyticsCounterRepository).add("ORDER_STATUS", 2024, "SENT", 1L);
+        verify(analyticsCounterRepository).add("ORDER_COUNTRY", 2024, "Spain", 2L);
+        verify(analyticsCounterRepository).add("PRODUCT_SOLD", 2024, "Camisa", 2L);
+        assertEquals(Map.of("Spain", 2L), analyticsProjector.getCounts(AnalyticsMetric.ORDER_COUNTRY, 2024));
+
+        // Nothing pending is left for the next run
+        assertEquals(0, analyticsProjector.snapshot());
+    }
+
+    @Test
+    void snapshot_KeepsDeltasPendingWhenTheWriteFails() {
+        analyticsProjector.on(new OrderPaidEvent(MARCH_2024, "Spain", List.of()));
+        doReturn(0).doThrow(new IllegalStateException("database down")).when(analyticsCounterRepository)
+                .add(anyString(), anyInt(), anyString(), anyLong());
+
+        assertThrows(IllegalStateException.class, () -> analyticsProjector.snapshot());
+        assertEquals(Map.of("Spain", 1L), analyticsProjector.getCounts(AnalyticsMetric.ORDER_COUNTRY, 2024));
+
+        doReturn(1).when(analyticsCounterRepository).add(anyString(), anyInt(), anyString(), anyLong());
+        assertEquals(2, analyticsProjector.snapshot());
+        assertEquals(Map.of("Spain", 1L), analyticsProjector.getCounts(AnalyticsMetric.ORDER_COUNTRY, 2024));
+    }
+
+    @Test
+    void snapshotStatus_ReportsFailuresUntilASnapshotSucceeds() {
+        analyticsProjector.on(new OrderPaidEvent(MARCH_2024, "Spain", List.of()));
+        doThrow(new IllegalStateException("database down")).when(analyticsCounterRepository)
+                .add(anyString(), anyInt(), anyString(), anyLong());
+
+        analyticsProjector.snapshotQuietly();
+        analyticsProjector.snapshotQuietly();
+
+        AnalyticsProjector.SnapshotStatus status = analyticsProjector.getSnapshotStatus();
+        assertEquals(2, status.getPendingCounters());
+        assertEquals(2, status.getConsecutiveFailures());
+        assertTrue(status.getLastError().contains("database down"));
+
+        doReturn(1).when(analyticsCounterRepository).add(anyString(), anyInt(), anyString(), anyLong());
+        analyticsProjector.snapshotQuietly();
+
+        status = analyticsProjector.getSnapshotStatus();
+        assertEquals(0, status.getConsecutiveFailures());
+        assertNull(status.getLastError());
+    }
+
+    private static AnalyticsCounter counter(AnalyticsMetric metric, int year, String key, long total) {
+        AnalyticsCounter counter = new AnalyticsCounter();
+        counter.setMetric(metric);
+        counter.setYear(year);
+        counter.setDimKey(key);
+        counter.setTotal(total);
+        return counter;
+    }
+}
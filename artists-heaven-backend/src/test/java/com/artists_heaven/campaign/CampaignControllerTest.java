@@ -0,0 +1,89 @@
+package com.artists_heaven.campaign;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.exception.GlobalExceptionHandler;
+
+class CampaignControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private CampaignService campaignService;
+
+    @InjectMocks
+    private CampaignController campaignController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(campaignController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private Campaign campaign() {
+        Campaign campaign = new Campaign();
+        campaign.setId(1L);
+        campaign.setType(CampaignType.EVENT_ANNOUNCEMENT);
+        campaign.setTitle("Tour");
+        campaign.setTotalRecipients(4L);
+        campaign.setSentCount(1L);
+        campaign.setFailedCount(1L);
+        return campaign;
+    }
+
+    @Test
+    void launchCampaign_returnsCreated() throws Exception {
+        when(campaignService.launchEventCampaign(5L)).thenReturn(campaign());
+
+        mockMvc.perform(post("/api/admin/campaigns")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"EVENT_ANNOUNCEMENT\",\"referenceId\":5}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value(1))
+                .andExpect(jsonPath("$.data.progress").value(50.0));
+    }
+
+    @Test
+    void launchCampaign_missingReferenceReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/admin/campaigns")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"EVENT_ANNOUNCEMENT\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCampaign_notFound() throws Exception {
+        when(campaignService.getCampaign(2L))
+                .thenThrow(new AppExceptions.ResourceNotFoundException("Campaign not found with id: 2"));
+
+        mockMvc.perform(get("/api/admin/campaigns/2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pauseCampaign_returnsPausedCampaign() throws Exception {
+        Campaign paused = campaign();
+        paused.setStatus(CampaignStatus.PAUSED);
+        when(campaignService.pauseCampaign(1L)).thenReturn(paused);
+
+        mockMvc.perform(post("/api/admin/campaigns/1/pause"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("PAUSED"));
+    }
+}
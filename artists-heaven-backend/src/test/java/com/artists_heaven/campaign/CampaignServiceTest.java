@@ -0,0 +1,301 @@
+package com.artists_heaven.campaign;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.SimpleMailMessage;
+
+import com.artists_heaven.email.EmailSenderService;
+import com.artists_heaven.entities.user.UserRole;
+import com.artists_heaven.event.EventRepository;
+import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.product.CollectionRepository;
+
+class CampaignServiceTest {
+
+    @Mock
+    private CampaignRepository campaignRepository;
+
+    @Mock
+    private CollectionRepository collectionRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EmailSenderService emailSenderService;
+
+    @Mock
+    private MessageSource messageSource;
+
+    private CampaignService campaignService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        campaignService = new CampaignService(campaignRepository, collectionRepository, eventRepository,
+                emailSenderService, messageSource, 2, 100_000, 2, Duration.ofMillis(1));
+
+        when(messageSource.getMessage(anyString(), any(), any(Locale.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0) + "_" + invocation.getArgument(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        campaignService.shutdown();
+    }
+
+    private Campaign runningCampaign() {
+        Campaign campaign = new Campaign();
+        campaign.setId(1L);
+        campaign.setType(CampaignType.COLLECTION_RELEASE);
+        campaign.setTitle("SUMMER");
+        campaign.setTotalRecipients(3L);
+        return campaign;
+    }
+
+    @Test
+    void runCampaign_sendsInBatchesAndCompletes() {
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(runningCampaign()));
+        when(campaignRepository.findStatusById(1L)).thenReturn(CampaignStatus.RUNNING);
+        when(campaignRepository.findRecipientsAfter(eq(0L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of(new CampaignRecipientDTO(1L, "a@test.com", "España"),
+                        new CampaignRecipientDTO(2L, "b@test.com", "Francia")));
+        when(campaignRepository.findRecipientsAfter(eq(2L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of(new CampaignRecipientDTO(5L, "c@test.com", null)));
+        when(campaignRepository.findRecipientsAfter(eq(5L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(emailSenderService.sendBatch(anyList())).thenReturn(0, 1);
+
+        campaignService.runCampaign(1L);
+
+        verify(campaignRepository).recordBatch(1L, 2L, 2L, 0L);
+        verify(campaignRepository).recordBatch(1L, 5L, 0L, 1L);
+        verify(campaignRepository).finish(eq(1L), eq(CampaignStatus.COMPLETED), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void runCampaign_rendersTemplatePerRecipientLocale() {
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(runningCampaign()));
+        when(campaignRepository.findStatusById(1L)).thenReturn(CampaignStatus.RUNNING);
+        when(campaignRepository.findRecipientsAfter(eq(0L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of(new CampaignRecipientDTO(1L, "a@test.com", "España"),
+                        new CampaignRecipientDTO(2L, "b@test.com", "Francia")));
+        when(campaignRepository.findRecipientsAfter(eq(2L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        campaignService.runCampaign(1L);
+
+        ArgumentCaptor<List<SimpleMailMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailSenderService).sendBatch(captor.capture());
+        List<SimpleMailMessage> sent = captor.getValue();
+        assertEquals("campaign.collection.subject_es", sent.get(0).getSubject());
+        assertEquals("a@test.com", sent.get(0).getTo()[0]);
+        assertEquals("campaign.collection.subject_en", sent.get(1).getSubject());
+    }
+
+    @Test
+    void runCampaign_stopsWhenPaused() {
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(runningCampaign()));
+        when(campaignRepository.findStatusById(1L)).thenReturn(CampaignStatus.PAUSED);
+
+        campaignService.runCampaign(1L);
+
+        verify(emailSenderService, never()).sendBatch(anyList());
+        verify(campaignRepository, never()).finish(any(), any(), any());
+    }
+
+    @Test
+    void runCampaign_resumesFromStoredCursor() {
+        Campaign campaign = runningCampaign();
+        campaign.setLastRecipientId(40L);
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(campaign));
+        when(campaignRepository.findStatusById(1L)).thenReturn(CampaignStatus.RUNNING);
+        when(campaignRepository.findRecipientsAfter(eq(40L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        campaignService.runCampaign(1L);
+
+        verify(campaignRepository, never()).findRecipientsAfter(eq(0L), any(), any());
+        verify(campaignRepository).finish(eq(1L), eq(CampaignStatus.COMPLETED), any());
+    }
+
+    @Test
+    void runCampaign_marksFailedAfterRetries() {
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(runningCampaign()));
+        when(campaignRepository.findStatusById(1L)).thenReturn(CampaignStatus.RUNNING);
+        when(campaignRepository.findRecipientsAfter(any(), any(), any())).thenThrow(new RuntimeException("db"));
+
+        campaignService.runCampaign(1L);
+
+        verify(campaignRepository, timeout(2000)).finish(eq(1L), eq(CampaignStatus.FAILED), any());
+        verify(campaignRepository, times(3)).findRecipientsAfter(any(), any(), any());
+    }
+
+    @Test
+    void runCampaign_retriesTransientErrorsAndStaysRunning() {
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(runningCampaign()));
+        when(campaignRepository.findStatusById(1L)).thenReturn(CampaignStatus.RUNNING);
+        when(campaignRepository.findRecipientsAfter(eq(0L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of(new CampaignRecipientDTO(1L, "a@test.com", null)));
+        when(campaignRepository.findRecipientsAfter(eq(1L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(emailSenderService.sendBatch(anyList())).thenThrow(new RuntimeException("smtp")).thenReturn(0);
+
+        campaignService.runCampaign(1L);
+
+        verify(campaignRepository, timeout(2000)).finish(eq(1L), eq(CampaignStatus.COMPLETED), any());
+        verify(emailSenderService, times(2)).sendBatch(anyList());
+        verify(campaignRepository).recordBatch(1L, 1L, 1L, 0L);
+        verify(campaignRepository, never()).finish(eq(1L), eq(CampaignStatus.FAILED), any());
+    }
+
+    @Test
+    void runCampaign_retriesAFailedStatusCheck() {
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(runningCampaign()));
+        when(campaignRepository.findStatusById(1L)).thenThrow(new RuntimeException("db"))
+                .thenReturn(CampaignStatus.RUNNING);
+        when(campaignRepository.findRecipientsAfter(eq(0L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        campaignService.runCampaign(1L);
+
+        verify(campaignRepository, timeout(2000)).finish(eq(1L), eq(CampaignStatus.COMPLETED), any());
+        verify(campaignRepository, never()).finish(eq(1L), eq(CampaignStatus.FAILED), any());
+    }
+
+    @Test
+    void runCampaign_recordsASentChunkAgainWithoutResendingIt() {
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(runningCampaign()));
+        when(campaignRepository.findStatusById(1L)).thenReturn(CampaignStatus.RUNNING);
+        when(campaignRepository.findRecipientsAfter(eq(0L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of(new CampaignRecipientDTO(1L, "a@test.com", null)));
+        when(campaignRepository.findRecipientsAfter(eq(1L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(campaignRepository.recordBatch(1L, 1L, 1L, 0L)).thenThrow(new RuntimeException("db")).thenReturn(1);
+
+        campaignService.runCampaign(1L);
+
+        verify(campaignRepository, timeout(2000)).finish(eq(1L), eq(CampaignStatus.COMPLETED), any());
+        verify(emailSenderService, times(1)).sendBatch(anyList());
+        verify(campaignRepository, times(2)).recordBatch(1L, 1L, 1L, 0L);
+    }
+
+    @Test
+    void resumeCampaign_sendsOtherCampaignsWhileOneWaitsToRetry() {
+        campaignService = new CampaignService(campaignRepository, collectionRepository, eventRepository,
+                emailSenderService, messageSource, 2, 100_000, 2, Duration.ofMinutes(1));
+        Campaign failing = runningCampaign();
+        Campaign other = runningCampaign();
+        other.setId(2L);
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(failing));
+        when(campaignRepository.findById(2L)).thenReturn(Optional.of(other));
+        when(campaignRepository.findStatusById(1L)).thenThrow(new RuntimeException("db"));
+        when(campaignRepository.findStatusById(2L)).thenReturn(CampaignStatus.RUNNING);
+        when(campaignRepository.findRecipientsAfter(eq(0L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        campaignService.resumeCampaign(1L);
+        campaignService.resumeCampaign(2L);
+
+        // Campaign 1 waits a minute for its retry; campaign 2 does not wait for it
+        verify(campaignRepository, timeout(2000)).finish(eq(2L), eq(CampaignStatus.COMPLETED), any());
+        verify(campaignRepository, never()).finish(eq(1L), any(), any());
+    }
+
+    @Test
+    void runCampaign_sendsBatchInChunksOfTheRate() {
+        campaignService = new CampaignService(campaignRepository, collectionRepository, eventRepository,
+                emailSenderService, messageSource, 3, 2, 2, Duration.ofMillis(1));
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(runningCampaign()));
+        when(campaignRepository.findStatusById(1L)).thenReturn(CampaignStatus.RUNNING);
+        when(campaignRepository.findRecipientsAfter(eq(0L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of(new CampaignRecipientDTO(1L, "a@test.com", null),
+                        new CampaignRecipientDTO(2L, "b@test.com", null),
+                        new CampaignRecipientDTO(3L, "c@test.com", null)));
+        when(campaignRepository.findRecipientsAfter(eq(3L), eq(UserRole.ADMIN), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        long startedAt = System.nanoTime();
+        campaignService.runCampaign(1L);
+
+        verify(emailSenderService, times(2)).sendBatch(anyList());
+        verify(campaignRepository).recordBatch(1L, 2L, 2L, 0L);
+        verify(campaignRepository).recordBatch(1L, 3L, 1L, 0L);
+        // Two messages, then one: at least 1.5 seconds at 2 messages per second
+        assertTrue(System.nanoTime() - startedAt >= 1_500_000_000L);
+    }
+
+    @Test
+    void launchCollectionCampaign_throwsWhenCollectionMissing() {
+        when(collectionRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(AppExceptions.ResourceNotFoundException.class,
+                () -> campaignService.launchCollectionCampaign(9L));
+        verify(campaignRepository, never()).save(any());
+    }
+
+    @Test
+    void launchCollectionCampaign_savesCampaignWithRecipientCount() {
+        com.artists_heaven.product.Collection collection = mock(com.artists_heaven.product.Collection.class);
+        when(collection.getName()).thenReturn("SUMMER");
+        when(collectionRepository.findById(3L)).thenReturn(Optional.of(collection));
+        when(campaignRepository.countRecipients(UserRole.ADMIN)).thenReturn(10L);
+        when(campaignRepository.save(any(Campaign.class))).thenAnswer(invocation -> {
+            Campaign saved = invocation.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
+        when(campaignRepository.findById(7L)).thenReturn(Optional.empty());
+
+        Campaign campaign = campaignService.launchCollectionCampaign(3L);
+
+        assertEquals(10L, campaign.getTotalRecipients());
+        assertEquals(CampaignType.COLLECTION_RELEASE, campaign.getType());
+        assertEquals("SUMMER", campaign.getTitle());
+    }
+
+    @Test
+    void pauseCampaign_rejectsCompletedCampaign() {
+        Campaign campaign = runningCampaign();
+        campaign.setStatus(CampaignStatus.COMPLETED);
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(campaign));
+
+        assertThrows(AppExceptions.BadRequestException.class, () -> campaignService.pauseCampaign(1L));
+    }
+
+    @Test
+    void pauseCampaign_updatesStatus() {
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(runningCampaign()));
+
+        Campaign campaign = campaignService.pauseCampaign(1L);
+
+        assertEquals(CampaignStatus.PAUSED, campaign.getStatus());
+        verify(campaignRepository).updateStatus(1L, CampaignStatus.PAUSED);
+    }
+}
@@ -0,0 +1,48 @@
+package com.artists_heaven.chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.artists_heaven.chat.ChatMessageContext;
+import com.artists_heaven.chat.ChatbotUtils;
+
+class ChatMessageContextTest {
+
+    @Test
+    void normalizeText_lowercasesAndRemovesAccentsAndSymbols() {
+        assertEquals("que camiseta me recomiendas", ChatbotUtils.normalizeText("¿Qué CAMISETA me recomiendas?"));
+        assertEquals("pinata nino 2", ChatbotUtils.normalizeText("Piñata NIÑO #2"));
+        assertEquals("a b", ChatbotUtils.normalizeText("a\tb"));
+    }
+
+    @Test
+    void normalizeText_handlesCharactersOutsideLatinTable() {
+        assertEquals("tieng viet", ChatbotUtils.normalizeText("Tiếng Việt"));
+        assertEquals("ολα", ChatbotUtils.normalizeText("Όλα!"));
+    }
+
+    @Test
+    void context_detectsEnglishAndRemovesStopwords() {
+        ChatMessageContext context = new ChatMessageContext("What is the price of the hoodie?", true);
+
+        assertTrue(context.isEnglish());
+        assertEquals("what is the price of the hoodie", context.getNormalizedText());
+        assertFalse(context.getTokens().contains("the"));
+        assertTrue(context.getTokens().contains("hoodie"));
+    }
+
+    @Test
+    void context_spanishTokensMatchTokenize() {
+        String text = "¿Cuánto tarda el envío a Canarias?";
+        ChatMessageContext context = new ChatMessageContext(text, true);
+
+        assertEquals(ChatMessageContext.Language.SPANISH, context.getLanguage());
+        assertEquals(ChatbotUtils.tokenize(text.toLowerCase(), false), context.getTokens());
+        assertTrue(context.getTokens().containsAll(Set.of("tarda", "envio", "canarias")));
+    }
+}
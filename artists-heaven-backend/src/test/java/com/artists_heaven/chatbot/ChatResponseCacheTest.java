@@ -0,0 +1,107 @@
+package com.artists_heaven.chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.artists_heaven.chat.ChatCacheStatsDTO;
+import com.artists_heaven.chat.ChatMessageContext;
+import com.artists_heaven.chat.ChatResponseCache;
+
+class ChatResponseCacheTest {
+
+    private final ChatResponseCache cache = new ChatResponseCache(2, Duration.ofHours(1), Duration.ofHours(1),
+            Duration.ofMillis(1));
+
+    private ChatMessageContext context(String text) {
+        return new ChatMessageContext(text, true);
+    }
+
+    @Test
+    void get_returnsReplyForSameNormalizedMessage() {
+        cache.put(context("How long is SHIPPING?"), "3 days", ChatResponseCache.Source.STATIC);
+
+        assertEquals("3 days", cache.get(context("how long is shipping")));
+        assertNull(cache.get(context("how long is delivery")));
+
+        ChatCacheStatsDTO stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1L, stats.getHitsBySource().get("STATIC"));
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRatio());
+    }
+
+    @Test
+    void get_expiredReplyIsAMiss() throws InterruptedException {
+        cache.put(context("tell me a joke"), "No", ChatResponseCache.Source.GEMINI);
+
+        Thread.sleep(5);
+
+        assertNull(cache.get(context("tell me a joke")));
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    void invalidateDynamic_dropsOnlyDynamicReplies() {
+        cache.put(context("best seller"), "Hoodie", ChatResponseCache.Source.DYNAMIC);
+        cache.put(context("shipping"), "3 days", ChatResponseCache.Source.STATIC);
+
+        cache.invalidateDynamic();
+
+        assertNull(cache.get(context("best seller")));
+        assertEquals("3 days", cache.get(context("shipping")));
+        assertEquals(1, cache.getStats().getDynamicInvalidations());
+    }
+
+    @Test
+    void put_skipsDynamicReplyComputedBeforeAnInvalidation() {
+        long generation = cache.generation(ChatResponseCache.Source.DYNAMIC);
+        cache.invalidateDynamic();
+
+        cache.put(context("best seller"), "Hoodie", ChatResponseCache.Source.DYNAMIC, generation);
+
+        assertNull(cache.get(context("best seller")));
+        cache.put(context("best seller"), "Cap", ChatResponseCache.Source.DYNAMIC,
+                cache.generation(ChatResponseCache.Source.DYNAMIC));
+        assertEquals("Cap", cache.get(context("best seller")));
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedWhenFull() {
+        cache.put(context("one"), "1", ChatResponseCache.Source.STATIC);
+        cache.put(context("two"), "2", ChatResponseCache.Source.STATIC);
+        cache.get(context("one"));
+        cache.put(context("three"), "3", ChatResponseCache.Source.STATIC);
+
+        assertEquals("1", cache.get(context("one")));
+        assertNull(cache.get(context("two")));
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void clear_removesEverything() {
+        cache.put(context("one"), "1", ChatResponseCache.Source.STATIC);
+
+        cache.clear();
+
+        assertNull(cache.get(context("one")));
+    }
+
+    @Test
+    void put_skipsPredefinedAndGeminiRepliesChosenBeforeAClear() {
+        long generation = cache.generation(ChatResponseCache.Source.STATIC);
+        cache.clear();
+
+        cache.put(context("shipping"), "3 days", ChatResponseCache.Source.STATIC, generation);
+        cache.put(context("tell me a joke"), "No", ChatResponseCache.Source.GEMINI, generation);
+
+        assertNull(cache.get(context("shipping")));
+        assertNull(cache.get(context("tell me a joke")));
+        cache.put(context("shipping"), "2 days", ChatResponseCache.Source.STATIC,
+                cache.generation(ChatResponseCache.Source.STATIC));
+        assertEquals("2 days", cache.get(context("shipping")));
+    }
+}
@@ -1,11 +1,24 @@
 package com.artists_heaven.chatbot;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,9 +26,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.artists_heaven.chat.ChatMessageContext;
 import com.artists_heaven.chat.ChatMessageRequestDTO;
+import com.artists_heaven.chat.ChatResponseCache;
 import com.artists_heaven.chat.ChatbotController;
 import com.artists_heaven.chat.ChatbotService;
 
@@ -24,6 +43,9 @@ class ChatbotControllerTest {
     @Mock
     private ChatbotService chatbotService;
 
+    @Mock
+    private ChatResponseCache chatResponseCache;
+
     @InjectMocks
     private ChatbotController chatbotController;
 
@@ -36,7 +58,7 @@ class ChatbotControllerTest {
     void testChatWithGemini_MessageIsNull() {
         ChatMessageRequestDTO request = new ChatMessageRequestDTO();
 
-        ResponseEntity<?> response = chatbotController.chatWithGemini(request);
+        ResponseEntity<?> response = chatbotController.chatWithGemini(request).join();
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         Map<?, ?> body = (Map<?, ?>) response.getBody();
@@ -49,9 +71,9 @@ class ChatbotControllerTest {
         ChatMessageRequestDTO request = new ChatMessageRequestDTO();
         request.setMessage("Hi there!");
 
-        when(chatbotService.searchNLPAnswer("Hi there!")).thenReturn("Predefined answer");
+        when(chatbotService.searchNLPAnswer(argThat((ChatMessageContext context) -> "Hi there!".equals(context.getOriginalText())))).thenReturn("Predefined answer");
 
-        ResponseEntity<?> response = chatbotController.chatWithGemini(request);
+        ResponseEntity<?> response = chatbotController.chatWithGemini(request).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Map<?, ?> body = (Map<?, ?>) response.getBody();
@@ -63,10 +85,10 @@ class ChatbotControllerTest {
         ChatMessageRequestDTO request = new ChatMessageRequestDTO();
         request.setMessage("Recommend me something");
 
-        when(chatbotService.searchNLPAnswer(anyString())).thenReturn(null);
-        when(chatbotService.searchDynamicAnswer(anyString())).thenReturn("Dynamic answer");
+        when(chatbotService.searchNLPAnswer(any(ChatMessageContext.class))).thenReturn(null);
+        when(chatbotService.searchDynamicAnswer(any(ChatMessageContext.class))).thenReturn("Dynamic answer");
 
-        ResponseEntity<?> response = chatbotController.chatWithGemini(request);
+        ResponseEntity<?> response = chatbotController.chatWithGemini(request).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Map<?, ?> body = (Map<?, ?>) response.getBody();
@@ -78,11 +100,11 @@ class ChatbotControllerTest {
         ChatMessageRequestDTO request = new ChatMessageRequestDTO();
         request.setMessage("Tell me more");
 
-        when(chatbotService.searchNLPAnswer(anyString())).thenReturn(null);
-        when(chatbotService.searchDynamicAnswer(anyString())).thenReturn(null);
+        when(chatbotService.searchNLPAnswer(any(ChatMessageContext.class))).thenReturn(null);
+        when(chatbotService.searchDynamicAnswer(any(ChatMessageContext.class))).thenReturn(null);
         when(chatbotService.isApiKeyConfigured()).thenReturn(false);
 
-        ResponseEntity<?> response = chatbotController.chatWithGemini(request);
+        ResponseEntity<?> response = chatbotController.chatWithGemini(request).join();
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         Map<?, ?> body = (Map<?, ?>) response.getBody();
@@ -93,16 +115,52 @@ class ChatbotControllerTest {
     void testChatWithGemini_CallsGeminiApi() throws Exception {
         ChatMessageRequestDTO request = new ChatMessageRequestDTO();
         request.setMessage("Hello Gemini!");
-        when(chatbotService.searchNLPAnswer(anyString())).thenReturn(null);
-        when(chatbotService.searchDynamicAnswer(anyString())).thenReturn(null);
+        when(chatbotService.searchNLPAnswer(any(ChatMessageContext.class))).thenReturn(null);
+        when(chatbotService.searchDynamicAnswer(any(ChatMessageContext.class))).thenReturn(null);
         when(chatbotService.isApiKeyConfigured()).thenReturn(true);
-        when(chatbotService.callGeminiAPI("Hello Gemini!")).thenReturn("Gemini response");
+        when(chatbotService.callGeminiAPIAsync("Hello Gemini!"))
+                .thenReturn(CompletableFuture.completedFuture("Gemini response"));
 
-        ResponseEntity<?> response = chatbotController.chatWithGemini(request);
+        ResponseEntity<?> response = chatbotController.chatWithGemini(request).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Map<?, ?> body = (Map<?, ?>) response.getBody();
         assertEquals("Gemini response", body.get("reply"));
+        verify(chatResponseCache).put(any(ChatMessageContext.class), eq("Gemini response"),
+                eq(ChatResponseCache.Source.GEMINI), anyLong());
+    }
+
+    @Test
+    void testChatWithGemini_GeminiUnavailableReturnsFallback() {
+        ChatMessageRequestDTO request = new ChatMessageRequestDTO();
+        request.setMessage("Hello Gemini!");
+        when(chatbotService.isApiKeyConfigured()).thenReturn(true);
+        when(chatbotService.callGeminiAPIAsync("Hello Gemini!"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("circuit open")));
+        when(chatbotService.getFallbackAnswer(any(ChatMessageContext.class))).thenReturn("Fallback answer");
+
+        ResponseEntity<?> response = chatbotController.chatWithGemini(request).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<?, ?> body = (Map<?, ?>) response.getBody();
+        assertEquals("Fallback answer", body.get("reply"));
+        verify(chatResponseCache, never()).put(any(ChatMessageContext.class), anyString(),
+                eq(ChatResponseCache.Source.GEMINI), anyLong());
+    }
+
+    @Test
+    void testChatWithGemini_CachedResponseSkipsLookups() throws Exception {
+        ChatMessageRequestDTO request = new ChatMessageRequestDTO();
+        request.setMessage("How long is shipping?");
+        when(chatResponseCache.get(any(ChatMessageContext.class))).thenReturn("Cached answer");
+
+        ResponseEntity<?> response = chatbotController.chatWithGemini(request).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<?, ?> body = (Map<?, ?>) response.getBody();
+        assertEquals("Cached answer", body.get("reply"));
+        verify(chatbotService, never()).searchDynamicAnswer(any(ChatMessageContext.class));
+        verify(chatbotService, never()).callGeminiAPIAsync(anyString());
     }
 
     @Test
@@ -110,15 +168,80 @@ class ChatbotControllerTest {
         ChatMessageRequestDTO request = new ChatMessageRequestDTO();
         request.setMessage("My message contains a Trigger exception content");
 
-        when(chatbotService.searchNLPAnswer(anyString())).thenReturn(null);
-        when(chatbotService.searchDynamicAnswer(anyString())).thenReturn(null);
+        when(chatbotService.searchNLPAnswer(any(ChatMessageContext.class))).thenReturn(null);
+        when(chatbotService.searchDynamicAnswer(any(ChatMessageContext.class))).thenReturn(null);
         when(chatbotService.isApiKeyConfigured()).thenReturn(true);
-        doThrow(new RuntimeException("Unexpected error")).when(chatbotService).callGeminiAPI(anyString());
+        doThrow(new RuntimeException("Unexpected error")).when(chatbotService).callGeminiAPIAsync(anyString());
 
-        ResponseEntity<?> response = chatbotController.chatWithGemini(request);
+        ResponseEntity<?> response = chatbotController.chatWithGemini(request).join();
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         Map<?, ?> body = (Map<?, ?>) response.getBody();
         assertEquals("Internal server error", body.get("reply"));
     }
+
+    private String streamContent(String message) throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(chatbotController).build();
+        MvcResult result = mockMvc.perform(post("/api/chatbot/message/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"message\": \"" + message + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse().getContentAsString();
+    }
+
+    @Test
+    void testStreamChat_PredefinedAnswerIsSingleEvent() throws Exception {
+        when(chatbotService.searchNLPAnswer(any(ChatMessageContext.class))).thenReturn("Predefined\nanswer");
+
+        String content = streamContent("Hi there!");
+
+        assertEquals("event:reply\ndata:{\"reply\":\"Predefined\\nanswer\"}\n\n", content);
+        verify(chatbotService, never()).streamGeminiAPI(anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamChat_ForwardsGeminiChunks() throws Exception {
+        when(chatbotService.isApiKeyConfigured()).thenReturn(true);
+        when(chatbotService.streamGeminiAPI(eq("Tell me a story"), any())).thenAnswer(invocation -> {
+            Consumer<String> onChunk = invocation.getArgument(1);
+            onChunk.accept("Once ");
+            onChunk.accept("upon a time");
+            return CompletableFuture.completedFuture("Once upon a time");
+        });
+
+        String content = streamContent("Tell me a story");
+
+        assertEquals("event:chunk\ndata:{\"reply\":\"Once \"}\n\n"
+                + "event:chunk\ndata:{\"reply\":\"upon a time\"}\n\n"
+                + "event:done\ndata:{\"reply\":\"Once upon a time\"}\n\n", content);
+        verify(chatResponseCache).put(any(ChatMessageContext.class), eq("Once upon a time"),
+                eq(ChatResponseCache.Source.GEMINI), anyLong());
+    }
+
+    @Test
+    void testStreamChat_GeminiUnavailableSendsFallback() throws Exception {
+        when(chatbotService.isApiKeyConfigured()).thenReturn(true);
+        when(chatbotService.streamGeminiAPI(anyString(), any())).thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("Gemini down")));
+        when(chatbotService.getFallbackAnswer(any(ChatMessageContext.class))).thenReturn("Fallback answer");
+
+        String content = streamContent("Tell me a story");
+
+        assertTrue(content.startsWith("event:reply\n"));
+        assertTrue(content.contains("Fallback answer"));
+        assertFalse(content.contains("event:chunk"));
+    }
+
+    @Test
+    void testStreamChat_EmptyMessageIsRejected() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(chatbotController).build();
+
+        mockMvc.perform(post("/api/chatbot/message/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"message\": \"  \"}"))
+                .andExpect(status().isBadRequest());
+        verify(chatbotService, never()).streamGeminiAPI(anyString(), any());
+    }
 }
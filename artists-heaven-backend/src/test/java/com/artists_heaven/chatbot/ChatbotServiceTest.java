@@ -8,9 +8,6 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import org.junit.jupiter.api.Test;
 
@@ -18,6 +15,7 @@ import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
@@ -25,12 +23,14 @@ import org.mockito.MockitoAnnotations;
 
 import com.artists_heaven.chat.ChatMessageContext;
 import com.artists_heaven.chat.ChatbotService;
+import com.artists_heaven.chat.GeminiClient;
+import com.artists_heaven.chat.IntentDetector;
+import com.artists_heaven.chat.QASnapshot;
 import com.artists_heaven.chat.QARepository;
+import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.product.ProductService;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
 class ChatbotServiceTest {
 
@@ -43,6 +43,9 @@ class ChatbotServiceTest {
     @Mock
     private Resource systemPromptResource;
 
+    @Mock
+    private GeminiClient geminiClient;
+
     private ChatbotService chatbotService;
 
     @BeforeEach
@@ -53,6 +56,8 @@ class ChatbotServiceTest {
         chatbotService = new ChatbotService(
                 qaRepository,
                 productService,
+                new IntentDetector(new ClassPathResource("chatbot/intents.json")),
+                geminiClient,
                 systemPromptResource,
                 0.4);
 
@@ -71,13 +76,8 @@ class ChatbotServiceTest {
 
         // La clave debe ser la pregunta que vamos a comparar
         String predefinedQuestion = "recommend me something";
-        ChatMessageContext context = new ChatMessageContext(predefinedQuestion, true);
-
-        Map<String, ChatMessageContext> predefinedQA = Map.of(
-                predefinedQuestion, context);
-
-        when(qaRepository.getAllQAContexts()).thenReturn(predefinedQA);
-        when(qaRepository.getAnswer(predefinedQuestion)).thenReturn("Sure, I recommend our best products!");
+        when(qaRepository.getSnapshot()).thenReturn(new QASnapshot(
+                Map.of(predefinedQuestion, "Sure, I recommend our best products!")));
 
         // Act
         String answer = chatbotService.searchNLPAnswer(question);
@@ -94,6 +94,7 @@ class ChatbotServiceTest {
         Map<String, String> predefinedQA = Map.of(
                 "how are you", "I’m fine thanks!");
         when(qaRepository.getAllQA()).thenReturn(predefinedQA);
+        when(qaRepository.getSnapshot()).thenReturn(new QASnapshot(predefinedQA));
 
         String answer = chatbotService.searchNLPAnswer(question);
 
@@ -103,7 +104,7 @@ class ChatbotServiceTest {
     @Test
     void testSearchNLPAnswer_NullText_ReturnsNull() {
         // Act
-        String answer = chatbotService.searchNLPAnswer(null);
+        String answer = chatbotService.searchNLPAnswer((String) null);
 
         // Assert
         assertNull(answer);
@@ -239,7 +240,7 @@ class ChatbotServiceTest {
     @Test
     void testSearchDynamicAnswer_NullText_ReturnsNull() {
         // Act
-        String answer = chatbotService.searchDynamicAnswer(null);
+        String answer = chatbotService.searchDynamicAnswer((String) null);
 
         // Assert
         assertNull(answer);
@@ -251,102 +252,46 @@ class ChatbotServiceTest {
     }
 
     @Test
-    void testCallGeminiAPI_ReturnsGeneratedText() throws Exception {
-        // Mock RestTemplate
-        RestTemplate restTemplate = mock(RestTemplate.class);
-        ChatbotService spyService = spy(chatbotService);
-        doReturn(restTemplate).when(spyService).createRestTemplate();
-
-        // Mock response body
-        Map<String, Object> responseBody = Map.of(
-                "candidates", List.of(
-                        Map.of(
-                                "content", Map.of(
-                                        "parts", List.of(
-                                                Map.of("text", "Generated response from Gemini."))))));
-        ResponseEntity<Map> responseEntity = new ResponseEntity<>(responseBody, HttpStatus.OK);
-
-        when(restTemplate.postForEntity(anyString(), any(), eq(Map.class)))
-                .thenReturn(responseEntity);
-
-        String userMessage = "Hello, Gemini!";
-        String response = spyService.callGeminiAPI(userMessage);
+    void testCallGeminiAPI_ReturnsGeneratedText() {
+        when(geminiClient.generateContent(any(), eq("This is a system prompt."), eq("Hello, Gemini!")))
+                .thenReturn(CompletableFuture.completedFuture("Generated response from Gemini."));
+
+        String response = chatbotService.callGeminiAPI("Hello, Gemini!");
 
         assertEquals("Generated response from Gemini.", response);
     }
 
     @Test
-    void testCallGeminiAPI_ThrowsOnErrorResponse() {
-        RestTemplate restTemplate = mock(RestTemplate.class);
-        ChatbotService spyService = spy(chatbotService);
-        doReturn(restTemplate).when(spyService).createRestTemplate();
-
-        ResponseEntity<Map> responseEntity = new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-
-        when(restTemplate.postForEntity(anyString(), any(), eq(Map.class)))
-                .thenReturn(responseEntity);
+    void testCallGeminiAPI_RethrowsClientError() {
+        when(geminiClient.generateContent(any(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new AppExceptions.InternalServerErrorException("Error del servidor de Gemini")));
 
-        Exception exception = assertThrows(RuntimeException.class, () -> {
-            spyService.callGeminiAPI("Hello!");
+        Exception exception = assertThrows(AppExceptions.InternalServerErrorException.class, () -> {
+            chatbotService.callGeminiAPI("Hello!");
         });
 
         assertTrue(exception.getMessage().contains("Error del servidor de Gemini"));
     }
 
     @Test
-    void testCallGeminiAPI_ThrowsWhenResponseBodyIsNull() {
-        RestTemplate restTemplate = mock(RestTemplate.class);
-        ChatbotService spyService = spy(chatbotService);
-        doReturn(restTemplate).when(spyService).createRestTemplate();
+    void testGetFallbackAnswer_UsesClosestPredefinedAnswer() {
+        String predefinedQuestion = "how long does shipping take";
+        when(qaRepository.getSnapshot()).thenReturn(new QASnapshot(Map.of(predefinedQuestion, "3-5 working days")));
 
-        ResponseEntity<Map> responseEntity = new ResponseEntity<>(null, HttpStatus.OK);
-        when(restTemplate.postForEntity(anyString(), any(), eq(Map.class)))
-                .thenReturn(responseEntity);
+        String answer = chatbotService.getFallbackAnswer(
+                new ChatMessageContext("shipping to canary islands and the cost", true));
 
-        Exception exception = assertThrows(RuntimeException.class, () -> {
-            spyService.callGeminiAPI("Hola");
-        });
-
-        assertTrue(exception.getMessage().contains("Respuesta inesperada de Gemini"));
+        assertEquals("3-5 working days", answer);
     }
 
     @Test
-    void testCallGeminiAPI_ThrowsWhenCandidatesIsEmpty() {
-        RestTemplate restTemplate = mock(RestTemplate.class);
-        ChatbotService spyService = spy(chatbotService);
-        doReturn(restTemplate).when(spyService).createRestTemplate();
-
-        Map<String, Object> responseBody = Map.of("candidates", List.of());
-        ResponseEntity<Map> responseEntity = new ResponseEntity<>(responseBody, HttpStatus.OK);
-        when(restTemplate.postForEntity(anyString(), any(), eq(Map.class)))
-                .thenReturn(responseEntity);
-
-        Exception exception = assertThrows(RuntimeException.class, () -> {
-            spyService.callGeminiAPI("Hola");
-        });
+    void testGetFallbackAnswer_GenericMessageWhenNothingMatches() {
+        when(qaRepository.getSnapshot()).thenReturn(new QASnapshot(Map.of()));
 
-        assertTrue(exception.getMessage().contains("No se generó respuesta de Gemini"));
-    }
-
-    @Test
-    void testCallGeminiAPI_ThrowsWhenPartsIsEmpty() {
-        RestTemplate restTemplate = mock(RestTemplate.class);
-        ChatbotService spyService = spy(chatbotService);
-        doReturn(restTemplate).when(spyService).createRestTemplate();
-
-        Map<String, Object> responseBody = Map.of(
-                "candidates", List.of(
-                        Map.of("content", Map.of("parts", List.of())) // 👈 parts vacío
-                ));
-        ResponseEntity<Map> responseEntity = new ResponseEntity<>(responseBody, HttpStatus.OK);
-        when(restTemplate.postForEntity(anyString(), any(), eq(Map.class)))
-                .thenReturn(responseEntity);
-
-        Exception exception = assertThrows(RuntimeException.class, () -> {
-            spyService.callGeminiAPI("Hola");
-        });
+        String answer = chatbotService.getFallbackAnswer(new ChatMessageContext("what is the meaning of life", true));
 
-        assertTrue(exception.getMessage().contains("Respuesta sin partes de texto"));
+        assertTrue(answer.contains("not available"));
     }
 
 }
@@ -0,0 +1,293 @@
+package com.artists_heaven.chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.artists_heaven.chat.GeminiClient;
+import com.artists_heaven.exception.AppExceptions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs {@link GeminiClient} against a local stub server.
+ */
+class GeminiClientTest {
+
+    private static final String OK_BODY = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Hola desde Gemini\"}]}}]}";
+
+    private HttpServer server;
+
+    private final AtomicInteger status = new AtomicInteger(200);
+
+    private final AtomicReference<String> body = new AtomicReference<>(OK_BODY);
+
+    private final AtomicReference<String> receivedApiKey = new AtomicReference<>();
+
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile CountDownLatch block;
+
+    private volatile List<String> events = List.of();
+
+    private volatile long eventGapMillis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+        server.createContext("/generate", this::handle);
+        server.createContext("/slow-stream", this::handleSlowStream);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (block != null) {
+            block.countDown();
+        }
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        receivedApiKey.set(exchange.getRequestHeaders().getFirst("X-goog-api-key"));
+        receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        if (block != null) {
+            try {
+                block.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] response = body.get().getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status.get(), response.length == 0 ? -1 : response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+
+    /**
+     * Sends every event of {@link #events} with {@link #eventGapMillis} between
+     * them.
+     */
+    private void handleSlowStream(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream os = exchange.getResponseBody()) {
+            for (String event : events) {
+                Thread.sleep(eventGapMillis);
+                os.write(event.getBytes(StandardCharsets.UTF_8));
+                os.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client gave up on the stream
+        }
+    }
+
+    private static String event(String text) {
+        return "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}]}}]}\r\n\r\n";
+    }
+
+    private GeminiClient slowStreamClient(Duration readTimeout) {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/slow-stream";
+        return new GeminiClient(url, url, Duration.ofSeconds(1), readTimeout, 4, 3, Duration.ofMinutes(1));
+    }
+
+    private GeminiClient client(Duration readTimeout, int maxConcurrentCalls, int failureThreshold) {
+        String url = "http://localhost:" + server.getAddress().getPort() + "/generate";
+        return new GeminiClient(url, url, Duration.ofSeconds(1), readTimeout, maxConcurrentCalls, failureThreshold, Duration.ofMinutes(1));
+    }
+
+    private GeminiClient client() {
+        return client(Duration.ofSeconds(5), 4, 3);
+    }
+
+    private Throwable failureOf(CompletableFuture<String> future) {
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        return exception.getCause();
+    }
+
+    @Test
+    void generateContent_returnsGeneratedText() {
+        String text = client().generateContent("key-123", "system prompt", "Hola").join();
+
+        assertEquals("Hola desde Gemini", text);
+        assertEquals("key-123", receivedApiKey.get());
+        assertTrue(receivedBody.get().contains("system prompt"));
+        assertTrue(receivedBody.get().contains("Hola"));
+    }
+
+    @Test
+    void generateContent_errorStatus() {
+        status.set(500);
+
+        Throwable error = failureOf(client().generateContent("key", "prompt", "Hola"));
+
+        assertInstanceOf(AppExceptions.InternalServerErrorException.class, error);
+        assertTrue(error.getMessage().contains("Error del servidor de Gemini"));
+    }
+
+    @Test
+    void generateContent_unexpectedBody() {
+        body.set("{}");
+
+        Throwable error = failureOf(client().generateContent("key", "prompt", "Hola"));
+
+        assertTrue(error.getMessage().contains("Respuesta inesperada de Gemini"));
+    }
+
+    @Test
+    void generateContent_emptyCandidates() {
+        body.set("{\"candidates\":[]}");
+
+        Throwable error = failureOf(client().generateContent("key", "prompt", "Hola"));
+
+        assertTrue(error.getMessage().contains("No se generó respuesta de Gemini"));
+    }
+
+    @Test
+    void generateContent_emptyParts() {
+        body.set("{\"candidates\":[{\"content\":{\"parts\":[]}}]}");
+
+        Throwable error = failureOf(client().generateContent("key", "prompt", "Hola"));
+
+        assertTrue(error.getMessage().contains("Respuesta sin partes de texto"));
+    }
+
+    @Test
+    void generateContent_timesOut() {
+        block = new CountDownLatch(1);
+
+        Throwable error = failureOf(client(Duration.ofMillis(200), 4, 3).generateContent("key", "prompt", "Hola"));
+
+        assertInstanceOf(AppExceptions.InternalServerErrorException.class, error);
+    }
+
+    @Test
+    void generateContent_timeoutFreesTheBulkheadOnceTheExchangeIsCancelled() {
+        block = new CountDownLatch(1);
+        GeminiClient client = client(Duration.ofMillis(200), 1, 3);
+
+        failureOf(client.generateContent("key", "prompt", "Hola"));
+        block.countDown();
+        block = null;
+
+        assertEquals("Hola desde Gemini", client.generateContent("key", "prompt", "Hola").join());
+    }
+
+    @Test
+    void generateContent_bulkheadRejectsExtraCalls() {
+        block = new CountDownLatch(1);
+        GeminiClient client = client(Duration.ofSeconds(5), 1, 3);
+
+        CompletableFuture<String> first = client.generateContent("key", "prompt", "Hola");
+        Throwable error = failureOf(client.generateContent("key", "prompt", "Hola"));
+
+        assertTrue(error.getMessage().contains("Demasiadas peticiones"));
+        block.countDown();
+        assertEquals("Hola desde Gemini", first.join());
+    }
+
+    @Test
+    void generateContent_circuitOpensAfterConsecutiveFailures() {
+        status.set(503);
+        GeminiClient client = client(Duration.ofSeconds(5), 4, 2);
+
+        failureOf(client.generateContent("key", "prompt", "1"));
+        assertFalse(client.isCircuitOpen());
+        failureOf(client.generateContent("key", "prompt", "2"));
+        assertTrue(client.isCircuitOpen());
+
+        Throwable error = failureOf(client.generateContent("key", "prompt", "3"));
+
+        assertTrue(error.getMessage().contains("no disponible"));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void streamGenerateContent_forwardsChunksInOrder() {
+        body.set("data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Hola\"}]}}]}\r\n\r\n"
+                + "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\" desde\"},{\"text\":\" Gemini\"}]}}]}\r\n\r\n"
+                + "data: {\"candidates\":[{\"finishReason\":\"STOP\"}]}\r\n\r\n");
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        String text = client().streamGenerateContent("key-123", "system prompt", "Hola", chunks::add).join();
+
+        assertEquals("Hola desde Gemini", text);
+        assertEquals(List.of("Hola", " desde Gemini"), chunks);
+        assertEquals("key-123", receivedApiKey.get());
+    }
+
+    @Test
+    void streamGenerateContent_errorStatus() {
+        status.set(500);
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        Throwable error = failureOf(client().streamGenerateContent("key", "prompt", "Hola", chunks::add));
+
+        assertTrue(error.getMessage().contains("Error del servidor de Gemini"));
+        assertTrue(chunks.isEmpty());
+    }
+
+    @Test
+    void streamGenerateContent_withoutText() {
+        body.set("data: {\"candidates\":[]}\n\n: keep-alive\n\n");
+
+        Throwable error = failureOf(client().streamGenerateContent("key", "prompt", "Hola", chunk -> {
+        }));
+
+        assertTrue(error.getMessage().contains("No se generó respuesta de Gemini"));
+    }
+
+    @Test
+    void streamGenerateContent_readTimeoutOnlyCapsTheWaitBetweenEvents() {
+        events = List.of(event("Uno"), event(" dos"), event(" tres"), event(" cuatro"));
+        eventGapMillis = 150;
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        String text = slowStreamClient(Duration.ofMillis(400)).streamGenerateContent("key", "prompt", "Hola",
+                chunks::add).join();
+
+        assertEquals("Uno dos tres cuatro", text);
+        assertEquals(4, chunks.size());
+    }
+
+    @Test
+    void streamGenerateContent_stalledStreamTimesOutAndStopsForwarding() throws InterruptedException {
+        events = List.of(event("Uno"), event(" dos"));
+        eventGapMillis = 600;
+        List<String> chunks = new CopyOnWriteArrayList<>();
+        GeminiClient client = slowStreamClient(Duration.ofMillis(400));
+
+        Throwable error = failureOf(client.streamGenerateContent("key", "prompt", "Hola", chunks::add));
+
+        assertInstanceOf(AppExceptions.InternalServerErrorException.class, error);
+        Thread.sleep(800);
+        assertTrue(chunks.isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package com.artists_heaven.chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import com.artists_heaven.chat.IntentDetector;
+import com.artists_heaven.exception.AppExceptions;
+
+class IntentDetectorTest {
+
+    private final IntentDetector detector = new IntentDetector(new ClassPathResource("chatbot/intents.json"));
+
+    private IntentDetector detectorOf(String json) {
+        return new IntentDetector(new ByteArrayResource(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void detect_recommendationInSpanishWithAccents() {
+        assertEquals("recommendation", detector.detect("¿Qué me RECOMIENDAS para este verano?"));
+    }
+
+    @Test
+    void detect_bestsellerInEnglish() {
+        assertEquals("bestseller", detector.detect("which is your best seller?"));
+    }
+
+    @Test
+    void detect_noIntent() {
+        assertNull(detector.detect("how long does shipping take"));
+        assertNull(detector.detect(""));
+        assertNull(detector.detect(null));
+    }
+
+    @Test
+    void detect_overlappingKeywordsFoundInOnePass() {
+        IntentDetector custom = detectorOf("{\"returns\": {\"keywords\": [\"devolver pedido\"]},"
+                + " \"shipping\": {\"keywords\": [\"envio\", \"pedido llega\"]}}");
+
+        assertEquals("shipping", custom.detect("cuando mi pedido llega"));
+        assertEquals("returns", custom.detect("quiero devolver pedido"));
+    }
+
+    @Test
+    void detect_firstDeclaredIntentWins() {
+        IntentDetector custom = detectorOf("{\"sizing\": {\"keywords\": [\"talla\"]},"
+                + " \"shipping\": {\"keywords\": [\"envio\"]}}");
+
+        assertEquals("sizing", custom.detect("envio de la talla m"));
+    }
+
+    @Test
+    void getResponse_returnsConfiguredResponsePerLanguage() {
+        IntentDetector custom = detectorOf("{\"shipping\": {\"keywords\": [\"shipping\"],"
+                + " \"responses\": {\"en\": \"Shipping takes 3 days\", \"es\": \"El envio tarda 3 dias\"}}}");
+
+        assertEquals("Shipping takes 3 days", custom.getResponse("shipping", true));
+        assertEquals("El envio tarda 3 dias", custom.getResponse("shipping", false));
+        assertNull(detector.getResponse("recommendation", true));
+        assertNull(detector.getResponse("unknown", true));
+    }
+
+    @Test
+    void constructor_invalidJsonThrows() {
+        assertThrows(AppExceptions.InternalServerErrorException.class, () -> detectorOf("not json"));
+    }
+}
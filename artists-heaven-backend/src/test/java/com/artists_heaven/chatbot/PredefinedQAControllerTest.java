@@ -0,0 +1,111 @@
+package com.artists_heaven.chatbot;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.artists_heaven.chat.PredefinedQA;
+import com.artists_heaven.chat.PredefinedQAController;
+import com.artists_heaven.chat.PredefinedQARequestDTO;
+import com.artists_heaven.chat.PredefinedQAService;
+import com.artists_heaven.chat.QASnapshot;
+import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.exception.GlobalExceptionHandler;
+
+class PredefinedQAControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private PredefinedQAService predefinedQAService;
+
+    @InjectMocks
+    private PredefinedQAController predefinedQAController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(predefinedQAController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private PredefinedQA entry() {
+        PredefinedQA entry = new PredefinedQA("shipping time", "3-5 days");
+        entry.setId(1L);
+        return entry;
+    }
+
+    @Test
+    void getAll_returnsEntries() throws Exception {
+        when(predefinedQAService.getAll()).thenReturn(List.of(entry()));
+
+        mockMvc.perform(get("/api/admin/chatbot/qa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].question").value("shipping time"));
+    }
+
+    @Test
+    void create_returnsCreated() throws Exception {
+        when(predefinedQAService.create(any(PredefinedQARequestDTO.class))).thenReturn(entry());
+
+        mockMvc.perform(post("/api/admin/chatbot/qa")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"question\":\"shipping time\",\"answer\":\"3-5 days\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value(1));
+    }
+
+    @Test
+    void create_blankAnswerReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/admin/chatbot/qa")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"question\":\"shipping time\",\"answer\":\" \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void update_notFound() throws Exception {
+        when(predefinedQAService.update(eq(2L), any(PredefinedQARequestDTO.class)))
+                .thenThrow(new AppExceptions.ResourceNotFoundException("Knowledge base entry not found with id: 2"));
+
+        mockMvc.perform(put("/api/admin/chatbot/qa/2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"question\":\"shipping time\",\"answer\":\"3-5 days\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getStatus_returnsPublishedSnapshot() throws Exception {
+        when(predefinedQAService.getSnapshot()).thenReturn(new QASnapshot(Map.of("hello", "Hi!")));
+
+        mockMvc.perform(get("/api/admin/chatbot/qa/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.questions").value(1));
+    }
+
+    @Test
+    void reload_isAccepted() throws Exception {
+        mockMvc.perform(post("/api/admin/chatbot/qa/reload"))
+                .andExpect(status().isAccepted());
+        verify(predefinedQAService).rebuild();
+    }
+}
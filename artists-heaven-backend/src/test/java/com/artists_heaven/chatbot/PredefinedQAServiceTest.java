@@ -0,0 +1,145 @@
+package com.artists_heaven.chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+
+import com.artists_heaven.chat.ChatResponseCache;
+import com.artists_heaven.chat.PredefinedQA;
+import com.artists_heaven.chat.PredefinedQARepository;
+import com.artists_heaven.chat.PredefinedQARequestDTO;
+import com.artists_heaven.chat.PredefinedQAService;
+import com.artists_heaven.chat.QARepository;
+import com.artists_heaven.chat.QASnapshot;
+import com.artists_heaven.exception.AppExceptions;
+
+class PredefinedQAServiceTest {
+
+    @Mock
+    private PredefinedQARepository predefinedQARepository;
+
+    @Mock
+    private QARepository qaRepository;
+
+    @Mock
+    private ChatResponseCache chatResponseCache;
+
+    @InjectMocks
+    private PredefinedQAService predefinedQAService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(qaRepository.rebuild(any())).thenReturn(CompletableFuture.completedFuture(new QASnapshot(Map.of())));
+        when(predefinedQARepository.save(any(PredefinedQA.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private PredefinedQARequestDTO request(String question, String answer) {
+        PredefinedQARequestDTO request = new PredefinedQARequestDTO();
+        request.setQuestion(question);
+        request.setAnswer(answer);
+        return request;
+    }
+
+    private PredefinedQA entry(Long id, String question, String answer) {
+        PredefinedQA entry = new PredefinedQA(question, answer);
+        entry.setId(id);
+        return entry;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadKnowledgeBase_seedsEmptyTableFromFile() {
+        when(predefinedQARepository.count()).thenReturn(0L);
+        when(qaRepository.getAllQA()).thenReturn(Map.of("hello", "Hi there!"));
+
+        predefinedQAService.loadKnowledgeBase();
+
+        ArgumentCaptor<List<PredefinedQA>> captor = ArgumentCaptor.forClass(List.class);
+        verify(predefinedQARepository).saveAll(captor.capture());
+        assertEquals("hello", captor.getValue().get(0).getQuestion());
+        verify(qaRepository, never()).rebuild(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadKnowledgeBase_rebuildsFromStoredEntries() {
+        when(predefinedQARepository.count()).thenReturn(2L);
+        when(predefinedQARepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(entry(1L, "hello", "Hi!"), entry(2L, "bye", "Goodbye!")));
+
+        predefinedQAService.loadKnowledgeBase();
+
+        ArgumentCaptor<Supplier<Map<String, String>>> captor = ArgumentCaptor.forClass(Supplier.class);
+        verify(qaRepository).rebuild(captor.capture());
+        assertEquals(List.of("hello", "bye"), List.copyOf(captor.getValue().get().keySet()));
+        verify(predefinedQARepository, never()).saveAll(anyList());
+        verify(chatResponseCache).clear();
+    }
+
+    @Test
+    void create_storesTrimmedEntryAndRebuilds() {
+        when(predefinedQARepository.existsByQuestion("shipping time")).thenReturn(false);
+
+        PredefinedQA saved = predefinedQAService.create(request("  shipping time ", " 3-5 days "));
+
+        assertEquals("shipping time", saved.getQuestion());
+        assertEquals("3-5 days", saved.getAnswer());
+        verify(qaRepository).rebuild(any());
+    }
+
+    @Test
+    void create_duplicateQuestion() {
+        when(predefinedQARepository.existsByQuestion("hello")).thenReturn(true);
+
+        assertThrows(AppExceptions.DuplicateActionException.class,
+                () -> predefinedQAService.create(request("hello", "Hi!")));
+        verify(qaRepository, never()).rebuild(any());
+    }
+
+    @Test
+    void update_changesAnswer() {
+        when(predefinedQARepository.findById(1L)).thenReturn(Optional.of(entry(1L, "hello", "Hi!")));
+        when(predefinedQARepository.findByQuestion("hello")).thenReturn(Optional.of(entry(1L, "hello", "Hi!")));
+
+        PredefinedQA updated = predefinedQAService.update(1L, request("hello", "Hello there!"));
+
+        assertEquals("Hello there!", updated.getAnswer());
+        verify(qaRepository).rebuild(any());
+    }
+
+    @Test
+    void update_questionOfAnotherEntry() {
+        when(predefinedQARepository.findById(1L)).thenReturn(Optional.of(entry(1L, "hello", "Hi!")));
+        when(predefinedQARepository.findByQuestion("bye")).thenReturn(Optional.of(entry(2L, "bye", "Goodbye!")));
+
+        assertThrows(AppExceptions.DuplicateActionException.class,
+                () -> predefinedQAService.update(1L, request("bye", "Hi!")));
+    }
+
+    @Test
+    void delete_notFound() {
+        when(predefinedQARepository.findById(3L)).thenReturn(Optional.empty());
+
+        assertThrows(AppExceptions.ResourceNotFoundException.class, () -> predefinedQAService.delete(3L));
+        verify(qaRepository, never()).rebuild(any());
+    }
+}
@@ -0,0 +1,73 @@
+package com.artists_heaven.chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.artists_heaven.chat.ChatMessageContext;
+import com.artists_heaven.chat.QAIndex;
+
+class QAIndexTest {
+
+    private QAIndex index(String... questions) {
+        Map<String, ChatMessageContext> contexts = new LinkedHashMap<>();
+        for (String question : questions) {
+            contexts.put(question, new ChatMessageContext(question, true));
+        }
+        return new QAIndex(contexts);
+    }
+
+    @Test
+    void findBestMatch_returnsMostSimilarQuestion() {
+        QAIndex index = index("como devuelvo un pedido", "cuanto tarda el envio", "metodos de pago");
+
+        assertEquals("cuanto tarda el envio",
+                index.findBestMatch(Set.of("tarda", "envio"), "cuanto tarda el envio", 0.4));
+    }
+
+    @Test
+    void findBestMatch_belowThresholdReturnsNull() {
+        QAIndex index = index("cuanto tarda el envio");
+
+        assertNull(index.findBestMatch(Set.of("envio", "camiseta", "talla", "color"), "envio camiseta", 0.4));
+    }
+
+    @Test
+    void findBestMatch_noSharedTokensReturnsNull() {
+        QAIndex index = index("cuanto tarda el envio");
+
+        assertNull(index.findBestMatch(Set.of("abrakadabra"), "abrakadabra", 0.4));
+    }
+
+    @Test
+    void findBestMatch_tieBrokenByClosestLength() {
+        QAIndex index = index("envio gratis espana", "envio gratis ropa");
+
+        assertEquals("envio gratis ropa", index.findBestMatch(Set.of("envio", "gratis"), "envio gratis ya", 0.4));
+    }
+
+    @Test
+    void findBestMatch_repeatedQueriesDoNotSeePreviousOverlaps() {
+        QAIndex index = index("cuanto tarda el envio", "envio gratis");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("cuanto tarda el envio",
+                    index.findBestMatch(Set.of("cuanto", "tarda", "envio"), "cuanto tarda el envio", 0.4));
+            // Leftover counts from the previous query would push this one over the threshold
+            assertNull(index.findBestMatch(Set.of("tarda", "camiseta", "talla", "color"), "tarda camiseta", 0.4));
+        }
+    }
+
+    @Test
+    void findBestMatch_zeroThresholdAcceptsUnrelatedQuestions() {
+        QAIndex index = index("metodos de pago");
+
+        assertEquals("metodos de pago", index.findBestMatch(Set.of("abrakadabra"), "abrakadabra", 0.0));
+        assertEquals(1, index.size());
+    }
+}
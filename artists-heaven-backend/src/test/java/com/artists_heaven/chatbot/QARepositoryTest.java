@@ -3,10 +3,15 @@ package com.artists_heaven.chatbot;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.artists_heaven.chat.QARepository;
+import com.artists_heaven.chat.QASnapshot;
 import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 class QARepositoryTest {
 
@@ -78,4 +83,92 @@ class QARepositoryTest {
 
         assertTrue(ex.getMessage().contains("Error cargando"));
     }
+
+    private QARepository repository(String json) {
+        InputStream is = new ByteArrayInputStream(json.getBytes());
+        return new QARepository() {
+            @Override
+            protected InputStream getResourceAsStream() {
+                return is;
+            }
+        };
+    }
+
+    @Test
+    void testRebuild_PublishesNewSnapshot() {
+        QARepository repo = repository("{ \"hello\": \"Hi there!\" }");
+        QASnapshot initial = repo.getSnapshot();
+
+        QASnapshot rebuilt = repo.rebuild(() -> Map.of("shipping time", "3-5 days")).join();
+
+        assertSame(rebuilt, repo.getSnapshot());
+        assertEquals(initial.getVersion() + 1, rebuilt.getVersion());
+        assertEquals("3-5 days", repo.getAnswer("shipping time"));
+        assertNull(repo.getAnswer("hello"));
+        assertEquals("shipping time", repo.getIndex().findBestMatch(
+                rebuilt.getContexts().get("shipping time").getTokens(), "shipping time", 0.4));
+        // Readers holding the previous snapshot keep a consistent view
+        assertEquals("Hi there!", initial.getAnswer("hello"));
+    }
+
+    @Test
+    void testRebuild_DoesNotBlockReaders() throws Exception {
+        QARepository repo = repository("{ \"hello\": \"Hi there!\" }");
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<QASnapshot> rebuild = repo.rebuild(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("bye", "Goodbye!");
+        });
+
+        assertEquals("Hi there!", repo.getAnswer("hello"));
+        assertFalse(rebuild.isDone());
+        release.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+        assertEquals("Goodbye!", repo.getAnswer("bye"));
+    }
+
+    @Test
+    void testRebuild_FailureKeepsPreviousSnapshot() {
+        QARepository repo = repository("{ \"hello\": \"Hi there!\" }");
+        QASnapshot initial = repo.getSnapshot();
+
+        CompletableFuture<QASnapshot> rebuild = repo.rebuild(() -> {
+            throw new IllegalStateException("Database down");
+        });
+
+        assertThrows(CompletionException.class, rebuild::join);
+        assertSame(initial, repo.getSnapshot());
+    }
+
+    @Test
+    void testRebuild_QueuedRequestsAreMerged() throws Exception {
+        QARepository repo = repository("{ \"hello\": \"Hi there!\" }");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        repo.rebuild(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("first", "1");
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<QASnapshot> second = repo.rebuild(() -> Map.of("second", "2"));
+        CompletableFuture<QASnapshot> third = repo.rebuild(() -> Map.of("third", "3"));
+        release.countDown();
+
+        QASnapshot last = third.get(5, TimeUnit.SECONDS);
+        assertSame(last, second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, last.getVersion());
+        assertEquals("3", repo.getAnswer("third"));
+        assertNull(repo.getAnswer("second"));
+    }
 }
@@ -0,0 +1,93 @@
+package com.artists_heaven.chatbot;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.artists_heaven.chat.ChatbotUtils;
+import com.artists_heaven.chat.SpellingIndex;
+
+/**
+ * Measures spell correction cost as the dictionary grows. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.artists_heaven.chatbot.SpellingIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpellingIndexBenchmark {
+
+    private static final String ALPHABET = "abcdefghilmnoprstuv";
+
+    @Param({ "200", "20000", "50000" })
+    private int dictionarySize;
+
+    private SpellingIndex index;
+
+    private String[] queries;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Set<String> dictionary = new LinkedHashSet<>();
+        while (dictionary.size() < dictionarySize) {
+            dictionary.add(randomWord(random, 4 + random.nextInt(8)));
+        }
+        index = new SpellingIndex(dictionary);
+
+        String[] words = dictionary.toArray(new String[0]);
+        queries = new String[64];
+        for (int i = 0; i < queries.length; i++) {
+            StringBuilder typo = new StringBuilder(words[random.nextInt(words.length)]);
+            typo.setCharAt(random.nextInt(typo.length()), ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            queries[i] = typo.toString();
+        }
+    }
+
+    @Benchmark
+    public int closestMatch() {
+        int found = 0;
+        for (String query : queries) {
+            if (index.closestMatch(query) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public String correctSpellingShippedDictionary() {
+        return ChatbotUtils.correctSpelling("quiero saber cuanto tarda el envio de la camiseta", false);
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SpellingIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
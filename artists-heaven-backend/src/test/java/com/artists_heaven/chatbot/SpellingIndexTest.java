@@ -0,0 +1,47 @@
+package com.artists_heaven.chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.artists_heaven.chat.ChatbotUtils;
+import com.artists_heaven.chat.SpellingIndex;
+
+class SpellingIndexTest {
+
+    private final SpellingIndex index = new SpellingIndex(
+            new LinkedHashSet<>(List.of("camiseta", "sudadera", "pantalon", "envio", "devolucion", "talla")));
+
+    @Test
+    void closestMatch_returnsNullForKnownWord() {
+        assertNull(index.closestMatch("camiseta"));
+    }
+
+    @Test
+    void closestMatch_correctsTypo() {
+        assertEquals("camiseta", index.closestMatch("camisetta"));
+        assertEquals("sudadera", index.closestMatch("sudaera"));
+    }
+
+    @Test
+    void closestMatch_returnsNullWhenNothingIsClose() {
+        assertNull(index.closestMatch("zzzzzzzzzz"));
+    }
+
+    @Test
+    void closestMatch_emptyDictionary() {
+        SpellingIndex empty = new SpellingIndex(List.of());
+
+        assertEquals(0, empty.size());
+        assertNull(empty.closestMatch("talla"));
+    }
+
+    @Test
+    void correctSpelling_keepsSeparatorsAndCorrectsWords() {
+        assertEquals("hola, quiero devoluciones!", ChatbotUtils.correctSpelling("hola, quiero devolusiones!", false));
+    }
+}
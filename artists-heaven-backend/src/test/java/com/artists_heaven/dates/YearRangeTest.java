@@ -0,0 +1,33 @@
+package com.artists_heaven.dates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+class YearRangeTest {
+
+    @Test
+    void boundsCoverTheYearAndExcludeTheNextOne() {
+        YearRange range = YearRange.of(2024);
+
+        assertEquals(2024, range.getYear());
+        assertEquals(LocalDate.of(2024, 1, 1), range.startDate());
+        assertEquals(LocalDate.of(2025, 1, 1), range.endDate());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), range.start());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), range.end());
+    }
+
+    @Test
+    void instantsAreMidnightInTheSystemZone() {
+        YearRange range = YearRange.of(2024);
+
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.ofInstant(range.startInstant().toInstant(), ZoneId.systemDefault()));
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.ofInstant(range.endInstant().toInstant(), ZoneId.systemDefault()));
+    }
+}
@@ -7,7 +7,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,10 +14,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 
+import com.artists_heaven.analytics.AnalyticsMetric;
+import com.artists_heaven.analytics.AnalyticsProjector;
 import com.artists_heaven.entities.artist.Artist;
 import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.exception.AppExceptions.EmailSendException;
@@ -34,6 +36,12 @@ class EmailSenderServiceTest {
     @Mock
     private EmailSenderRepository emailSenderRepository;
 
+    @Mock
+    private AnalyticsProjector analyticsProjector;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmailSenderService emailSenderService;
 
@@ -66,6 +74,8 @@ class EmailSenderServiceTest {
 
         verify(emailSenderRepository, times(1)).save(email);
         verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EmailReportedEvent reported
+                && reported.getType() == email.getType()));
     }
 
     @Test
@@ -130,11 +140,8 @@ class EmailSenderServiceTest {
     @Test
     void testgetEmailCount() {
         int year = 2024;
-        List<Object[]> mockResults = List.of(
-                new Object[] { EmailType.BUG_REPORT, 5L },
-                new Object[] { EmailType.FEATURE_REQUEST, 2L });
-
-        when(emailSenderRepository.countEmailsByType(year)).thenReturn(mockResults);
+        when(analyticsProjector.getCounts(AnalyticsMetric.EMAIL_TYPE, year))
+                .thenReturn(Map.of("BUG_REPORT", 5L, "FEATURE_REQUEST", 2L));
 
         Map<EmailType, Integer> result = emailSenderService.getEmailCounts(year);
 
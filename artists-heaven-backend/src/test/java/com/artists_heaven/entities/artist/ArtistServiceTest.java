@@ -7,7 +7,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -34,12 +35,11 @@ import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.exception.AppExceptions.DuplicateActionException;
 import com.artists_heaven.exception.AppExceptions.ResourceNotFoundException;
 import com.artists_heaven.images.ImageServingUtil;
-import com.artists_heaven.order.Order;
-import com.artists_heaven.order.OrderItem;
-import com.artists_heaven.order.OrderStatus;
 import com.artists_heaven.product.CategoryRepository;
 import com.artists_heaven.product.Product;
 import com.artists_heaven.product.ProductService;
+import com.artists_heaven.sales.RollupDimension;
+import com.artists_heaven.sales.SalesRollupService;
 import com.artists_heaven.verification.Verification;
 import com.artists_heaven.verification.VerificationRepository;
 import com.artists_heaven.verification.VerificationStatus;
@@ -69,12 +69,18 @@ class ArtistServiceTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ArtistService artistService;
 
     @Mock
     private ImageServingUtil imageServingUtil;
 
+    @Mock
+    private SalesRollupService salesRollupService;
+
     private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     @BeforeEach
@@ -229,7 +235,8 @@ class ArtistServiceTest {
     void testGetFutureEvents() {
         Integer year = 2025;
 
-        when(artistRepository.findFutureEventsForArtist(1L, year)).thenReturn(1);
+        when(artistRepository.findFutureEventsForArtist(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1)))
+                .thenReturn(1);
         Integer result = artistService.getFutureEvents(1L, year);
 
         assertNotNull(result);
@@ -240,7 +247,8 @@ class ArtistServiceTest {
     void testGetPastEvents() {
         Integer year = 2024;
 
-        when(artistRepository.findPastEventsForArtist(1L, year)).thenReturn(1);
+        when(artistRepository.findPastEventsForArtist(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1)))
+                .thenReturn(1);
         Integer result = artistService.getPastEvents(1L, year);
 
         assertNotNull(result);
@@ -256,7 +264,8 @@ class ArtistServiceTest {
 
         // Mock de la búsqueda del artista
         when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
-        when(artistRepository.getOrdersPerYear("ARTISTNAME", 2023)).thenReturn(Collections.emptyList());
+        when(salesRollupService.getArtistItemCounts(1L, RollupDimension.PRODUCT, 2023))
+                .thenReturn(Collections.emptyMap());
 
         // Llamada al servicio
         Map<String, Integer> result = artistService.getOrderItemCount(1L, 2023);
@@ -270,17 +279,12 @@ class ArtistServiceTest {
         // Configuramos un artista
         Artist artist = new Artist();
         artist.setArtistName("artistName");
+        artist.setId(1L);
 
-        // Creamos una lista de OrderItems
-        OrderItem item1 = new OrderItem();
-        item1.setName("Item1");
-        OrderItem item2 = new OrderItem();
-        item2.setName("Item2");
-        List<OrderItem> orderItems = Arrays.asList(item1, item2);
-
-        // Mock de la búsqueda de los artículos de pedido
+        // Mock de los totales precalculados del artista por producto
         when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
-        when(artistRepository.getOrdersPerYear("ARTISTNAME", 2023)).thenReturn(orderItems);
+        when(salesRollupService.getArtistItemCounts(1L, RollupDimension.PRODUCT, 2023))
+                .thenReturn(Map.of("Item1", 1, "Item2", 1));
 
         // Llamada al servicio
         Map<String, Integer> result = artistService.getOrderItemCount(1L, 2023);
@@ -296,17 +300,12 @@ class ArtistServiceTest {
         // Configuramos un artista
         Artist artist = new Artist();
         artist.setArtistName("artistName");
+        artist.setId(1L);
 
-        // Creamos una lista de OrderItems con duplicados
-        OrderItem item1 = new OrderItem();
-        item1.setName("Item1");
-        OrderItem item2 = new OrderItem();
-        item2.setName("Item1");
-        List<OrderItem> orderItems = Arrays.asList(item1, item2);
-
-        // Mock de la búsqueda de los artículos de pedido
+        // El mismo ítem vendido en dos países ya viene sumado en el rollup
         when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
-        when(artistRepository.getOrdersPerYear("ARTISTNAME", 2023)).thenReturn(orderItems);
+        when(salesRollupService.getArtistItemCounts(1L, RollupDimension.PRODUCT, 2023))
+                .thenReturn(Map.of("Item1", 2));
 
         // Llamada al servicio
         Map<String, Integer> result = artistService.getOrderItemCount(1L, 2023);
@@ -335,10 +334,12 @@ class ArtistServiceTest {
         // Configuramos un artista
         Artist artist = new Artist();
         artist.setArtistName("artistName");
+        artist.setId(1L);
 
-        // Mock de la búsqueda de los artículos de pedido
+        // Mock de los totales precalculados del artista por país
         when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
-        when(artistRepository.getOrdersPerYear("ARTISTNAME", 2023)).thenReturn(Collections.emptyList());
+        when(salesRollupService.getArtistItemCounts(1L, RollupDimension.COUNTRY, 2023))
+                .thenReturn(Collections.emptyMap());
 
         // Llamada al servicio
         Map<String, Integer> result = artistService.getMostCountrySold(1L, 2023);
@@ -352,24 +353,12 @@ class ArtistServiceTest {
         // Configuramos un artista
         Artist artist = new Artist();
         artist.setArtistName("artistName");
+        artist.setId(1L);
 
-        Order order1 = new Order();
-        Order order2 = new Order();
-
-        // Creamos una lista de OrderItems con diferentes países
-        OrderItem item1 = new OrderItem();
-        item1.setOrder(order1);
-        item1.setName("Item1");
-        item1.getOrder().setCountry("USA");
-        OrderItem item2 = new OrderItem();
-        item2.setOrder(order2);
-        item2.setName("Item2");
-        item2.getOrder().setCountry("Canada");
-        List<OrderItem> orderItems = Arrays.asList(item1, item2);
-
-        // Mock de la búsqueda de los artículos de pedido
+        // Ventas en diferentes países
         when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
-        when(artistRepository.getOrdersPerYear("ARTISTNAME", 2023)).thenReturn(orderItems);
+        when(salesRollupService.getArtistItemCounts(1L, RollupDimension.COUNTRY, 2023))
+                .thenReturn(Map.of("USA", 1, "Canada", 1));
 
         // Llamada al servicio
         Map<String, Integer> result = artistService.getMostCountrySold(1L, 2023);
@@ -385,24 +374,12 @@ class ArtistServiceTest {
         // Configuramos un artista
         Artist artist = new Artist();
         artist.setArtistName("artistName");
+        artist.setId(1L);
 
-        Order order1 = new Order();
-        Order order2 = new Order();
-
-        // Creamos una lista de OrderItems con países repetidos
-        OrderItem item1 = new OrderItem();
-        item1.setOrder(order1);
-        item1.setName("Item1");
-        item1.getOrder().setCountry("USA");
-        OrderItem item2 = new OrderItem();
-        item2.setOrder(order2);
-        item2.setName("Item2");
-        item2.getOrder().setCountry("USA");
-        List<OrderItem> orderItems = Arrays.asList(item1, item2);
-
-        // Mock de la búsqueda de los artículos de pedido
+        // Dos ítems distintos vendidos en el mismo país ya vienen sumados en el rollup
         when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
-        when(artistRepository.getOrdersPerYear("ARTISTNAME", 2023)).thenReturn(orderItems);
+        when(salesRollupService.getArtistItemCounts(1L, RollupDimension.COUNTRY, 2023))
+                .thenReturn(Map.of("USA", 2));
 
         // Llamada al servicio
         Map<String, Integer> result = artistService.getMostCountrySold(1L, 2023);
@@ -431,10 +408,11 @@ class ArtistServiceTest {
         // Configuramos un artista
         Artist artist = new Artist();
         artist.setArtistName("artistName");
+        artist.setId(1L);
 
         // Mock de la búsqueda de los artículos de pedido
         when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
-        when(artistRepository.findMonthlySalesData("ARTISTNAME", 2023, OrderStatus.RETURN_ACCEPTED))
+        when(salesRollupService.getMonthlyArtistUnits(1L, 2023))
                 .thenReturn(Collections.emptyList());
 
         // Llamada al servicio
@@ -449,15 +427,16 @@ class ArtistServiceTest {
         // Configuramos un artista
         Artist artist = new Artist();
         artist.setArtistName("artistName");
+        artist.setId(1L);
 
         // Creamos datos simulados de ventas
-        Object[] result1 = { 1, 50L }; // Mes 1, 50 ventas
-        Object[] result2 = { 2, 30L }; // Mes 2, 30 ventas
-        List<Object[]> results = Arrays.asList(result1, result2);
+        MonthlySalesDTO result1 = new MonthlySalesDTO(1, 50L, null); // Mes 1, 50 ventas
+        MonthlySalesDTO result2 = new MonthlySalesDTO(2, 30L, null); // Mes 2, 30 ventas
+        List<MonthlySalesDTO> results = Arrays.asList(result1, result2);
 
         // Mock de la búsqueda de los artículos de pedido
         when(artistRepository.findById(1L)).thenReturn(Optional.of(artist));
-        when(artistRepository.findMonthlySalesData("ARTISTNAME", 2023, OrderStatus.RETURN_ACCEPTED))
+        when(salesRollupService.getMonthlyArtistUnits(1L, 2023))
                 .thenReturn(results);
 
         // Llamada al servicio
@@ -623,23 +602,19 @@ class ArtistServiceTest {
         artist.setId(artistId);
         artist.setArtistName("Artst Name");
 
-        Order order = new Order();
-        order.setCreatedDate(LocalDateTime.now());
-        order.setCountry("ESP");
-
-        OrderItem orderItem = new OrderItem();
-        orderItem.setName("OrderItem");
-        orderItem.setOrder(order);
-
         when(artistRepository.findById(artistId)).thenReturn(Optional.of(artist));
-        when(artistRepository.findFutureEventsForArtist(artistId, year)).thenReturn(10);
-        when(artistRepository.findPastEventsForArtist(artistId, year)).thenReturn(5);
+        when(artistRepository.findFutureEventsForArtist(artistId, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1)))
+                .thenReturn(10);
+        when(artistRepository.findPastEventsForArtist(artistId, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1)))
+                .thenReturn(5);
         when(artistRepository.isArtistVerificated(artistId)).thenReturn(true);
         when(artistRepository.findLatestVerificationStatus(artistId))
                 .thenReturn(List.of(VerificationStatus.ACCEPTED));
         when(artistRepository.findById(artistId)).thenReturn(Optional.of(artist));
-        when(artistRepository.getOrdersPerYear(eq(artist.getArtistName().toUpperCase()), eq(year)))
-                .thenReturn(List.of(orderItem));
+        when(salesRollupService.getArtistItemCounts(artistId, RollupDimension.PRODUCT, year))
+                .thenReturn(Map.of("OrderItem", 1));
+        when(salesRollupService.getArtistItemCounts(artistId, RollupDimension.COUNTRY, year))
+                .thenReturn(Map.of("ESP", 1));
 
         // Act
         ArtistDashboardDTO result = artistService.getArtistDashboard(artistId, year);
@@ -650,6 +625,9 @@ class ArtistServiceTest {
         assertEquals(5, result.getPastEvents());
         assertEquals(1, result.getOrderItemCount().get("OrderItem"));
         assertEquals(1, result.getMostCountrySold().get("ESP"));
+        // Sales are read from the artist rollups, attributed by id rather than by name
+        verify(salesRollupService).getArtistItemCounts(artistId, RollupDimension.PRODUCT, year);
+        verify(salesRollupService).getArtistItemCounts(artistId, RollupDimension.COUNTRY, year);
     }
 
 }
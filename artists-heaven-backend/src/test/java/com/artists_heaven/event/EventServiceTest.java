@@ -460,7 +460,9 @@ class EventServiceTest {
 
         List<Event> events = List.of(event);
 
-        when(eventRepository.findArtistEventThisYear(artistId, LocalDate.now().getYear())).thenReturn(events);
+        int year = LocalDate.now().getYear();
+        when(eventRepository.findArtistEventThisYear(artistId, LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1)))
+                .thenReturn(events);
 
         List<Event> result = eventService.findEventThisYearByArtist(artistId);
         assertNotNull(result);
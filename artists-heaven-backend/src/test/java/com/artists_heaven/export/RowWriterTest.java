@@ -0,0 +1,87 @@
+package com.artists_heaven.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+
+class RowWriterTest {
+
+    @Test
+    void csv_QuotesSeparatorsAndQuotes() throws IOException {
+        String csv = csv(new Object[] { "Order", "Item" }, new Object[] { 12L, "Shirt, \"black\"" });
+
+        assertEquals("\uFEFFOrder,Item\r\n12,\"Shirt, \"\"black\"\"\"\r\n", csv);
+    }
+
+    @Test
+    void csv_NeutralizesFormulasAndLeavesNullsEmpty() throws IOException {
+        String csv = csv(new Object[] { "=HYPERLINK(\"x\")", null, -5, new BigDecimal("1E+2") });
+
+        assertEquals("\uFEFF\"'=HYPERLINK(\"\"x\"\")\",,-5,100\r\n", csv);
+    }
+
+    @Test
+    void xlsx_WritesAWorkbookWithOneStreamedSheet() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RowWriter writer = ExportFormat.XLSX.open(out)) {
+            writer.writeRow("Order", "Total");
+            writer.writeRow(12L, new BigDecimal("19.99"));
+            writer.writeRow("<Tom & Jerry>\u0001", null);
+        }
+
+        Map<String, String> parts = unzip(out.toByteArray());
+
+        assertEquals(List.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/_rels/workbook.xml.rels",
+                "xl/worksheets/sheet1.xml"), new ArrayList<>(parts.keySet()));
+        String sheet = parts.get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains("<row><c><v>12</v></c><c><v>19.99</v></c></row>"));
+        assertTrue(sheet.contains("<t xml:space=\"preserve\">&lt;Tom &amp; Jerry&gt;</t></is></c><c/></row>"));
+        assertTrue(sheet.endsWith("</sheetData></worksheet>"));
+    }
+
+    @Test
+    void xlsx_LeavesTheStreamOpen() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RowWriter writer = ExportFormat.XLSX.open(out);
+        writer.close();
+        int size = out.size();
+
+        out.write('x');
+
+        assertEquals(size + 1, out.size());
+    }
+
+    private static String csv(Object[]... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RowWriter writer = ExportFormat.CSV.open(out)) {
+            for (Object[] row : rows) {
+                writer.writeRow(row);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws IOException {
+        Map<String, String> parts = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,112 @@
+package com.artists_heaven.language;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.pemistahl.lingua.api.LanguageDetector;
+
+/**
+ * Per-rating language detection latency: the shared service (stopword fast
+ * path, then low accuracy Lingua) against the previous high accuracy detector.
+ * Before the JMH run, {@link #main(String[])} prints the time and resident
+ * memory needed to build each detector. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.artists_heaven.language.LanguageDetectionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class LanguageDetectionBenchmark {
+
+    private static final String[] COMMENTS = {
+            "La camiseta es de muy buena calidad y me llegó en dos días",
+            "The hoodie fits well and the print is great",
+            "Muy bonita",
+            "Love it",
+            "Qualité parfaite, je recommande",
+            "Das T-Shirt ist wirklich schön",
+            "Bellissima felpa, arrivata in tempo",
+            "Talla perfecta, repetiré seguro con la próxima colección"
+    };
+
+    @Param({ "service", "highAccuracy" })
+    private String mode;
+
+    private LanguageDetectionService service;
+
+    private LanguageDetector highAccuracyDetector;
+
+    @Setup
+    public void setUp() {
+        if ("service".equals(mode)) {
+            service = new LanguageDetectionService(true, false);
+            service.getDetector();
+        } else {
+            highAccuracyDetector = LanguageDetectionService.buildDetector(false);
+        }
+    }
+
+    @Benchmark
+    public int detectComments() {
+        int length = 0;
+        for (String comment : COMMENTS) {
+            String code = service != null ? service.detectLanguageCode(comment)
+                    : highAccuracyDetector.detectLanguageOf(comment).getIsoCode639_1().toString();
+            length += code.length();
+        }
+        return length;
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        reportStartup("low accuracy", true);
+        reportStartup("high accuracy", false);
+        new Runner(new OptionsBuilder().include(LanguageDetectionBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static void reportStartup(String label, boolean lowAccuracy) throws IOException {
+        System.gc();
+        long rssBefore = residentKb();
+        long start = System.nanoTime();
+        LanguageDetector detector = LanguageDetectionService.buildDetector(lowAccuracy);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.gc();
+        long rssAfter = residentKb();
+        System.out.printf("%s detector: built in %d ms, resident memory +%d MB%n", label, elapsedMs,
+                (rssAfter - rssBefore) / 1024);
+        detector.unloadLanguageModels();
+    }
+
+    // VmRSS from /proc on Linux; falls back to the used heap elsewhere
+    private static long residentKb() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (Files.exists(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / 1024;
+    }
+}
@@ -0,0 +1,48 @@
+package com.artists_heaven.language;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LanguageDetectionServiceTest {
+
+    @Test
+    void detectLanguageCode_spanishAndEnglishUseStopwordsWithoutLoadingModels() {
+        LanguageDetectionService service = new LanguageDetectionService(true, false);
+
+        assertEquals("es", service.detectLanguageCode("La camiseta es de muy buena calidad y me llegó en dos días"));
+        assertEquals("en", service.detectLanguageCode("The shirt is really nice and it was delivered on time"));
+        assertFalse(service.isLoaded());
+    }
+
+    @Test
+    void detectLanguageCode_otherLanguagesUseLingua() {
+        LanguageDetectionService service = new LanguageDetectionService(true, false);
+
+        assertEquals("de", service.detectLanguageCode("Das T-Shirt ist wirklich schön und sehr bequem"));
+        assertTrue(service.isLoaded());
+    }
+
+    @Test
+    void detectLanguageCode_blankText() {
+        LanguageDetectionService service = new LanguageDetectionService(true, false);
+
+        assertEquals("none", service.detectLanguageCode("  "));
+        assertEquals("none", service.detectLanguageCode(null));
+    }
+
+    @Test
+    void getDetector_isBuiltOnce() throws Exception {
+        LanguageDetectionService service = new LanguageDetectionService(true, false);
+
+        Thread other = new Thread(service::getDetector);
+        other.start();
+        var detector = service.getDetector();
+        other.join();
+
+        assertSame(detector, service.getDetector());
+    }
+}
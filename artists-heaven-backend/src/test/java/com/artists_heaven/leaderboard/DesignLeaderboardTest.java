@@ -0,0 +1,62 @@
+package com.artists_heaven.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DesignLeaderboardTest {
+
+    @Test
+    void rankAndTop_CountTiesByOldestDesign() {
+        DesignLeaderboard board = new DesignLeaderboard(YearMonth.of(2025, 3));
+        board.put(1L, 3);
+        board.put(2L, 5);
+        board.put(3L, 3);
+        board.put(4L, 0);
+
+        assertEquals(1, board.rankOf(2L));
+        assertEquals(2, board.rankOf(1L));
+        assertEquals(3, board.rankOf(3L));
+        assertEquals(4, board.rankOf(4L));
+        assertEquals(0, board.rankOf(99L));
+        assertEquals(List.of(new DesignStanding(3L, 3), new DesignStanding(4L, 0)), board.top(2, 5));
+        assertTrue(board.top(4, 5).isEmpty());
+    }
+
+    @Test
+    void rankAndTop_MatchTheSortedStandingsAfterVotesAndRemovals() {
+        Random random = new Random(42);
+        DesignLeaderboard board = new DesignLeaderboard(YearMonth.of(2025, 3));
+        // Vote counts past the initial histogram capacity make it grow
+        for (long id = 1; id <= 300; id++) {
+            board.put(id, random.nextInt(200));
+        }
+        for (int i = 0; i < 2000; i++) {
+            board.addVotes(1 + random.nextInt(300), 1 + random.nextInt(3));
+        }
+        for (long id = 1; id <= 300; id += 7) {
+            board.remove(id);
+        }
+
+        List<DesignStanding> expected = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            if (board.getStanding(id) != null) {
+                expected.add(board.getStanding(id));
+            }
+        }
+        expected.sort(DesignStanding.RANKING);
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1L, board.rankOf(expected.get(i).getProductId()));
+        }
+        for (int offset = 0; offset <= expected.size(); offset += 13) {
+            assertEquals(expected.subList(offset, Math.min(offset + 10, expected.size())), board.top(offset, 10));
+        }
+    }
+}
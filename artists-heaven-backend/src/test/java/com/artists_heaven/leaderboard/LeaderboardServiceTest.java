@@ -0,0 +1,203 @@
+package com.artists_heaven.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.entities.user.User;
+import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.page.PageResponse;
+import com.artists_heaven.productVote.ProductVoteRepository;
+import com.artists_heaven.userProduct.UserProduct;
+import com.artists_heaven.userProduct.UserProductRepository;
+
+class LeaderboardServiceTest {
+
+    @Mock
+    private LeaderboardArchiveRepository leaderboardArchiveRepository;
+
+    @Mock
+    private UserProductRepository userProductRepository;
+
+    @Mock
+    private ProductVoteRepository productVoteRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        // Already in leaderboard order, as returned by the query
+        when(leaderboardArchiveRepository.findStandings(any(), any())).thenReturn(List.of(
+                new DesignVotesDTO(2L, "Waves", "leo", 5L),
+                new DesignVotesDTO(1L, "Skyline", "ana", 3L),
+                new DesignVotesDTO(3L, "Roots", "eva", 3L)));
+        leaderboardService = new LeaderboardService(leaderboardArchiveRepository, userProductRepository,
+                productVoteRepository, transactionTemplate, Duration.ofHours(1));
+        leaderboardService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderboardService.shutdown();
+    }
+
+    @Test
+    void getRank_OrdersByVotesThenOldestDesign() {
+        assertEquals(1, leaderboardService.getRank(2L).getRank());
+        assertEquals(2, leaderboardService.getRank(1L).getRank());
+        assertEquals(3, leaderboardService.getRank(3L).getRank());
+        assertEquals(3, leaderboardService.getRank(3L).getTotalDesigns());
+    }
+
+    @Test
+    void recordVote_MovesDesignUp() {
+        leaderboardService.recordVote(3L);
+        leaderboardService.recordVote(3L);
+        leaderboardService.recordVote(3L);
+
+        LeaderboardRankDTO rank = leaderboardService.getRank(3L);
+        assertEquals(1, rank.getRank());
+        assertEquals(6, rank.getVotes());
+        assertEquals(2, leaderboardService.getRank(2L).getRank());
+    }
+
+    @Test
+    void recordVote_IgnoresDesignsNotOnTheBoard() {
+        leaderboardService.recordVote(99L);
+
+        assertThrows(AppExceptions.ResourceNotFoundException.class, () -> leaderboardService.getRank(99L));
+    }
+
+    @Test
+    void getTop_ReturnsRankedPageWithDetailsAndUserVotes() {
+        when(userProductRepository.findByIdIn(List.of(2L, 1L))).thenReturn(List.of(design(1L, "Skyline"),
+                design(2L, "Waves")));
+        when(productVoteRepository.findVotedProductIds(7L, List.of(2L, 1L))).thenReturn(Set.of(1L));
+
+        PageResponse<LeaderboardEntryDTO> page = leaderboardService.getTop(0, 2, 7L);
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(1, page.getContent().get(0).getRank());
+        assertEquals("Waves", page.getContent().get(0).getName());
+        assertFalse(page.getContent().get(0).isVotedByUser());
+        assertEquals(2, page.getContent().get(1).getRank());
+        assertTrue(page.getContent().get(1).isVotedByUser());
+        assertEquals(3, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        assertFalse(page.isLast());
+    }
+
+    @Test
+    void getTop_AnonymousUserSkipsVoteLookup() {
+        when(userProductRepository.findByIdIn(List.of(3L))).thenReturn(List.of(design(3L, "Roots")));
+
+        PageResponse<LeaderboardEntryDTO> page = leaderboardService.getTop(1, 2, null);
+
+        assertEquals(3, page.getContent().get(0).getRank());
+        assertEquals("Roots", page.getContent().get(0).getName());
+        assertTrue(page.isLast());
+        verify(productVoteRepository, never()).findVotedProductIds(any(), anyList());
+    }
+
+    @Test
+    void designAcceptedAndRemoved_UpdateTheBoard() {
+        UserProduct product = design(4L, "Late entry");
+        product.setCreatedAt(new Date());
+        List<Object[]> votes = new ArrayList<>();
+        votes.add(new Object[] { 4L, 10L });
+        when(productVoteRepository.countVotesForProducts(List.of(4L))).thenReturn(votes);
+
+        leaderboardService.designAccepted(product);
+        assertEquals(1, leaderboardService.getRank(4L).getRank());
+
+        leaderboardService.designRemoved(4L);
+        assertThrows(AppExceptions.ResourceNotFoundException.class, () -> leaderboardService.getRank(4L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rollover_ArchivesClosedMonthFromDatabaseStandings() {
+        YearMonth current = YearMonth.now();
+        String closedMonth = current.toString();
+        when(leaderboardArchiveRepository.existsByMonth(closedMonth)).thenReturn(false);
+
+        assertFalse(leaderboardService.rollover(current));
+        assertTrue(leaderboardService.rollover(current.plusMonths(1)));
+
+        ArgumentCaptor<List<LeaderboardArchive>> captor = ArgumentCaptor.forClass(List.class);
+        verify(leaderboardArchiveRepository, atLeastOnce()).saveAll(captor.capture());
+        List<LeaderboardArchive> rows = captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .filter(row -> row.getMonth().equals(closedMonth))
+                .toList();
+        assertEquals(3, rows.size());
+        assertEquals(2L, rows.get(0).getProductId());
+        assertEquals(1, rows.get(0).getRank());
+        assertEquals(5, rows.get(0).getVotes());
+        assertEquals(3, rows.get(2).getRank());
+    }
+
+    @Test
+    void archive_SkipsMonthAlreadyArchived() {
+        when(leaderboardArchiveRepository.existsByMonth("2025-09")).thenReturn(true);
+
+        assertEquals(0, leaderboardService.archive(YearMonth.of(2025, 9)));
+    }
+
+    @Test
+    void concurrentVotes_AreAllCounted() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 4000; i++) {
+            long productId = 1 + i % 3;
+            pool.submit(() -> leaderboardService.recordVote(productId));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        long total = leaderboardService.getRank(1L).getVotes() + leaderboardService.getRank(2L).getVotes()
+                + leaderboardService.getRank(3L).getVotes();
+        assertEquals(4000 + 11, total);
+    }
+
+    private UserProduct design(Long id, String name) {
+        User owner = new User();
+        owner.setUsername("owner" + id);
+        UserProduct product = new UserProduct();
+        product.setId(id);
+        product.setName(name);
+        product.setOwner(owner);
+        return product;
+    }
+}
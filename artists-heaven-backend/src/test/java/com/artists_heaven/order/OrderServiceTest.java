@@ -33,6 +33,7 @@ import com.artists_heaven.entities.user.User;
 import com.artists_heaven.entities.user.UserRole;
 import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.exception.AppExceptions.ResourceNotFoundException;
+import com.artists_heaven.sales.SalesRollupService;
 
 class OrderServiceTest {
 
@@ -45,6 +46,9 @@ class OrderServiceTest {
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private SalesRollupService salesRollupService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -160,23 +164,22 @@ class OrderServiceTest {
     @Test
     void testGetNumOrderPerYear() {
         int year = 2025;
-        Order order = new Order();
-        List<Order> orders = List.of(order);
-
-        when(orderRepository.getNumOrdersPerYear(year)).thenReturn(orders.size());
+        when(salesRollupService.countOrders(year)).thenReturn(1);
         Integer result = orderService.getNumOrdersPerYear(year);
 
         assertNotNull(result);
+        assertEquals(1, result);
     }
 
     @Test
     void testGgetIncomePerYear() {
         int year = 2025;
 
-        when(orderRepository.getIncomePerYear(year)).thenReturn(10.0);
+        when(salesRollupService.sumRevenue(year)).thenReturn(10.0);
         Double result = orderService.getIncomePerYear(year);
 
         assertNotNull(result);
+        assertEquals(10.0, result);
     }
 
     @Test
@@ -0,0 +1,119 @@
+package com.artists_heaven.page;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class PageCountServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger exactCounts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void count_ExactAlwaysRunsTheQuery() {
+        PageCountService service = new PageCountService(jdbcTemplate, Duration.ofMinutes(1));
+
+        assertEquals(7, service.count(CountMode.EXACT, "orders", null, this::exactCount));
+        assertEquals(7, service.count(CountMode.EXACT, "orders", null, this::exactCount));
+
+        assertEquals(2, exactCounts.get());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void count_NoneSkipsTheQuery() {
+        PageCountService service = new PageCountService(jdbcTemplate, Duration.ofMinutes(1));
+
+        assertEquals(PageCountService.UNKNOWN, service.count(CountMode.NONE, "orders", "status:PAID",
+                this::exactCount));
+
+        assertEquals(0, exactCounts.get());
+    }
+
+    @Test
+    void count_EstimatedUnfilteredReadsThePlannerEstimate() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Float.class), eq("orders"))).thenReturn(List.of(125000.0f));
+        PageCountService service = new PageCountService(jdbcTemplate, Duration.ofMinutes(1));
+
+        assertEquals(125000, service.count(CountMode.ESTIMATED, "orders", null, this::exactCount));
+        assertEquals(0, exactCounts.get());
+    }
+
+    @Test
+    void count_EstimatedFallsBackToExactForUnanalyzedTables() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Float.class), eq("orders"))).thenReturn(List.of(-1.0f));
+        PageCountService service = new PageCountService(jdbcTemplate, Duration.ofMinutes(1));
+
+        assertEquals(7, service.count(CountMode.ESTIMATED, "orders", null, this::exactCount));
+    }
+
+    @Test
+    void count_EstimatedFilteredCountIsCachedPerFilter() {
+        PageCountService service = new PageCountService(jdbcTemplate, Duration.ofMinutes(1));
+
+        service.count(CountMode.ESTIMATED, "orders", "status:PAID", this::exactCount);
+        service.count(CountMode.ESTIMATED, "orders", "status:PAID", this::exactCount);
+        service.count(CountMode.ESTIMATED, "orders", "status:SENT", this::exactCount);
+
+        assertEquals(2, exactCounts.get());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void count_EstimatedFilteredCountExpires() {
+        PageCountService service = new PageCountService(jdbcTemplate, Duration.ZERO);
+
+        service.count(CountMode.ESTIMATED, "orders", "status:PAID", this::exactCount);
+        service.count(CountMode.ESTIMATED, "orders", "status:PAID", this::exactCount);
+
+        assertEquals(2, exactCounts.get());
+    }
+
+    @Test
+    void pageResponse_UnknownTotalOnlyTellsWhetherMoreFollow() {
+        PageResponse<String> response = new PageResponse<>(new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2),
+                true), PageCountService.UNKNOWN, CountMode.NONE);
+
+        assertEquals(-1, response.getTotalElements());
+        assertEquals(-1, response.getTotalPages());
+        assertFalse(response.isLast());
+    }
+
+    @Test
+    void pageResponse_StaleEstimateCoversTheRowsSeen() {
+        PageResponse<String> response = new PageResponse<>(new SliceImpl<>(List.of("e", "f"), PageRequest.of(2, 2),
+                false), 3, CountMode.ESTIMATED);
+
+        assertEquals(6, response.getTotalElements());
+        assertEquals(3, response.getTotalPages());
+        assertTrue(response.isLast());
+    }
+
+    private long exactCount() {
+        exactCounts.incrementAndGet();
+        return 7;
+    }
+}
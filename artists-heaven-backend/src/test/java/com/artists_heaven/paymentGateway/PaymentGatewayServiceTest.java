@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication;
@@ -30,6 +31,7 @@ import com.artists_heaven.product.Product;
 import com.artists_heaven.product.ProductColor;
 import com.artists_heaven.product.ProductService;
 import com.artists_heaven.product.Section;
+import com.artists_heaven.sales.SalesRollupService;
 import com.artists_heaven.shopping_cart.CartItemDTO;
 import com.artists_heaven.shopping_cart.ProductItemDTO;
 import com.artists_heaven.shopping_cart.ShoppingCartService;
@@ -54,6 +56,12 @@ class PaymentGatewayServiceTest {
     @Mock
     private EmailSenderService emailSenderService;
 
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PaymentGatewayService paymentGatewayService;
 
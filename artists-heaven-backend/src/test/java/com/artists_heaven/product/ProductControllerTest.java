@@ -12,6 +12,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.exception.GlobalExceptionHandler;
 import com.artists_heaven.images.ImageServingUtil;
+import com.artists_heaven.page.CountMode;
 import com.artists_heaven.page.PageResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,7 +65,7 @@ class ProductControllerTest {
         void testGetAllProducts_success() throws Exception {
 
                 PageResponse<ProductDTO> pageResponse = new PageResponse<>(List.of(productDTO), 1, 0, 1, 1, true);
-                when(productService.getProducts(0, 6, null, null, null)).thenReturn(pageResponse);
+                when(productService.getProducts(0, 6, null, null, null, CountMode.EXACT)).thenReturn(pageResponse);
 
                 mockMvc.perform(get("/api/product/allProducts")
                                 .param("page", "0")
@@ -75,7 +76,7 @@ class ProductControllerTest {
 
         @Test
         void testGetAllProducts_error() throws Exception {
-                when(productService.getProducts(anyInt(), anyInt(), any(), any(), any()))
+                when(productService.getProducts(anyInt(), anyInt(), any(), any(), any(), any()))
                                 .thenThrow(new RuntimeException("Unexpected error"));
 
                 mockMvc.perform(get("/api/product/allProducts"))
@@ -37,12 +37,14 @@ import org.springframework.web.server.ResponseStatusException;
 
 import com.artists_heaven.admin.CategoryDTO;
 import com.artists_heaven.admin.CollectionDTO;
+import com.artists_heaven.analytics.AnalyticsMetric;
+import com.artists_heaven.analytics.AnalyticsProjector;
 import com.artists_heaven.exception.AppExceptions;
 import com.artists_heaven.exception.AppExceptions.BadRequestException;
 import com.artists_heaven.exception.AppExceptions.InvalidInputException;
 import com.artists_heaven.exception.AppExceptions.ResourceNotFoundException;
-import com.artists_heaven.order.Order;
-import com.artists_heaven.order.OrderItem;
+import com.artists_heaven.page.CountMode;
+import com.artists_heaven.page.PageCountService;
 import com.artists_heaven.page.PageResponse;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -73,6 +75,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 
@@ -93,6 +97,12 @@ class ProductServiceTest {
     @Mock
     private MultipartFile mockFile;
 
+    @Mock
+    private PageCountService pageCountService;
+
+    @Mock
+    private AnalyticsProjector analyticsProjector;
+
     @InjectMocks
     private ProductService productService;
 
@@ -1535,6 +1545,25 @@ class ProductServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testFindArtistIds() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, 7L });
+        when(productRepository.findArtistIds(Set.of(1L, 2L))).thenReturn(rows);
+
+        Map<Long, Long> result = productService.findArtistIds(Set.of(1L, 2L));
+
+        assertEquals(Map.of(1L, 7L), result);
+    }
+
+    @Test
+    void testFindArtistIdsWithoutProducts() {
+        Map<Long, Long> result = productService.findArtistIds(Set.of());
+
+        assertTrue(result.isEmpty());
+        verify(productRepository, never()).findArtistIds(any());
+    }
+
     @Test
     void testFindAllProducts() {
         List<Product> mockProducts = List.of(new Product(), new Product());
@@ -1582,19 +1611,8 @@ class ProductServiceTest {
     @Test
     void getTopSellingProduct_HappyPath_ReturnsCorrectProductInfo() {
         // Arrange
-        OrderItem item1 = new OrderItem();
-        item1.setName("Camisa");
-        OrderItem item2 = new OrderItem();
-        item2.setName("Pantalon");
-        OrderItem item3 = new OrderItem();
-        item3.setName("Camiseta");
-
-        Order order1 = new Order();
-        order1.setItems(List.of(item1, item2));
-        Order order2 = new Order();
-        order2.setItems(List.of(item3));
-
-        when(productRepository.getOrders()).thenReturn(List.of(order1, order2));
+        when(analyticsProjector.getTotals(AnalyticsMetric.PRODUCT_SOLD))
+                .thenReturn(Map.of("Camisa", 7L, "Pantalon", 3L, "Camiseta", 5L));
 
         Product topProduct = new Product();
         topProduct.setName("Camisa");
@@ -1610,54 +1628,33 @@ class ProductServiceTest {
         assertEquals("Camisa", result.get("nombre"));
         assertEquals("Camisa de algodón", result.get("descripcion"));
 
-        verify(productRepository, times(1)).getOrders();
         verify(productRepository, times(1)).findByNameIgnoreCase("Camisa");
     }
 
     @Test
-    void getTopSellingProduct_EmptyOrders_ThrowsException() {
-        when(productRepository.getOrders()).thenReturn(Collections.emptyList());
+    void getTopSellingProduct_NoSales_ReturnsEmptyMap() {
+        when(analyticsProjector.getTotals(AnalyticsMetric.PRODUCT_SOLD)).thenReturn(Collections.emptyMap());
 
-        assertThrows(NullPointerException.class, () -> productService.getTopSellingProduct());
+        assertTrue(productService.getTopSellingProduct().isEmpty());
 
-        verify(productRepository, times(1)).getOrders();
         verify(productRepository, never()).findByNameIgnoreCase(anyString());
     }
 
     @Test
-    void getTopSellingProduct_ProductNotFound_ThrowsException() {
-        OrderItem item1 = new OrderItem();
-        item1.setName("Camisa");
-        Order order1 = new Order();
-        order1.setItems(List.of(item1));
-
-        when(productRepository.getOrders()).thenReturn(List.of(order1));
+    void getTopSellingProduct_ProductNotFound_ReturnsEmptyMap() {
+        when(analyticsProjector.getTotals(AnalyticsMetric.PRODUCT_SOLD)).thenReturn(Map.of("Camisa", 1L));
         when(productRepository.findByNameIgnoreCase("Camisa")).thenReturn(null);
 
-        assertThrows(NullPointerException.class, () -> productService.getTopSellingProduct());
+        assertTrue(productService.getTopSellingProduct().isEmpty());
 
-        verify(productRepository, times(1)).getOrders();
         verify(productRepository, times(1)).findByNameIgnoreCase("Camisa");
     }
 
     @Test
-    void getTopSellingProduct_MultipleItems_TakesMostFrequent() {
+    void getTopSellingProduct_Tie_TakesFirstName() {
         // Arrange
-        OrderItem item1 = new OrderItem();
-        item1.setName("Camisa");
-        OrderItem item2 = new OrderItem();
-        item2.setName("Pantalon");
-        OrderItem item3 = new OrderItem();
-        item3.setName("Camiseta");
-        OrderItem item4 = new OrderItem();
-        item4.setName("Gorra");
-
-        Order order1 = new Order();
-        order1.setItems(List.of(item1, item2));
-        Order order2 = new Order();
-        order2.setItems(List.of(item3, item4));
-
-        when(productRepository.getOrders()).thenReturn(List.of(order1, order2));
+        when(analyticsProjector.getTotals(AnalyticsMetric.PRODUCT_SOLD))
+                .thenReturn(Map.of("Pantalon", 2L, "Gorra", 2L, "Camisa", 2L, "Camiseta", 1L));
 
         Product topProduct = new Product();
         topProduct.setName("Camisa");
@@ -1673,7 +1670,6 @@ class ProductServiceTest {
         assertEquals("Camisa", result.get("nombre"));
         assertEquals("Camisa premium", result.get("descripcion"));
 
-        verify(productRepository, times(1)).getOrders();
         verify(productRepository, times(1)).findByNameIgnoreCase("Camisa");
     }
 
@@ -1931,7 +1927,7 @@ class ProductServiceTest {
         when(productRepository.findAll()).thenReturn(allProducts);
 
         // Act
-        PageResponse<ProductDTO> response = productService.getProducts(0, -1, null, null, null);
+        PageResponse<ProductDTO> response = productService.getProducts(0, -1, null, null, null, CountMode.EXACT);
 
         // Assert
         assertNotNull(response);
@@ -1947,10 +1943,9 @@ class ProductServiceTest {
 
     @Test
     void testGetProducts_AllNullParameters() {
-        Page<Product> pageMock = new PageImpl<>(List.of(createProduct("A", "desc", true, false)));
-        when(productRepository.findAll(ArgumentMatchers.<Specification<Product>>any(), any(Pageable.class)))
-                .thenReturn(pageMock);
-        PageResponse<ProductDTO> response = productService.getProducts(0, 10, null, null, null);
+        Window<Product> window = Window.from(List.of(createProduct("A", "desc", true, false)), ScrollPosition::offset);
+        when(productRepository.findBy(ArgumentMatchers.<Specification<Product>>any(), any())).thenReturn(window);
+        PageResponse<ProductDTO> response = productService.getProducts(0, 10, null, null, null, CountMode.EXACT);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
@@ -1958,11 +1953,10 @@ class ProductServiceTest {
 
     @Test
     void testGetProducts_WithSearch() {
-        Page<Product> pageMock = new PageImpl<>(List.of(createProduct("Test", "desc", true, false)));
-        when(productRepository.findAll(ArgumentMatchers.<Specification<Product>>any(), any(Pageable.class)))
-                .thenReturn(pageMock);
+        Window<Product> window = Window.from(List.of(createProduct("Test", "desc", true, false)), ScrollPosition::offset);
+        when(productRepository.findBy(ArgumentMatchers.<Specification<Product>>any(), any())).thenReturn(window);
 
-        PageResponse<ProductDTO> response = productService.getProducts(0, 10, "Test", null, null);
+        PageResponse<ProductDTO> response = productService.getProducts(0, 10, "Test", null, null, CountMode.EXACT);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
@@ -1970,11 +1964,10 @@ class ProductServiceTest {
 
     @Test
     void testGetProducts_WithAvailable() {
-        Page<Product> pageMock = new PageImpl<>(List.of(createProduct("A", "desc", true, false)));
-        when(productRepository.findAll(ArgumentMatchers.<Specification<Product>>any(), any(Pageable.class)))
-                .thenReturn(pageMock);
+        Window<Product> window = Window.from(List.of(createProduct("A", "desc", true, false)), ScrollPosition::offset);
+        when(productRepository.findBy(ArgumentMatchers.<Specification<Product>>any(), any())).thenReturn(window);
 
-        PageResponse<ProductDTO> response = productService.getProducts(0, 10, null, true, null);
+        PageResponse<ProductDTO> response = productService.getProducts(0, 10, null, true, null, CountMode.EXACT);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
@@ -1982,11 +1975,10 @@ class ProductServiceTest {
 
     @Test
     void testGetProducts_WithPromoted() {
-        Page<Product> pageMock = new PageImpl<>(List.of(createProduct("A", "desc", true, true)));
-        when(productRepository.findAll(ArgumentMatchers.<Specification<Product>>any(), any(Pageable.class)))
-                .thenReturn(pageMock);
+        Window<Product> window = Window.from(List.of(createProduct("A", "desc", true, true)), ScrollPosition::offset);
+        when(productRepository.findBy(ArgumentMatchers.<Specification<Product>>any(), any())).thenReturn(window);
 
-        PageResponse<ProductDTO> response = productService.getProducts(0, 10, null, null, true);
+        PageResponse<ProductDTO> response = productService.getProducts(0, 10, null, null, true, CountMode.EXACT);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
@@ -1994,16 +1986,40 @@ class ProductServiceTest {
 
     @Test
     void testGetProducts_AllFilters() {
-        Page<Product> pageMock = new PageImpl<>(List.of(createProduct("Test", "desc", true, true)));
-        when(productRepository.findAll(ArgumentMatchers.<Specification<Product>>any(), any(Pageable.class)))
-                .thenReturn(pageMock);
+        Window<Product> window = Window.from(List.of(createProduct("Test", "desc", true, true)), ScrollPosition::offset);
+        when(productRepository.findBy(ArgumentMatchers.<Specification<Product>>any(), any())).thenReturn(window);
 
-        PageResponse<ProductDTO> response = productService.getProducts(0, 10, "Test", true, true);
+        PageResponse<ProductDTO> response = productService.getProducts(0, 10, "Test", true, true, CountMode.EXACT);
 
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
     }
 
+    @Test
+    void testGetProducts_EstimatedUnfilteredCountHasNoFilterKey() {
+        Window<Product> window = Window.from(List.of(createProduct("A", "desc", true, false)), ScrollPosition::offset,
+                true);
+        when(productRepository.findBy(ArgumentMatchers.<Specification<Product>>any(), any())).thenReturn(window);
+        when(pageCountService.count(eq(CountMode.ESTIMATED), eq("product"), isNull(), any())).thenReturn(40L);
+
+        PageResponse<ProductDTO> response = productService.getProducts(1, 10, null, null, null, CountMode.ESTIMATED);
+
+        assertEquals(40, response.getTotalElements());
+        assertEquals(4, response.getTotalPages());
+        assertEquals(CountMode.ESTIMATED, response.getCountMode());
+        assertFalse(response.isLast());
+    }
+
+    @Test
+    void testGetProducts_FilteredCountIsKeyedByFilter() {
+        Window<Product> window = Window.from(List.of(createProduct("A", "desc", true, true)), ScrollPosition::offset);
+        when(productRepository.findBy(ArgumentMatchers.<Specification<Product>>any(), any())).thenReturn(window);
+
+        productService.getProducts(0, 10, "Test", null, true, CountMode.ESTIMATED);
+
+        verify(pageCountService).count(eq(CountMode.ESTIMATED), eq("product"), eq("Test:null:true"), any());
+    }
+
     @Test
     void test_findHoodiesProduct() {
         Product product = new Product();
@@ -1,9 +1,12 @@
 package com.artists_heaven.productVote;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Date;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -11,11 +14,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
 
-import com.artists_heaven.entities.user.User;
-import com.artists_heaven.entities.user.UserRepository;
 import com.artists_heaven.exception.AppExceptions;
-import com.artists_heaven.userProduct.UserProduct;
+import com.artists_heaven.leaderboard.LeaderboardService;
 import com.artists_heaven.userProduct.UserProductRepository;
 
 class ProductVoteServiceTest {
@@ -27,38 +29,27 @@ class ProductVoteServiceTest {
     private UserProductRepository userProductRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private VoteCounterService voteCounterService;
 
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private ProductVoteService productVoteService;
 
-    private User user;
-    private User owner;
-    private UserProduct product;
-
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-
-        user = new User();
-        user.setId(1L);
-
-        owner = new User();
-        owner.setId(2L);
-        owner.setPoints(10);
-
-        product = new UserProduct();
-        product.setId(100L);
-        product.setOwner(owner);
-        product.setNumVotes(0);
     }
 
     @Test
     void votePositive_userNotFound_throwsException() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userProductRepository.findOwnerIdById(100L)).thenReturn(Optional.of(2L));
+        when(productVoteRepository.insertIfAbsent(eq(1L), eq(100L), any(Date.class)))
+                .thenThrow(new DataIntegrityViolationException("fk_user"));
         when(messageSource.getMessage("user.NotFound", null, Locale.ENGLISH)).thenReturn("User not found");
 
         AppExceptions.ResourceNotFoundException ex = assertThrows(
@@ -66,12 +57,12 @@ class ProductVoteServiceTest {
             () -> productVoteService.votePositive(100L, 1L, "en")
         );
         assertEquals("User not found", ex.getMessage());
+        verify(voteCounterService, never()).recordVote(anyLong(), anyLong());
     }
 
     @Test
     void votePositive_productNotFound_throwsException() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userProductRepository.findById(100L)).thenReturn(Optional.empty());
+        when(userProductRepository.findOwnerIdById(100L)).thenReturn(Optional.empty());
         when(messageSource.getMessage("product.not_found", null, Locale.ENGLISH)).thenReturn("Product not found");
 
         AppExceptions.ResourceNotFoundException ex = assertThrows(
@@ -83,9 +74,7 @@ class ProductVoteServiceTest {
 
     @Test
     void votePositive_voteOwnProduct_throwsException() {
-        product.setOwner(user); // mismo usuario
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userProductRepository.findById(100L)).thenReturn(Optional.of(product));
+        when(userProductRepository.findOwnerIdById(100L)).thenReturn(Optional.of(1L)); // mismo usuario
         when(messageSource.getMessage("vote.ownProduct", null, Locale.ENGLISH)).thenReturn("Cannot vote own product");
 
         AppExceptions.BadRequestException ex = assertThrows(
@@ -93,13 +82,13 @@ class ProductVoteServiceTest {
             () -> productVoteService.votePositive(100L, 1L, "en")
         );
         assertEquals("Cannot vote own product", ex.getMessage());
+        verify(productVoteRepository, never()).insertIfAbsent(anyLong(), anyLong(), any());
     }
 
     @Test
     void votePositive_alreadyVoted_throwsException() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userProductRepository.findById(100L)).thenReturn(Optional.of(product));
-        when(productVoteRepository.existsByUserAndProduct(user, product)).thenReturn(true);
+        when(userProductRepository.findOwnerIdById(100L)).thenReturn(Optional.of(2L));
+        when(productVoteRepository.insertIfAbsent(eq(1L), eq(100L), any(Date.class))).thenReturn(null);
         when(messageSource.getMessage("vote.alreadyVote", null, Locale.ENGLISH)).thenReturn("Already voted");
 
         AppExceptions.BadRequestException ex = assertThrows(
@@ -107,20 +96,19 @@ class ProductVoteServiceTest {
             () -> productVoteService.votePositive(100L, 1L, "en")
         );
         assertEquals("Already voted", ex.getMessage());
+        verify(voteCounterService, never()).recordVote(anyLong(), anyLong());
     }
 
     @Test
-    void votePositive_success_voteSavedAndPointsUpdated() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userProductRepository.findById(100L)).thenReturn(Optional.of(product));
-        when(productVoteRepository.existsByUserAndProduct(user, product)).thenReturn(false);
+    void votePositive_success_voteStoredAndCounted() {
+        when(userProductRepository.findOwnerIdById(100L)).thenReturn(Optional.of(2L));
+        when(productVoteRepository.insertIfAbsent(eq(1L), eq(100L), any(Date.class))).thenReturn(7L);
 
         productVoteService.votePositive(100L, 1L, "en");
 
-        verify(productVoteRepository, times(1)).save(any());
-        assertEquals(1, product.getNumVotes());
-        assertEquals(15, owner.getPoints()); // 10 + 5 puntos por voto
-        verify(userProductRepository, times(1)).save(product);
-        verify(userRepository, times(1)).save(owner);
+        verify(voteCounterService, times(1)).recordVote(100L, 2L);
+        verify(leaderboardService, times(1)).recordVote(100L);
+        verify(productVoteRepository, never()).save(any());
+        verify(userProductRepository, never()).save(any());
     }
 }
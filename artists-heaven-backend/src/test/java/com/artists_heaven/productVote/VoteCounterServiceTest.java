@@ -0,0 +1,173 @@
+package com.artists_heaven.productVote;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.entities.user.UserRepository;
+import com.artists_heaven.userProduct.UserProductRepository;
+
+class VoteCounterServiceTest {
+
+    @Mock
+    private UserProductRepository userProductRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private VoteCounterService voteCounterService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(userProductRepository.addVotes(anyLong(), anyLong())).thenReturn(1);
+        when(userRepository.addPoints(anyLong(), anyLong())).thenReturn(1);
+        voteCounterService = new VoteCounterService(userProductRepository, userRepository, transactionTemplate,
+                Duration.ofHours(1), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteCounterService.shutdown();
+    }
+
+    @Test
+    void flush_WritesOneUpdatePerProductAndOwner() {
+        voteCounterService.recordVote(10L, 2L);
+        voteCounterService.recordVote(10L, 2L);
+        voteCounterService.recordVote(10L, 2L);
+        voteCounterService.recordVote(11L, 2L);
+
+        int updated = voteCounterService.flush();
+
+        assertEquals(3, updated);
+        verify(userProductRepository).addVotes(10L, 3L);
+        verify(userProductRepository).addVotes(11L, 1L);
+        verify(userRepository).addPoints(2L, 20L);
+        assertEquals(0, voteCounterService.getPendingVotes(10L));
+        assertEquals(0, voteCounterService.getPendingPoints(2L));
+    }
+
+    @Test
+    void flush_NothingPendingWritesNothing() {
+        voteCounterService.recordVote(10L, 2L);
+        voteCounterService.flush();
+
+        assertEquals(0, voteCounterService.flush());
+        verify(userProductRepository, times(1)).addVotes(anyLong(), anyLong());
+    }
+
+    @Test
+    void flush_FailedBatchIsRetriedOnNextFlush() {
+        voteCounterService.recordVote(10L, 2L);
+        when(userProductRepository.addVotes(10L, 1L)).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> voteCounterService.flush());
+        assertEquals(1, voteCounterService.getPendingVotes(10L));
+        verify(userRepository, never()).addPoints(anyLong(), anyLong());
+
+        voteCounterService.recordVote(10L, 3L);
+        voteCounterService.flush();
+
+        verify(userProductRepository).addVotes(10L, 2L);
+        verify(userRepository).addPoints(2L, 5L);
+        verify(userRepository).addPoints(3L, 5L);
+    }
+
+    @Test
+    void recordVote_ConcurrentVotesAreNotLost() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    voteCounterService.recordVote(10L, 2L);
+                    if (i % 250 == 0) {
+                        voteCounterService.flush();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        voteCounterService.flush();
+
+        long votes = mockingDetails(userProductRepository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("addVotes"))
+                .mapToLong(invocation -> (Long) invocation.getArgument(1))
+                .sum();
+        assertEquals(8000, votes);
+    }
+
+    @Test
+    void flush_RemovesCountersThatStayedAtZero() {
+        voteCounterService.recordVote(10L, 2L);
+        voteCounterService.flush();
+        assertEquals(2, voteCounterService.getCounterCount());
+
+        voteCounterService.flush();
+
+        assertEquals(0, voteCounterService.getCounterCount());
+        voteCounterService.recordVote(10L, 2L);
+        voteCounterService.flush();
+        verify(userProductRepository, times(2)).addVotes(10L, 1L);
+    }
+
+    @Test
+    void recordVote_VotesRacingACounterRemovalAreNotLost() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long productId = t % 2;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    voteCounterService.recordVote(productId, 2L);
+                    // Flushing twice in a row lets counters reach zero and be removed
+                    if (i % 50 == 0) {
+                        voteCounterService.flush();
+                        voteCounterService.flush();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        voteCounterService.flush();
+
+        long votes = mockingDetails(userProductRepository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("addVotes"))
+                .mapToLong(invocation -> (Long) invocation.getArgument(1))
+                .sum();
+        assertEquals(16000, votes);
+    }
+}
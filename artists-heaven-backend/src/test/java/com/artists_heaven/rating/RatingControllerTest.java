@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
@@ -57,6 +58,31 @@ class RatingControllerTest {
                 .andExpect(jsonPath("$.data[0].comment").value("Great product"));
     }
 
+    @Test
+    void testGetProductRatingsPage() throws Exception {
+        RatingSummary summary = new RatingSummary();
+        summary.setRatingCount(2);
+        summary.setScoreSum(9);
+        summary.setStars4(1);
+        summary.setStars5(1);
+        RatingPageDTO page = new RatingPageDTO(
+                List.of(new RatingResponseDTO(7L, 5, "Great product", "ana", LocalDate.of(2025, 9, 29),
+                        RatingStatus.PUBLISHED)),
+                "5_7", true, new RatingSummaryDTO(summary));
+
+        when(ratingService.getProductRatingsPage(1L, RatingSort.SCORE, null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/rating/productReview/1/page")
+                .param("sort", "SCORE")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].username").value("ana"))
+                .andExpect(jsonPath("$.data.nextCursor").value("5_7"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.summary.average").value(4.5))
+                .andExpect(jsonPath("$.data.summary.histogram.5").value(1));
+    }
+
     @Test
     void testCreateNewRating_Success() throws Exception {
         RatingRequestDTO ratingRequestDTO = new RatingRequestDTO();
@@ -73,6 +99,7 @@ class RatingControllerTest {
 
         User user = new User();
         user.setId(1L);
+        user.setUsername("janedoe");
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.getPrincipal()).thenReturn(user);
@@ -88,7 +115,32 @@ class RatingControllerTest {
                 .content(new ObjectMapper().writeValueAsString(ratingRequestDTO)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.data.score").value(5))
-                .andExpect(jsonPath("$.data.comment").value("Great product"));
+                .andExpect(jsonPath("$.data.comment").value("Great product"))
+                .andExpect(jsonPath("$.data.username").value("janedoe"));
+    }
+
+    @Test
+    void testCreateNewRating_InvalidRequest() throws Exception {
+        RatingRequestDTO ratingRequestDTO = new RatingRequestDTO();
+        ratingRequestDTO.setProductId(1L);
+        ratingRequestDTO.setScore(6);
+
+        mockMvc.perform(post("/api/rating/new")
+                .contentType(MediaType.APPLICATION_JSON)
+                .param("lang", "es")
+                .content(new ObjectMapper().writeValueAsString(ratingRequestDTO)))
+                .andExpect(status().isBadRequest());
+
+        ratingRequestDTO.setScore(5);
+        ratingRequestDTO.setComment("a".repeat(256));
+
+        mockMvc.perform(post("/api/rating/new")
+                .contentType(MediaType.APPLICATION_JSON)
+                .param("lang", "es")
+                .content(new ObjectMapper().writeValueAsString(ratingRequestDTO)))
+                .andExpect(status().isBadRequest());
+
+        verify(ratingService, never()).createRating(any(), any(), any(), any(), any());
     }
 
     @AfterEach
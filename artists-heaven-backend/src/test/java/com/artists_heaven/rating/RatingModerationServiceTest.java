@@ -0,0 +1,196 @@
+package com.artists_heaven.rating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.chat.ChatResponseCache;
+import com.artists_heaven.language.LanguageDetectionService;
+
+class RatingModerationServiceTest {
+
+    private static final LocalDate RATED_ON = LocalDate.of(2025, 1, 2);
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private RatingSummaryRepository ratingSummaryRepository;
+
+    @Mock
+    private LanguageDetectionService languageDetectionService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ChatResponseCache chatResponseCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RatingModerationService moderationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(languageDetectionService.detectLanguageCode(anyString())).thenReturn("en");
+        moderationService = new RatingModerationService(ratingRepository, ratingSummaryRepository,
+                languageDetectionService, transactionTemplate, chatResponseCache, eventPublisher, 2, 10, 2,
+                Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        moderationService.shutdown();
+    }
+
+    @Test
+    void moderateBatch_publishesCleanCommentsAndUpdatesSummaries() {
+        when(ratingRepository.findPendingByIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new PendingRatingDTO(1L, 10L, 5, "Great hoodie", RATED_ON),
+                new PendingRatingDTO(2L, 10L, 3, null, RATED_ON),
+                new PendingRatingDTO(3L, 20L, 4, "Nice print", RATED_ON)));
+        when(ratingRepository.publishPending(Set.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L, 3L));
+
+        int published = moderationService.moderateBatch(List.of(1L, 2L, 3L));
+
+        assertEquals(3, published);
+        verify(ratingRepository, never()).moderate(any(), eq(RatingStatus.REJECTED));
+        verify(ratingSummaryRepository).addRatings(10L, 2, 8, 0, 0, 1, 0, 1);
+        verify(ratingSummaryRepository).addRatings(20L, 1, 4, 0, 0, 0, 1, 0);
+        verify(chatResponseCache).invalidateDynamic();
+    }
+
+    @Test
+    void moderateBatch_rejectsProfanity() {
+        when(ratingRepository.findPendingByIds(List.of(1L))).thenReturn(List.of(
+                new PendingRatingDTO(1L, 10L, 1, "This is shit", RATED_ON)));
+
+        int published = moderationService.moderateBatch(List.of(1L));
+
+        assertEquals(0, published);
+        verify(ratingRepository).moderate(List.of(1L), RatingStatus.REJECTED);
+        verify(ratingRepository, never()).publishPending(any());
+        verify(ratingSummaryRepository, never()).addRatings(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyLong());
+        verify(chatResponseCache, never()).invalidateDynamic();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void moderateBatch_skipsRatingsNoLongerPending() {
+        when(ratingRepository.findPendingByIds(List.of(1L))).thenReturn(List.of());
+
+        assertEquals(0, moderationService.moderateBatch(List.of(1L)));
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void moderateBatch_rejectsScoresOutOfRangeWithoutFailingTheBatch() {
+        when(ratingRepository.findPendingByIds(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+                new PendingRatingDTO(1L, 10L, 9, null, RATED_ON),
+                new PendingRatingDTO(2L, 10L, 0, null, RATED_ON),
+                new PendingRatingDTO(3L, 10L, null, null, RATED_ON),
+                new PendingRatingDTO(4L, 10L, 2, null, RATED_ON)));
+        when(ratingRepository.publishPending(Set.of(4L))).thenReturn(List.of(4L));
+
+        assertEquals(1, moderationService.moderateBatch(List.of(1L, 2L, 3L, 4L)));
+
+        verify(ratingRepository).moderate(List.of(1L, 2L, 3L), RatingStatus.REJECTED);
+        verify(ratingSummaryRepository).addRatings(10L, 1, 2, 0, 1, 0, 0, 0);
+    }
+
+    @Test
+    void moderateBatch_onlyCountsTheRatingsItPublished() {
+        when(ratingRepository.findPendingByIds(List.of(1L, 2L))).thenReturn(List.of(
+                new PendingRatingDTO(1L, 10L, 5, null, RATED_ON),
+                new PendingRatingDTO(2L, 10L, 3, null, RATED_ON)));
+        // Rating 1 was moderated by another worker between the read and the update
+        when(ratingRepository.publishPending(Set.of(1L, 2L))).thenReturn(List.of(2L));
+
+        assertEquals(1, moderationService.moderateBatch(List.of(1L, 2L)));
+
+        verify(ratingSummaryRepository).addRatings(10L, 1, 3, 0, 0, 1, 0, 0);
+        ArgumentCaptor<RatingPublishedEvent> event = ArgumentCaptor.forClass(RatingPublishedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(3, event.getValue().getScore());
+        assertEquals(RATED_ON, event.getValue().getCreatedAt());
+    }
+
+    @Test
+    void work_retriesAFailedBatchUpToTheLimit() throws InterruptedException {
+        when(ratingRepository.findIdsByStatus(RatingStatus.PENDING)).thenReturn(List.of(7L));
+        // The worker reuses its batch list, so attempts are counted when they happen
+        AtomicInteger attempts = new AtomicInteger();
+        when(ratingRepository.findPendingByIds(List.of(7L))).thenAnswer(invocation -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("database down");
+        });
+
+        moderationService.start();
+
+        // One attempt and two retries, then the rating is left pending
+        verify(ratingRepository, timeout(5000).times(3)).findPendingByIds(any());
+        Thread.sleep(200);
+        assertEquals(3, attempts.get());
+        assertEquals(0, moderationService.getQueuedCount());
+    }
+
+    @Test
+    void work_publishesOnceARetriedBatchSucceeds() {
+        when(ratingRepository.findIdsByStatus(RatingStatus.PENDING)).thenReturn(List.of(7L));
+        AtomicInteger attempts = new AtomicInteger();
+        when(ratingRepository.findPendingByIds(List.of(7L))).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database down");
+            }
+            return List.of(new PendingRatingDTO(7L, 10L, 4, null, RATED_ON));
+        });
+        when(ratingRepository.publishPending(Set.of(7L))).thenReturn(List.of(7L));
+
+        moderationService.start();
+
+        verify(ratingSummaryRepository, timeout(5000)).addRatings(10L, 1, 4, 0, 0, 0, 1, 0);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void start_queuesPendingRatingsAndWorkersModerateThem() {
+        when(ratingSummaryRepository.count()).thenReturn(0L);
+        when(ratingRepository.findIdsByStatus(RatingStatus.PENDING)).thenReturn(List.of(7L));
+        when(ratingRepository.findPendingByIds(List.of(7L))).thenReturn(List.of(
+                new PendingRatingDTO(7L, 10L, 4, "Good quality", RATED_ON)));
+
+        when(ratingRepository.publishPending(Set.of(7L))).thenReturn(List.of(7L));
+
+        moderationService.start();
+
+        verify(ratingSummaryRepository).rebuildAll();
+        verify(ratingRepository, timeout(5000)).publishPending(Set.of(7L));
+    }
+}
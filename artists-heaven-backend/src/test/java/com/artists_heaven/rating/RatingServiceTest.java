@@ -5,31 +5,35 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.junit.jupiter.api.Test;
 
 import com.artists_heaven.entities.user.User;
-import com.artists_heaven.entities.user.UserService;
+import com.artists_heaven.entities.user.UserRepository;
+import com.artists_heaven.exception.AppExceptions.BadRequestException;
 import com.artists_heaven.exception.AppExceptions.DuplicateActionException;
 import com.artists_heaven.exception.AppExceptions.ForbiddenActionException;
 import com.artists_heaven.exception.AppExceptions.ResourceNotFoundException;
-import com.artists_heaven.order.Order;
-import com.artists_heaven.order.OrderItem;
-import com.artists_heaven.order.OrderRepository;
+import com.artists_heaven.order.OrderItemRepository;
 import com.artists_heaven.product.Product;
 import com.artists_heaven.product.ProductRepository;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -45,14 +49,20 @@ class RatingServiceTest {
     private ProductRepository productRepository;
 
     @Mock
-    private UserService userService;
+    private UserRepository userRepository;
 
     @Mock
-    private OrderRepository orderRepository;
+    private OrderItemRepository orderItemRepository;
 
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private RatingModerationService ratingModerationService;
+
+    @Mock
+    private RatingSummaryRepository ratingSummaryRepository;
+
     @InjectMocks
     private RatingService ratingService;
 
@@ -66,7 +76,11 @@ class RatingServiceTest {
         Rating rating = new Rating();
         rating.setScore(5);
         rating.setComment("Great product");
-        List<Rating> ratings = List.of(rating);
+        rating.setStatus(RatingStatus.PUBLISHED);
+        Rating pending = new Rating();
+        pending.setScore(1);
+        pending.setComment("Awaiting moderation");
+        List<Rating> ratings = List.of(rating, pending);
 
         Product product = new Product();
         product.setRatings(ratings);
@@ -82,39 +96,113 @@ class RatingServiceTest {
     }
 
     @Test
-    void createRatingTest() {
-        Rating rating = new Rating();
-        rating.setScore(5);
-        rating.setComment("Great product");
+    void testGetProductRatingsPage_FirstPageReturnsCursorAndSummary() {
+        RatingSummary summary = new RatingSummary();
+        summary.setProductId(1L);
+        summary.setRatingCount(3);
+        summary.setScoreSum(12);
+        summary.setStars4(1);
+        summary.setStars5(1);
+        summary.setStars3(1);
+        when(ratingSummaryRepository.findById(1L)).thenReturn(Optional.of(summary));
+        when(ratingRepository.findPublishedRecent(1L, PageRequest.of(0, 3))).thenReturn(List.of(
+                new RatingResponseDTO(30L, 5, "Great", "ana", LocalDate.of(2025, 9, 29), RatingStatus.PUBLISHED),
+                new RatingResponseDTO(20L, 4, "Good", "leo", LocalDate.of(2025, 9, 28), RatingStatus.PUBLISHED),
+                new RatingResponseDTO(10L, 3, "Fine", "eva", LocalDate.of(2025, 9, 1), RatingStatus.PUBLISHED)));
+
+        RatingPageDTO page = ratingService.getProductRatingsPage(1L, RatingSort.RECENT, null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals("2025-09-28_20", page.getNextCursor());
+        assertEquals(4.0, page.getSummary().getAverage());
+        assertEquals(3, page.getSummary().getCount());
+        assertEquals(1L, page.getSummary().getHistogram().get(5));
+        assertEquals(0L, page.getSummary().getHistogram().get(1));
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetProductRatingsPage_ScoreCursorSeeksAfterLastRating() {
+        RatingSummary summary = new RatingSummary();
+        summary.setRatingCount(3);
+        when(ratingSummaryRepository.findById(1L)).thenReturn(Optional.of(summary));
+        when(ratingRepository.findPublishedTopScoreAfter(1L, 4, 20L, PageRequest.of(0, 3))).thenReturn(List.of(
+                new RatingResponseDTO(10L, 3, "Fine", "eva", LocalDate.of(2025, 9, 1), RatingStatus.PUBLISHED)));
+
+        RatingPageDTO page = ratingService.getProductRatingsPage(1L, RatingSort.SCORE, "4_20", 2);
+
+        assertEquals(1, page.getContent().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetProductRatingsPage_NoSummaryReturnsEmptyPage() {
+        when(ratingSummaryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        RatingPageDTO page = ratingService.getProductRatingsPage(1L, RatingSort.RECENT, null, 10);
+
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(0, page.getSummary().getCount());
+        assertEquals(0.0, page.getSummary().getAverage());
+        verify(ratingRepository, never()).findPublishedRecent(anyLong(), any());
+    }
 
+    @Test
+    void testGetProductRatingsPage_ProductNotFound() {
+        when(ratingSummaryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> ratingService.getProductRatingsPage(1L, RatingSort.RECENT, null, 10));
+    }
+
+    @Test
+    void testGetProductRatingsPage_InvalidCursor() {
+        RatingSummary summary = new RatingSummary();
+        summary.setRatingCount(1);
+        when(ratingSummaryRepository.findById(1L)).thenReturn(Optional.of(summary));
+
+        assertThrows(BadRequestException.class,
+                () -> ratingService.getProductRatingsPage(1L, RatingSort.RECENT, "yesterday_5", 10));
+        assertThrows(BadRequestException.class,
+                () -> ratingService.getProductRatingsPage(1L, RatingSort.SCORE, "garbage", 10));
+    }
+
+    @Test
+    void createRatingTest() {
         Product product = new Product();
         product.setId(1L);
         product.setRatings(new ArrayList<>());
 
         User user = new User();
         user.setId(1L);
-        OrderItem item = new OrderItem();
-        item.setProductId(product.getId());
 
-        Order order = new Order();
-        order.setUser(user);
-        order.setItems(new ArrayList<>(List.of(item)));
-
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(userService.getUserById(1L)).thenReturn(user);
-        when(orderRepository.getOrdersByUserId(1L)).thenReturn(List.of(order));
-        when(ratingRepository.save(any(Rating.class))).thenReturn(rating);
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(orderItemRepository.existsByProductIdAndOrder_User_Id(1L, 1L)).thenReturn(true);
+        when(ratingRepository.insertIfAbsent(eq(1L), eq(1L), eq(5), eq("Great product"), any(LocalDate.class),
+                eq("PENDING"))).thenReturn(9L);
 
         Rating result = ratingService.createRating(1L, 1L, 5, "Great product", "es");
 
         assertNotNull(result);
+        assertEquals(9L, result.getId());
         assertEquals(5, result.getScore());
         assertEquals("Great product", result.getComment());
-
-        verify(productRepository, times(1)).findById(1L);
-        verify(userService, times(1)).getUserById(1L);
-        verify(orderRepository, times(1)).getOrdersByUserId(1L);
-        verify(productRepository, times(1)).save(product);
+        assertEquals(RatingStatus.PENDING, result.getStatus());
+        assertEquals(product, result.getProduct());
+        assertEquals(user, result.getUser());
+
+        // The user and the product are referenced, never loaded
+        verify(productRepository, never()).findById(anyLong());
+        verify(userRepository, never()).findById(anyLong());
+        verify(orderItemRepository, times(1)).existsByProductIdAndOrder_User_Id(1L, 1L);
+        verify(ratingRepository, times(0)).save(any(Rating.class));
+        verify(productRepository, times(0)).save(any(Product.class));
+        verify(ratingModerationService, times(1)).submit(9L);
     }
 
     @Test
@@ -124,8 +212,7 @@ class RatingServiceTest {
         user.setId(1L);
 
         // Mock de los servicios
-        when(userService.getUserById(1L)).thenReturn(user);
-        when(orderRepository.getOrdersByUserId(1L)).thenReturn(new ArrayList<>());
+        when(orderItemRepository.existsByProductIdAndOrder_User_Id(1L, 1L)).thenReturn(false);
         when(messageSource.getMessage(
                 eq("rating.not_allowed"),
                 any(),
@@ -141,8 +228,8 @@ class RatingServiceTest {
 
         // Verificar interacciones con los repositorios
         verify(productRepository, times(0)).findById(1L);
-        verify(orderRepository, times(1)).getOrdersByUserId(1L);
-        verify(ratingRepository, times(0)).save(any(Rating.class));
+        verify(orderItemRepository, times(1)).existsByProductIdAndOrder_User_Id(1L, 1L);
+        verify(ratingRepository, times(0)).insertIfAbsent(anyLong(), anyLong(), any(), any(), any(), any());
         verify(productRepository, times(0)).save(any(Product.class));
     }
 
@@ -154,35 +241,25 @@ class RatingServiceTest {
         Product product = new Product();
         product.setId(1L);
 
-        OrderItem orderItem = new OrderItem();
-        orderItem.setProductId(1L);
-
-        Order order = new Order();
-        order.setUser(user);
-        order.setItems(List.of(orderItem));
-
-        Rating rating = new Rating();
-
-        when(ratingRepository.findByProductIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(rating));
-        when(productRepository.findById(anyLong())).thenReturn(Optional.of(product));
-        when(orderRepository.getOrdersByUserId(1L)).thenReturn(List.of(mock(Order.class))); // simula que compró el
-                                                                                            // producto
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(productRepository.getReferenceById(anyLong())).thenReturn(product);
+        when(orderItemRepository.existsByProductIdAndOrder_User_Id(1L, 1L)).thenReturn(true);
+        // The unique (product_id, user_id) constraint skips the insert
+        when(ratingRepository.insertIfAbsent(anyLong(), anyLong(), any(), any(), any(), any())).thenReturn(null);
         when(messageSource.getMessage(
                 eq("rating.already"),
                 any(),
                 any(Locale.class))).thenReturn("Ya has valorado este producto.");
 
-        when(orderRepository.getOrdersByUserId(anyLong())).thenReturn(List.of(order));
-
         DuplicateActionException exception = assertThrows(DuplicateActionException.class, () -> {
             ratingService.createRating(1L, 1L, 5, "Excelente producto", "es");
         });
 
         assertEquals("Ya has valorado este producto.", exception.getMessage());
 
-        verify(productRepository, times(0)).findById(1L);
         verify(ratingRepository, times(0)).save(any(Rating.class));
         verify(productRepository, times(0)).save(any(Product.class));
+        verify(ratingModerationService, times(0)).submit(anyLong());
     }
 
     @Test
@@ -190,17 +267,15 @@ class RatingServiceTest {
         User user = new User();
         user.setId(1L);
 
-        OrderItem orderItem = new OrderItem();
-        orderItem.setProductId(1L);
-
-        Order order = new Order();
-        order.setUser(user);
-        order.setItems(List.of(orderItem));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(orderItemRepository.existsByProductIdAndOrder_User_Id(1L, 1L)).thenReturn(true);
 
-        when(userService.getUserById(1L)).thenReturn(user);
-        when(orderRepository.getOrdersByUserId(anyLong())).thenReturn(List.of(order));
-
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        // The product foreign key rejects the insert
+        when(ratingRepository.insertIfAbsent(anyLong(), anyLong(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("fk_rating_product", new SQLException(
+                        "ERROR: insert or update on table \"rating\" violates foreign key constraint \"fk_rating_product\"\n"
+                                + "  Detail: Key (product_id)=(1) is not present in table \"product\".",
+                        "23503")));
         when(messageSource.getMessage(
                 eq("product.not_found"),
                 any(),
@@ -211,8 +286,52 @@ class RatingServiceTest {
         });
 
         assertEquals("Producto no encontrado.", exception.getMessage());
-        verify(productRepository, times(1)).findById(1L);
-        verify(ratingRepository, times(0)).save(any(Rating.class));
+        verify(ratingModerationService, never()).submit(anyLong());
+    }
+
+    @Test
+    void createRatingTest_OtherConstraintViolationsAreRethrown() {
+        when(userRepository.getReferenceById(1L)).thenReturn(new User());
+        when(orderItemRepository.existsByProductIdAndOrder_User_Id(1L, 1L)).thenReturn(true);
+
+        // The user foreign key and NOT NULL violations do not mean a missing product
+        DataIntegrityViolationException userMissing = new DataIntegrityViolationException("fk_rating_user",
+                new SQLException("ERROR: insert or update on table \"rating\" violates foreign key constraint "
+                        + "\"fk_rating_user\"\n  Detail: Key (user_id)=(1) is not present in table \"users\".",
+                        "23503"));
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("not null",
+                new SQLException("ERROR: null value in column \"created_at\" violates not-null constraint", "23502"));
+        when(ratingRepository.insertIfAbsent(anyLong(), anyLong(), any(), any(), any(), any()))
+                .thenThrow(userMissing, notNull);
+
+        assertSame(userMissing, assertThrows(DataIntegrityViolationException.class,
+                () -> ratingService.createRating(1L, 1L, 5, "Excelente producto", "es")));
+        assertSame(notNull, assertThrows(DataIntegrityViolationException.class,
+                () -> ratingService.createRating(1L, 1L, 5, "Excelente producto", "es")));
+        verify(ratingModerationService, never()).submit(anyLong());
+    }
+
+    @Test
+    void createRatingTest_InvalidScore() {
+        when(messageSource.getMessage(eq("rating.invalid_score"), any(), any(Locale.class)))
+                .thenReturn("La puntuación debe estar entre 1 y 5.");
+
+        for (Integer score : new Integer[] { null, 0, 6 }) {
+            BadRequestException exception = assertThrows(BadRequestException.class,
+                    () -> ratingService.createRating(1L, 1L, score, "Excelente producto", "es"));
+            assertEquals("La puntuación debe estar entre 1 y 5.", exception.getMessage());
+        }
+        verify(ratingRepository, never()).insertIfAbsent(anyLong(), anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void createRatingTest_CommentTooLong() {
+        when(messageSource.getMessage(eq("rating.comment_too_long"), any(), any(Locale.class)))
+                .thenReturn("El comentario no debe superar los 255 caracteres.");
+
+        assertThrows(BadRequestException.class,
+                () -> ratingService.createRating(1L, 1L, 5, "a".repeat(256), "es"));
+        verify(ratingRepository, never()).insertIfAbsent(anyLong(), anyLong(), any(), any(), any(), any());
     }
 
     @Test
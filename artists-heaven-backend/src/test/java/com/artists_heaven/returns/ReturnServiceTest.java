@@ -5,7 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,16 +22,25 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 import com.artists_heaven.entities.user.User;
 import com.artists_heaven.exception.AppExceptions.DuplicateActionException;
 import com.artists_heaven.exception.AppExceptions.ForbiddenActionException;
 import com.artists_heaven.order.Order;
 import com.artists_heaven.order.OrderService;
+import com.artists_heaven.order.OrderStatus;
+import com.artists_heaven.sales.SalesRollupService;
 
 class ReturnServiceTest {
 
@@ -42,6 +53,12 @@ class ReturnServiceTest {
     @Mock 
     private MessageSource messageSource;
 
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReturnService returnService;
 
@@ -71,11 +88,41 @@ class ReturnServiceTest {
         order.setEmail("test@example.com");
         order.setCreatedDate(LocalDateTime.now().minusDays(10));
         order.setUser(user);
+        order.setStatus(OrderStatus.DELIVERED);
 
         returnService.createReturnForOrder(order, "Producto dañado", "test@example.com", "es");
 
         verify(returnRepository, times(1)).save(any(Return.class));
         verify(orderService, times(1)).save(order);
+        verify(salesRollupService).recordStatusChange(order, OrderStatus.DELIVERED, OrderStatus.RETURN_REQUEST);
+    }
+
+    @Test
+    void testCreateReturnForOrder_RollsBackWhenTheRollupFails() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        TransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        ProxyFactory proxyFactory = new ProxyFactory(returnService);
+        proxyFactory.addAdvice(
+                new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        ReturnService transactionalService = (ReturnService) proxyFactory.getProxy();
+
+        Order order = new Order();
+        order.setEmail("test@example.com");
+        order.setCreatedDate(LocalDateTime.now().minusDays(10));
+        order.setStatus(OrderStatus.DELIVERED);
+        doThrow(new IllegalStateException("rollup write failed")).when(salesRollupService)
+                .recordStatusChange(order, OrderStatus.DELIVERED, OrderStatus.RETURN_REQUEST);
+
+        assertThrows(IllegalStateException.class,
+                () -> transactionalService.createReturnForOrder(order, "Producto dañado", "test@example.com", "es"));
+
+        // The return and the order were saved in the transaction that is rolled back
+        verify(returnRepository).save(any(Return.class));
+        verify(orderService).save(order);
+        verify(transactionManager).rollback(status);
+        verify(transactionManager, never()).commit(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
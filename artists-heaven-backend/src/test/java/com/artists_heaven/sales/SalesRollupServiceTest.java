@@ -0,0 +1,303 @@
+package com.artists_heaven.sales;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.artists_heaven.admin.MonthlySalesDTO;
+import com.artists_heaven.order.Order;
+import com.artists_heaven.order.OrderItem;
+import com.artists_heaven.order.OrderStatus;
+
+class SalesRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    @Mock
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+
+    @Mock
+    private ArtistDailyRollupRepository artistDailyRollupRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SalesRollupService salesRollupService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        List<Object[]> categories = new ArrayList<>();
+        categories.add(new Object[] { 1L, "ARTIST" });
+        categories.add(new Object[] { 2L, "ARTIST" });
+        when(salesDailyRollupRepository.findCategoryNames(any())).thenReturn(categories);
+        salesRollupService = new SalesRollupService(salesDailyRollupRepository, artistDailyRollupRepository,
+                transactionTemplate, Duration.ofHours(1));
+    }
+
+    @Test
+    void recordOrderCreated_AddsOneRowPerDimensionKey() {
+        salesRollupService.recordOrderCreated(order(OrderStatus.PAID));
+
+        verify(salesDailyRollupRepository).add(DAY, "STATUS", "PAID", 1, 2, 3, 50.0, 0);
+        verify(salesDailyRollupRepository).add(DAY, "COUNTRY", "Spain", 1, 2, 3, 50.0, 0);
+        verify(salesDailyRollupRepository).add(DAY, "PRODUCT", "Shirt", 1, 1, 2, 30.0, 0);
+        verify(salesDailyRollupRepository).add(DAY, "PRODUCT", "Cap", 1, 1, 1, 20.0, 0);
+        // Both items share the category, so the order counts once there
+        verify(salesDailyRollupRepository).add(DAY, "CATEGORY", "ARTIST", 1, 2, 3, 50.0, 0);
+        verify(salesDailyRollupRepository, times(5)).add(any(), anyString(), anyString(), anyLong(), anyLong(),
+                anyLong(), anyDouble(), anyLong());
+    }
+
+    @Test
+    void recordOrderCreated_AddsArtistRowsForItemsWithAnArtist() {
+        salesRollupService.recordOrderCreated(order(OrderStatus.PAID));
+
+        verify(artistDailyRollupRepository).add(7L, DAY, "PRODUCT", "Shirt", 1, 1, 2, 30.0, 0);
+        verify(artistDailyRollupRepository).add(7L, DAY, "COUNTRY", "Spain", 1, 1, 2, 30.0, 0);
+        // The cap belongs to no artist
+        verify(artistDailyRollupRepository, times(2)).add(anyLong(), any(), anyString(), anyString(), anyLong(),
+                anyLong(), anyLong(), anyDouble(), anyLong());
+    }
+
+    @Test
+    void recordStatusChange_MovesOrderBetweenStatusRowsOnly() {
+        salesRollupService.recordStatusChange(order(OrderStatus.SENT), OrderStatus.PAID, OrderStatus.SENT);
+
+        verify(salesDailyRollupRepository).add(DAY, "STATUS", "SENT", 1, 2, 3, 50.0, 0);
+        verify(salesDailyRollupRepository).add(DAY, "STATUS", "PAID", -1, -2, -3, -50.0, 0);
+        verify(salesDailyRollupRepository, times(2)).add(any(), anyString(), anyString(), anyLong(), anyLong(),
+                anyLong(), anyDouble(), anyLong());
+    }
+
+    @Test
+    void recordStatusChange_AcceptedReturnCountsReturnedUnits() {
+        salesRollupService.recordStatusChange(order(OrderStatus.RETURN_ACCEPTED), OrderStatus.RETURN_REQUEST,
+                OrderStatus.RETURN_ACCEPTED);
+
+        verify(salesDailyRollupRepository).add(DAY, "COUNTRY", "Spain", 0, 0, 0, 0.0, 3);
+        verify(salesDailyRollupRepository).add(DAY, "PRODUCT", "Shirt", 0, 0, 0, 0.0, 2);
+        verify(salesDailyRollupRepository).add(DAY, "CATEGORY", "ARTIST", 0, 0, 0, 0.0, 3);
+        verify(artistDailyRollupRepository).add(7L, DAY, "PRODUCT", "Shirt", 0, 0, 0, 0.0, 2);
+        verify(artistDailyRollupRepository).add(7L, DAY, "COUNTRY", "Spain", 0, 0, 0, 0.0, 2);
+    }
+
+    @Test
+    void recordStatusChange_SameStatusWritesNothing() {
+        salesRollupService.recordStatusChange(order(OrderStatus.PAID), OrderStatus.PAID, OrderStatus.PAID);
+
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void start_RebuildsOnlyWhenEmpty() {
+        when(salesDailyRollupRepository.count()).thenReturn(0L, 10L);
+
+        salesRollupService.start();
+        salesRollupService.start();
+
+        verify(salesDailyRollupRepository, times(1)).rebuildAll();
+    }
+
+    @Test
+    void start_BackfillsArtistIdsBeforeBuildingArtistRollups() {
+        when(salesDailyRollupRepository.count()).thenReturn(10L);
+        when(artistDailyRollupRepository.count()).thenReturn(0L, 10L);
+
+        salesRollupService.start();
+        salesRollupService.start();
+
+        InOrder inOrder = inOrder(artistDailyRollupRepository);
+        inOrder.verify(artistDailyRollupRepository).backfillArtistIds();
+        inOrder.verify(artistDailyRollupRepository).rebuildAll();
+        verify(artistDailyRollupRepository, times(1)).backfillArtistIds();
+        verify(salesDailyRollupRepository, never()).rebuildAll();
+    }
+
+    @Test
+    void getMonthlySales_ReadsStatusRowsOfTheYear() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 3, 4L, 120.0 });
+        when(salesDailyRollupRepository.findMonthlySales(LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1),
+                "RETURN_ACCEPTED")).thenReturn(rows);
+
+        List<MonthlySalesDTO> result = salesRollupService.getMonthlySales(2025);
+
+        assertEquals(1, result.size());
+        assertEquals(3, result.get(0).getMonth());
+        assertEquals(4L, result.get(0).getTotalOrders());
+        assertEquals(120.0, result.get(0).getTotalRevenue());
+    }
+
+    @Test
+    void statusTotals_GiveCountsOrdersAndRevenue() {
+        when(salesDailyRollupRepository.findTotals(eq(RollupDimension.STATUS), any(), any())).thenReturn(List.of(
+                new RollupTotalsDTO("PAID", 3L, 4L, 5L, 60.0, 0L),
+                new RollupTotalsDTO("SENT", 2L, 2L, 2L, 40.0, 0L),
+                new RollupTotalsDTO("CANCELED", 0L, 0L, 0L, 0.0, 0L)));
+
+        Map<OrderStatus, Integer> counts = salesRollupService.getOrderStatusCounts(2025);
+
+        assertEquals(2, counts.size());
+        assertEquals(3, counts.get(OrderStatus.PAID));
+        assertEquals(5, salesRollupService.countOrders(2025));
+        assertEquals(100.0, salesRollupService.sumRevenue(2025));
+    }
+
+    @Test
+    void sumRevenue_NoOrdersIsNull() {
+        when(salesDailyRollupRepository.findTotals(eq(RollupDimension.STATUS), any(), any())).thenReturn(List.of());
+
+        assertNull(salesRollupService.sumRevenue(2025));
+    }
+
+    @Test
+    void getCategoryItemCounts_OneQueryPerYearWhateverTheNumberOfItems() {
+        when(salesDailyRollupRepository.findTotals(eq(RollupDimension.CATEGORY), any(), any())).thenReturn(List.of(
+                new RollupTotalsDTO("ARTIST", 120_000L, 200_000L, 250_000L, 1.0e6, 0L),
+                new RollupTotalsDTO("OTHER", 1L, 1L, 1L, 10.0, 0L)));
+
+        Map<String, Integer> first = salesRollupService.getCategoryItemCounts(2025);
+        Map<String, Integer> second = salesRollupService.getCategoryItemCounts(2025);
+
+        assertEquals(200_000, first.get("ARTIST"));
+        assertEquals(first, second);
+        // Every repository call is one SQL statement
+        assertEquals(1, mockingDetails(salesDailyRollupRepository).getInvocations().stream()
+                .filter(invocation -> !invocation.getMethod().getName().equals("findCategoryNames"))
+                .count());
+    }
+
+    @Test
+    void getTotals_WidgetsOfTheSameDimensionShareOneQuery() {
+        when(salesDailyRollupRepository.findTotals(eq(RollupDimension.STATUS), any(), any())).thenReturn(List.of(
+                new RollupTotalsDTO("PAID", 3L, 4L, 5L, 60.0, 0L)));
+
+        salesRollupService.getOrderStatusCounts(2025);
+        salesRollupService.countOrders(2025);
+        salesRollupService.sumRevenue(2025);
+
+        verify(salesDailyRollupRepository, times(1)).findTotals(eq(RollupDimension.STATUS), any(), any());
+    }
+
+    @Test
+    void getTotals_WriteToTheYearDropsTheCachedTotals() {
+        when(salesDailyRollupRepository.findTotals(eq(RollupDimension.STATUS), any(), any())).thenReturn(List.of(
+                new RollupTotalsDTO("PAID", 3L, 4L, 5L, 60.0, 0L)));
+        salesRollupService.countOrders(2025);
+        salesRollupService.countOrders(2024);
+
+        salesRollupService.recordOrderCreated(order(OrderStatus.PAID));
+        salesRollupService.countOrders(2025);
+        salesRollupService.countOrders(2024);
+
+        verify(salesDailyRollupRepository, times(2)).findTotals(RollupDimension.STATUS, LocalDate.of(2025, 1, 1),
+                LocalDate.of(2026, 1, 1));
+        verify(salesDailyRollupRepository, times(1)).findTotals(RollupDimension.STATUS, LocalDate.of(2024, 1, 1),
+                LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    void getTotals_LoadRacingAWriteIsNotCached() {
+        List<RollupTotalsDTO> before = List.of(new RollupTotalsDTO("PAID", 3L, 4L, 5L, 60.0, 0L));
+        List<RollupTotalsDTO> after = List.of(new RollupTotalsDTO("PAID", 4L, 5L, 6L, 70.0, 0L));
+        // A write to the year commits while the first load is reading the old rows
+        when(salesDailyRollupRepository.findTotals(eq(RollupDimension.STATUS), any(), any()))
+                .thenAnswer(invocation -> {
+                    salesRollupService.recordOrderCreated(order(OrderStatus.PAID));
+                    return before;
+                })
+                .thenReturn(after);
+
+        assertEquals(3, salesRollupService.countOrders(2025));
+        assertEquals(4, salesRollupService.countOrders(2025));
+        assertEquals(4, salesRollupService.countOrders(2025));
+
+        verify(salesDailyRollupRepository, times(2)).findTotals(eq(RollupDimension.STATUS), any(), any());
+    }
+
+    @Test
+    void productAndCountryTotals_AreGroupedInTheDatabase() {
+        when(salesDailyRollupRepository.findTotals(eq(RollupDimension.PRODUCT), any(), any())).thenReturn(List.of(
+                new RollupTotalsDTO("Shirt", 7L, 8L, 12L, 180.0, 0L)));
+        when(salesDailyRollupRepository.findTotals(eq(RollupDimension.COUNTRY), any(), any())).thenReturn(List.of(
+                new RollupTotalsDTO("Spain", 7L, 8L, 12L, 180.0, 0L),
+                new RollupTotalsDTO("France", 2L, 2L, 2L, 30.0, 0L)));
+
+        assertEquals(Map.of("Shirt", 12), salesRollupService.getUnitsByProduct(2025));
+        assertEquals(Map.of("Spain", 7, "France", 2), salesRollupService.getOrdersByCountry(2025));
+        assertEquals(Map.of("Spain", 7, "France", 2), salesRollupService.getOrdersByCountry(2025));
+        verify(salesDailyRollupRepository, times(1)).findTotals(eq(RollupDimension.COUNTRY), any(), any());
+    }
+
+    @Test
+    void getArtistItemCounts_ReadsTheArtistRowsOfTheYear() {
+        when(artistDailyRollupRepository.findTotals(7L, RollupDimension.COUNTRY, LocalDate.of(2025, 1, 1),
+                LocalDate.of(2026, 1, 1))).thenReturn(List.of(
+                        new RollupTotalsDTO("Spain", 3L, 4L, 6L, 90.0, 0L),
+                        new RollupTotalsDTO("France", 0L, 0L, 0L, 0.0, 0L)));
+
+        assertEquals(Map.of("Spain", 4), salesRollupService.getArtistItemCounts(7L, RollupDimension.COUNTRY, 2025));
+    }
+
+    @Test
+    void getMonthlyArtistUnits_ReadsTheArtistRowsOfTheYear() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 3, 5L });
+        when(artistDailyRollupRepository.findMonthlyNetUnits(7L, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1)))
+                .thenReturn(rows);
+
+        List<MonthlySalesDTO> result = salesRollupService.getMonthlyArtistUnits(7L, 2025);
+
+        assertEquals(1, result.size());
+        assertEquals(3, result.get(0).getMonth());
+        assertEquals(5L, result.get(0).getTotalOrders());
+    }
+
+    private Order order(OrderStatus status) {
+        Order order = new Order();
+        order.setStatus(status);
+        order.setCreatedDate(DAY.atTime(10, 30));
+        order.setCountry("Spain");
+        order.setTotalPrice(50.0f);
+        OrderItem shirt = item(1L, "Shirt", 2, 15.0f);
+        shirt.setArtistId(7L);
+        order.setItems(List.of(shirt, item(2L, "Cap", 1, 20.0f)));
+        return order;
+    }
+
+    private OrderItem item(Long productId, String name, int quantity, Float price) {
+        OrderItem item = new OrderItem();
+        item.setProductId(productId);
+        item.setName(name);
+        item.setQuantity(quantity);
+        item.setPrice(price);
+        return item;
+    }
+}
@@ -3,6 +3,7 @@ package com.artists_heaven.userProduct;
 import com.artists_heaven.entities.user.User;
 import com.artists_heaven.entities.user.UserRepository;
 import com.artists_heaven.exception.AppExceptions;
+import com.artists_heaven.leaderboard.LeaderboardService;
 import com.artists_heaven.images.ImageServingUtil;
 import com.artists_heaven.productVote.ProductVoteRepository;
 
@@ -47,6 +48,9 @@ class UserProductServiceTest {
     @Mock
     private ImageServingUtil imageServingUtil;
 
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private UserProductService userProductService;
 
@@ -298,6 +302,7 @@ class UserProductServiceTest {
 
         assertEquals(Status.ACCEPTED, result.getStatus());
         assertEquals(70, user.getPoints()); // 50 + 20
+        verify(leaderboardService).designAccepted(product);
     }
 
     @Test
@@ -322,6 +327,7 @@ class UserProductServiceTest {
 
         assertEquals(Status.REJECTED, result.getStatus());
         assertEquals(40, user.getPoints()); // 50 - 10
+        verify(leaderboardService).designRemoved(1L);
     }
 
     @Test
@@ -15,6 +15,7 @@ import com.artists_heaven.exception.AppExceptions.ResourceNotFoundException;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 
 class VerificationServiceTest {
 
@@ -24,6 +25,9 @@ class VerificationServiceTest {
     @Mock
     private VerificationRepository verificationRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private VerificationService verificationService;
 
@@ -92,6 +96,7 @@ class VerificationServiceTest {
         assertEquals(videoUrl, savedVerification.getVideoUrl());
         assertNotNull(savedVerification.getDate());
         assertEquals(VerificationStatus.PENDING, savedVerification.getStatus());
+        verify(eventPublisher).publishEvent(any(VerificationSubmittedEvent.class));
     }
 
     @Test
@@ -115,6 +120,8 @@ class VerificationServiceTest {
 
         verificationService.refuseVerification(1L);
         assertEquals(VerificationStatus.REJECTED, verification.getStatus());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof VerificationStatusChangedEvent changed
+                && changed.getFrom() == VerificationStatus.PENDING && changed.getTo() == VerificationStatus.REJECTED));
     }
 
     @Test
@@ -0,0 +1,86 @@
+/*
+ * Before/after plans of the year filters, on a synthetic dataset of 1M orders.
+ *
+ * Run against a scratch PostgreSQL database:
+ *     psql -d scratch -f scripts/explain_date_ranges.sql
+ * Everything is created in the explain_dates schema, which is dropped at the end.
+ *
+ * What to look for:
+ *  - "before": EXTRACT(YEAR FROM x) = 2024 is a Filter on a Seq Scan of the whole
+ *    table, with or without an index on x.
+ *  - "after":  x >= '2024-01-01' AND x < '2025-01-01' becomes an Index Scan or a
+ *    Bitmap Index Scan on the new indexes. Only the pages of the year are read.
+ */
+
+DROP SCHEMA IF EXISTS explain_dates CASCADE;
+CREATE SCHEMA explain_dates;
+SET search_path = explain_dates;
+
+/* DATOS SINTÉTICOS: 1M PEDIDOS EN 5 AÑOS, 2K EVENTOS, 50K VERIFICACIONES Y 200K EMAILS */
+CREATE TABLE orders (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    created_date TIMESTAMP NOT NULL,
+    total_price REAL NOT NULL
+);
+INSERT INTO orders (status, created_date, total_price)
+SELECT (ARRAY['PAID', 'IN_PREPARATION', 'SENT', 'DELIVERED', 'CANCELED', 'RETURN_REQUEST', 'RETURN_ACCEPTED'])[1 + (g % 7)],
+       TIMESTAMP '2020-01-01' + random() * INTERVAL '5 years',
+       (random() * 200)::REAL
+FROM generate_series(1, 1000000) g;
+
+CREATE TABLE event (
+    id BIGSERIAL PRIMARY KEY,
+    artist_id BIGINT NOT NULL,
+    date DATE NOT NULL
+);
+INSERT INTO event (artist_id, date)
+SELECT 1 + (g % 50), DATE '2020-01-01' + (random() * 1826)::INT
+FROM generate_series(1, 2000) g;
+
+CREATE TABLE verification (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    date TIMESTAMP NOT NULL
+);
+INSERT INTO verification (status, date)
+SELECT (ARRAY['PENDING', 'ACCEPTED', 'REJECTED'])[1 + (g % 3)], TIMESTAMP '2020-01-01' + random() * INTERVAL '5 years'
+FROM generate_series(1, 50000) g;
+
+CREATE TABLE email (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+INSERT INTO email (type, created_at)
+SELECT (ARRAY['BUG_REPORT', 'FEATURE_REQUEST', 'ABUSE_REPORT'])[1 + (g % 3)], TIMESTAMP '2020-01-01' + random() * INTERVAL '5 years'
+FROM generate_series(1, 200000) g;
+
+ANALYZE;
+
+/* ANTES: EXTRACT(YEAR ...) SIN ÍNDICES */
+EXPLAIN (ANALYZE, BUFFERS) SELECT status, COUNT(*) FROM orders WHERE EXTRACT(YEAR FROM created_date) = 2024 GROUP BY status;
+EXPLAIN (ANALYZE, BUFFERS) SELECT COUNT(*) FROM event WHERE artist_id = 7 AND EXTRACT(YEAR FROM date) = 2024;
+EXPLAIN (ANALYZE, BUFFERS) SELECT status, COUNT(*) FROM verification WHERE EXTRACT(YEAR FROM date) = 2024 GROUP BY status;
+EXPLAIN (ANALYZE, BUFFERS) SELECT type, COUNT(*) FROM email WHERE EXTRACT(YEAR FROM created_at) = 2024 GROUP BY type;
+
+/* ÍNDICES QUE CREA HIBERNATE (ddl-auto=update) */
+CREATE INDEX idx_orders_created_date ON orders (created_date);
+CREATE INDEX idx_orders_status_created_date ON orders (status, created_date);
+CREATE INDEX idx_event_artist_date ON event (artist_id, date);
+CREATE INDEX idx_verification_date ON verification (date);
+CREATE INDEX idx_email_created_at ON email (created_at);
+ANALYZE;
+
+/* ANTES, CON ÍNDICES: LA FUNCIÓN SOBRE LA COLUMNA SIGUE IMPIDIENDO USARLOS */
+EXPLAIN (ANALYZE, BUFFERS) SELECT status, COUNT(*) FROM orders WHERE EXTRACT(YEAR FROM created_date) = 2024 GROUP BY status;
+
+/* DESPUÉS: RANGO [INICIO, FIN) */
+EXPLAIN (ANALYZE, BUFFERS) SELECT status, COUNT(*) FROM orders WHERE created_date >= '2024-01-01' AND created_date < '2025-01-01' GROUP BY status;
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM orders WHERE status = 'PAID' ORDER BY created_date DESC LIMIT 10;
+EXPLAIN (ANALYZE, BUFFERS) SELECT COUNT(*) FROM event WHERE artist_id = 7 AND date >= '2024-01-01' AND date < '2025-01-01';
+EXPLAIN (ANALYZE, BUFFERS) SELECT status, COUNT(*) FROM verification WHERE date >= '2024-01-01' AND date < '2025-01-01' GROUP BY status;
+EXPLAIN (ANALYZE, BUFFERS) SELECT type, COUNT(*) FROM email WHERE created_at >= '2024-01-01' AND created_at < '2025-01-01' GROUP BY type;
+
+RESET search_path;
+DROP SCHEMA explain_dates CASCADE;